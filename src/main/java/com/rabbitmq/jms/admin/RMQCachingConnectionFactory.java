@@ -0,0 +1,774 @@
+/* Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries. */
+package com.rabbitmq.jms.admin;
+
+import com.rabbitmq.jms.client.RMQConnection;
+import com.rabbitmq.jms.client.RMQSession;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.Destination;
+import jakarta.jms.IllegalStateException;
+import jakarta.jms.JMSContext;
+import jakarta.jms.JMSException;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.QueueBrowser;
+import jakarta.jms.QueueConnection;
+import jakarta.jms.QueueConnectionFactory;
+import jakarta.jms.QueueSender;
+import jakarta.jms.QueueSession;
+import jakarta.jms.Session;
+import jakarta.jms.TopicConnection;
+import jakarta.jms.TopicConnectionFactory;
+import jakarta.jms.TopicPublisher;
+import jakarta.jms.TopicSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ConnectionFactory} that caches a connection, its sessions and their producers,
+ * on top of a {@link RMQConnectionFactory}.
+ * <p>
+ * Frameworks like Spring's <code>JmsTemplate</code> create a connection, a session, and a producer
+ * for each send, and close them right after. With a plain {@link RMQConnectionFactory}, this means
+ * opening an AMQP connection and a channel for each message. This factory returns instead a shared
+ * connection that is not closed by {@link Connection#close()}, and sessions and producers that go back
+ * to a cache when they are closed.
+ * </p>
+ * <p>
+ * Sessions are cached by acknowledgement mode (transacted sessions have their own cache), up to
+ * {@link #setSessionCacheSize(int)} sessions per mode. Producers are cached by destination in each
+ * session, up to {@link #setProducerCacheSize(int)} producers per session. Consumers and browsers are
+ * not cached, they are closed when their session goes back to the cache.
+ * </p>
+ * <p>
+ * Cached sessions are checked when borrowed (see {@link #setValidateOnBorrow(boolean)}) and evicted when
+ * they stay unused for too long (see {@link #setIdleTimeout(long)}). The shared connection is re-created
+ * if it has been closed, e.g. after a network failure. {@link #getStatistics()} returns cache metrics.
+ * </p>
+ * <p>
+ * The shared connection and the cached sessions are closed with {@link #close()}.
+ * </p>
+ *
+ * @since 3.10.0
+ */
+public class RMQCachingConnectionFactory implements ConnectionFactory, QueueConnectionFactory, TopicConnectionFactory, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RMQCachingConnectionFactory.class);
+
+    private static final Class<?>[] CONNECTION_INTERFACES = {Connection.class, QueueConnection.class, TopicConnection.class};
+    private static final Class<?>[] SESSION_INTERFACES = {Session.class, QueueSession.class, TopicSession.class};
+    private static final Class<?>[] PRODUCER_INTERFACES = {MessageProducer.class, QueueSender.class, TopicPublisher.class};
+
+    private final RMQConnectionFactory targetConnectionFactory;
+
+    /** Maximum number of idle sessions to cache for each acknowledgement mode */
+    private volatile int sessionCacheSize = 10;
+
+    /** Maximum number of producers to cache for each session */
+    private volatile int producerCacheSize = 10;
+
+    /** Time (in ms) a session can stay idle in the cache before being closed, 0 or less to disable eviction */
+    private volatile long idleTimeout = 60_000;
+
+    /** Whether to check a cached session is still open before returning it */
+    private volatile boolean validateOnBorrow = true;
+
+    private final Lock connectionLock = new ReentrantLock();
+    /** The shared connection */
+    private volatile RMQConnection connection; // GuardedBy(connectionLock)
+    /** Whether a logical connection has been started */
+    private volatile boolean started = false;
+
+    private final Lock sessionsLock = new ReentrantLock();
+    /** Idle sessions by acknowledgement mode, most recently used first */
+    private final Map<Integer, Deque<CachedSession>> idleSessions = new HashMap<>(); // GuardedBy(sessionsLock)
+
+    private final Statistics statistics = new Statistics();
+
+    /**
+     * Creates a caching connection factory.
+     *
+     * @param targetConnectionFactory the factory to create the connection with
+     */
+    public RMQCachingConnectionFactory(RMQConnectionFactory targetConnectionFactory) {
+        if (targetConnectionFactory == null) {
+            throw new IllegalArgumentException("Target connection factory cannot be null");
+        }
+        this.targetConnectionFactory = targetConnectionFactory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Connection createConnection() throws JMSException {
+        sharedConnection();
+        return newConnectionProxy();
+    }
+
+    /**
+     * Creates a connection with the given credentials.
+     * <p>
+     * The cached connection is returned only if the credentials are those of
+     * the target connection factory. Otherwise the call creates a new, non-cached
+     * connection with the target connection factory.
+     */
+    @Override
+    public Connection createConnection(String userName, String password) throws JMSException {
+        if (Objects.equals(userName, this.targetConnectionFactory.getUsername())
+            && Objects.equals(password, this.targetConnectionFactory.getPassword())) {
+            return createConnection();
+        }
+        return this.targetConnectionFactory.createConnection(userName, password);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public QueueConnection createQueueConnection() throws JMSException {
+        return (QueueConnection) createConnection();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public QueueConnection createQueueConnection(String userName, String password) throws JMSException {
+        return (QueueConnection) createConnection(userName, password);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TopicConnection createTopicConnection() throws JMSException {
+        return (TopicConnection) createConnection();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TopicConnection createTopicConnection(String userName, String password) throws JMSException {
+        return (TopicConnection) createConnection(userName, password);
+    }
+
+    /**
+     * Not cached, delegates to the target connection factory.
+     */
+    @Override
+    public JMSContext createContext() {
+        return this.targetConnectionFactory.createContext();
+    }
+
+    /**
+     * Not cached, delegates to the target connection factory.
+     */
+    @Override
+    public JMSContext createContext(String userName, String password) {
+        return this.targetConnectionFactory.createContext(userName, password);
+    }
+
+    /**
+     * Not cached, delegates to the target connection factory.
+     */
+    @Override
+    public JMSContext createContext(String userName, String password, int sessionMode) {
+        return this.targetConnectionFactory.createContext(userName, password, sessionMode);
+    }
+
+    /**
+     * Not cached, delegates to the target connection factory.
+     */
+    @Override
+    public JMSContext createContext(int sessionMode) {
+        return this.targetConnectionFactory.createContext(sessionMode);
+    }
+
+    /**
+     * Closes the cached sessions and the shared connection.
+     * <p>
+     * A new shared connection is created if the factory is used again.
+     */
+    @Override
+    public void close() {
+        this.connectionLock.lock();
+        try {
+            this.started = false;
+            discardConnection();
+        } finally {
+            this.connectionLock.unlock();
+        }
+    }
+
+    /**
+     * Closes the sessions that have been idle for longer than the idle timeout.
+     * <p>
+     * This is done automatically each time a session is borrowed from or returned to the cache.
+     *
+     * @see #setIdleTimeout(long)
+     */
+    public void evictIdleSessions() {
+        long timeout = this.idleTimeout;
+        if (timeout <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+        List<CachedSession> evicted = new ArrayList<>();
+        this.sessionsLock.lock();
+        try {
+            for (Deque<CachedSession> sessions : this.idleSessions.values()) {
+                // least recently used sessions are at the end
+                CachedSession session = sessions.peekLast();
+                while (session != null && now - session.lastUsed > timeoutNanos) {
+                    evicted.add(sessions.pollLast());
+                    session = sessions.peekLast();
+                }
+            }
+        } finally {
+            this.sessionsLock.unlock();
+        }
+        if (!evicted.isEmpty()) {
+            this.statistics.sessionsEvicted.addAndGet(evicted.size());
+            for (CachedSession session : evicted) {
+                session.physicalClose();
+            }
+        }
+    }
+
+    /**
+     * @return the number of sessions currently idle in the cache
+     */
+    public int getIdleSessionCount() {
+        this.sessionsLock.lock();
+        try {
+            int count = 0;
+            for (Deque<CachedSession> sessions : this.idleSessions.values()) {
+                count += sessions.size();
+            }
+            return count;
+        } finally {
+            this.sessionsLock.unlock();
+        }
+    }
+
+    /**
+     * @return the metrics of the cache
+     */
+    public Statistics getStatistics() {
+        return this.statistics;
+    }
+
+    public RMQConnectionFactory getTargetConnectionFactory() {
+        return this.targetConnectionFactory;
+    }
+
+    public int getSessionCacheSize() {
+        return this.sessionCacheSize;
+    }
+
+    /**
+     * Maximum number of idle sessions to cache for each acknowledgement mode.
+     * <p>
+     * Sessions returned to a full cache are closed. Default is 10.
+     *
+     * @param sessionCacheSize the maximum number of idle sessions per acknowledgement mode
+     */
+    public void setSessionCacheSize(int sessionCacheSize) {
+        if (sessionCacheSize < 0) {
+            throw new IllegalArgumentException("Session cache size cannot be negative");
+        }
+        this.sessionCacheSize = sessionCacheSize;
+    }
+
+    public int getProducerCacheSize() {
+        return this.producerCacheSize;
+    }
+
+    /**
+     * Maximum number of producers to cache for each session.
+     * <p>
+     * Producers are cached by destination. Once the cache of a session is full, producers
+     * for other destinations are closed when the application closes them. Default is 10.
+     *
+     * @param producerCacheSize the maximum number of producers per session
+     */
+    public void setProducerCacheSize(int producerCacheSize) {
+        if (producerCacheSize < 0) {
+            throw new IllegalArgumentException("Producer cache size cannot be negative");
+        }
+        this.producerCacheSize = producerCacheSize;
+    }
+
+    public long getIdleTimeout() {
+        return this.idleTimeout;
+    }
+
+    /**
+     * Time in milliseconds a session can stay idle in the cache before being closed.
+     * <p>
+     * 0 or less disables eviction. Default is 60,000 ms.
+     *
+     * @param idleTimeout idle timeout in milliseconds
+     */
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public boolean isValidateOnBorrow() {
+        return this.validateOnBorrow;
+    }
+
+    /**
+     * Whether to check a cached session is still open before handing it out.
+     * <p>
+     * Default is true.
+     *
+     * @param validateOnBorrow true to check sessions on borrow
+     */
+    public void setValidateOnBorrow(boolean validateOnBorrow) {
+        this.validateOnBorrow = validateOnBorrow;
+    }
+
+    private RMQConnection sharedConnection() throws JMSException {
+        this.connectionLock.lock();
+        try {
+            RMQConnection conn = this.connection;
+            if (conn != null && !conn.isOpen()) {
+                LOGGER.info("Cached connection {} is closed, creating a new one", conn);
+                this.statistics.validationFailures.incrementAndGet();
+                discardConnection();
+                conn = null;
+            }
+            if (conn == null) {
+                conn = (RMQConnection) this.targetConnectionFactory.createConnection();
+                this.statistics.connectionsCreated.incrementAndGet();
+                if (this.started) {
+                    conn.start();
+                }
+                this.connection = conn;
+            }
+            return conn;
+        } finally {
+            this.connectionLock.unlock();
+        }
+    }
+
+    private void startConnection() throws JMSException {
+        this.connectionLock.lock();
+        try {
+            this.started = true;
+            sharedConnection().start();
+        } finally {
+            this.connectionLock.unlock();
+        }
+    }
+
+    private void discardConnection() {
+        List<CachedSession> sessions = new ArrayList<>();
+        this.sessionsLock.lock();
+        try {
+            for (Deque<CachedSession> idle : this.idleSessions.values()) {
+                sessions.addAll(idle);
+            }
+            this.idleSessions.clear();
+        } finally {
+            this.sessionsLock.unlock();
+        }
+        for (CachedSession session : sessions) {
+            session.physicalClose();
+        }
+        RMQConnection conn = this.connection;
+        this.connection = null;
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (Exception e) {
+                LOGGER.debug("Error while closing cached connection {}", conn, e);
+            }
+        }
+    }
+
+    private Session borrowSession(boolean transacted, int acknowledgeMode) throws JMSException {
+        int mode = transacted ? Session.SESSION_TRANSACTED : acknowledgeMode;
+        RMQConnection conn = sharedConnection();
+        evictIdleSessions();
+        CachedSession session;
+        while ((session = pollIdleSession(mode)) != null) {
+            if (!this.validateOnBorrow || (session.connection == conn && session.session.isOpen())) {
+                this.statistics.sessionCacheHits.incrementAndGet();
+                return session.newProxy();
+            }
+            this.statistics.validationFailures.incrementAndGet();
+            session.physicalClose();
+        }
+        this.statistics.sessionsCreated.incrementAndGet();
+        RMQSession rmqSession = (RMQSession) conn.createSession(transacted, acknowledgeMode);
+        return new CachedSession(conn, rmqSession, mode).newProxy();
+    }
+
+    private CachedSession pollIdleSession(int mode) {
+        this.sessionsLock.lock();
+        try {
+            Deque<CachedSession> sessions = this.idleSessions.get(mode);
+            return sessions == null ? null : sessions.pollFirst();
+        } finally {
+            this.sessionsLock.unlock();
+        }
+    }
+
+    private void returnSession(CachedSession session) {
+        boolean cached = false;
+        if (session.connection == this.connection && session.session.isOpen()) {
+            this.sessionsLock.lock();
+            try {
+                Deque<CachedSession> sessions = this.idleSessions.computeIfAbsent(session.mode, m -> new ArrayDeque<>());
+                if (sessions.size() < this.sessionCacheSize) {
+                    session.lastUsed = System.nanoTime();
+                    sessions.offerFirst(session);
+                    cached = true;
+                }
+            } finally {
+                this.sessionsLock.unlock();
+            }
+        }
+        if (!cached) {
+            session.physicalClose();
+        }
+        evictIdleSessions();
+    }
+
+    private Connection newConnectionProxy() {
+        return (Connection) Proxy.newProxyInstance(RMQCachingConnectionFactory.class.getClassLoader(),
+            CONNECTION_INTERFACES, new ConnectionInvocationHandler());
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Logical connection: closing it does not close the shared connection.
+     */
+    private class ConnectionInvocationHandler implements InvocationHandler {
+
+        private volatile boolean closed = false;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            } else if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            } else if (name.equals("toString")) {
+                return "Cached connection proxy for " + connection;
+            } else if (name.equals("close")) {
+                this.closed = true;
+                return null;
+            }
+            if (this.closed) {
+                throw new IllegalStateException("Connection is closed");
+            }
+            switch (name) {
+                case "createSession":
+                    if (args == null || args.length == 0) {
+                        return borrowSession(false, Session.AUTO_ACKNOWLEDGE);
+                    } else if (args.length == 1) {
+                        int sessionMode = (Integer) args[0];
+                        return borrowSession(sessionMode == Session.SESSION_TRANSACTED, sessionMode);
+                    } else {
+                        return borrowSession((Boolean) args[0], (Integer) args[1]);
+                    }
+                case "createQueueSession":
+                case "createTopicSession":
+                    return borrowSession((Boolean) args[0], (Integer) args[1]);
+                case "start":
+                    startConnection();
+                    return null;
+                case "stop":
+                    // the connection is shared, so other users must not be affected
+                    LOGGER.debug("Ignoring stop() on cached connection {}", connection);
+                    return null;
+                case "setClientID":
+                    throw new IllegalStateException("Client ID cannot be set on a cached connection");
+                default:
+                    return RMQCachingConnectionFactory.invoke(sharedConnection(), method, args);
+            }
+        }
+    }
+
+    /**
+     * A physical session and its cached producers.
+     */
+    private class CachedSession {
+
+        private final RMQConnection connection;
+        private final RMQSession session;
+        private final int mode;
+        /** Cached producers by destination, a null destination is for anonymous producers */
+        private final Map<Destination, MessageProducer> producers = new LinkedHashMap<>();
+        private volatile long lastUsed;
+
+        private CachedSession(RMQConnection connection, RMQSession session, int mode) {
+            this.connection = connection;
+            this.session = session;
+            this.mode = mode;
+        }
+
+        private Session newProxy() {
+            return (Session) Proxy.newProxyInstance(RMQCachingConnectionFactory.class.getClassLoader(),
+                SESSION_INTERFACES, new SessionInvocationHandler(this));
+        }
+
+        private MessageProducer producer(Destination destination) throws JMSException {
+            MessageProducer producer = this.producers.get(destination);
+            if (producer != null) {
+                statistics.producerCacheHits.incrementAndGet();
+                return newProducerProxy(producer, true);
+            }
+            statistics.producersCreated.incrementAndGet();
+            producer = this.session.createProducer(destination);
+            boolean cacheable = this.producers.size() < producerCacheSize;
+            if (cacheable) {
+                this.producers.put(destination, producer);
+            }
+            return newProducerProxy(producer, cacheable);
+        }
+
+        private MessageProducer newProducerProxy(MessageProducer producer, boolean cached) throws JMSException {
+            return (MessageProducer) Proxy.newProxyInstance(RMQCachingConnectionFactory.class.getClassLoader(),
+                PRODUCER_INTERFACES, new ProducerInvocationHandler(producer, cached));
+        }
+
+        private void physicalClose() {
+            this.producers.clear();
+            try {
+                this.session.close();
+            } catch (Exception e) {
+                LOGGER.debug("Error while closing cached session {}", this.session, e);
+            }
+        }
+    }
+
+    /**
+     * Logical session: closing it returns the physical session to the cache.
+     */
+    private class SessionInvocationHandler implements InvocationHandler {
+
+        private final CachedSession cachedSession;
+        /** Consumers and browsers created with this logical session, closed with it */
+        private final List<Object> consumers = new ArrayList<>();
+        private boolean closed = false;
+
+        private SessionInvocationHandler(CachedSession cachedSession) {
+            this.cachedSession = cachedSession;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            } else if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            } else if (name.equals("toString")) {
+                return "Cached session proxy for " + this.cachedSession.session;
+            } else if (name.equals("close")) {
+                logicalClose();
+                return null;
+            }
+            if (this.closed) {
+                throw new IllegalStateException("Session is closed");
+            }
+            switch (name) {
+                case "createProducer":
+                case "createSender":
+                case "createPublisher":
+                    return this.cachedSession.producer((Destination) args[0]);
+                default:
+                    Object result = RMQCachingConnectionFactory.invoke(this.cachedSession.session, method, args);
+                    if (result instanceof MessageConsumer || result instanceof QueueBrowser) {
+                        this.consumers.add(result);
+                    }
+                    return result;
+            }
+        }
+
+        private void logicalClose() {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            RMQSession session = this.cachedSession.session;
+            try {
+                for (Object consumer : this.consumers) {
+                    if (consumer instanceof MessageConsumer) {
+                        ((MessageConsumer) consumer).close();
+                    } else {
+                        ((QueueBrowser) consumer).close();
+                    }
+                }
+                if (session.getTransacted()) {
+                    // uncommitted work must not leak to the next user of the session
+                    session.rollback();
+                } else if (!this.consumers.isEmpty() && session.getAcknowledgeMode() == Session.CLIENT_ACKNOWLEDGE) {
+                    // release unacknowledged messages, as a physical close would
+                    session.recover();
+                }
+            } catch (Exception e) {
+                LOGGER.debug("Error while resetting session {}, closing it", session, e);
+                this.cachedSession.physicalClose();
+                return;
+            } finally {
+                this.consumers.clear();
+            }
+            returnSession(this.cachedSession);
+        }
+    }
+
+    /**
+     * Logical producer: closing it restores its settings, the physical producer stays open
+     * if it is cached.
+     */
+    private static class ProducerInvocationHandler implements InvocationHandler {
+
+        private final MessageProducer producer;
+        private final boolean cached;
+        private final int deliveryMode;
+        private final int priority;
+        private final long timeToLive;
+        private final long deliveryDelay;
+        private final boolean disableMessageID;
+        private final boolean disableMessageTimestamp;
+        private boolean closed = false;
+
+        private ProducerInvocationHandler(MessageProducer producer, boolean cached) throws JMSException {
+            this.producer = producer;
+            this.cached = cached;
+            this.deliveryMode = producer.getDeliveryMode();
+            this.priority = producer.getPriority();
+            this.timeToLive = producer.getTimeToLive();
+            this.deliveryDelay = producer.getDeliveryDelay();
+            this.disableMessageID = producer.getDisableMessageID();
+            this.disableMessageTimestamp = producer.getDisableMessageTimestamp();
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            } else if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            } else if (name.equals("toString")) {
+                return "Cached producer proxy for " + this.producer;
+            } else if (name.equals("close")) {
+                if (!this.closed) {
+                    this.closed = true;
+                    if (this.cached) {
+                        this.producer.setDeliveryMode(this.deliveryMode);
+                        this.producer.setPriority(this.priority);
+                        this.producer.setTimeToLive(this.timeToLive);
+                        this.producer.setDeliveryDelay(this.deliveryDelay);
+                        this.producer.setDisableMessageID(this.disableMessageID);
+                        this.producer.setDisableMessageTimestamp(this.disableMessageTimestamp);
+                    } else {
+                        this.producer.close();
+                    }
+                }
+                return null;
+            }
+            if (this.closed) {
+                throw new IllegalStateException("Producer is closed");
+            }
+            return RMQCachingConnectionFactory.invoke(this.producer, method, args);
+        }
+    }
+
+    /**
+     * Metrics of a {@link RMQCachingConnectionFactory}.
+     */
+    public static final class Statistics {
+
+        private final AtomicLong connectionsCreated = new AtomicLong(0);
+        private final AtomicLong sessionsCreated = new AtomicLong(0);
+        private final AtomicLong sessionCacheHits = new AtomicLong(0);
+        private final AtomicLong sessionsEvicted = new AtomicLong(0);
+        private final AtomicLong producersCreated = new AtomicLong(0);
+        private final AtomicLong producerCacheHits = new AtomicLong(0);
+        private final AtomicLong validationFailures = new AtomicLong(0);
+
+        private Statistics() { }
+
+        /** @return number of physical connections created */
+        public long getConnectionsCreated() {
+            return this.connectionsCreated.get();
+        }
+
+        /** @return number of physical sessions created, that is the number of session cache misses */
+        public long getSessionsCreated() {
+            return this.sessionsCreated.get();
+        }
+
+        /** @return number of sessions served from the cache */
+        public long getSessionCacheHits() {
+            return this.sessionCacheHits.get();
+        }
+
+        /** @return number of sessions closed because they stayed idle for too long */
+        public long getSessionsEvicted() {
+            return this.sessionsEvicted.get();
+        }
+
+        /** @return number of physical producers created, that is the number of producer cache misses */
+        public long getProducersCreated() {
+            return this.producersCreated.get();
+        }
+
+        /** @return number of producers served from the cache */
+        public long getProducerCacheHits() {
+            return this.producerCacheHits.get();
+        }
+
+        /** @return number of cached connections and sessions found closed */
+        public long getValidationFailures() {
+            return this.validationFailures.get();
+        }
+
+        @Override
+        public String toString() {
+            return new StringBuilder("Statistics{")
+                .append("connectionsCreated=").append(getConnectionsCreated())
+                .append(", sessionsCreated=").append(getSessionsCreated())
+                .append(", sessionCacheHits=").append(getSessionCacheHits())
+                .append(", sessionsEvicted=").append(getSessionsEvicted())
+                .append(", producersCreated=").append(getProducersCreated())
+                .append(", producerCacheHits=").append(getProducerCacheHits())
+                .append(", validationFailures=").append(getValidationFailures())
+                .append('}').toString();
+        }
+    }
+}
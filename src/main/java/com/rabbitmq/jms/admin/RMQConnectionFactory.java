@@ -11,24 +11,33 @@ import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.DefaultSaslConfig;
 import com.rabbitmq.client.MetricsCollector;
 import com.rabbitmq.jms.client.AuthenticationMechanism;
+import com.rabbitmq.jms.client.CompressionCodec;
+import com.rabbitmq.jms.client.CompressionPolicy;
 import com.rabbitmq.jms.client.ConnectionParams;
 import com.rabbitmq.jms.client.DefaultReplyToStrategy;
+import com.rabbitmq.jms.client.JmsMetricsCollector;
+import com.rabbitmq.jms.client.MessageIdGenerator;
+import com.rabbitmq.jms.client.ObjectMessageCodec;
 import com.rabbitmq.jms.client.RMQConnection;
 import com.rabbitmq.jms.client.RMQMessage;
+import com.rabbitmq.jms.client.RedeliveryPolicy;
 import com.rabbitmq.jms.client.ReceivingContext;
 import com.rabbitmq.jms.client.ReceivingContextConsumer;
 import com.rabbitmq.jms.client.ReplyToStrategy;
 import com.rabbitmq.jms.client.RmqJmsContext;
 import com.rabbitmq.jms.client.SendingContext;
 import com.rabbitmq.jms.client.SendingContextConsumer;
+import com.rabbitmq.jms.client.StripingStrategy;
 import com.rabbitmq.jms.util.RMQJMSException;
 import com.rabbitmq.jms.util.RMQJMSSecurityException;
+import com.rabbitmq.jms.util.TrustedClassCache;
 import com.rabbitmq.jms.util.WhiteListObjectInputStream;
 import java.io.IOException;
 import java.io.Serializable;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeoutException;
@@ -201,6 +210,30 @@ public class RMQConnectionFactory implements ConnectionFactory, Referenceable, S
    */
   private boolean keepTextMessageType = false;
 
+    /**
+     * Whether producers send the properties of JMS messages only in AMQP headers.
+     * Default is false.
+     *
+     * @since 3.10.0
+     */
+    private boolean propertiesInHeadersOnly = false;
+
+    /**
+     * Whether StreamMessage and MapMessage bodies are sent in the compact encoding.
+     * Default is false.
+     *
+     * @since 3.10.0
+     */
+    private boolean compactMessageBodies = false;
+
+    /**
+     * Whether to register MXBeans for connections, sessions, producers and consumers.
+     * Default is false.
+     *
+     * @since 3.10.0
+     */
+    private boolean jmxEnabled = false;
+
     /** Default not to use ssl */
     private boolean ssl = false;
     private String tlsProtocol;
@@ -272,6 +305,116 @@ public class RMQConnectionFactory implements ConnectionFactory, Referenceable, S
      */
     private NamingStrategy namingStrategy = NamingStrategy.DEFAULT;
 
+    /**
+     * The number of AMQP connections backing each JMS connection.
+     * <p>
+     * Sessions of a JMS connection are spread over these AMQP connections,
+     * so that they do not share the same socket and I/O thread.
+     * Default is 1.
+     *
+     * @since 3.10.0
+     */
+    private int amqpConnectionCount = 1;
+
+    /**
+     * How sessions are spread over the AMQP connections of a JMS connection.
+     *
+     * @since 3.10.0
+     */
+    private StripingStrategy stripingStrategy = StripingStrategy.ROUND_ROBIN;
+
+    /**
+     * Maximum number of idle channels pooled for lightweight sessions.
+     * Lightweight sessions are disabled if 0.
+     * Default is 0.
+     *
+     * @since 3.10.0
+     */
+    private int channelPoolSize = 0;
+
+    /**
+     * The generator of message IDs, shared by all connections.
+     * Each connection has its own generator if null.
+     *
+     * @since 3.10.0
+     */
+    private MessageIdGenerator messageIdGenerator;
+
+    /**
+     * Minimum size of message bodies compressed by producers.
+     * Default is -1 (no compression).
+     *
+     * @since 3.10.0
+     */
+    private int compressionThreshold = -1;
+
+    /**
+     * The codec to compress message bodies above the threshold with,
+     * deflate if null.
+     *
+     * @since 3.10.0
+     */
+    private CompressionCodec compressionCodec;
+
+    /**
+     * The compression policy, takes precedence over the threshold and codec.
+     *
+     * @since 3.10.0
+     */
+    private CompressionPolicy compressionPolicy;
+
+    /**
+     * Maximum size of decompressed message bodies, in bytes.
+     * Default is 64 MiB.
+     *
+     * @since 3.10.0
+     */
+    private int maxDecompressedSize = 64 * 1024 * 1024;
+
+    /**
+     * The codec to encode the bodies of object messages with,
+     * Java serialization if null.
+     *
+     * @since 3.10.0
+     */
+    private ObjectMessageCodec objectMessageCodec;
+
+    /**
+     * Collector of JMS-level metrics, no collection if null.
+     *
+     * @since 3.10.0
+     */
+    private JmsMetricsCollector jmsMetricsCollector;
+
+    /**
+     * Policy to requeue the messages that message listeners fail to process,
+     * requeued right away if null.
+     *
+     * @since 3.10.0
+     */
+    private RedeliveryPolicy redeliveryPolicy;
+
+    /**
+     * Whether consumers discard the messages that have expired
+     * instead of delivering them.
+     * Default is false.
+     *
+     * @since 3.10.0
+     * @see RMQConnectionFactory#deadLetterExpiredMessages
+     */
+    private boolean discardExpiredMessages = false;
+
+    /**
+     * Whether discarded expired messages are dead-lettered instead of acknowledged.
+     *
+     * Only taken into account if discardExpiredMessages is true.
+     * Default is false.
+     *
+     * @since 3.10.0
+     * @see RMQConnectionFactory#discardExpiredMessages
+     */
+    private boolean deadLetterExpiredMessages = false;
+
     public RMQConnectionFactory() {
     }
 
@@ -336,10 +479,19 @@ public class RMQConnectionFactory implements ConnectionFactory, Referenceable, S
             this.amqpConnectionFactoryPostProcessor.accept(cf);
         }
 
-        com.rabbitmq.client.Connection rabbitConnection = instantiateNodeConnection(cf, connectionCreator);
+        List<com.rabbitmq.client.Connection> rabbitConnections = new ArrayList<>(this.amqpConnectionCount);
+        try {
+            for (int i = 0; i < this.amqpConnectionCount; i++) {
+                com.rabbitmq.client.Connection rabbitConnection = instantiateNodeConnection(cf, connectionCreator);
+                rabbitConnections.add(rabbitConnection);
 
-        if (this.amqpConnectionPostProcessor != null) {
-            this.amqpConnectionPostProcessor.accept(rabbitConnection);
+                if (this.amqpConnectionPostProcessor != null) {
+                    this.amqpConnectionPostProcessor.accept(rabbitConnection);
+                }
+            }
+        } catch (JMSException | RuntimeException e) {
+            closeQuietly(rabbitConnections);
+            throw e;
         }
 
         ReceivingContextConsumer rcc;
@@ -353,7 +505,14 @@ public class RMQConnectionFactory implements ConnectionFactory, Referenceable, S
         }
 
         RMQConnection conn = new RMQConnection(new ConnectionParams()
-            .setRabbitConnection(rabbitConnection)
+            .setRabbitConnections(rabbitConnections)
+            .setStripingStrategy(this.stripingStrategy)
+            .setChannelPoolSize(this.channelPoolSize)
+            .setMessageIdGenerator(this.messageIdGenerator)
+            .setCompressionPolicy(compressionPolicy())
+            .setCompressionCodec(this.compressionCodec)
+            .setMaxDecompressedSize(this.maxDecompressedSize)
+            .setObjectMessageCodec(this.objectMessageCodec)
             .setTerminationTimeout(getTerminationTimeout())
             .setQueueBrowserReadMax(getQueueBrowserReadMax())
             .setOnMessageTimeoutMs(getOnMessageTimeoutMs())
@@ -368,6 +527,13 @@ public class RMQConnectionFactory implements ConnectionFactory, Referenceable, S
             .setTrustedPackages(this.trustedPackages)
             .setRequeueOnTimeout(this.requeueOnTimeout)
             .setKeepTextMessageType(this.keepTextMessageType)
+            .setPropertiesInHeadersOnly(this.propertiesInHeadersOnly)
+            .setCompactMessageBodies(this.compactMessageBodies)
+            .setJmsMetricsCollector(this.jmsMetricsCollector)
+            .setRedeliveryPolicy(this.redeliveryPolicy)
+            .setDiscardExpiredMessages(this.discardExpiredMessages)
+            .setDeadLetterExpiredMessages(this.deadLetterExpiredMessages)
+            .setJmxEnabled(this.jmxEnabled)
             .setReplyToStrategy(replyToStrategy)
             .setNamingStrategy(namingStrategy)
         );
@@ -375,6 +541,16 @@ public class RMQConnectionFactory implements ConnectionFactory, Referenceable, S
         return conn;
     }
 
+    private void closeQuietly(List<com.rabbitmq.client.Connection> rabbitConnections) {
+        for (com.rabbitmq.client.Connection rabbitConnection : rabbitConnections) {
+            try {
+                rabbitConnection.close();
+            } catch (Exception e) {
+                logger.debug("Error while closing AMQP connection {}", rabbitConnection, e);
+            }
+        }
+    }
+
     protected com.rabbitmq.client.ConnectionFactory createConnectionFactory() {
         return new com.rabbitmq.client.ConnectionFactory();
     }
@@ -492,6 +668,7 @@ public class RMQConnectionFactory implements ConnectionFactory, Referenceable, S
      */
     public void setTrustedPackages(List<String> value) {
         this.trustedPackages = value;
+        TrustedClassCache.getInstance().invalidate();
     }
 
     /**
@@ -671,6 +848,11 @@ public class RMQConnectionFactory implements ConnectionFactory, Referenceable, S
         addIntegerRefProperty(ref, "queueBrowserReadMax", this.getQueueBrowserReadMax());
         addIntegerRefProperty(ref, "onMessageTimeoutMs", this.getOnMessageTimeoutMs());
         addIntegerRefProperty(ref, "channelsQos", this.getChannelsQos());
+        addIntegerRefProperty(ref, "amqpConnectionCount", this.getAmqpConnectionCount());
+        addStringRefProperty(ref, "stripingStrategy", this.getStripingStrategy().name());
+        addIntegerRefProperty(ref, "channelPoolSize", this.getChannelPoolSize());
+        addIntegerRefProperty(ref, "compressionThreshold", this.getCompressionThreshold());
+        addIntegerRefProperty(ref, "maxDecompressedSize", this.getMaxDecompressedSize());
         addBooleanProperty(ref, "ssl", this.ssl);
         addLongRefProperty(ref, "terminationTimeout", this.getTerminationTimeout());
         addStringRefProperty(ref, "username", this.getUsername());
@@ -1169,6 +1351,59 @@ public class RMQConnectionFactory implements ConnectionFactory, Referenceable, S
         this.keepTextMessageType = keepTextMessageType;
     }
 
+    /**
+     * Whether producers send the properties of messages to JMS destinations
+     * only in AMQP headers.
+     * <p>
+     * By default, properties and JMS header fields are both in the AMQP headers
+     * (so that they can be used in selectors) and in the message body (from which
+     * consumers read them). They are then encoded, sent, and decoded twice.
+     * With this setting enabled, they are only in the AMQP headers and
+     * the body contains only the payload, which saves bandwidth and CPU
+     * for messages with many properties.
+     * <p>
+     * Consumers must use version 3.10.0 or later of the library: earlier versions
+     * ignore the AMQP headers of messages from JMS destinations and would receive
+     * such messages without properties. Messages with a property that cannot be
+     * an AMQP header value (e.g. a <code>JMSReplyTo</code> from another JMS provider)
+     * are sent with properties in the body.
+     * <p>
+     * Default is false.
+     *
+     * @param propertiesInHeadersOnly true to send properties only in AMQP headers
+     * @since 3.10.0
+     */
+    public void setPropertiesInHeadersOnly(boolean propertiesInHeadersOnly) {
+        this.propertiesInHeadersOnly = propertiesInHeadersOnly;
+    }
+
+    public boolean isPropertiesInHeadersOnly() {
+        return this.propertiesInHeadersOnly;
+    }
+
+    /**
+     * Whether to send the bodies of {@link jakarta.jms.StreamMessage}s and
+     * {@link jakarta.jms.MapMessage}s in a compact binary encoding.
+     * <p>
+     * By default, these bodies are written with Java serialization, which is
+     * larger and slower to encode and decode. Consumers must use version 3.10.0
+     * or later of the library to read compact bodies: earlier versions fail to
+     * read stream messages and read map messages as empty. Consumers of the
+     * library read both encodings whatever this setting.
+     * <p>
+     * Default is false.
+     *
+     * @param compactMessageBodies true to send compact message bodies
+     * @since 3.10.0
+     */
+    public void setCompactMessageBodies(boolean compactMessageBodies) {
+        this.compactMessageBodies = compactMessageBodies;
+    }
+
+    public boolean isCompactMessageBodies() {
+        return this.compactMessageBodies;
+    }
+
     /**
      * Naming strategy for AMQP entities.
      *
@@ -1186,6 +1421,363 @@ public class RMQConnectionFactory implements ConnectionFactory, Referenceable, S
       this.namingStrategy = namingStrategy;
     }
 
+    /**
+     * Sets the number of AMQP connections backing each JMS connection.
+     * <p>
+     * A single AMQP connection means all the sessions of a JMS connection share
+     * the same socket, the same frame reader thread, and the same write lock.
+     * With a high publishing rate, the socket can become the bottleneck
+     * before the CPU. Using several AMQP connections spreads the sessions
+     * (and their channels) over several sockets, while the JMS semantics
+     * (client ID, start/stop, exception listener) stay those of a single
+     * JMS connection.
+     * <p>
+     * The exception listener is notified if any of the AMQP connections is
+     * closed unexpectedly.
+     * <p>
+     * Default is 1.
+     *
+     * @param amqpConnectionCount the number of AMQP connections, must be strictly positive
+     * @see #setStripingStrategy(StripingStrategy)
+     * @since 3.10.0
+     */
+    public void setAmqpConnectionCount(int amqpConnectionCount) {
+        if (amqpConnectionCount <= 0) {
+            throw new IllegalArgumentException("The number of AMQP connections must be strictly positive");
+        }
+        this.amqpConnectionCount = amqpConnectionCount;
+    }
+
+    public int getAmqpConnectionCount() {
+        return this.amqpConnectionCount;
+    }
+
+    /**
+     * Sets how sessions are spread over the AMQP connections of a JMS connection.
+     * <p>
+     * Default is {@link StripingStrategy#ROUND_ROBIN}. Only taken into account
+     * when the number of AMQP connections is greater than 1.
+     *
+     * @param stripingStrategy the striping strategy
+     * @see #setAmqpConnectionCount(int)
+     * @since 3.10.0
+     */
+    public void setStripingStrategy(StripingStrategy stripingStrategy) {
+        if (stripingStrategy == null) {
+            throw new IllegalArgumentException("Striping strategy cannot be null");
+        }
+        this.stripingStrategy = stripingStrategy;
+    }
+
+    public StripingStrategy getStripingStrategy() {
+        return this.stripingStrategy;
+    }
+
+    /**
+     * Enables lightweight sessions, by setting the maximum number of idle
+     * channels pooled by a connection.
+     * <p>
+     * A non-transacted session of a connection with a channel pool does not
+     * open its own channel: it borrows a channel from the pool to send
+     * a message and gives it back right after. Short-lived sessions used
+     * only to send messages (e.g. with Spring's <code>JmsTemplate</code>)
+     * then no longer open and close a channel each time.
+     * Publisher confirms are tracked on the borrowed channel, so
+     * completion listeners of asynchronous sends are still notified.
+     * <p>
+     * A lightweight session opens its own channel as soon as it creates
+     * a consumer or a browser. Transacted sessions always have their own channel.
+     * <p>
+     * Default is 0, which disables lightweight sessions.
+     *
+     * @param channelPoolSize the maximum number of idle pooled channels, 0 to disable
+     * @since 3.10.0
+     */
+    public void setChannelPoolSize(int channelPoolSize) {
+        if (channelPoolSize < 0) {
+            throw new IllegalArgumentException("The channel pool size cannot be negative");
+        }
+        this.channelPoolSize = channelPoolSize;
+    }
+
+    public int getChannelPoolSize() {
+        return this.channelPoolSize;
+    }
+
+    /**
+     * Sets the generator of the ID of sent messages.
+     * <p>
+     * The generator is shared by all the connections of the factory
+     * and must be thread-safe.
+     * <p>
+     * Default is null: each connection uses its own generator, which
+     * combines a random prefix drawn once with a counter. Unlike
+     * random UUIDs, these IDs do not need a draw from a shared
+     * {@link java.security.SecureRandom} for each message.
+     * Use {@link MessageIdGenerator#randomUuid()} to get the random UUIDs
+     * of previous versions.
+     *
+     * @param messageIdGenerator the message ID generator, null for the default
+     * @see MessageIdGenerator
+     * @since 3.10.0
+     */
+    public void setMessageIdGenerator(MessageIdGenerator messageIdGenerator) {
+        this.messageIdGenerator = messageIdGenerator;
+    }
+
+    public MessageIdGenerator getMessageIdGenerator() {
+        return this.messageIdGenerator;
+    }
+
+    /**
+     * Sets the minimum size of message bodies compressed by producers, in bytes.
+     * <p>
+     * Bodies at least this large are compressed with the compression codec
+     * ({@link CompressionCodec#deflate()} by default) and sent with the
+     * corresponding AMQP <code>content-encoding</code> property. A body
+     * is sent uncompressed if compression does not make it smaller.
+     * Consumers of this library decompress messages transparently, up to
+     * {@link #setMaxDecompressedSize(int)}, other consumers must decompress them
+     * according to their content encoding. Consumers of this library decompress only
+     * the messages compressed by producers of this library.
+     * <p>
+     * The body of messages to JMS destinations contains the JMS properties,
+     * unless {@link #setPropertiesInHeadersOnly(boolean)} is enabled, so
+     * they are compressed as well.
+     * <p>
+     * Default is -1 (no compression).
+     *
+     * @param compressionThreshold the minimum body size to compress, a negative value to disable compression
+     * @see #setCompressionCodec(CompressionCodec)
+     * @see #setCompressionPolicy(CompressionPolicy)
+     * @since 3.10.0
+     */
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    public int getCompressionThreshold() {
+        return this.compressionThreshold;
+    }
+
+    /**
+     * Sets the codec to compress message bodies with when compression is
+     * enabled with {@link #setCompressionThreshold(int)}.
+     * <p>
+     * Consumers created by this factory can decompress messages encoded with this
+     * codec. Other consumers must have it registered, see {@link CompressionCodec}.
+     * <p>
+     * Default is null ({@link CompressionCodec#deflate()}).
+     *
+     * @param compressionCodec the compression codec
+     * @since 3.10.0
+     */
+    public void setCompressionCodec(CompressionCodec compressionCodec) {
+        this.compressionCodec = compressionCodec;
+    }
+
+    public CompressionCodec getCompressionCodec() {
+        return this.compressionCodec;
+    }
+
+    /**
+     * Sets the policy that decides which message bodies producers compress,
+     * e.g. to use different settings per destination.
+     * <p>
+     * The policy takes precedence over the compression threshold.
+     * <p>
+     * Default is null (compression threshold and codec).
+     *
+     * @param compressionPolicy the compression policy
+     * @see #setCompressionThreshold(int)
+     * @since 3.10.0
+     */
+    public void setCompressionPolicy(CompressionPolicy compressionPolicy) {
+        this.compressionPolicy = compressionPolicy;
+    }
+
+    public CompressionPolicy getCompressionPolicy() {
+        return this.compressionPolicy;
+    }
+
+    /**
+     * Sets the maximum size of decompressed message bodies, in bytes.
+     * <p>
+     * Consumers decompress the messages compressed by producers of this library.
+     * A message whose body would be larger than this once decompressed is not
+     * decompressed: its delivery fails instead, so a small compressed body cannot
+     * exhaust the memory of consumers.
+     * <p>
+     * Default is 64 MiB.
+     *
+     * @param maxDecompressedSize the maximum size of decompressed bodies, in bytes
+     * @see #setCompressionThreshold(int)
+     * @since 3.10.0
+     */
+    public void setMaxDecompressedSize(int maxDecompressedSize) {
+        if (maxDecompressedSize <= 0) {
+            throw new IllegalArgumentException("Maximum decompressed size must be strictly positive: " + maxDecompressedSize);
+        }
+        this.maxDecompressedSize = maxDecompressedSize;
+    }
+
+    public int getMaxDecompressedSize() {
+        return this.maxDecompressedSize;
+    }
+
+    /**
+     * Sets the codec to encode the bodies of object messages with.
+     * <p>
+     * The name of the codec is sent with the message. Consumers created by this factory
+     * can decode messages encoded with this codec. Other consumers must have it
+     * registered, see {@link ObjectMessageCodec}. Decoded objects must be in the
+     * trusted packages whatever the codec.
+     * <p>
+     * Default is null ({@link ObjectMessageCodec#javaSerialization()}).
+     *
+     * @param objectMessageCodec the object message codec
+     * @see #setTrustedPackages(List)
+     * @since 3.10.0
+     */
+    public void setObjectMessageCodec(ObjectMessageCodec objectMessageCodec) {
+        this.objectMessageCodec = objectMessageCodec;
+    }
+
+    public ObjectMessageCodec getObjectMessageCodec() {
+        return this.objectMessageCodec;
+    }
+
+    /**
+     * Sets the collector of JMS-level metrics: messages published and consumed per destination,
+     * message listener timings, publisher confirm round-trip times, acknowledgements.
+     * <p>
+     * Default is null (no collection, no time measurement).
+     *
+     * @param jmsMetricsCollector the JMS metrics collector
+     * @see com.rabbitmq.jms.client.metrics.SimpleJmsMetricsCollector
+     * @see com.rabbitmq.jms.client.metrics.JmxJmsMetricsCollector
+     * @see #setMetricsCollector(MetricsCollector)
+     * @since 3.10.0
+     */
+    public void setJmsMetricsCollector(JmsMetricsCollector jmsMetricsCollector) {
+        this.jmsMetricsCollector = jmsMetricsCollector;
+    }
+
+    public JmsMetricsCollector getJmsMetricsCollector() {
+        return this.jmsMetricsCollector;
+    }
+
+    /**
+     * Sets the policy to requeue the messages that message listeners fail to process:
+     * the messages are held for a growing delay before being requeued, and dead-lettered
+     * after a maximum number of deliveries.
+     * <p>
+     * Only taken into account if requeueOnMessageListenerException is true.
+     * <p>
+     * Default is null (messages requeued right away).
+     *
+     * @param redeliveryPolicy the redelivery policy
+     * @see #setRequeueOnMessageListenerException(boolean)
+     * @see #setRequeueOnTimeout(boolean)
+     * @since 3.10.0
+     */
+    public void setRedeliveryPolicy(RedeliveryPolicy redeliveryPolicy) {
+        this.redeliveryPolicy = redeliveryPolicy;
+    }
+
+    public RedeliveryPolicy getRedeliveryPolicy() {
+        return this.redeliveryPolicy;
+    }
+
+    /**
+     * Whether consumers discard the messages that have expired instead of
+     * delivering them to message listeners and <code>receive</code> calls.
+     * <p>
+     * The broker drops the messages that expire in a queue, but not the ones that expire
+     * in the prefetch buffer of a consumer. The consumer checks the expiration of a message
+     * from its AMQP properties and headers before decoding it: messages sent by this library
+     * carry it, messages from other clients need an AMQP <code>timestamp</code> along with
+     * their <code>expiration</code>, or a <code>JMSExpiration</code> header. The check
+     * compares the expiration with the clock of the consumer, so the clocks of producers
+     * and consumers must be synchronized.
+     * <p>
+     * Discarded messages are acknowledged, or dead-lettered, see
+     * {@link #setDeadLetterExpiredMessages(boolean)}.
+     * <p>
+     * Default is false.
+     *
+     * @param discardExpiredMessages true to discard expired messages
+     * @see JmsMetricsCollector#expired(String)
+     * @since 3.10.0
+     */
+    public void setDiscardExpiredMessages(boolean discardExpiredMessages) {
+        this.discardExpiredMessages = discardExpiredMessages;
+    }
+
+    public boolean isDiscardExpiredMessages() {
+        return this.discardExpiredMessages;
+    }
+
+    /**
+     * Whether discarded expired messages are rejected without requeue instead of
+     * acknowledged, so that the broker dead-letters them if their queue has a
+     * dead-letter exchange.
+     * <p>
+     * Only taken into account if discardExpiredMessages is true.
+     * Default is false.
+     *
+     * @param deadLetterExpiredMessages true to dead-letter expired messages
+     * @see #setDiscardExpiredMessages(boolean)
+     * @since 3.10.0
+     */
+    public void setDeadLetterExpiredMessages(boolean deadLetterExpiredMessages) {
+        this.deadLetterExpiredMessages = deadLetterExpiredMessages;
+    }
+
+    public boolean isDeadLetterExpiredMessages() {
+        return this.deadLetterExpiredMessages;
+    }
+
+    /**
+     * Whether to register MXBeans for the connections created by this factory
+     * and for their sessions, producers and consumers.
+     * <p>
+     * The MXBeans expose the live state of these objects, e.g. the number of sessions
+     * of a connection, the number of unacknowledged messages and of outstanding
+     * publisher confirms of a session, or whether a consumer is paused.
+     * They are registered on the platform MBean server in the <code>com.rabbitmq.jms</code>
+     * domain, with the <code>Connection</code>, <code>Session</code>, <code>Producer</code>
+     * and <code>Consumer</code> types, and unregistered when the objects are closed.
+     * <p>
+     * Default is false.
+     *
+     * @param jmxEnabled true to register MXBeans
+     * @see com.rabbitmq.jms.client.metrics.ConnectionMXBean
+     * @see com.rabbitmq.jms.client.metrics.SessionMXBean
+     * @see com.rabbitmq.jms.client.metrics.MessageProducerMXBean
+     * @see com.rabbitmq.jms.client.metrics.MessageConsumerMXBean
+     * @since 3.10.0
+     */
+    public void setJmxEnabled(boolean jmxEnabled) {
+        this.jmxEnabled = jmxEnabled;
+    }
+
+    public boolean isJmxEnabled() {
+        return this.jmxEnabled;
+    }
+
+    private CompressionPolicy compressionPolicy() {
+        if (this.compressionPolicy != null) {
+            return this.compressionPolicy;
+        } else if (this.compressionThreshold >= 0) {
+            return CompressionPolicy.threshold(
+                this.compressionCodec == null ? CompressionCodec.deflate() : this.compressionCodec,
+                this.compressionThreshold);
+        } else {
+            return null;
+        }
+    }
+
     @FunctionalInterface
     private interface ConnectionCreator {
         com.rabbitmq.client.Connection create(com.rabbitmq.client.ConnectionFactory cf) throws Exception;
@@ -159,6 +159,35 @@ public class RMQDestination implements Queue, Topic, Destination, Referenceable,
         this.queueDeclareArguments = queueDeclareArguments;
     }
 
+    /**
+     * For internal use only.
+     * <p>
+     * Copies a destination, e.g. to give each received message its own instance
+     * of a destination deserialized once.
+     * </p>
+     * @return a copy of this destination, which is not declared
+     * @since 3.10.0
+     */
+    public RMQDestination copy() {
+        return new RMQDestination(this);
+    }
+
+    /**
+     * Copy constructor, without the validation of the AMQP resource settings.
+     */
+    private RMQDestination(RMQDestination destination) {
+        this.destinationName = destination.destinationName;
+        this.amqp = destination.amqp;
+        this.amqpExchangeName = destination.amqpExchangeName;
+        this.amqpRoutingKey = destination.amqpRoutingKey;
+        this.amqpQueueName = destination.amqpQueueName;
+        this.isQueue = destination.isQueue;
+        this.isTemporary = destination.isTemporary;
+        this.isDeclared = false;
+        // not modifiable from outside, it can be shared
+        this.queueDeclareArguments = destination.queueDeclareArguments;
+    }
+
     public boolean isAmqpWritable() {
         return (this.amqp && null != this.amqpExchangeName && null != this.amqpRoutingKey);
     }
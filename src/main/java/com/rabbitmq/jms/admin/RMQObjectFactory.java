@@ -13,6 +13,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.rabbitmq.jms.client.AuthenticationMechanism;
+import com.rabbitmq.jms.client.StripingStrategy;
 import jakarta.jms.ConnectionFactory;
 import jakarta.jms.JMSException;
 import jakarta.jms.Queue;
@@ -103,10 +104,15 @@ import org.slf4j.LoggerFactory;
  * <li>queueBrowserReadMax</li>
  * <li>onMessageTimeoutMs</li>
  * <li>channelsQos</li>
+ * <li>amqpConnectionCount</li>
+ * <li>stripingStrategy</li>
+ * <li>channelPoolSize</li>
  * <li>ssl</li>
  * <li>terminationTimeout</li>
  * <li>username</li>
  * <li>virtualHost</li>
+ * <li>discardExpiredMessages</li>
+ * <li>deadLetterExpiredMessages</li>
  * <li>className - only applies when properties are provided via environment HashTable</li>
  * </ul>
  * and are applied in this order, if they are present. If a property is not present, or is not set by means of the
@@ -214,6 +220,18 @@ public class RMQObjectFactory implements ObjectFactory {
         f.setQueueBrowserReadMax(getIntProperty    (ref, environment, "queueBrowserReadMax", true, f.getQueueBrowserReadMax()));
         f.setOnMessageTimeoutMs (getIntProperty    (ref, environment, "onMessageTimeoutMs",  true, f.getOnMessageTimeoutMs() ));
         f.setChannelsQos        (getIntProperty    (ref, environment, "channelsQos",         true, f.getChannelsQos()        ));
+        f.setAmqpConnectionCount(getIntProperty    (ref, environment, "amqpConnectionCount", true, f.getAmqpConnectionCount()));
+        String stripingStrategyString = getStringProperty(ref, environment, "stripingStrategy", true, null);
+        if (stripingStrategyString != null) {
+            try {
+                f.setStripingStrategy(StripingStrategy.valueOf(stripingStrategyString));
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Failed to set StripingStrategy on RMQConnectionFactory.", e);
+            }
+        }
+        f.setChannelPoolSize    (getIntProperty    (ref, environment, "channelPoolSize",     true, f.getChannelPoolSize()    ));
+        f.setCompressionThreshold(getIntProperty   (ref, environment, "compressionThreshold", true, f.getCompressionThreshold()));
+        f.setMaxDecompressedSize(getIntProperty    (ref, environment, "maxDecompressedSize", true, f.getMaxDecompressedSize()));
         if (getBooleanProperty(ref, environment, "ssl",                 true, f.isSsl())) {
             try {
                 f.useSslProtocol();
@@ -227,7 +245,12 @@ public class RMQObjectFactory implements ObjectFactory {
         f.setCleanUpServerNamedQueuesForNonDurableTopicsOnSessionClose(getBooleanProperty(ref, environment, "cleanUpServerNamedQueuesForNonDurableTopicsOnSessionClose",                 true, f.isCleanUpServerNamedQueuesForNonDurableTopicsOnSessionClose()                 ));
         f.setDeclareReplyToDestination(getBooleanProperty(ref, environment, "declareReplyToDestination", true, true));
         f.setKeepTextMessageType(getBooleanProperty(ref, environment, "keepTextMessageType", true, false));
+        f.setPropertiesInHeadersOnly(getBooleanProperty(ref, environment, "propertiesInHeadersOnly", true, false));
+        f.setCompactMessageBodies(getBooleanProperty(ref, environment, "compactMessageBodies", true, false));
+        f.setJmxEnabled(getBooleanProperty(ref, environment, "jmxEnabled", true, false));
         f.setNackOnRollback(getBooleanProperty(ref, environment, "nackOnRollback", true, false));
+        f.setDiscardExpiredMessages(getBooleanProperty(ref, environment, "discardExpiredMessages", true, false));
+        f.setDeadLetterExpiredMessages(getBooleanProperty(ref, environment, "deadLetterExpiredMessages", true, false));
 
         String authenticationMechanismString = getStringProperty(ref, environment, "authenticationMechanism", true, null);
         if (authenticationMechanismString != null) {
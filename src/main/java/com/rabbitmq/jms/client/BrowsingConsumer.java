@@ -71,8 +71,14 @@ class BrowsingConsumer extends DefaultConsumer {
         try {
             RMQMessage msg = RMQMessage.convertMessage(this.session, this.dest,
                 new GetResponse(envelope, properties, body, --this.messagesExpected), this.receivingContextConsumer);
-            if (evaluator==null || evaluator.evaluate(msg.toHeaders()))
+            if (evaluator==null) {
                 this.msgQueue.add(msg);
+            } else {
+                boolean matched = evaluator.evaluate(msg.toHeaders());
+                this.session.getJmsMetricsCollector().selectorEvaluated(this.dest.getDestinationName(), matched);
+                if (matched)
+                    this.msgQueue.add(msg);
+            }
         } catch (JMSException e) {
             throw new IOException("Failure to convert message to JMS Message type.", e);
         }
@@ -0,0 +1,134 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ShutdownSignalException;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Connection-level pool of non-transactional channels.
+ * <p>
+ * Lightweight sessions borrow a channel only for the time of a send (or of
+ * a topology declaration), so short-lived producer sessions do not open and
+ * close a channel each time.
+ * <p>
+ * Each pooled channel keeps its own publisher confirms correlation: a message
+ * published with a {@link jakarta.jms.CompletionListener} is tracked on the
+ * channel it went through, whatever the session that borrowed it.
+ *
+ * @since 3.10.0
+ */
+final class ChannelPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChannelPool.class);
+
+    private final RMQConnection connection;
+
+    /** idle channels, the capacity is the maximum number of idle channels */
+    private final BlockingQueue<PooledChannel> idleChannels;
+
+    private volatile boolean closed = false;
+
+    ChannelPool(RMQConnection connection, int maxIdleChannels) {
+        this.connection = connection;
+        this.idleChannels = new ArrayBlockingQueue<>(maxIdleChannels);
+    }
+
+    /**
+     * Borrows an open channel, creating it if no idle channel is available.
+     * <p>
+     * The channel must be given back with {@link #release(PooledChannel)}.
+     *
+     * @return a pooled channel
+     * @throws IOException if a new channel cannot be created
+     */
+    PooledChannel borrow() throws IOException {
+        PooledChannel pooledChannel;
+        while ((pooledChannel = this.idleChannels.poll()) != null) {
+            if (pooledChannel.channel.isOpen()) {
+                return pooledChannel;
+            }
+        }
+        Channel channel = this.connection.createRabbitChannel(false);
+        return new PooledChannel(channel, PublisherConfirmsUtils.configurePublisherConfirmsSupport(channel,
+            this.connection.getJmsMetricsCollector()));
+    }
+
+    /**
+     * Gives a borrowed channel back to the pool.
+     * <p>
+     * The channel is closed if it cannot be pooled.
+     *
+     * @param pooledChannel the borrowed channel
+     */
+    void release(PooledChannel pooledChannel) {
+        if (!pooledChannel.channel.isOpen()) {
+            return;
+        }
+        if (this.closed || !this.idleChannels.offer(pooledChannel)) {
+            close(pooledChannel);
+        }
+    }
+
+    int idleCount() {
+        return this.idleChannels.size();
+    }
+
+    /**
+     * Closes the idle channels. Channels released afterwards are closed as well.
+     */
+    void close() {
+        this.closed = true;
+        PooledChannel pooledChannel;
+        while ((pooledChannel = this.idleChannels.poll()) != null) {
+            close(pooledChannel);
+        }
+    }
+
+    private static void close(PooledChannel pooledChannel) {
+        try {
+            pooledChannel.channel.close();
+        } catch (ShutdownSignalException | IOException | TimeoutException e) {
+            LOGGER.debug("Error while closing pooled channel {}", pooledChannel.channel, e);
+        }
+    }
+
+    /**
+     * A channel of the pool, with its publisher confirms correlation.
+     */
+    static final class PooledChannel {
+
+        private final Channel channel;
+        private final PublishingListener publishingListener;
+        private final AtomicBoolean confirmSelectCalled = new AtomicBoolean(false);
+
+        private PooledChannel(Channel channel, PublishingListener publishingListener) {
+            this.channel = channel;
+            this.publishingListener = publishingListener;
+        }
+
+        Channel channel() {
+            return this.channel;
+        }
+
+        PublishingListener publishingListener() {
+            return this.publishingListener;
+        }
+
+        void enablePublishConfirm() throws IOException {
+            if (this.confirmSelectCalled.compareAndSet(false, true)) {
+                this.channel.confirmSelect();
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import java.io.IOException;
+import java.util.zip.Deflater;
+
+/**
+ * Codec to compress and decompress message bodies.
+ * <p>
+ * A compressed message has its AMQP <code>content-encoding</code> property
+ * set to {@link #contentEncoding()}. Consumers decompress it if they know a codec
+ * for this content encoding: the built-in {@link #deflate()} codec and the codecs
+ * registered with the {@link java.util.ServiceLoader} mechanism, in a
+ * <code>META-INF/services/com.rabbitmq.jms.client.CompressionCodec</code> file.
+ * Consumers decompress only the messages compressed by producers of this library,
+ * other messages are received with their body as it is, whatever their content encoding.
+ * <p>
+ * Implementations must be thread-safe.
+ *
+ * @see CompressionPolicy
+ * @since 3.10.0
+ */
+public interface CompressionCodec {
+
+  /**
+   * The AMQP <code>content-encoding</code> of messages compressed with this codec.
+   *
+   * @return the content encoding, e.g. <code>deflate</code>
+   */
+  String contentEncoding();
+
+  /**
+   * Compresses a message body.
+   *
+   * @param data the body to compress
+   * @return the compressed body
+   * @throws IOException if the body cannot be compressed
+   */
+  byte[] compress(byte[] data) throws IOException;
+
+  /**
+   * Decompresses a message body.
+   *
+   * @param data the compressed body
+   * @return the original body
+   * @throws IOException if the body is not valid compressed data
+   */
+  byte[] decompress(byte[] data) throws IOException;
+
+  /**
+   * Decompresses a message body, unless the original body is larger than a limit.
+   * <p>
+   * The default implementation checks the size of the decompressed body.
+   * Implementations should rather stop decompressing as soon as the limit is exceeded.
+   *
+   * @param data the compressed body
+   * @param maxSize the maximum size of the original body, in bytes
+   * @return the original body
+   * @throws IOException if the body is not valid compressed data, or if the original body
+   *     is larger than <code>maxSize</code>
+   */
+  default byte[] decompress(byte[] data, int maxSize) throws IOException {
+    byte[] decompressed = decompress(data);
+    if (decompressed.length > maxSize) {
+      throw new IOException("Decompressed body is larger than " + maxSize + " bytes");
+    }
+    return decompressed;
+  }
+
+  /**
+   * Returns the built-in codec for the <code>deflate</code> content encoding
+   * (zlib format), with the default compression level.
+   *
+   * @return the deflate codec
+   */
+  static CompressionCodec deflate() {
+    return DeflateCompressionCodec.DEFAULT;
+  }
+
+  /**
+   * Returns a codec for the <code>deflate</code> content encoding
+   * (zlib format) with the given compression level.
+   *
+   * @param level the compression level, from {@link Deflater#BEST_SPEED} to
+   *     {@link Deflater#BEST_COMPRESSION}
+   * @return the deflate codec
+   */
+  static CompressionCodec deflate(int level) {
+    return level == Deflater.DEFAULT_COMPRESSION ? DeflateCompressionCodec.DEFAULT : new DeflateCompressionCodec(level);
+  }
+}
@@ -0,0 +1,48 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import jakarta.jms.Destination;
+
+/**
+ * Decides whether producers compress the body of a message, and with which codec.
+ * <p>
+ * The policy is called for each sent message, with the encoded body size, so it
+ * must be fast and thread-safe. It can apply different settings per destination,
+ * e.g. compress only the messages sent to a given queue.
+ * <p>
+ * The body is sent uncompressed if the compressed body is not smaller.
+ *
+ * @see com.rabbitmq.jms.admin.RMQConnectionFactory#setCompressionPolicy(CompressionPolicy)
+ * @since 3.10.0
+ */
+@FunctionalInterface
+public interface CompressionPolicy {
+
+  /**
+   * Returns the codec to compress a message body with.
+   *
+   * @param destination the destination of the message
+   * @param bodySize the size of the encoded body, in bytes
+   * @return the codec, or <code>null</code> to send the body uncompressed
+   */
+  CompressionCodec codec(Destination destination, int bodySize);
+
+  /**
+   * Returns a policy that compresses the bodies of at least <code>threshold</code> bytes,
+   * whatever the destination.
+   *
+   * @param codec the codec to compress the bodies with
+   * @param threshold the minimum body size to compress, in bytes
+   * @return the policy
+   */
+  static CompressionPolicy threshold(CompressionCodec codec, int threshold) {
+    if (codec == null) {
+      throw new IllegalArgumentException("Compression codec cannot be null");
+    }
+    return (destination, bodySize) -> bodySize >= threshold ? codec : null;
+  }
+}
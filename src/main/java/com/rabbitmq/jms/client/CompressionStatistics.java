@@ -0,0 +1,115 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compression statistics of a connection.
+ * <p>
+ * Counters are cumulative since the creation of the connection.
+ *
+ * @see RMQConnection#getCompressionStatistics()
+ * @since 3.10.0
+ */
+public final class CompressionStatistics {
+
+    private final LongAdder compressedMessages = new LongAdder();
+    private final LongAdder uncompressedMessages = new LongAdder();
+    private final LongAdder bytesBeforeCompression = new LongAdder();
+    private final LongAdder bytesAfterCompression = new LongAdder();
+    private final LongAdder compressionTimeNanos = new LongAdder();
+    private final LongAdder decompressedMessages = new LongAdder();
+    private final LongAdder decompressionTimeNanos = new LongAdder();
+
+    CompressionStatistics() { }
+
+    void compressed(int originalSize, int compressedSize, long nanos) {
+        this.compressedMessages.increment();
+        this.bytesBeforeCompression.add(originalSize);
+        this.bytesAfterCompression.add(compressedSize);
+        this.compressionTimeNanos.add(nanos);
+    }
+
+    void notCompressed(long nanos) {
+        this.uncompressedMessages.increment();
+        this.compressionTimeNanos.add(nanos);
+    }
+
+    void decompressed(long nanos) {
+        this.decompressedMessages.increment();
+        this.decompressionTimeNanos.add(nanos);
+    }
+
+    /**
+     * @return number of messages sent compressed
+     */
+    public long getCompressedMessages() {
+        return this.compressedMessages.sum();
+    }
+
+    /**
+     * @return number of messages sent uncompressed because compression did not make them smaller
+     */
+    public long getIneffectiveCompressions() {
+        return this.uncompressedMessages.sum();
+    }
+
+    /**
+     * @return total size of the bodies of compressed messages, before compression
+     */
+    public long getBytesBeforeCompression() {
+        return this.bytesBeforeCompression.sum();
+    }
+
+    /**
+     * @return total size of the bodies of compressed messages, after compression
+     */
+    public long getBytesAfterCompression() {
+        return this.bytesAfterCompression.sum();
+    }
+
+    /**
+     * @return compressed size / original size of compressed messages, 1.0 if no message was compressed
+     */
+    public double getCompressionRatio() {
+        long before = getBytesBeforeCompression();
+        return before == 0 ? 1.0 : (double) getBytesAfterCompression() / before;
+    }
+
+    /**
+     * @return time spent compressing bodies, including ineffective compressions, in nanoseconds
+     */
+    public long getCompressionTimeNanos() {
+        return this.compressionTimeNanos.sum();
+    }
+
+    /**
+     * @return number of received messages that have been decompressed
+     */
+    public long getDecompressedMessages() {
+        return this.decompressedMessages.sum();
+    }
+
+    /**
+     * @return time spent decompressing bodies, in nanoseconds
+     */
+    public long getDecompressionTimeNanos() {
+        return this.decompressionTimeNanos.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionStatistics{" +
+            "compressedMessages=" + getCompressedMessages() +
+            ", ineffectiveCompressions=" + getIneffectiveCompressions() +
+            ", compressionRatio=" + getCompressionRatio() +
+            ", compressionTimeNanos=" + getCompressionTimeNanos() +
+            ", decompressedMessages=" + getDecompressedMessages() +
+            ", decompressionTimeNanos=" + getDecompressionTimeNanos() +
+            '}';
+    }
+}
@@ -12,6 +12,7 @@ import com.rabbitmq.jms.util.WhiteListObjectInputStream;
 
 import jakarta.jms.Message;
 import jakarta.jms.MessageProducer;
+import java.util.Collections;
 import java.util.function.BiFunction;
 import java.util.List;
 
@@ -23,6 +24,21 @@ public class ConnectionParams {
     /** The TCP connection wrapper to the RabbitMQ broker */
     private com.rabbitmq.client.Connection rabbitConnection;
 
+    /**
+     * All the TCP connections to the RabbitMQ broker, when the JMS connection
+     * is striped over several AMQP connections.
+     *
+     * @since 3.10.0
+     */
+    private List<com.rabbitmq.client.Connection> rabbitConnections;
+
+    /**
+     * How to pick the AMQP connection of a new channel.
+     *
+     * @since 3.10.0
+     */
+    private StripingStrategy stripingStrategy = StripingStrategy.ROUND_ROBIN;
+
     /** Maximum time (in ms) to wait for close() to complete */
     private long terminationTimeout;
 
@@ -39,6 +55,14 @@ public class ConnectionParams {
      */
     private int channelsQos = RMQConnection.NO_CHANNEL_QOS;
 
+    /**
+     * Maximum number of idle channels pooled for lightweight sessions.
+     * Lightweight sessions are disabled if 0 (default).
+     *
+     * @since 3.10.0
+     */
+    private int channelPoolSize = 0;
+
     /**
      * Whether {@link MessageProducer} properties (delivery mode,
      * priority, TTL) take precedence over respective {@link Message}
@@ -109,6 +133,13 @@ public class ConnectionParams {
 
     private boolean keepTextMessageType = false;
 
+    /**
+     * Whether producers send the properties of JMS messages only in AMQP headers.
+     *
+     * @since 3.10.0
+     */
+    private boolean propertiesInHeadersOnly = false;
+
     private List<String> trustedPackages = WhiteListObjectInputStream.DEFAULT_TRUSTED_PACKAGES;
 
     /**
@@ -126,6 +157,90 @@ public class ConnectionParams {
      */
     private NamingStrategy namingStrategy = NamingStrategy.DEFAULT;
 
+    /**
+     * The generator of message IDs, null to use a generator
+     * for the connection.
+     *
+     * @since 3.10.0
+     */
+    private MessageIdGenerator messageIdGenerator;
+
+    /**
+     * The policy to compress sent message bodies, null to not compress.
+     *
+     * @since 3.10.0
+     */
+    private CompressionPolicy compressionPolicy;
+
+    /**
+     * The codec of the compression policy, to decompress received messages
+     * if it is not registered. Can be null.
+     *
+     * @since 3.10.0
+     */
+    private CompressionCodec compressionCodec;
+
+    /**
+     * Maximum size of decompressed message bodies, in bytes.
+     *
+     * @since 3.10.0
+     */
+    private int maxDecompressedSize = 64 * 1024 * 1024;
+
+    /**
+     * The codec of ObjectMessage bodies, null for Java serialization.
+     *
+     * @since 3.10.0
+     */
+    private ObjectMessageCodec objectMessageCodec;
+
+    /**
+     * Whether StreamMessage and MapMessage bodies are sent in the compact encoding
+     * rather than Java serialization.
+     *
+     * @since 3.10.0
+     */
+    private boolean compactMessageBodies = false;
+
+    /**
+     * Collector of JMS-level metrics, null for no collection.
+     *
+     * @since 3.10.0
+     */
+    private JmsMetricsCollector jmsMetricsCollector;
+
+    /**
+     * Policy to requeue the messages that message listeners fail to process,
+     * requeued right away if null.
+     *
+     * @since 3.10.0
+     */
+    private RedeliveryPolicy redeliveryPolicy;
+
+    /**
+     * Whether consumers discard the messages that have expired instead
+     * of delivering them.
+     *
+     * @since 3.10.0
+     */
+    private boolean discardExpiredMessages = false;
+
+    /**
+     * Whether discarded expired messages are dead-lettered (rejected without requeue)
+     * instead of acknowledged.
+     *
+     * @since 3.10.0
+     */
+    private boolean deadLetterExpiredMessages = false;
+
+    /**
+     * Whether to register MXBeans for the connection and its sessions,
+     * producers and consumers.
+     *
+     * @since 3.10.0
+     */
+    private boolean jmxEnabled = false;
+
     public Connection getRabbitConnection() {
         return rabbitConnection;
     }
@@ -135,6 +250,39 @@ public class ConnectionParams {
         return this;
     }
 
+    public List<Connection> getRabbitConnections() {
+        if (rabbitConnections == null || rabbitConnections.isEmpty()) {
+            return rabbitConnection == null ? Collections.emptyList() : Collections.singletonList(rabbitConnection);
+        }
+        return rabbitConnections;
+    }
+
+    /**
+     * Sets the AMQP connections the JMS connection channels are spread on.
+     * <p>
+     * The first connection of the list becomes the main connection.
+     *
+     * @param rabbitConnections the AMQP connections
+     * @return this parameters instance
+     * @since 3.10.0
+     */
+    public ConnectionParams setRabbitConnections(List<Connection> rabbitConnections) {
+        this.rabbitConnections = rabbitConnections;
+        if (rabbitConnections != null && !rabbitConnections.isEmpty()) {
+            this.rabbitConnection = rabbitConnections.get(0);
+        }
+        return this;
+    }
+
+    public StripingStrategy getStripingStrategy() {
+        return stripingStrategy;
+    }
+
+    public ConnectionParams setStripingStrategy(StripingStrategy stripingStrategy) {
+        this.stripingStrategy = stripingStrategy;
+        return this;
+    }
+
     public long getTerminationTimeout() {
         return terminationTimeout;
     }
@@ -171,6 +319,15 @@ public class ConnectionParams {
         return this;
     }
 
+    public int getChannelPoolSize() {
+        return channelPoolSize;
+    }
+
+    public ConnectionParams setChannelPoolSize(int channelPoolSize) {
+        this.channelPoolSize = channelPoolSize;
+        return this;
+    }
+
     public boolean willPreferProducerMessageProperty() {
         return preferProducerMessageProperty;
     }
@@ -243,6 +400,15 @@ public class ConnectionParams {
         return keepTextMessageType;
     }
 
+    public ConnectionParams setPropertiesInHeadersOnly(boolean propertiesInHeadersOnly) {
+        this.propertiesInHeadersOnly = propertiesInHeadersOnly;
+        return this;
+    }
+
+    public boolean isPropertiesInHeadersOnly() {
+        return propertiesInHeadersOnly;
+    }
+
     public ConnectionParams setTrustedPackages(List<String> trustedPackages) {
         this.trustedPackages = trustedPackages;
         return this;
@@ -270,6 +436,105 @@ public class ConnectionParams {
         return replyToStrategy;
     }
 
+    public ConnectionParams setMessageIdGenerator(MessageIdGenerator messageIdGenerator) {
+        this.messageIdGenerator = messageIdGenerator;
+        return this;
+    }
+
+    public MessageIdGenerator getMessageIdGenerator() {
+        return messageIdGenerator;
+    }
+
+    public ConnectionParams setCompressionPolicy(CompressionPolicy compressionPolicy) {
+        this.compressionPolicy = compressionPolicy;
+        return this;
+    }
+
+    public CompressionPolicy getCompressionPolicy() {
+        return compressionPolicy;
+    }
+
+    public ConnectionParams setCompressionCodec(CompressionCodec compressionCodec) {
+        this.compressionCodec = compressionCodec;
+        return this;
+    }
+
+    public CompressionCodec getCompressionCodec() {
+        return compressionCodec;
+    }
+
+    public ConnectionParams setMaxDecompressedSize(int maxDecompressedSize) {
+        this.maxDecompressedSize = maxDecompressedSize;
+        return this;
+    }
+
+    public int getMaxDecompressedSize() {
+        return maxDecompressedSize;
+    }
+
+    public ConnectionParams setObjectMessageCodec(ObjectMessageCodec objectMessageCodec) {
+        this.objectMessageCodec = objectMessageCodec;
+        return this;
+    }
+
+    public ObjectMessageCodec getObjectMessageCodec() {
+        return objectMessageCodec;
+    }
+
+    public ConnectionParams setCompactMessageBodies(boolean compactMessageBodies) {
+        this.compactMessageBodies = compactMessageBodies;
+        return this;
+    }
+
+    public boolean isCompactMessageBodies() {
+        return compactMessageBodies;
+    }
+
+    public ConnectionParams setJmsMetricsCollector(JmsMetricsCollector jmsMetricsCollector) {
+        this.jmsMetricsCollector = jmsMetricsCollector;
+        return this;
+    }
+
+    public JmsMetricsCollector getJmsMetricsCollector() {
+        return jmsMetricsCollector;
+    }
+
+    public ConnectionParams setRedeliveryPolicy(RedeliveryPolicy redeliveryPolicy) {
+        this.redeliveryPolicy = redeliveryPolicy;
+        return this;
+    }
+
+    public RedeliveryPolicy getRedeliveryPolicy() {
+        return redeliveryPolicy;
+    }
+
+    public ConnectionParams setDiscardExpiredMessages(boolean discardExpiredMessages) {
+        this.discardExpiredMessages = discardExpiredMessages;
+        return this;
+    }
+
+    public boolean willDiscardExpiredMessages() {
+        return discardExpiredMessages;
+    }
+
+    public ConnectionParams setDeadLetterExpiredMessages(boolean deadLetterExpiredMessages) {
+        this.deadLetterExpiredMessages = deadLetterExpiredMessages;
+        return this;
+    }
+
+    public boolean willDeadLetterExpiredMessages() {
+        return deadLetterExpiredMessages;
+    }
+
+    public ConnectionParams setJmxEnabled(boolean jmxEnabled) {
+        this.jmxEnabled = jmxEnabled;
+        return this;
+    }
+
+    public boolean isJmxEnabled() {
+        return jmxEnabled;
+    }
+
     public ConnectionParams setNamingStrategy(NamingStrategy namingStrategy) {
         this.namingStrategy = namingStrategy;
         return this;
@@ -0,0 +1,80 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Default {@link MessageIdGenerator}: a random prefix followed by a counter.
+ * <p>
+ * The prefix is 128 random bits drawn once, when the generator is created,
+ * and the counter is incremented without locking, so generating an ID does
+ * not contend on a shared random generator.
+ * <p>
+ * IDs have the form <code>&lt;32 hexadecimal digits&gt;-&lt;counter in hexadecimal&gt;</code>.
+ * Producers get them with the <code>ID:</code> prefix of JMS message IDs, see
+ * {@link #generateMessageId()}.
+ * They are unique for a given generator (for 2<sup>64</sup> IDs)
+ * and, as random UUIDs, unique across generators (connections, JVMs)
+ * with overwhelming probability.
+ *
+ * @since 3.10.0
+ */
+final class DefaultMessageIdGenerator implements MessageIdGenerator {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final int PREFIX_RANDOM_BYTES = 16;
+
+    /** the <code>ID:</code> prefix, the random part and the '-' separator */
+    private final char[] prefix;
+
+    private final AtomicLong counter = new AtomicLong();
+
+    DefaultMessageIdGenerator() {
+        byte[] random = new byte[PREFIX_RANDOM_BYTES];
+        RANDOM.nextBytes(random);
+        int start = RMQMessage.MESSAGE_ID_PREFIX.length();
+        this.prefix = new char[start + 2 * PREFIX_RANDOM_BYTES + 1];
+        RMQMessage.MESSAGE_ID_PREFIX.getChars(0, start, this.prefix, 0);
+        for (int i = 0; i < PREFIX_RANDOM_BYTES; i++) {
+            this.prefix[start + 2 * i] = HEX_DIGITS[(random[i] >> 4) & 0xF];
+            this.prefix[start + 2 * i + 1] = HEX_DIGITS[random[i] & 0xF];
+        }
+        this.prefix[this.prefix.length - 1] = '-';
+    }
+
+    @Override
+    public String generate() {
+        return generate(RMQMessage.MESSAGE_ID_PREFIX.length());
+    }
+
+    /**
+     * Generates a new message ID with the <code>ID:</code> prefix, the value of
+     * {@link jakarta.jms.Message#getJMSMessageID()}, without copying it.
+     *
+     * @return the message ID, with the <code>ID:</code> prefix
+     */
+    String generateMessageId() {
+        return generate(0);
+    }
+
+    private String generate(int from) {
+        long value = this.counter.getAndIncrement();
+        int digits = Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(value) + 3) / 4);
+        int prefixLength = this.prefix.length - from;
+        char[] id = new char[prefixLength + digits];
+        System.arraycopy(this.prefix, from, id, 0, prefixLength);
+        for (int i = id.length - 1; i >= prefixLength; i--) {
+            id[i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return new String(id);
+    }
+}
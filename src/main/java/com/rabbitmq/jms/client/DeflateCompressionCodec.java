@@ -0,0 +1,122 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * {@link CompressionCodec} for the <code>deflate</code> content encoding.
+ * <p>
+ * Each thread reuses its own {@link Deflater} and {@link Inflater}, so their
+ * native state is not allocated and freed for each message.
+ *
+ * @since 3.10.0
+ */
+final class DeflateCompressionCodec implements CompressionCodec {
+
+    static final String CONTENT_ENCODING = "deflate";
+
+    static final DeflateCompressionCodec DEFAULT = new DeflateCompressionCodec(Deflater.DEFAULT_COMPRESSION);
+
+    private static final int MIN_BUFFER_SIZE = 64;
+
+    /** largest array size the VMs can allocate */
+    private static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+
+    private static final ThreadLocal<Inflater> INFLATERS = ThreadLocal.withInitial(Inflater::new);
+
+    private final int level;
+
+    private final ThreadLocal<Deflater> deflaters;
+
+    DeflateCompressionCodec(int level) {
+        if (level != Deflater.DEFAULT_COMPRESSION && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("Invalid compression level: " + level);
+        }
+        this.level = level;
+        this.deflaters = ThreadLocal.withInitial(() -> new Deflater(this.level));
+    }
+
+    @Override
+    public String contentEncoding() {
+        return CONTENT_ENCODING;
+    }
+
+    @Override
+    public byte[] compress(byte[] data) throws IOException {
+        Deflater deflater = this.deflaters.get();
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            byte[] out = new byte[Math.max(MIN_BUFFER_SIZE, data.length / 2)];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == out.length) {
+                    if (out.length == MAX_BUFFER_SIZE) {
+                        throw new IOException("Compressed body is too large");
+                    }
+                    out = Arrays.copyOf(out, grow(out.length, MAX_BUFFER_SIZE));
+                }
+                length += deflater.deflate(out, length, out.length - length);
+            }
+            return Arrays.copyOf(out, length);
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    @Override
+    public byte[] decompress(byte[] data) throws IOException {
+        return decompress(data, MAX_BUFFER_SIZE - 1);
+    }
+
+    @Override
+    public byte[] decompress(byte[] data, int maxSize) throws IOException {
+        Inflater inflater = INFLATERS.get();
+        try {
+            inflater.setInput(data);
+            int limit = Math.min(Math.max(0, maxSize), MAX_BUFFER_SIZE - 1);
+            // one more byte than the limit tells the body is too large
+            int capacity = limit + 1;
+            byte[] out = new byte[(int) Math.min(capacity, Math.max(MIN_BUFFER_SIZE, data.length * 4L))];
+            int length = 0;
+            while (!inflater.finished()) {
+                if (length == out.length) {
+                    out = Arrays.copyOf(out, grow(out.length, capacity));
+                }
+                int inflated = inflater.inflate(out, length, out.length - length);
+                if (inflated == 0 && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated or invalid deflate data");
+                }
+                length += inflated;
+                if (length > limit) {
+                    throw new IOException("Decompressed body is larger than " + limit + " bytes");
+                }
+            }
+            return length == out.length ? out : Arrays.copyOf(out, length);
+        } catch (DataFormatException e) {
+            throw new IOException("Invalid deflate data", e);
+        } finally {
+            inflater.reset();
+        }
+    }
+
+    /**
+     * @return the doubled length, at least {@link #MIN_BUFFER_SIZE} and at most <code>max</code>
+     */
+    private static int grow(int length, int max) {
+        return (int) Math.min(max, Math.max(MIN_BUFFER_SIZE, length * 2L));
+    }
+
+    @Override
+    public String toString() {
+        return "DeflateCompressionCodec{level=" + this.level + '}';
+    }
+}
@@ -5,13 +5,9 @@
 // Copyright (c) 2013-2023 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
 package com.rabbitmq.jms.client;
 
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 
 import jakarta.jms.JMSException;
 import jakarta.jms.MessageListener;
@@ -22,21 +18,204 @@ import com.rabbitmq.jms.util.RMQJMSException;
  * Class to deliver messages to the <code>onMessage()</code> callback. Handles execution on a different thread, timeout
  * if execution takes too long (set on instantiation), and interrupts execution on closure or timeout. Also serialises
  * calls. There is one instance of this executor per session.
+ * <p>
+ * Messages are handed to the delivery thread through a single reusable slot, so a delivery
+ * does not allocate a task, a future, or a queue node.
  */
 class DeliveryExecutor {
 
-    private final class CallOnMessage implements Callable<Boolean> {
-        private final RMQMessage rmqMessage;
-        private final MessageListener messageListener;
+    /**
+     * The thread calling <code>onMessage</code> and the slot of the message it delivers.
+     * <p>
+     * The slot is guarded by the monitor of the instance. It holds one delivery at a time:
+     * the calling thread waits for the slot to be free, fills it, and waits for the delivery
+     * to be done before freeing it.
+     */
+    private final class Deliverer implements Runnable {
+
+        private static final int IDLE = 0, PENDING = 1, RUNNING = 2, DONE = 3;
+
+        private final Thread thread;
 
-        private CallOnMessage(RMQMessage rmqMessage, MessageListener messageListener) {
+        private int state = IDLE;
+        private RMQMessage rmqMessage;
+        private MessageListener messageListener;
+        private String destination;
+        /** submission time, 0 if metrics are not collected */
+        private long submitted;
+        private Throwable failure;
+        /** the calling thread stopped waiting for the delivery in the slot */
+        private boolean abandoned;
+        private boolean stopped;
+
+        private Deliverer() {
+            this.thread = Executors.defaultThreadFactory().newThread(this);
+        }
+
+        /**
+         * Delivers a message and waits until it is done.
+         *
+         * @return false if the deliverer was stopped before the message could be delivered
+         * @throws TimeoutDeliveryException if the delivery is not done before the deadline
+         */
+        synchronized boolean deliver(RMQMessage rmqMessage, MessageListener messageListener, String destination, long deadline)
+            throws InterruptedException, TimeoutDeliveryException, ExecutionDeliveryException {
+            while (this.state != IDLE) {
+                // the previous delivery was abandoned and is still running
+                if (this.stopped) {
+                    return false;
+                }
+                waitUntil(deadline);
+            }
+            if (this.stopped) {
+                return false;
+            }
             this.rmqMessage = rmqMessage;
             this.messageListener = messageListener;
+            this.destination = destination;
+            this.submitted = metricsCollector == JmsMetricsCollector.NO_OP ? 0 : System.nanoTime();
+            this.state = PENDING;
+            this.notifyAll();
+            try {
+                while (this.state != DONE) {
+                    if (this.stopped && this.state == PENDING) {
+                        // the thread stops without delivering the message
+                        this.free();
+                        return false;
+                    }
+                    waitUntil(deadline);
+                }
+            } catch (TimeoutDeliveryException | InterruptedException e) {
+                if (this.state == PENDING) {
+                    // not picked up by the thread yet, it must not be delivered
+                    this.free();
+                } else {
+                    this.abandoned = true;
+                }
+                throw e;
+            }
+            Throwable f = this.failure;
+            this.free();
+            if (f != null) {
+                throw new ExecutionDeliveryException(f);
+            }
+            return true;
         }
 
-        public Boolean call() throws Exception {
-            this.messageListener.onMessage(this.rmqMessage);
-            return true;
+        private void waitUntil(long deadline) throws InterruptedException, TimeoutDeliveryException {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw TimeoutDeliveryException.INSTANCE;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+
+        private void free() {
+            this.rmqMessage = null;
+            this.messageListener = null;
+            this.destination = null;
+            this.failure = null;
+            this.abandoned = false;
+            this.state = IDLE;
+            this.notifyAll();
+        }
+
+        /**
+         * Interrupts the <code>onMessage</code> call of an abandoned delivery.
+         */
+        synchronized void cancel() {
+            if (this.abandoned && this.state == RUNNING) {
+                this.thread.interrupt();
+            }
+        }
+
+        /**
+         * Stops the thread once the delivery in progress is done.
+         *
+         * @param interrupt true to interrupt the delivery in progress
+         */
+        synchronized void stop(boolean interrupt) {
+            this.stopped = true;
+            this.notifyAll();
+            if (interrupt) {
+                this.thread.interrupt();
+            }
+        }
+
+        boolean awaitTermination(long timeoutMs) {
+            try {
+                this.thread.join(timeoutMs);
+                return !this.thread.isAlive();
+            } catch (InterruptedException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                RMQMessage message;
+                MessageListener listener;
+                synchronized (this) {
+                    while (true) {
+                        if (this.stopped) {
+                            return;
+                        }
+                        if (this.state == PENDING) {
+                            if (!this.abandoned) {
+                                break;
+                            }
+                            // the calling thread gave up on the delivery before it started
+                            this.free();
+                            continue;
+                        }
+                        try {
+                            this.wait();
+                        } catch (InterruptedException e) {
+                            // interruption of a cancelled delivery, or stop
+                        }
+                    }
+                    this.state = RUNNING;
+                    message = this.rmqMessage;
+                    listener = this.messageListener;
+                }
+                Throwable f = null;
+                try {
+                    this.onMessage(message, listener);
+                } catch (Throwable t) {
+                    f = t;
+                }
+                synchronized (this) {
+                    if (this.abandoned) {
+                        this.free();
+                    } else {
+                        this.failure = f;
+                        this.state = DONE;
+                        this.notifyAll();
+                    }
+                }
+                // as a thread pool between tasks, the next delivery does not see the interruption of this one
+                Thread.interrupted();
+            }
+        }
+
+        private void onMessage(RMQMessage message, MessageListener listener) {
+            deliveredMessages.increment();
+            delivering = true;
+            try {
+                if (metricsCollector == JmsMetricsCollector.NO_OP) {
+                    listener.onMessage(message);
+                } else {
+                    long start = System.nanoTime();
+                    try {
+                        listener.onMessage(message);
+                    } finally {
+                        metricsCollector.onMessage(this.destination, start - this.submitted, System.nanoTime() - start);
+                    }
+                }
+            } finally {
+                delivering = false;
+            }
         }
     }
 
@@ -45,83 +224,147 @@ class DeliveryExecutor {
 
     private final boolean closeOnTimeout;
 
-    /** Executor allocated if/when onMessage calls are made; used to isolate us from potential hangs. */
-    private ExecutorService onMessageExecutorService = null;
-    private final Object lockOnMessageExecutorService = new Object();
+    private final JmsMetricsCollector metricsCollector;
+
+    /** For management, whether onMessage is being called */
+    private volatile boolean delivering = false;
+    private final LongAdder deliveredMessages = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    /** Thread allocated if/when onMessage calls are made; used to isolate us from potential hangs. */
+    private Deliverer deliverer = null;
+    private final Object lockDeliverer = new Object();
+    private volatile boolean closed = false;
 
     DeliveryExecutor(long onMessageTimeoutMs, boolean closeOnTimeout) {
+        this(onMessageTimeoutMs, closeOnTimeout, JmsMetricsCollector.NO_OP);
+    }
+
+    DeliveryExecutor(long onMessageTimeoutMs, boolean closeOnTimeout, JmsMetricsCollector metricsCollector) {
         this.onMessageTimeoutMs = onMessageTimeoutMs;
         this.closeOnTimeout = closeOnTimeout;
+        this.metricsCollector = metricsCollector;
     }
 
     /**
-     * Method to deliver message to the client, on a separate executor thread so we can abort this if it takes too long.
-     * The executor service (with one thread) is allocated one per session, as and when needed, and we reserve the right
+     * Method to deliver message to the client, on a separate thread so we can abort this if it takes too long.
+     * The thread is allocated one per session, as and when needed, and we reserve the right
      * to interrupt it if it takes too long to process the <code>onMessage</code> call. Within a session there should be
      * only one <code>onMessage</code> call being executed at any one time.
      *
      * @param rmqMessage the message to deliver
      * @param messageListener JMS message listener that will handle the delivery
+     * @param destination the name of the destination of the consumer, for metrics
      * @throws JMSException if the delivery takes too long and is aborted
      * @throws InterruptedException if executing thread is interrupted
      */
-    public void deliverMessageWithProtection(RMQMessage rmqMessage, MessageListener messageListener) throws JMSException, InterruptedException {
-        Future<Boolean> task = null;
+    public void deliverMessageWithProtection(RMQMessage rmqMessage, MessageListener messageListener, String destination) throws JMSException, InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.onMessageTimeoutMs);
+        Deliverer d = null;
         try {
-            task = this.getExecutorService().submit(new CallOnMessage(rmqMessage, messageListener));
-            task.get(this.onMessageTimeoutMs, TimeUnit.MILLISECONDS);
-        } catch (TimeoutException e) {
+            d = this.getDeliverer();
+            while (!d.deliver(rmqMessage, messageListener, destination, deadline)) {
+                if (this.closed) {
+                    // the channel closes with the session, the message is requeued
+                    throw new RMQJMSException("Session closed before the message could be delivered", null);
+                }
+                // stopped after a timeout, the next deliveries go to a new thread
+                d = this.getDeliverer();
+            }
+        } catch (TimeoutDeliveryException e) {
+            this.timeouts.increment();
             if (this.closeOnTimeout) {
                 this.closeAbruptly();
                 throw new RMQJMSException("onMessage took too long and was interrupted", null);
             } else {
-                task.cancel(true);
+                d.cancel();
                 throw new DeliveryProcessingTimeoutException();
             }
-        } catch (ExecutionException e) {
+        } catch (ExecutionDeliveryException e) {
             throw new RMQMessageListenerExecutionJMSException("onMessage threw exception", e.getCause());
         }
     }
 
     public void close() {
-        closeExecutorService(this.takeExecutorService());
+        this.closed = true;
+        closeDeliverer(this.takeDeliverer());
+    }
+
+    boolean isActive() {
+        synchronized (this.lockDeliverer) {
+            return this.deliverer != null;
+        }
+    }
+
+    boolean isDelivering() {
+        return this.delivering;
+    }
+
+    long getDeliveredMessageCount() {
+        return this.deliveredMessages.sum();
+    }
+
+    long getTimeoutCount() {
+        return this.timeouts.sum();
     }
 
     private void closeAbruptly() {
-        this.takeExecutorService().shutdownNow();
+        Deliverer d = this.takeDeliverer();
+        if (d != null) {
+            d.stop(true);
+        }
     }
 
-    private void closeExecutorService(ExecutorService executorService) {
-        if (executorService != null) {
-            executorService.shutdown();
-            if (!this.waitForTerminatedExecutorService(executorService)) {
-                executorService.shutdownNow();
+    private void closeDeliverer(Deliverer d) {
+        if (d != null) {
+            d.stop(false);
+            if (!d.awaitTermination(this.onMessageTimeoutMs)) {
+                d.stop(true);
             }
         }
     }
 
-    private ExecutorService takeExecutorService() {
-        synchronized (this.lockOnMessageExecutorService) {
-            ExecutorService es = this.onMessageExecutorService;
-            this.onMessageExecutorService = null;
-            return es;
+    private Deliverer takeDeliverer() {
+        synchronized (this.lockDeliverer) {
+            Deliverer d = this.deliverer;
+            this.deliverer = null;
+            return d;
         }
     }
 
-    private ExecutorService getExecutorService() {
-        synchronized (this.lockOnMessageExecutorService) {
-            if (this.onMessageExecutorService == null) {
-                this.onMessageExecutorService = Executors.newSingleThreadExecutor();
+    private Deliverer getDeliverer() {
+        synchronized (this.lockDeliverer) {
+            if (this.deliverer == null) {
+                this.deliverer = new Deliverer();
+                this.deliverer.thread.start();
             }
-            return this.onMessageExecutorService;
+            return this.deliverer;
         }
     }
 
-    private boolean waitForTerminatedExecutorService(ExecutorService executorService) {
-        try {
-            return executorService.awaitTermination(this.onMessageTimeoutMs, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            return false;
+    /**
+     * The delivery is not done before the deadline. Thrown on each timeout, so it has no stack trace.
+     */
+    private static final class TimeoutDeliveryException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final TimeoutDeliveryException INSTANCE = new TimeoutDeliveryException();
+
+        private TimeoutDeliveryException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * <code>onMessage</code> threw an exception, which is the cause.
+     */
+    private static final class ExecutionDeliveryException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        private ExecutionDeliveryException(Throwable cause) {
+            super(cause);
         }
     }
 
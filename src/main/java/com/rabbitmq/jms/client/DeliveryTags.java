@@ -0,0 +1,140 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import java.util.Arrays;
+
+/**
+ * Sorted set of delivery tags, in an array of primitive longs.
+ * <p>
+ * The delivery tags of a channel increase, so tags are appended at the end of the
+ * array and acknowledged from the start: once the array is large enough, adding and
+ * removing tags does not allocate, unlike a set of boxed {@link Long}s.
+ * <p>
+ * Methods are synchronized, so the size can be read without the lock of the session.
+ *
+ * @since 3.10.0
+ */
+final class DeliveryTags {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] tags = new long[INITIAL_CAPACITY];
+    /** tags are in [start, end) */
+    private int start = 0;
+    private int end = 0;
+
+    synchronized void add(long tag) {
+        if (this.end == this.tags.length) {
+            this.makeRoom();
+        }
+        if (this.start == this.end || this.tags[this.end - 1] < tag) {
+            this.tags[this.end++] = tag;
+            return;
+        }
+        // out of order, e.g. after a recovery
+        int index = Arrays.binarySearch(this.tags, this.start, this.end, tag);
+        if (index >= 0) {
+            return;
+        }
+        index = -index - 1;
+        System.arraycopy(this.tags, index, this.tags, index + 1, this.end - index);
+        this.tags[index] = tag;
+        this.end++;
+    }
+
+    synchronized boolean contains(long tag) {
+        return Arrays.binarySearch(this.tags, this.start, this.end, tag) >= 0;
+    }
+
+    synchronized boolean remove(long tag) {
+        int index = Arrays.binarySearch(this.tags, this.start, this.end, tag);
+        if (index < 0) {
+            return false;
+        }
+        if (index == this.start) {
+            this.start++;
+        } else {
+            System.arraycopy(this.tags, index + 1, this.tags, index, this.end - index - 1);
+            this.end--;
+        }
+        this.resetIfEmpty();
+        return true;
+    }
+
+    /**
+     * Removes the tags lower than or equal to a tag.
+     *
+     * @param tag the highest tag to remove
+     * @return the number of removed tags
+     */
+    synchronized int removeUpTo(long tag) {
+        int index = Arrays.binarySearch(this.tags, this.start, this.end, tag);
+        int newStart = index >= 0 ? index + 1 : -index - 1;
+        int removed = newStart - this.start;
+        this.start = newStart;
+        this.resetIfEmpty();
+        return removed;
+    }
+
+    /**
+     * @param tag a tag
+     * @return the highest tag lower than or equal to <code>tag</code>, -1 if there is none
+     */
+    synchronized long floor(long tag) {
+        int index = Arrays.binarySearch(this.tags, this.start, this.end, tag);
+        if (index >= 0) {
+            return tag;
+        }
+        index = -index - 1;
+        return index == this.start ? -1 : this.tags[index - 1];
+    }
+
+    /**
+     * @param index the index of a tag, from 0 to {@link #size()} excluded
+     * @return the tag
+     */
+    synchronized long get(int index) {
+        return this.tags[this.start + index];
+    }
+
+    /**
+     * @return the highest tag, -1 if there is none
+     */
+    synchronized long last() {
+        return this.start == this.end ? -1 : this.tags[this.end - 1];
+    }
+
+    synchronized int size() {
+        return this.end - this.start;
+    }
+
+    synchronized boolean isEmpty() {
+        return this.start == this.end;
+    }
+
+    synchronized void clear() {
+        this.start = 0;
+        this.end = 0;
+    }
+
+    private void resetIfEmpty() {
+        if (this.start == this.end) {
+            this.clear();
+        }
+    }
+
+    private void makeRoom() {
+        int size = this.end - this.start;
+        if (size > this.tags.length / 2) {
+            this.tags = Arrays.copyOfRange(this.tags, this.start, this.start + this.tags.length * 2);
+        } else {
+            System.arraycopy(this.tags, this.start, this.tags, 0, size);
+        }
+        this.start = 0;
+        this.end = size;
+    }
+}
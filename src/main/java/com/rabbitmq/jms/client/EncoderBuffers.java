@@ -0,0 +1,97 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import com.rabbitmq.jms.util.RMQByteArrayOutputStream;
+
+/**
+ * Thread-local buffers to encode messages before publishing.
+ * <p>
+ * A thread reuses the same buffer from one message to the other, so encoding
+ * does not allocate and grow a new buffer each time. A buffer that grew larger
+ * than {@link #MAX_RETAINED_CAPACITY} is not kept, so a single large message
+ * does not pin memory for the lifetime of the thread.
+ * <p>
+ * A buffer is taken from the thread while it is used: a nested encoding on the
+ * same thread gets a fresh buffer.
+ *
+ * @since 3.10.0
+ */
+final class EncoderBuffers {
+
+    /** the largest buffer capacity retained by a thread */
+    static final int MAX_RETAINED_CAPACITY =
+        Integer.getInteger("com.rabbitmq.jms.client.message.buffer.retained.max", 1024 * 1024);
+
+    private static final ThreadLocal<RMQByteArrayOutputStream> BUFFERS = new ThreadLocal<>();
+
+    private EncoderBuffers() { }
+
+    /**
+     * Takes the buffer of the current thread, or allocates a new one.
+     * <p>
+     * The buffer must be given back with {@link #release(RMQByteArrayOutputStream)}.
+     *
+     * @param sizeHint expected size of the encoded message
+     * @return an empty buffer with at least <code>sizeHint</code> bytes of capacity
+     */
+    static RMQByteArrayOutputStream acquire(int sizeHint) {
+        RMQByteArrayOutputStream buffer = BUFFERS.get();
+        if (buffer == null) {
+            return new RMQByteArrayOutputStream(sizeHint);
+        }
+        BUFFERS.set(null);
+        buffer.ensureCapacity(sizeHint);
+        return buffer;
+    }
+
+    /**
+     * Gives a buffer back to the current thread, unless it is too large to be retained.
+     *
+     * @param buffer the buffer to give back
+     */
+    static void release(RMQByteArrayOutputStream buffer) {
+        if (buffer.capacity() <= MAX_RETAINED_CAPACITY) {
+            buffer.reset();
+            BUFFERS.set(buffer);
+        }
+    }
+
+    /**
+     * Moving average of the size of encoded messages, to size new buffers.
+     * <p>
+     * A producer feeds it with the size of the messages it sends, so a buffer
+     * for a large message is allocated at once instead of growing step by step.
+     * Updates are not synchronized: a lost update only makes the estimate a
+     * bit less accurate.
+     */
+    static final class SizeEstimate {
+
+        /** weight of the last size in the average is 1 / 2^WEIGHT_SHIFT */
+        private static final int WEIGHT_SHIFT = 3;
+
+        private final int minimum;
+        private volatile int average;
+
+        SizeEstimate(int minimum) {
+            this.minimum = minimum;
+            this.average = minimum;
+        }
+
+        /**
+         * @return the expected size of the next message, with some headroom
+         */
+        int estimate() {
+            int avg = this.average;
+            return Math.max(this.minimum, avg + (avg >> 2));
+        }
+
+        void record(int size) {
+            int avg = this.average;
+            this.average = avg + ((size - avg) >> WEIGHT_SHIFT);
+        }
+    }
+}
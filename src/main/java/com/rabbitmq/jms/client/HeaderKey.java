@@ -0,0 +1,93 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+/**
+ * Names of the AMQP headers of JMS header fields, and of the internal properties
+ * of JMS messages.
+ * <p>
+ * Names of received headers and properties are looked up in a {@link StringTable}:
+ * the name of a known key is then the constant of the key, instead of a copy per
+ * message, and it is dispatched with a switch on the key.
+ *
+ * @since 3.10.0
+ */
+enum HeaderKey {
+
+    // AMQP headers
+    JMS_DELIVERY_MODE("JMSDeliveryMode"),
+    JMS_MESSAGE_ID("JMSMessageID"),
+    JMS_TIMESTAMP("JMSTimestamp"),
+    JMS_PRIORITY("JMSPriority"),
+    JMS_CORRELATION_ID("JMSCorrelationID"),
+    JMS_TYPE(RMQMessage.JMS_TYPE_HEADER),
+    JMS_EXPIRATION("JMSExpiration"),
+    JMS_PROPERTIES_IN_HEADERS(RMQMessage.JMS_PROPERTIES_IN_HEADERS_HEADER),
+    COMPRESSED(RMQMessage.JMS_COMPRESSED_HEADER),
+
+    // internal properties, those with a selectable header are set by RMQMessage#toHeaders()
+    MESSAGE_ID(RMQMessage.JMS_MESSAGE_ID, true),
+    MESSAGE_TIMESTAMP(RMQMessage.JMS_MESSAGE_TIMESTAMP, true),
+    MESSAGE_CORRELATION_ID(RMQMessage.JMS_MESSAGE_CORR_ID, true),
+    MESSAGE_REPLY_TO(RMQMessage.JMS_MESSAGE_REPLY_TO),
+    MESSAGE_DESTINATION(RMQMessage.JMS_MESSAGE_DESTINATION),
+    MESSAGE_REDELIVERED(RMQMessage.JMS_MESSAGE_REDELIVERED),
+    MESSAGE_TYPE(RMQMessage.JMS_MESSAGE_TYPE, true),
+    MESSAGE_DELIVERY_MODE(RMQMessage.JMS_MESSAGE_DELIVERY_MODE, true),
+    MESSAGE_EXPIRATION(RMQMessage.JMS_MESSAGE_EXPIRATION),
+    MESSAGE_PRIORITY(RMQMessage.JMS_MESSAGE_PRIORITY, true),
+    MESSAGE_DELIVERY_TIME(RMQMessage.JMS_MESSAGE_DELIVERY_TIME),
+    STREAM_QUEUE(RMQMessage.JMS_STREAM_QUEUE),
+    STREAM_CHUNKS(RMQMessage.JMS_STREAM_CHUNKS),
+    STREAM_LENGTH(RMQMessage.JMS_STREAM_LENGTH),
+    OBJECT_CODEC(RMQMessage.JMS_OBJECT_CODEC),
+
+    // JMS-defined property
+    JMSX_DELIVERY_COUNT(RMQMessage.JMS_X_DELIVERY_COUNT);
+
+    private static final StringTable<HeaderKey> KEYS = StringTable.of(values(), HeaderKey::key);
+
+    private final String key;
+    private final boolean selectable;
+
+    HeaderKey(String key) {
+        this(key, false);
+    }
+
+    HeaderKey(String key, boolean selectable) {
+        this.key = key;
+        this.selectable = selectable;
+    }
+
+    String key() {
+        return this.key;
+    }
+
+    /**
+     * @return true for an internal property that {@link RMQMessage#toHeaders()} sets as a selectable header
+     */
+    boolean isSelectable() {
+        return this.selectable;
+    }
+
+    /**
+     * @param name a header or property name
+     * @return the key, null if the name is not a known key
+     */
+    static HeaderKey lookup(String name) {
+        return KEYS.get(name);
+    }
+
+    /**
+     * @param bytes bytes of a header or property name
+     * @param offset the offset of the name
+     * @param length the length of the encoded name
+     * @return the key, null if the name is not a known key
+     */
+    static HeaderKey lookup(byte[] bytes, int offset, int length) {
+        return KEYS.get(bytes, offset, length);
+    }
+}
@@ -0,0 +1,186 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import com.rabbitmq.client.LongString;
+import com.rabbitmq.jms.admin.RMQDestination;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Conversion of message property values to and from AMQP header values,
+ * for messages that carry their properties only in AMQP headers.
+ * <p>
+ * Primitive values and strings are header values as is.
+ * {@link RMQDestination}s (e.g. <code>JMSDestination</code> and <code>JMSReplyTo</code>)
+ * are field tables, which are much more compact than their Java serialization.
+ * <p>
+ * Strings of received headers are {@link LongString}s. The common values, e.g. the
+ * delivery modes, are recognized from their bytes and are then constants, the other
+ * values are decoded.
+ *
+ * @since 3.10.0
+ */
+final class HeaderPropertyValues {
+
+    private static final String DESTINATION_NAME = "name";
+    private static final String DESTINATION_AMQP = "amqp";
+    private static final String DESTINATION_EXCHANGE = "exchange";
+    private static final String DESTINATION_ROUTING_KEY = "routing-key";
+    private static final String DESTINATION_QUEUE_NAME = "queue";
+    private static final String DESTINATION_IS_QUEUE = "is-queue";
+    private static final String DESTINATION_TEMPORARY = "temporary";
+    private static final String DESTINATION_ARGUMENTS = "arguments";
+
+    private static final Set<String> DESTINATION_KEYS = new HashSet<>(Arrays.asList(DESTINATION_NAME, DESTINATION_AMQP,
+        DESTINATION_EXCHANGE, DESTINATION_ROUTING_KEY, DESTINATION_QUEUE_NAME, DESTINATION_IS_QUEUE, DESTINATION_TEMPORARY,
+        DESTINATION_ARGUMENTS));
+
+    static final String PERSISTENT = "PERSISTENT";
+    static final String NON_PERSISTENT = "NON_PERSISTENT";
+
+    /** values many messages have */
+    private static final StringTable<String> COMMON_VALUES = StringTable.of(PERSISTENT, NON_PERSISTENT,
+        RMQMessage.TEXT_MESSAGE_HEADER_VALUE, "BytesMessage", "MapMessage", "ObjectMessage", "StreamMessage");
+
+    private HeaderPropertyValues() { }
+
+    /**
+     * @param value a property value
+     * @return the header value, or null if the value cannot be a header value
+     */
+    static Object toHeaderValue(Object value) {
+        if (value instanceof String
+            || value instanceof Boolean
+            || value instanceof Byte
+            || value instanceof Short
+            || value instanceof Integer
+            || value instanceof Long
+            || value instanceof Float
+            || value instanceof Double) {
+            return value;
+        } else if (value instanceof RMQDestination) {
+            return toHeaderValue((RMQDestination) value);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Property values are the JMS property types. Timestamps are converted to their
+     * milliseconds, the other values that other clients can set in headers (e.g. tables,
+     * arrays, decimals, byte arrays) cannot be property values.
+     *
+     * @param value a header value of a received message
+     * @return the property value, or null if the value cannot be a property value
+     */
+    static Serializable fromHeaderValue(Object value) {
+        if (value instanceof LongString) {
+            return stringValue(value);
+        } else if (value instanceof String
+            || value instanceof Boolean
+            || value instanceof Byte
+            || value instanceof Short
+            || value instanceof Integer
+            || value instanceof Long
+            || value instanceof Float
+            || value instanceof Double) {
+            return (Serializable) value;
+        } else if (value instanceof Date) {
+            return ((Date) value).getTime();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * @param value a header value of a received message, for a destination property
+     * @return the destination, or null if the value is not a destination table
+     */
+    @SuppressWarnings("unchecked")
+    static RMQDestination destinationValue(Object value) {
+        if (value instanceof Map && isDestination((Map<String, Object>) value)) {
+            return toDestination((Map<String, Object>) value);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * @param value a header value
+     * @return the value as a string, a constant for a common {@link LongString} value, null for null
+     */
+    static String stringValue(Object value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof LongString) {
+            byte[] bytes = ((LongString) value).getBytes();
+            String common = COMMON_VALUES.get(bytes, 0, bytes.length);
+            if (common != null) {
+                return common;
+            }
+        }
+        return value.toString();
+    }
+
+    private static Map<String, Object> toHeaderValue(RMQDestination destination) {
+        Map<String, Object> table = new HashMap<>();
+        putIfNotNull(table, DESTINATION_NAME, destination.getDestinationName());
+        table.put(DESTINATION_AMQP, destination.isAmqp());
+        putIfNotNull(table, DESTINATION_EXCHANGE, destination.getAmqpExchangeName());
+        putIfNotNull(table, DESTINATION_ROUTING_KEY, destination.getAmqpRoutingKey());
+        putIfNotNull(table, DESTINATION_QUEUE_NAME, destination.getAmqpQueueName());
+        table.put(DESTINATION_IS_QUEUE, destination.isQueue());
+        table.put(DESTINATION_TEMPORARY, destination.isTemporary());
+        putIfNotNull(table, DESTINATION_ARGUMENTS, destination.getQueueDeclareArguments());
+        return table;
+    }
+
+    private static boolean isDestination(Map<String, Object> table) {
+        if (!(table.get(DESTINATION_AMQP) instanceof Boolean) || !(table.get(DESTINATION_IS_QUEUE) instanceof Boolean)) {
+            return false;
+        }
+        for (String key : table.keySet()) {
+            if (!DESTINATION_KEYS.contains(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RMQDestination toDestination(Map<String, Object> table) {
+        String name = stringValue(table.get(DESTINATION_NAME));
+        String exchange = stringValue(table.get(DESTINATION_EXCHANGE));
+        String routingKey = stringValue(table.get(DESTINATION_ROUTING_KEY));
+        String queueName = stringValue(table.get(DESTINATION_QUEUE_NAME));
+        boolean isQueue = Boolean.TRUE.equals(table.get(DESTINATION_IS_QUEUE));
+        RMQDestination destination;
+        if (Boolean.TRUE.equals(table.get(DESTINATION_AMQP))) {
+            destination = new RMQDestination(name, exchange, routingKey, queueName);
+            destination.setQueue(isQueue);
+        } else {
+            destination = new RMQDestination(name, isQueue, Boolean.TRUE.equals(table.get(DESTINATION_TEMPORARY)),
+                (Map<String, Object>) table.get(DESTINATION_ARGUMENTS));
+            // the names come from the naming strategy of the sender
+            destination.setAmqpExchangeName(exchange);
+            destination.setAmqpRoutingKey(routingKey);
+            destination.setAmqpQueueName(queueName);
+        }
+        return destination;
+    }
+
+    private static void putIfNotNull(Map<String, Object> table, String key, Object value) {
+        if (value != null) {
+            table.put(key, value);
+        }
+    }
+}
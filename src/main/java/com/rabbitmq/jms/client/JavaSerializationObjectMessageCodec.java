@@ -0,0 +1,57 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import com.rabbitmq.jms.util.WhiteListObjectInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * {@link ObjectMessageCodec} based on Java serialization.
+ * <p>
+ * Messages encoded with this codec do not carry the codec name,
+ * so they can be read by previous versions of the library.
+ *
+ * @since 3.10.0
+ */
+final class JavaSerializationObjectMessageCodec implements ObjectMessageCodec {
+
+    static final String NAME = "java";
+
+    static final JavaSerializationObjectMessageCodec INSTANCE = new JavaSerializationObjectMessageCodec();
+
+    private JavaSerializationObjectMessageCodec() { }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] encode(Serializable object) throws IOException {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bout)) {
+            out.writeObject(object);
+        }
+        return bout.toByteArray();
+    }
+
+    @Override
+    public Serializable decode(byte[] data, List<String> trustedPackages) throws IOException, ClassNotFoundException {
+        try (WhiteListObjectInputStream in = new WhiteListObjectInputStream(new ByteArrayInputStream(data), trustedPackages)) {
+            return (Serializable) in.readObject();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "JavaSerializationObjectMessageCodec";
+    }
+}
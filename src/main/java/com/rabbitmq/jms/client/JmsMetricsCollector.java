@@ -0,0 +1,117 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+/**
+ * Collector of JMS-level metrics: messages published and consumed per destination,
+ * message listener timings, publisher confirm round-trip times, acknowledgements,
+ * delayed redeliveries, expired messages and selector evaluations.
+ * <p>
+ * Set a collector with
+ * {@link com.rabbitmq.jms.admin.RMQConnectionFactory#setJmsMetricsCollector(JmsMetricsCollector)}.
+ * The AMQP-level metrics of the connections are collected separately, see
+ * {@link com.rabbitmq.jms.admin.RMQConnectionFactory#setMetricsCollector(com.rabbitmq.client.MetricsCollector)}.
+ * <p>
+ * All methods do nothing by default. The library does not measure times when the
+ * collector is {@link #NO_OP}, the default.
+ * <p>
+ * Methods are called on the threads that send and receive messages: implementations must
+ * be thread-safe and must not block.
+ *
+ * @see com.rabbitmq.jms.client.metrics.SimpleJmsMetricsCollector
+ * @see com.rabbitmq.jms.client.metrics.JmxJmsMetricsCollector
+ * @since 3.10.0
+ */
+public interface JmsMetricsCollector {
+
+    /**
+     * Collector that does nothing.
+     */
+    JmsMetricsCollector NO_OP = new JmsMetricsCollector() { };
+
+    /**
+     * A message has been published.
+     *
+     * @param destination the name of the destination
+     * @param size the size of the AMQP message body, in bytes
+     */
+    default void published(String destination, int size) { }
+
+    /**
+     * A message has been received, by a message listener or a <code>receive</code> call.
+     *
+     * @param destination the name of the destination of the consumer
+     * @param size the size of the AMQP message body, in bytes
+     */
+    default void consumed(String destination, int size) { }
+
+    /**
+     * A message listener returned from <code>onMessage</code>, or threw an exception.
+     *
+     * @param destination the name of the destination of the consumer
+     * @param queueTimeNanos the time the message waited for the delivery thread of the session
+     * @param serviceTimeNanos the time <code>onMessage</code> took
+     */
+    default void onMessage(String destination, long queueTimeNanos, long serviceTimeNanos) { }
+
+    /**
+     * A publisher confirm has been received for a message.
+     *
+     * @param ack <code>true</code> if the message was confirmed, <code>false</code> if it was nack-ed
+     * @param roundTripNanos the time between the publishing and the confirm
+     */
+    default void confirmed(boolean ack, long roundTripNanos) { }
+
+    /**
+     * Messages have been acknowledged, with one AMQP acknowledgement.
+     *
+     * @param messages the number of messages acknowledged
+     */
+    default void acknowledged(int messages) { }
+
+    /**
+     * Messages have been negatively acknowledged or recovered, they go back to
+     * the broker to be redelivered or dropped.
+     *
+     * @param messages the number of messages
+     */
+    default void negativelyAcknowledged(int messages) { }
+
+    /**
+     * A message that a message listener failed to process is held before being requeued,
+     * instead of being requeued right away, see {@link RedeliveryPolicy}.
+     *
+     * @param destination the name of the destination of the consumer
+     * @param delayNanos the time the message is held
+     */
+    default void redeliveryDelayed(String destination, long delayNanos) { }
+
+    /**
+     * A message has reached the maximum delivery count of the {@link RedeliveryPolicy},
+     * it has been rejected without being requeued.
+     *
+     * @param destination the name of the destination of the consumer
+     * @param deliveryCount the number of deliveries of the message
+     */
+    default void deadLettered(String destination, int deliveryCount) { }
+
+    /**
+     * A message had expired when it reached a consumer, it has been acknowledged or
+     * dead-lettered without being delivered.
+     *
+     * @param destination the name of the destination of the consumer
+     * @see com.rabbitmq.jms.admin.RMQConnectionFactory#setDiscardExpiredMessages(boolean)
+     */
+    default void expired(String destination) { }
+
+    /**
+     * A message selector has been evaluated on a message by the client, when browsing a queue.
+     *
+     * @param destination the name of the destination
+     * @param matched whether the message matched the selector
+     */
+    default void selectorEvaluated(String destination, boolean matched) { }
+}
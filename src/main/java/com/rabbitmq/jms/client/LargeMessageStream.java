@@ -0,0 +1,367 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.GetResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Payload of a streamed message, published as chunks to a queue of its own.
+ * <p>
+ * The producer reads the payload one chunk at a time and publishes each chunk
+ * to the chunk queue, with publisher confirms. Once all the chunks are confirmed,
+ * it sends the JMS message, which references the chunk queue, to the destination.
+ * <p>
+ * The consumer of the JMS message reads the chunks one at a time from the chunk
+ * queue with {@link ChunkInputStream}, then deletes the queue. Memory is then
+ * bounded by the chunk size on both ends, whatever the size of the payload.
+ * <p>
+ * The chunk queue always expires after some time without use, so the chunks of
+ * a message that no consumer reads do not stay on the broker forever.
+ *
+ * @see RMQMessageProducer#sendStream(jakarta.jms.BytesMessage, InputStream, int)
+ * @since 3.10.0
+ */
+final class LargeMessageStream {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LargeMessageStream.class);
+
+    /** index of a chunk in the stream, AMQP header of chunk messages */
+    static final String CHUNK_INDEX_HEADER = RMQMessage.PREFIX + "jms.stream.chunk";
+
+    /** time to wait for the confirms of all the chunks */
+    private static final long CONFIRM_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(60);
+
+    /** the chunk queue outlives the message by this much if it has a time-to-live */
+    private static final long EXPIRY_MARGIN_MS = TimeUnit.SECONDS.toMillis(60);
+
+    /** time without use after which the chunk queue of a message without time-to-live expires */
+    static final long DEFAULT_EXPIRY_MS = TimeUnit.DAYS.toMillis(1);
+
+    private static final byte[] NO_BYTES = new byte[0];
+
+    private final String queue;
+    private final int chunks;
+    private final long length;
+
+    LargeMessageStream(String queue, int chunks, long length) {
+        this.queue = queue;
+        this.chunks = chunks;
+        this.length = length;
+    }
+
+    String getQueue() {
+        return this.queue;
+    }
+
+    int getChunks() {
+        return this.chunks;
+    }
+
+    long getLength() {
+        return this.length;
+    }
+
+    /**
+     * Publishes a payload as chunks to a new server-named queue.
+     * <p>
+     * The queue is deleted if the payload cannot be published.
+     *
+     * @param channel a non-transactional channel
+     * @param payload the payload, read until its end
+     * @param chunkSize the size of chunks
+     * @param persistent whether chunks are persistent (and the queue durable)
+     * @param timeToLive the time-to-live of the message, 0 for unlimited
+     * @return the published stream
+     * @throws IOException if the payload cannot be read or published
+     */
+    static LargeMessageStream publish(Channel channel, InputStream payload, int chunkSize,
+                                      boolean persistent, long timeToLive) throws IOException {
+        Map<String, Object> arguments = Collections.singletonMap("x-expires",
+            timeToLive > 0 ? timeToLive + EXPIRY_MARGIN_MS : DEFAULT_EXPIRY_MS);
+        String queue = channel.queueDeclare("", persistent, false, false, arguments).getQueue();
+        try {
+            channel.confirmSelect();
+            // the buffer is reused: basicPublish has written the chunk when it returns
+            byte[] buffer = new byte[chunkSize];
+            int chunks = 0;
+            long length = 0;
+            int read;
+            while ((read = readChunk(payload, buffer)) > 0) {
+                Map<String, Object> headers = new HashMap<>(2);
+                headers.put(CHUNK_INDEX_HEADER, chunks);
+                AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+                    .contentType("application/octet-stream")
+                    .deliveryMode(persistent ? 2 : 1)
+                    .correlationId(queue)
+                    .headers(headers)
+                    .build();
+                channel.basicPublish("", queue, properties, read == buffer.length ? buffer : Arrays.copyOf(buffer, read));
+                chunks++;
+                length += read;
+            }
+            channel.waitForConfirmsOrDie(CONFIRM_TIMEOUT_MS);
+            return new LargeMessageStream(queue, chunks, length);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(channel, queue);
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            deleteQuietly(channel, queue);
+            throw new IOException("Interrupted while waiting for chunk confirms", e);
+        } catch (TimeoutException e) {
+            deleteQuietly(channel, queue);
+            throw new IOException("Chunks not confirmed in time", e);
+        }
+    }
+
+    /**
+     * Fills the buffer from the stream, unless it ends before.
+     *
+     * @return the number of bytes read, 0 at the end of the stream
+     */
+    private static int readChunk(InputStream in, byte[] buffer) throws IOException {
+        int length = 0;
+        int read;
+        while (length < buffer.length && (read = in.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+        }
+        return length;
+    }
+
+    /**
+     * Tells whether a received message is acknowledged when its stream is read,
+     * instead of when it is delivered: the streamed messages of
+     * non-transacted sessions that acknowledge messages automatically.
+     *
+     * @param message the received message
+     * @return true if the acknowledgement waits for the end of the stream
+     */
+    static boolean isAcknowledgedAtEnd(RMQMessage message) {
+        RMQSession session = message.getSession();
+        return message.isStreamed() && session != null
+            && session.isAutoAck() && !session.getTransactedNoException();
+    }
+
+    /**
+     * Settles a streamed message once <code>onMessage</code> has returned, in sessions
+     * that acknowledge messages when their stream is read: if the listener did not read
+     * the stream until its end, the chunk queue is deleted and the message rejected.
+     * The message would otherwise be neither acknowledged nor rejected, and take up
+     * the prefetch of the consumer until it closes.
+     *
+     * @param message the message delivered to the listener
+     * @see #isAcknowledgedAtEnd(RMQMessage)
+     */
+    static void settleAfterListener(RMQMessage message) {
+        if (isAcknowledgedAtEnd(message)) {
+            InputStream in = message.getStreamedBody();
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    LOGGER.debug("Error while closing stream of message {}", message.getRabbitDeliveryTag(), e);
+                }
+            }
+        }
+    }
+
+    static void deleteQuietly(Channel channel, String queue) {
+        try {
+            channel.queueDelete(queue);
+        } catch (Exception e) {
+            LOGGER.debug("Error while deleting chunk queue {}", queue, e);
+        }
+    }
+
+    /**
+     * Stream over the chunks of a received streamed message.
+     * <p>
+     * Chunks are fetched one at a time with {@link Channel#basicGet(String, boolean)}
+     * on a dedicated channel. Once the last chunk is read, the chunk queue is deleted
+     * and the message acknowledged if the session acknowledges messages automatically;
+     * in client acknowledge sessions, the application still acknowledges it. If the
+     * stream is closed before its end, or if
+     * a chunk cannot be read, the chunk queue is deleted as well: the message is
+     * then rejected without being requeued in sessions that acknowledge messages
+     * automatically, as it could not be read again.
+     */
+    static final class ChunkInputStream extends InputStream {
+
+        private final RMQMessage message;
+        private final LargeMessageStream stream;
+        private Channel channel;
+        private byte[] chunk = NO_BYTES;
+        private int position = 0;
+        private int nextChunk = 0;
+        private boolean completed = false;
+        private boolean closed = false;
+
+        ChunkInputStream(RMQMessage message, LargeMessageStream stream) {
+            this.message = message;
+            this.stream = stream;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!ensureData()) {
+                return -1;
+            }
+            return this.chunk[this.position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            Objects.checkFromIndexSize(off, len, b.length);
+            if (len == 0) {
+                return 0;
+            }
+            if (!ensureData()) {
+                return -1;
+            }
+            int n = Math.min(len, this.chunk.length - this.position);
+            System.arraycopy(this.chunk, this.position, b, off, n);
+            this.position += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return this.chunk.length - this.position;
+        }
+
+        @Override
+        public void close() {
+            if (!this.closed) {
+                boolean atEnd = this.nextChunk == this.stream.chunks && this.position == this.chunk.length;
+                this.closed = true;
+                this.chunk = NO_BYTES;
+                if (this.completed) {
+                    return;
+                }
+                if (atEnd) {
+                    // all the bytes were read, but not the end of the stream
+                    try {
+                        complete();
+                    } catch (IOException e) {
+                        LOGGER.debug("Error while completing stream {}", this.stream.queue, e);
+                    }
+                } else {
+                    discard();
+                }
+            }
+        }
+
+        private boolean ensureData() throws IOException {
+            if (this.closed) {
+                throw new IOException("Stream closed");
+            }
+            while (this.position == this.chunk.length) {
+                if (this.nextChunk == this.stream.chunks) {
+                    complete();
+                    return false;
+                }
+                try {
+                    this.chunk = nextChunk();
+                } catch (IOException | RuntimeException e) {
+                    this.closed = true;
+                    this.chunk = NO_BYTES;
+                    discard();
+                    throw e;
+                }
+                this.position = 0;
+            }
+            return true;
+        }
+
+        private byte[] nextChunk() throws IOException {
+            GetResponse response = channel().basicGet(this.stream.queue, false);
+            if (response == null) {
+                throw new IOException("Chunk " + this.nextChunk + " of stream " + this.stream.queue + " is missing");
+            }
+            Map<String, Object> headers = response.getProps() == null ? null : response.getProps().getHeaders();
+            Object index = headers == null ? null : headers.get(CHUNK_INDEX_HEADER);
+            if (!(index instanceof Number) || ((Number) index).intValue() != this.nextChunk) {
+                throw new IOException("Expected chunk " + this.nextChunk + " of stream " + this.stream.queue + ", got " + index);
+            }
+            this.nextChunk++;
+            return response.getBody() == null ? NO_BYTES : response.getBody();
+        }
+
+        private void complete() throws IOException {
+            if (this.completed) {
+                return;
+            }
+            this.completed = true;
+            try {
+                channel().queueDelete(this.stream.queue);
+            } finally {
+                closeChannel();
+            }
+            if (isAcknowledgedAtEnd(this.message)) {
+                // not acknowledged on delivery; client acknowledge sessions leave it to the application
+                this.message.getSession().explicitAck(this.message.getRabbitDeliveryTag());
+            }
+        }
+
+        /**
+         * Deletes the chunk queue of a stream that is not read until its end,
+         * and rejects the message if the session acknowledges messages automatically.
+         */
+        private void discard() {
+            this.completed = true;
+            RMQSession session = this.message.getSession();
+            if (session == null) {
+                return;
+            }
+            try {
+                deleteQuietly(channel(), this.stream.queue);
+            } catch (IOException e) {
+                LOGGER.debug("Error while deleting chunk queue {}", this.stream.queue, e);
+            } finally {
+                closeChannel();
+            }
+            if (session.isAutoAck() && !session.getTransactedNoException()) {
+                session.explicitNack(this.message.getRabbitDeliveryTag(), false);
+            }
+        }
+
+        private Channel channel() throws IOException {
+            if (this.channel == null) {
+                RMQSession session = this.message.getSession();
+                if (session == null) {
+                    throw new IOException("Only received messages can be streamed");
+                }
+                this.channel = session.getConnection().createRabbitChannel(false);
+            }
+            return this.channel;
+        }
+
+        private void closeChannel() {
+            Channel ch = this.channel;
+            this.channel = null;
+            if (ch != null) {
+                try {
+                    ch.close();
+                } catch (Exception e) {
+                    LOGGER.debug("Error while closing chunk channel", e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,354 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import com.rabbitmq.jms.admin.RMQDestination;
+import com.rabbitmq.jms.client.metrics.ConnectionMXBean;
+import com.rabbitmq.jms.client.metrics.MessageConsumerMXBean;
+import com.rabbitmq.jms.client.metrics.MessageProducerMXBean;
+import com.rabbitmq.jms.client.metrics.SessionMXBean;
+import jakarta.jms.JMSException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registers the MXBeans of a connection and of its sessions, producers and consumers
+ * on the platform MBean server.
+ * <p>
+ * The MXBeans are views that read the state of the JMS objects when their attributes
+ * are read, the message path only increments a few counters. Registration failures
+ * are logged, they do not fail the creation of the JMS objects.
+ *
+ * @since 3.10.0
+ */
+final class ManagementRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ManagementRegistry.class);
+
+    static final String DOMAIN = "com.rabbitmq.jms";
+
+    private static final AtomicLong CONNECTION_SEQUENCE = new AtomicLong(0);
+
+    /** Registry of connections without MXBeans */
+    static final ManagementRegistry DISABLED = new ManagementRegistry(null);
+
+    private final MBeanServer server;
+
+    /** key properties of the connection, e.g. <code>connection=1</code> */
+    private final String connectionKey;
+
+    /** identifiers of sessions, producers and consumers, unique within the connection */
+    private final AtomicLong sequence = new AtomicLong(0);
+
+    private ManagementRegistry(MBeanServer server) {
+        this.server = server;
+        this.connectionKey = "connection=" + CONNECTION_SEQUENCE.incrementAndGet();
+    }
+
+    static ManagementRegistry platform() {
+        return new ManagementRegistry(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * @return the object name of the connection MXBean, null if the registration is disabled or failed
+     */
+    ObjectName registerConnection(RMQConnection connection) {
+        return register(new ConnectionView(connection), "Connection", this.connectionKey);
+    }
+
+    ObjectName registerSession(RMQSession session) {
+        return register(new SessionView(session), "Session",
+            this.connectionKey + ",session=" + this.sequence.incrementAndGet());
+    }
+
+    ObjectName registerProducer(ObjectName session, RMQMessageProducer producer) {
+        return register(new ProducerView(producer), "Producer", childKey(session, "producer"));
+    }
+
+    ObjectName registerConsumer(ObjectName session, RMQMessageConsumer consumer) {
+        return register(new ConsumerView(consumer), "Consumer", childKey(session, "consumer"));
+    }
+
+    void unregister(ObjectName objectName) {
+        if (objectName == null) {
+            return;
+        }
+        try {
+            if (this.server.isRegistered(objectName)) {
+                this.server.unregisterMBean(objectName);
+            }
+        } catch (JMException e) {
+            LOGGER.warn("Error while unregistering MXBean {}: {}", objectName, e.getMessage());
+        }
+    }
+
+    private String childKey(ObjectName session, String type) {
+        String sessionKey = session == null ? this.connectionKey + ",session=0" : session.getKeyPropertyListString();
+        // the type is the first key property
+        sessionKey = sessionKey.substring(sessionKey.indexOf(',') + 1);
+        return sessionKey + "," + type + "=" + this.sequence.incrementAndGet();
+    }
+
+    private ObjectName register(Object mxBean, String type, String keys) {
+        if (this.server == null) {
+            return null;
+        }
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=" + type + "," + keys);
+            this.server.registerMBean(mxBean, objectName);
+            return objectName;
+        } catch (JMException e) {
+            LOGGER.warn("Error while registering {} MXBean: {}", type, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads an attribute with a JMS getter, which does not actually throw.
+     */
+    private static <T> T read(JmsGetter<T> getter) {
+        try {
+            return getter.get();
+        } catch (JMSException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface JmsGetter<T> {
+
+        T get() throws JMSException;
+
+    }
+
+    private static final class ConnectionView implements ConnectionMXBean {
+
+        private final RMQConnection connection;
+
+        private ConnectionView(RMQConnection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public String getClientID() {
+            return read(this.connection::getClientID);
+        }
+
+        @Override
+        public boolean isStarted() {
+            return !this.connection.isStopped();
+        }
+
+        @Override
+        public boolean isClosed() {
+            return this.connection.isClosed();
+        }
+
+        @Override
+        public int getSessionCount() {
+            return this.connection.getSessionCount();
+        }
+
+        @Override
+        public int getAmqpConnectionCount() {
+            return this.connection.getAmqpConnectionCount();
+        }
+
+        @Override
+        public int getOpenChannelCount() {
+            return this.connection.getOpenChannelCount();
+        }
+
+        @Override
+        public int getIdleChannelCount() {
+            ChannelPool channelPool = this.connection.getChannelPool();
+            return channelPool == null ? 0 : channelPool.idleCount();
+        }
+    }
+
+    private static final class SessionView implements SessionMXBean {
+
+        private final RMQSession session;
+
+        private SessionView(RMQSession session) {
+            this.session = session;
+        }
+
+        @Override
+        public int getAcknowledgeMode() {
+            return this.session.getAcknowledgeModeNoException();
+        }
+
+        @Override
+        public boolean isTransacted() {
+            return this.session.getTransactedNoException();
+        }
+
+        @Override
+        public boolean isLightweight() {
+            return this.session.isLightweight();
+        }
+
+        @Override
+        public boolean isClosed() {
+            return this.session.isClosed();
+        }
+
+        @Override
+        public int getProducerCount() {
+            return this.session.getProducerCount();
+        }
+
+        @Override
+        public int getConsumerCount() {
+            return this.session.getConsumerCount();
+        }
+
+        @Override
+        public int getUnackedMessageCount() {
+            return this.session.getUnackedMessageCount();
+        }
+
+        @Override
+        public int getUncommittedMessageCount() {
+            return this.session.getUncommittedMessageCount();
+        }
+
+        @Override
+        public int getOutstandingConfirmCount() {
+            return this.session.getOutstandingConfirmCount();
+        }
+
+        @Override
+        public boolean isDeliveryExecutorActive() {
+            return this.session.getDeliveryExecutor().isActive();
+        }
+
+        @Override
+        public boolean isDelivering() {
+            return this.session.getDeliveryExecutor().isDelivering();
+        }
+
+        @Override
+        public long getDeliveredMessageCount() {
+            return this.session.getDeliveryExecutor().getDeliveredMessageCount();
+        }
+
+        @Override
+        public long getOnMessageTimeoutCount() {
+            return this.session.getDeliveryExecutor().getTimeoutCount();
+        }
+    }
+
+    private static final class ProducerView implements MessageProducerMXBean {
+
+        private final RMQMessageProducer producer;
+
+        private ProducerView(RMQMessageProducer producer) {
+            this.producer = producer;
+        }
+
+        @Override
+        public String getDestination() {
+            RMQDestination destination = this.producer.getRMQDestination();
+            return destination == null ? null : destination.getDestinationName();
+        }
+
+        @Override
+        public int getDeliveryMode() {
+            return read(this.producer::getDeliveryMode);
+        }
+
+        @Override
+        public int getPriority() {
+            return read(this.producer::getPriority);
+        }
+
+        @Override
+        public long getTimeToLive() {
+            return read(this.producer::getTimeToLive);
+        }
+
+        @Override
+        public long getDeliveryDelay() {
+            return this.producer.getDeliveryDelay();
+        }
+
+        @Override
+        public boolean isPublisherConfirmsEnabled() {
+            return this.producer.isPublisherConfirmsEnabled();
+        }
+
+        @Override
+        public long getSentMessageCount() {
+            return this.producer.getSentMessageCount();
+        }
+    }
+
+    private static final class ConsumerView implements MessageConsumerMXBean {
+
+        private final RMQMessageConsumer consumer;
+
+        private ConsumerView(RMQMessageConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public String getDestination() {
+            return this.consumer.getDestination().getDestinationName();
+        }
+
+        @Override
+        public String getMessageSelector() {
+            return read(this.consumer::getMessageSelector);
+        }
+
+        @Override
+        public boolean isDurable() {
+            return this.consumer.isDurable();
+        }
+
+        @Override
+        public boolean isClosed() {
+            return this.consumer.isClosed();
+        }
+
+        @Override
+        public boolean isMessageListenerSet() {
+            return this.consumer.isMessageListenerSet();
+        }
+
+        @Override
+        public boolean isPaused() {
+            return this.consumer.isPaused();
+        }
+
+        @Override
+        public boolean isRejecting() {
+            return this.consumer.isRejecting();
+        }
+
+        @Override
+        public int getPendingReceiveCount() {
+            return this.consumer.getPendingReceiveCount();
+        }
+
+        @Override
+        public long getReceivedMessageCount() {
+            return this.consumer.getReceivedMessageCount();
+        }
+
+        @Override
+        public long getExpiredMessageCount() {
+            return this.consumer.getExpiredMessageCount();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.GetResponse;
+import com.rabbitmq.jms.util.RMQJMSException;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compression of sent message bodies and decompression of received ones,
+ * for a connection.
+ * <p>
+ * Compressed messages carry the {@link RMQMessage#JMS_COMPRESSED_HEADER} header
+ * in addition to their content encoding: only those are decompressed, not messages
+ * from other clients that happen to have a content encoding. Decompressed bodies
+ * are limited in size, so a small malicious body cannot exhaust the memory.
+ *
+ * @see CompressionPolicy
+ * @see CompressionCodec
+ * @since 3.10.0
+ */
+final class MessageCompression {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MessageCompression.class);
+
+    /** default maximum size of decompressed bodies, in bytes */
+    static final int DEFAULT_MAX_DECOMPRESSED_SIZE = 64 * 1024 * 1024;
+
+    /** does not compress, decompresses with the registered codecs */
+    static final MessageCompression DECOMPRESSION_ONLY = new MessageCompression(null, null);
+
+    private final CompressionPolicy policy;
+
+    private final int maxDecompressedSize;
+
+    /** codecs by content encoding */
+    private final Map<String, CompressionCodec> codecs;
+
+    private final CompressionStatistics statistics = new CompressionStatistics();
+
+    /**
+     * @param policy the compression policy, <code>null</code> to not compress
+     * @param codec a codec to decompress with, in addition to the registered ones, can be <code>null</code>
+     */
+    MessageCompression(CompressionPolicy policy, CompressionCodec codec) {
+        this(policy, codec, DEFAULT_MAX_DECOMPRESSED_SIZE);
+    }
+
+    /**
+     * @param policy the compression policy, <code>null</code> to not compress
+     * @param codec a codec to decompress with, in addition to the registered ones, can be <code>null</code>
+     * @param maxDecompressedSize the maximum size of decompressed bodies, in bytes
+     */
+    MessageCompression(CompressionPolicy policy, CompressionCodec codec, int maxDecompressedSize) {
+        if (maxDecompressedSize <= 0) {
+            throw new IllegalArgumentException("Maximum decompressed size must be strictly positive: " + maxDecompressedSize);
+        }
+        this.policy = policy;
+        this.maxDecompressedSize = maxDecompressedSize;
+        if (codec == null || RegisteredCodecs.CODECS.get(codec.contentEncoding()) == codec) {
+            this.codecs = RegisteredCodecs.CODECS;
+        } else {
+            Map<String, CompressionCodec> c = new HashMap<>(RegisteredCodecs.CODECS);
+            c.put(codec.contentEncoding(), codec);
+            this.codecs = c;
+        }
+    }
+
+    CompressionStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    /**
+     * Compresses a body to send if the policy says so.
+     * <p>
+     * The <code>content-encoding</code> property and the {@link RMQMessage#JMS_COMPRESSED_HEADER}
+     * header are set if the body is compressed.
+     *
+     * @param destination the destination of the message
+     * @param body the encoded body
+     * @param properties the properties of the message
+     * @param headers the headers of the message, set on <code>properties</code>
+     * @return the compressed body, or <code>body</code> if it is not compressed
+     * @throws IOException if the body cannot be compressed
+     */
+    byte[] compress(Destination destination, byte[] body, AMQP.BasicProperties.Builder properties,
+                    Map<String, Object> headers) throws IOException {
+        CompressionCodec codec = this.policy == null ? null : this.policy.codec(destination, body.length);
+        if (codec == null) {
+            return body;
+        }
+        long start = System.nanoTime();
+        byte[] compressed = codec.compress(body);
+        long nanos = System.nanoTime() - start;
+        if (compressed.length < body.length) {
+            this.statistics.compressed(body.length, compressed.length, nanos);
+            properties.contentEncoding(codec.contentEncoding());
+            headers.put(RMQMessage.JMS_COMPRESSED_HEADER, codec.contentEncoding());
+            return compressed;
+        } else {
+            this.statistics.notCompressed(nanos);
+            return body;
+        }
+    }
+
+    /**
+     * Decompresses the body of a received message if it has been compressed
+     * by this library, with a known codec.
+     * <p>
+     * Other messages, compressed or not, are returned unchanged.
+     *
+     * @param response the received message
+     * @return a message with the decompressed body, or <code>response</code>
+     * @throws JMSException if the body cannot be decompressed
+     */
+    GetResponse decompress(GetResponse response) throws JMSException {
+        byte[] body = decompress(response.getProps(), response.getBody());
+        if (body == response.getBody()) {
+            return response;
+        }
+        return new GetResponse(response.getEnvelope(), response.getProps(), body, response.getMessageCount());
+    }
+
+    /**
+     * Decompresses the body of a received message if it has been compressed
+     * by this library, with a known codec.
+     *
+     * @param properties the properties of the received message
+     * @param body the body of the received message
+     * @return the decompressed body, or <code>body</code> if it is not compressed
+     * @throws JMSException if the body cannot be decompressed, or is too large once decompressed
+     */
+    byte[] decompress(AMQP.BasicProperties properties, byte[] body) throws JMSException {
+        String contentEncoding = properties == null ? null : properties.getContentEncoding();
+        if (contentEncoding == null || body == null || !isCompressedByClient(properties, contentEncoding)) {
+            return body;
+        }
+        CompressionCodec codec = this.codecs.get(contentEncoding);
+        if (codec == null) {
+            return body;
+        }
+        try {
+            long start = System.nanoTime();
+            byte[] decompressed = codec.decompress(body, this.maxDecompressedSize);
+            this.statistics.decompressed(System.nanoTime() - start);
+            return decompressed;
+        } catch (IOException e) {
+            throw new RMQJMSException("Cannot decompress message body with content encoding " + contentEncoding, e);
+        }
+    }
+
+    private static boolean isCompressedByClient(AMQP.BasicProperties properties, String contentEncoding) {
+        Map<String, Object> headers = properties.getHeaders();
+        Object compressed = headers == null ? null : headers.get(RMQMessage.JMS_COMPRESSED_HEADER);
+        // a long string in received headers
+        return compressed != null && contentEncoding.equals(compressed.toString());
+    }
+
+    private static final class RegisteredCodecs {
+
+        private static final Map<String, CompressionCodec> CODECS = load();
+
+        private static Map<String, CompressionCodec> load() {
+            Map<String, CompressionCodec> codecs = new HashMap<>();
+            codecs.put(DeflateCompressionCodec.CONTENT_ENCODING, DeflateCompressionCodec.DEFAULT);
+            try {
+                for (CompressionCodec codec : ServiceLoader.load(CompressionCodec.class)) {
+                    LOGGER.debug("Registering compression codec {} for content encoding {}", codec, codec.contentEncoding());
+                    codecs.put(codec.contentEncoding(), codec);
+                }
+            } catch (ServiceConfigurationError e) {
+                LOGGER.warn("Error while loading compression codecs", e);
+            }
+            return Collections.unmodifiableMap(codecs);
+        }
+    }
+}
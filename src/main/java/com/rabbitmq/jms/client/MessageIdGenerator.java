@@ -0,0 +1,46 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import java.util.UUID;
+
+/**
+ * Interface to provide a pluggable mechanism to generate the ID of sent messages.
+ * <p>
+ * The generated value is the ID of the message without the <code>ID:</code>
+ * prefix: {@link jakarta.jms.Message#getJMSMessageID()} returns
+ * <code>ID:</code> followed by the generated value.
+ * <p>
+ * A generator set on the connection factory is shared by all the producers
+ * of all the connections of the factory, it must then be thread-safe.
+ * By default, each connection has its own generator, see
+ * {@link com.rabbitmq.jms.admin.RMQConnectionFactory#setMessageIdGenerator(MessageIdGenerator)}.
+ *
+ * @since 3.10.0
+ */
+@FunctionalInterface
+public interface MessageIdGenerator {
+
+  /**
+   * Generates a new message ID.
+   *
+   * @return the message ID, without the <code>ID:</code> prefix
+   */
+  String generate();
+
+  /**
+   * Returns a generator of random UUIDs.
+   * <p>
+   * This is the generator of previous versions of the library. It draws
+   * from a shared {@link java.security.SecureRandom} for each message,
+   * which can be a contention point with many sending threads.
+   *
+   * @return a generator of random UUIDs
+   */
+  static MessageIdGenerator randomUuid() {
+    return () -> UUID.randomUUID().toString();
+  }
+}
@@ -0,0 +1,563 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import com.rabbitmq.jms.admin.RMQDestination;
+import com.rabbitmq.jms.util.RMQByteArrayInputStream;
+import com.rabbitmq.jms.util.WhiteListObjectInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.StreamCorruptedException;
+import java.io.UTFDataFormatException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads the JMS message format without an {@link java.io.ObjectInputStream}.
+ * <p>
+ * A JMS message body is written with an {@link java.io.ObjectOutputStream}: the class
+ * name, the message ID, the properties, and most bodies are primitive values, which the
+ * stream frames in block data records. This class reads these records directly from the
+ * delivery array. It is a thread-local instance reused from one message to the other, so
+ * reading a message only allocates the message, its properties and its body.
+ * <p>
+ * Objects in the stream, e.g. the destination properties, are read by a
+ * {@link WhiteListObjectInputStream} over the same array, from the position of the object.
+ * This object stream is reused as well: a reset record is fed to it before the objects of
+ * another message, and it is dropped after an error, as its state is then unknown.
+ * <p>
+ * Deserializing a destination allocates several times the size of a small message, and
+ * the messages of a producer carry the same destination. The first object of a message,
+ * usually its destination, is then looked up by its serialized form in a few recently read
+ * destinations, and a copy of the destination is returned.
+ * <p>
+ * The instance is also the {@link java.io.ByteArrayInputStream} of the message, its
+ * position is after the last block data byte read, where an unstructured body starts.
+ *
+ * @since 3.10.0
+ */
+final class MessageInput extends RMQByteArrayInputStream {
+
+    private static final short STREAM_MAGIC = (short) 0xaced;
+    private static final short STREAM_VERSION = 5;
+    private static final byte TC_BLOCKDATA = (byte) 0x77;
+    private static final byte TC_BLOCKDATALONG = (byte) 0x7A;
+    private static final byte TC_RESET = (byte) 0x79;
+
+    private static final byte[] EMPTY = new byte[0];
+    /** fed to a new object stream, which reads a stream header */
+    private static final byte[] HEADER = {(byte) 0xac, (byte) 0xed, 0x00, 0x05};
+    /** fed to a reused object stream, to forget the objects of the previous message */
+    private static final byte[] RESET = {TC_RESET};
+
+    private static final ThreadLocal<MessageInput> INPUTS = new ThreadLocal<>();
+
+    private static final int DESTINATION_CACHE_SIZE = 4;
+
+    private final ObjectInput blockData = new BlockDataInput();
+
+    /** end of the current block data record, the position when there is no current record */
+    private int blockEnd;
+
+    private List<String> trustedPackages;
+
+    /** reads the objects of the messages, null until there is one */
+    private ObjectInputStream objects;
+    private List<String> objectsTrustedPackages;
+
+    /** bytes read before the message, for the object stream, null if there are none */
+    private byte[] prefix;
+    private int prefixPosition;
+
+    /** serialized destinations, after a reset record, and the destinations */
+    private final byte[][] cachedDestinationBytes = new byte[DESTINATION_CACHE_SIZE][];
+    private final RMQDestination[] cachedDestinations = new RMQDestination[DESTINATION_CACHE_SIZE];
+    private List<String> cachedDestinationsTrustedPackages;
+    private int nextCachedDestination;
+
+    /** objects read in the current message */
+    private int objectCount;
+    /** whether the object stream has read objects of the current message */
+    private boolean objectStreamStarted;
+    /** the first object of the message, when it was found in the cache and not read by the object stream */
+    private byte[] skippedObject;
+
+    private MessageInput() {
+        super(EMPTY);
+    }
+
+    /**
+     * Takes the input of the current thread, or allocates a new one, and positions it
+     * after the stream header of the message.
+     * <p>
+     * The input must be given back with {@link #release(MessageInput)}.
+     *
+     * @param message the JMS message
+     * @param trustedPackages packages trusted for the objects of the message
+     * @return the input, null if the message does not start with a serialization stream header
+     */
+    static MessageInput acquire(byte[] message, List<String> trustedPackages) {
+        if (message == null || message.length < 4
+            || (short) (((message[0] & 0xFF) << 8) | (message[1] & 0xFF)) != STREAM_MAGIC
+            || (short) (((message[2] & 0xFF) << 8) | (message[3] & 0xFF)) != STREAM_VERSION) {
+            return null;
+        }
+        MessageInput input = INPUTS.get();
+        if (input == null) {
+            input = new MessageInput();
+        } else {
+            INPUTS.set(null);
+        }
+        input.wrap(message, 4);
+        input.trustedPackages = trustedPackages;
+        return input;
+    }
+
+    /**
+     * Gives an input back to the current thread. The input does not keep a reference to the message.
+     *
+     * @param input the input to give back
+     */
+    static void release(MessageInput input) {
+        input.wrap(EMPTY, 0);
+        input.trustedPackages = null;
+        INPUTS.set(input);
+    }
+
+    /**
+     * @return the primitive values of the stream, read from the block data records
+     */
+    ObjectInput blockData() {
+        return this.blockData;
+    }
+
+    private void wrap(byte[] message, int position) {
+        this.buf = message;
+        this.pos = position;
+        this.count = message.length;
+        this.mark = 0;
+        this.blockEnd = position;
+        this.prefix = null;
+        this.objectCount = 0;
+        this.objectStreamStarted = false;
+        this.skippedObject = null;
+    }
+
+    /**
+     * Reads an object at the current position, which must be between block data records.
+     */
+    private Object readObject() throws IOException, ClassNotFoundException {
+        int start = this.pos;
+        boolean first = this.objectCount++ == 0;
+        if (first) {
+            int index = this.cachedDestination(start);
+            if (index >= 0) {
+                this.skippedObject = this.cachedDestinationBytes[index];
+                this.pos = start + this.skippedObject.length - 1;
+                return this.cachedDestinations[index].copy();
+            }
+        }
+        ObjectInputStream in = this.objectStream();
+        boolean success = false;
+        try {
+            if (this.skippedObject != null) {
+                // the next objects may refer to the skipped one, the object stream must read it
+                this.feed(this.skippedObject);
+                this.skippedObject = null;
+                in.readObject();
+            }
+            Object object = in.readObject();
+            success = this.prefix == null;
+            if (first && object != null && object.getClass() == RMQDestination.class) {
+                this.cacheDestination(start, (RMQDestination) object);
+            }
+            return object;
+        } finally {
+            if (success) {
+                this.objectStreamStarted = true;
+                this.objects = in;
+                this.objectsTrustedPackages = this.trustedPackages;
+            } else {
+                this.objects = null;
+                this.prefix = null;
+            }
+        }
+    }
+
+    private ObjectInputStream objectStream() throws IOException {
+        if (this.objectStreamStarted) {
+            return this.objects;
+        }
+        if (this.objects != null && this.objectsTrustedPackages == this.trustedPackages) {
+            this.feed(RESET);
+            return this.objects;
+        }
+        this.objects = null;
+        this.feed(HEADER);
+        return new WhiteListObjectInputStream(this, this.trustedPackages);
+    }
+
+    /**
+     * @return the index of the destination serialized at a position, -1 if it is not in the cache
+     */
+    private int cachedDestination(int position) {
+        if (this.cachedDestinationsTrustedPackages != this.trustedPackages) {
+            return -1;
+        }
+        for (int i = 0; i < DESTINATION_CACHE_SIZE; i++) {
+            byte[] b = this.cachedDestinationBytes[i];
+            if (b != null && b.length - 1 <= this.count - position
+                && Arrays.equals(b, 1, b.length, this.buf, position, position + b.length - 1)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void cacheDestination(int start, RMQDestination destination) {
+        if (this.cachedDestinationsTrustedPackages != this.trustedPackages) {
+            Arrays.fill(this.cachedDestinationBytes, null);
+            Arrays.fill(this.cachedDestinations, null);
+            this.cachedDestinationsTrustedPackages = this.trustedPackages;
+        }
+        byte[] b = new byte[this.pos - start + 1];
+        b[0] = TC_RESET;
+        System.arraycopy(this.buf, start, b, 1, this.pos - start);
+        int index = this.nextCachedDestination;
+        this.cachedDestinationBytes[index] = b;
+        this.cachedDestinations[index] = destination.copy();
+        this.nextCachedDestination = (index + 1) % DESTINATION_CACHE_SIZE;
+    }
+
+    private void feed(byte[] bytes) {
+        this.prefix = bytes;
+        this.prefixPosition = 0;
+    }
+
+    @Override
+    public synchronized int read() {
+        if (this.prefix == null) {
+            return super.read();
+        }
+        int b = this.prefix[this.prefixPosition++] & 0xFF;
+        if (this.prefixPosition == this.prefix.length) {
+            this.prefix = null;
+        }
+        return b;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) {
+        if (this.prefix == null || len == 0) {
+            return super.read(b, off, len);
+        }
+        int n = Math.min(len, this.prefix.length - this.prefixPosition);
+        System.arraycopy(this.prefix, this.prefixPosition, b, off, n);
+        this.prefixPosition += n;
+        if (this.prefixPosition == this.prefix.length) {
+            this.prefix = null;
+        }
+        return n;
+    }
+
+    @Override
+    public synchronized int available() {
+        return super.available() + (this.prefix == null ? 0 : this.prefix.length - this.prefixPosition);
+    }
+
+    @Override
+    public synchronized long skip(long n) {
+        long skipped = 0;
+        while (this.prefix != null && skipped < n) {
+            this.read();
+            skipped++;
+        }
+        return skipped + super.skip(n - skipped);
+    }
+
+    /**
+     * Makes sure there is at least a byte to read in the current block data record,
+     * moving to the next record if needed.
+     *
+     * @return false if the stream has no more block data
+     */
+    private boolean nextBlock() throws IOException {
+        while (this.pos >= this.blockEnd) {
+            if (this.pos >= this.count) {
+                return false;
+            }
+            byte tag = this.buf[this.pos];
+            int length;
+            if (tag == TC_BLOCKDATA) {
+                if (this.pos + 2 > this.count) {
+                    throw new StreamCorruptedException("truncated block data header");
+                }
+                length = this.buf[this.pos + 1] & 0xFF;
+                this.pos += 2;
+            } else if (tag == TC_BLOCKDATALONG) {
+                if (this.pos + 5 > this.count) {
+                    throw new StreamCorruptedException("truncated block data header");
+                }
+                length = readInt(this.buf, this.pos + 1);
+                this.pos += 5;
+            } else if (tag == TC_RESET) {
+                this.pos++;
+                continue;
+            } else {
+                // an object, or anything else than primitive values
+                return false;
+            }
+            if (length < 0 || length > this.count - this.pos) {
+                throw new StreamCorruptedException("invalid block data length " + length);
+            }
+            this.blockEnd = this.pos + length;
+        }
+        return true;
+    }
+
+    private int blockRemaining() {
+        return this.blockEnd - this.pos;
+    }
+
+    private static int readInt(byte[] b, int offset) {
+        return ((b[offset] & 0xFF) << 24) | ((b[offset + 1] & 0xFF) << 16)
+            | ((b[offset + 2] & 0xFF) << 8) | (b[offset + 3] & 0xFF);
+    }
+
+    private static long readLong(byte[] b, int offset) {
+        return ((long) readInt(b, offset) << 32) | (readInt(b, offset + 4) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Decodes modified UTF-8, see {@link java.io.DataInput#readUTF()}.
+     */
+    private static String decodeUtf(byte[] b, int offset, int length) throws UTFDataFormatException {
+        int end = offset + length;
+        int i = offset;
+        while (i < end && b[i] >= 0) {
+            i++;
+        }
+        if (i == end) {
+            return new String(b, offset, length, StandardCharsets.ISO_8859_1);
+        }
+        char[] chars = new char[length];
+        int charCount = 0;
+        for (i = offset; i < end; ) {
+            int c = b[i] & 0xFF;
+            if (c < 0x80) {
+                chars[charCount++] = (char) c;
+                i++;
+            } else if ((c >> 5) == 0x06 && i + 1 < end && (b[i + 1] & 0xC0) == 0x80) {
+                chars[charCount++] = (char) (((c & 0x1F) << 6) | (b[i + 1] & 0x3F));
+                i += 2;
+            } else if ((c >> 4) == 0x0E && i + 2 < end && (b[i + 1] & 0xC0) == 0x80 && (b[i + 2] & 0xC0) == 0x80) {
+                chars[charCount++] = (char) (((c & 0x0F) << 12) | ((b[i + 1] & 0x3F) << 6) | (b[i + 2] & 0x3F));
+                i += 3;
+            } else {
+                throw new UTFDataFormatException("malformed input around byte " + (i - offset));
+            }
+        }
+        return new String(chars, 0, charCount);
+    }
+
+    /**
+     * Thrown when the stream must be read with an {@link java.io.ObjectInputStream},
+     * e.g. a line is read or an object is inside a block data record.
+     */
+    static final class SerializedObjectException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        SerializedObjectException() {
+            super("the message must be read with an ObjectInputStream");
+        }
+    }
+
+    /**
+     * The block data records, as an {@link java.io.ObjectInputStream} reads them.
+     */
+    private final class BlockDataInput implements ObjectInput {
+
+        private byte[] buf() {
+            return MessageInput.this.buf;
+        }
+
+        private int take(int length) throws IOException {
+            if (!nextBlock() || blockRemaining() < length) {
+                throw new EOFException();
+            }
+            int position = MessageInput.this.pos;
+            MessageInput.this.pos = position + length;
+            return position;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return nextBlock() ? buf()[MessageInput.this.pos++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b) throws IOException {
+            return read(b, 0, b.length);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!nextBlock()) {
+                return -1;
+            }
+            int n = Math.min(len, blockRemaining());
+            System.arraycopy(buf(), MessageInput.this.pos, b, off, n);
+            MessageInput.this.pos += n;
+            return n;
+        }
+
+        @Override
+        public void readFully(byte[] b) throws IOException {
+            readFully(b, 0, b.length);
+        }
+
+        @Override
+        public void readFully(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                int n = read(b, off, len);
+                if (n < 0) {
+                    throw new EOFException();
+                }
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = 0;
+            while (skipped < n && nextBlock()) {
+                int s = (int) Math.min(n - skipped, blockRemaining());
+                MessageInput.this.pos += s;
+                skipped += s;
+            }
+            return skipped;
+        }
+
+        @Override
+        public int skipBytes(int n) throws IOException {
+            return (int) skip(n);
+        }
+
+        @Override
+        public int available() {
+            return Math.max(0, blockRemaining());
+        }
+
+        @Override
+        public boolean readBoolean() throws IOException {
+            return readByte() != 0;
+        }
+
+        @Override
+        public byte readByte() throws IOException {
+            if (!nextBlock()) {
+                throw new EOFException();
+            }
+            return buf()[MessageInput.this.pos++];
+        }
+
+        @Override
+        public int readUnsignedByte() throws IOException {
+            return readByte() & 0xFF;
+        }
+
+        @Override
+        public short readShort() throws IOException {
+            return (short) readUnsignedShort();
+        }
+
+        @Override
+        public int readUnsignedShort() throws IOException {
+            if (nextBlock() && blockRemaining() >= 2) {
+                int position = take(2);
+                return ((buf()[position] & 0xFF) << 8) | (buf()[position + 1] & 0xFF);
+            }
+            // the value is split over two records
+            return (readUnsignedByte() << 8) | readUnsignedByte();
+        }
+
+        @Override
+        public char readChar() throws IOException {
+            return (char) readUnsignedShort();
+        }
+
+        @Override
+        public int readInt() throws IOException {
+            if (nextBlock() && blockRemaining() >= 4) {
+                return MessageInput.readInt(buf(), take(4));
+            }
+            return (readUnsignedShort() << 16) | readUnsignedShort();
+        }
+
+        @Override
+        public long readLong() throws IOException {
+            if (nextBlock() && blockRemaining() >= 8) {
+                return MessageInput.readLong(buf(), take(8));
+            }
+            return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+        }
+
+        @Override
+        public float readFloat() throws IOException {
+            return Float.intBitsToFloat(readInt());
+        }
+
+        @Override
+        public double readDouble() throws IOException {
+            return Double.longBitsToDouble(readLong());
+        }
+
+        @Override
+        public String readUTF() throws IOException {
+            int length = readUnsignedShort();
+            if (length == 0) {
+                return "";
+            }
+            if (nextBlock() && blockRemaining() >= length) {
+                int position = take(length);
+                // property names are the constants of their keys
+                HeaderKey key = HeaderKey.lookup(buf(), position, length);
+                return key == null ? decodeUtf(buf(), position, length) : key.key();
+            }
+            // the string is split over several records
+            byte[] b = new byte[length];
+            readFully(b);
+            return decodeUtf(b, 0, length);
+        }
+
+        @Override
+        public String readLine() throws IOException {
+            throw new SerializedObjectException();
+        }
+
+        @Override
+        public Object readObject() throws IOException, ClassNotFoundException {
+            if (MessageInput.this.pos < MessageInput.this.blockEnd) {
+                // not written by an ObjectOutputStream
+                throw new SerializedObjectException();
+            }
+            return MessageInput.this.readObject();
+        }
+
+        @Override
+        public void close() {
+            // the input is released by the caller
+        }
+    }
+}
@@ -20,7 +20,6 @@ import com.rabbitmq.client.AMQP.BasicProperties;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Consumer;
 import com.rabbitmq.client.Envelope;
-import com.rabbitmq.client.GetResponse;
 import com.rabbitmq.client.ShutdownSignalException;
 import com.rabbitmq.jms.util.Abortable;
 import com.rabbitmq.jms.util.TimeTracker;
@@ -41,6 +40,8 @@ class MessageListenerConsumer implements Consumer, Abortable {
     private final MessageListener messageListener;
     private final boolean autoAck;
     private volatile Completion completion;
+    /** Whether basicCancel has been sent for the current consumer tag, see {@link #cancel()} */
+    private volatile boolean cancelSent = false;
     private final long terminationTimeout;
     private volatile boolean rejecting;
     private final boolean requeueOnMessageListenerException;
@@ -54,12 +55,14 @@ class MessageListenerConsumer implements Consumer, Abortable {
 
     private final ReceivingContextConsumer receivingContextConsumer;
 
+    private final String destinationName;
+
     /**
      * Constructor
      * @param messageConsumer to which this Rabbit Consumer belongs
      * @param channel Rabbit channel this Consumer uses
      * @param messageListener to call {@link MessageListener#onMessage(jakarta.jms.Message) onMessage(Message)} with received messages
-     * @param terminationTimeout wait time (in nanoseconds) for cancel to take effect
+     * @param terminationTimeout wait time (in milliseconds) for cancel to take effect
      */
     MessageListenerConsumer(RMQMessageConsumer messageConsumer, Channel channel, MessageListener messageListener, long terminationTimeout,
                 boolean requeueOnMessageListenerException, ReceivingContextConsumer receivingContextConsumer,
@@ -77,6 +80,12 @@ class MessageListenerConsumer implements Consumer, Abortable {
         this.requeueOnMessageListenerException = requeueOnMessageListenerException;
         this.skipAck = messageConsumer.amqpAutoAck();
         this.receivingContextConsumer = receivingContextConsumer;
+        this.destinationName = messageConsumer.getDestination() == null ? null :
+            messageConsumer.getDestination().getDestinationName();
+    }
+
+    boolean isRejecting() {
+        return this.rejecting;
     }
 
     private String getConsTag() {
@@ -128,8 +137,10 @@ class MessageListenerConsumer implements Consumer, Abortable {
             nack(dtag);
             return;
         }
-        /* Wrap the incoming message in a GetResponse */
-        GetResponse response = new GetResponse(envelope, properties, body, 0); // last parameter is remaining message count, which we don't know.
+        if (this.messageConsumer.discardIfExpired(envelope.getDeliveryTag(), properties, this.skipAck)) {
+            return;
+        }
+        this.messageConsumer.received(body);
         try {
             long dtag = envelope.getDeliveryTag();
             if (this.messageListener != null) {
@@ -138,35 +149,37 @@ class MessageListenerConsumer implements Consumer, Abortable {
                     // see https://github.com/rabbitmq/rabbitmq-jms-client/issues/23
                     // see section 4.5.2 of JMS 1.1 specification
                     RMQMessage msg = RMQMessage.convertMessage(this.messageConsumer.getSession(), this.messageConsumer.getDestination(),
-                        response, this.receivingContextConsumer);
+                        envelope, properties, body, this.receivingContextConsumer);
                     this.maybeEnqueueUnackedMessageTag(dtag);
                     boolean alreadyNacked = false;
                     try {
-                        this.messageConsumer.getSession().deliverMessage(msg, this.messageListener);
+                        this.messageConsumer.getSession().deliverMessage(msg, this.messageListener, this.destinationName);
                     } catch (DeliveryExecutor.DeliveryProcessingTimeoutException timeoutException) {
                         // happens only if requeueOnTimeout is true
                         logger.debug("nacking {} because of timeout", dtag);
                         alreadyNacked = true;
-                        nack(dtag);
+                        requeue(msg, dtag);
                     } catch(RMQMessageListenerExecutionJMSException e) {
                         if (e.getCause() instanceof RuntimeException) {
                             alreadyNacked = true;
-                            nack(dtag);
+                            requeue(msg, dtag);
                             this.abort();
                         } else {
                             throw e;
                         }
                     }
                     if (!alreadyNacked) {
-                        dealWithAcknowledgments(dtag);
+                        dealWithAcknowledgments(dtag, msg);
+                        settleStream(msg);
                     }
                 } else {
                     // this is the "historical" behavior, not compliant with the spec
-                    dealWithAcknowledgments(dtag);
                     RMQMessage msg = RMQMessage.convertMessage(this.messageConsumer.getSession(), this.messageConsumer.getDestination(),
-                        response, this.receivingContextConsumer);
+                        envelope, properties, body, this.receivingContextConsumer);
+                    dealWithAcknowledgments(dtag, msg);
                     this.messageConsumer.getSession().addUncommittedTag(dtag);
-                    this.messageConsumer.getSession().deliverMessage(msg, this.messageListener);
+                    this.messageConsumer.getSession().deliverMessage(msg, this.messageListener, this.destinationName);
+                    settleStream(msg);
                 }
             } else {
                 // We are unable to deliver the message, nack it
@@ -188,18 +201,34 @@ class MessageListenerConsumer implements Consumer, Abortable {
         }
     }
 
+    /**
+     * Requeues a message the listener failed to process, according to the
+     * redelivery policy of the connection, if any.
+     */
+    private void requeue(RMQMessage msg, long dtag) {
+        if (!skipAck) {
+            this.messageConsumer.getSession().requeue(msg, dtag, this.destinationName);
+        }
+    }
+
     private void maybeEnqueueUnackedMessageTag(long dtag) {
         if (!skipAck && !this.messageConsumer.getSession().isAutoAck()) {
             this.messageConsumer.getSession().unackedMessageReceived(dtag);
         }
     }
 
-    private void dealWithAcknowledgments(long dtag) {
-        if (!skipAck) {
+    private void dealWithAcknowledgments(long dtag, RMQMessage msg) {
+        if (!skipAck && !LargeMessageStream.isAcknowledgedAtEnd(msg)) {
             this.messageConsumer.dealWithAcknowledgements(this.autoAck, dtag);
         }
     }
 
+    private void settleStream(RMQMessage msg) {
+        if (!skipAck) {
+            LargeMessageStream.settleAfterListener(msg);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -235,18 +264,63 @@ class MessageListenerConsumer implements Consumer, Abortable {
 
     @Override
     public void stop() {
+        try {
+            stopAndWait(new TimeTracker(this.terminationTimeout, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException te) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Sends basicCancel, without waiting for in-flight deliveries to be processed.
+     * <p>
+     * Used when closing a connection, to cancel all the consumers before waiting
+     * for any of them, see {@link #stop(TimeTracker)}.
+     */
+    void cancel() {
         String cT = this.getConsTag();
-        logger.trace("consumerTag='{}'", cT);
-        TimeTracker tt = new TimeTracker(this.terminationTimeout, TimeUnit.NANOSECONDS);
         try {
-            if (!this.completion.isComplete()) {
+            if (!this.completion.isComplete() && !this.cancelSent) {
                 logger.debug("consumerTag='{}' basicCancel:", cT);
+                this.cancelSent = true;
                 this.channel.basicCancel(cT);
+            }
+        } catch (Exception e) {
+            logger.debug("basicCancel (consumerTag='{}') threw exception", cT, e);
+        }
+    }
+
+    /**
+     * Stops the consumer, waiting for cancellation until a deadline shared with other consumers.
+     * <p>
+     * If the deadline is reached, the consumer rejects the deliveries that are still
+     * dispatched to it instead of interrupting the calling thread.
+     *
+     * @param deadline the time to wait for cancellation
+     */
+    void stop(TimeTracker deadline) {
+        try {
+            stopAndWait(deadline);
+        } catch (TimeoutException te) {
+            logger.debug("consumerTag='{}' not cancelled before deadline", this.getConsTag());
+            this.rejecting = true;
+            this.completion.setComplete();
+        }
+    }
+
+    private void stopAndWait(TimeTracker tt) throws TimeoutException {
+        String cT = this.getConsTag();
+        logger.trace("consumerTag='{}'", cT);
+        try {
+            if (!this.completion.isComplete()) {
+                if (!this.cancelSent) {
+                    logger.debug("consumerTag='{}' basicCancel:", cT);
+                    this.cancelSent = true;
+                    this.channel.basicCancel(cT);
+                }
                 this.completion.waitUntilComplete(tt);
                 this.clearConsTag();
             }
-        } catch (TimeoutException te) {
-            Thread.currentThread().interrupt();
         } catch (ShutdownSignalException sse) {
             // TODO check if basicCancel really necessary in this case.
             if (!sse.isInitiatedByApplication()) {
@@ -267,6 +341,7 @@ class MessageListenerConsumer implements Consumer, Abortable {
         String cT = this.getConsTag();
         logger.trace("consumerTag='{}'", cT);
         this.rejecting = false;
+        this.cancelSent = false;
         this.completion = new Completion();  // need a new completion object
         try {
             this.messageConsumer.basicConsume(this, cT);
@@ -0,0 +1,70 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Codec for the body of {@link jakarta.jms.ObjectMessage}s.
+ * <p>
+ * The default codec is Java serialization, see {@link #javaSerialization()}.
+ * Other codecs (e.g. based on a binary serialization framework) can be set with
+ * {@link com.rabbitmq.jms.admin.RMQConnectionFactory#setObjectMessageCodec(ObjectMessageCodec)}.
+ * A message encoded with another codec than Java serialization carries the
+ * {@link #name()} of its codec. Consumers decode it with the codec of their
+ * connection factory if it has this name, or with a codec registered with the
+ * {@link java.util.ServiceLoader} mechanism, in a
+ * <code>META-INF/services/com.rabbitmq.jms.client.ObjectMessageCodec</code> file.
+ * <p>
+ * Decoding must respect the trusted packages: implementations must check each
+ * class with {@link com.rabbitmq.jms.util.WhiteListObjectInputStream#checkTrusted(Class, List)}
+ * before they instantiate it. The class of the decoded object is checked again
+ * by the library.
+ * <p>
+ * Implementations must be thread-safe.
+ *
+ * @since 3.10.0
+ */
+public interface ObjectMessageCodec {
+
+  /**
+   * The name of the codec, in the messages it encodes.
+   *
+   * @return the name of the codec
+   */
+  String name();
+
+  /**
+   * Encodes an object.
+   *
+   * @param object the object, not null
+   * @return the encoded object
+   * @throws IOException if the object cannot be encoded
+   */
+  byte[] encode(Serializable object) throws IOException;
+
+  /**
+   * Decodes an object.
+   *
+   * @param data the encoded object
+   * @param trustedPackages the packages of the classes that can be instantiated
+   * @return the decoded object
+   * @throws IOException if the data cannot be decoded
+   * @throws ClassNotFoundException if a class cannot be found or is not trusted
+   */
+  Serializable decode(byte[] data, List<String> trustedPackages) throws IOException, ClassNotFoundException;
+
+  /**
+   * Returns the codec based on Java serialization, the default.
+   *
+   * @return the Java serialization codec
+   */
+  static ObjectMessageCodec javaSerialization() {
+    return JavaSerializationObjectMessageCodec.INSTANCE;
+  }
+}
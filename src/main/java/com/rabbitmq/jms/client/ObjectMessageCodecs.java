@@ -0,0 +1,51 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ObjectMessageCodec}s registered with the {@link ServiceLoader} mechanism,
+ * plus the Java serialization codec.
+ *
+ * @since 3.10.0
+ */
+final class ObjectMessageCodecs {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ObjectMessageCodecs.class);
+
+    private static final Map<String, ObjectMessageCodec> CODECS = load();
+
+    private ObjectMessageCodecs() { }
+
+    /**
+     * @param name the name of the codec
+     * @return the registered codec with this name, or null
+     */
+    static ObjectMessageCodec get(String name) {
+        return CODECS.get(name);
+    }
+
+    private static Map<String, ObjectMessageCodec> load() {
+        Map<String, ObjectMessageCodec> codecs = new HashMap<>();
+        codecs.put(JavaSerializationObjectMessageCodec.NAME, JavaSerializationObjectMessageCodec.INSTANCE);
+        try {
+            for (ObjectMessageCodec codec : ServiceLoader.load(ObjectMessageCodec.class)) {
+                LOGGER.debug("Registering ObjectMessage codec {} with name {}", codec, codec.name());
+                codecs.putIfAbsent(codec.name(), codec);
+            }
+        } catch (ServiceConfigurationError e) {
+            LOGGER.warn("Error while loading ObjectMessage codecs", e);
+        }
+        return Collections.unmodifiableMap(codecs);
+    }
+}
@@ -0,0 +1,62 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import com.rabbitmq.client.AMQP;
+
+/**
+ * The AMQP properties a producer sets the same way on the messages it sends with
+ * the same settings: content type, delivery mode, priority and expiration.
+ * <p>
+ * Producers usually send all their messages with the same settings. A producer keeps
+ * the template of the settings of its last message, so a send only sets the properties
+ * of the message itself (headers, correlation ID, reply-to) on a copy of the template,
+ * instead of converting the settings again, e.g. the time-to-live to a string.
+ * <p>
+ * Instances are immutable.
+ *
+ * @since 3.10.0
+ */
+final class PropertiesTemplate {
+
+    private final String contentType;
+    private final int deliveryMode;
+    private final int priority;
+    private final long timeToLive;
+    private final AMQP.BasicProperties properties;
+
+    /**
+     * @param contentType the content type
+     * @param deliveryMode the JMS delivery mode
+     * @param priority the JMS priority
+     * @param timeToLive the JMS time-to-live
+     * @param expiration the AMQP expiration of the time-to-live, can be null
+     */
+    PropertiesTemplate(String contentType, int deliveryMode, int priority, long timeToLive, String expiration) {
+        this.contentType = contentType;
+        this.deliveryMode = deliveryMode;
+        this.priority = priority;
+        this.timeToLive = timeToLive;
+        this.properties = new AMQP.BasicProperties.Builder()
+            .contentType(contentType)
+            .deliveryMode(RMQMessage.rmqDeliveryMode(deliveryMode))
+            .priority(priority)
+            .expiration(expiration)
+            .build();
+    }
+
+    boolean matches(String contentType, int deliveryMode, int priority, long timeToLive) {
+        return this.deliveryMode == deliveryMode && this.priority == priority
+            && this.timeToLive == timeToLive && this.contentType.equals(contentType);
+    }
+
+    /**
+     * @return a new builder with the properties of the template
+     */
+    AMQP.BasicProperties.Builder builder() {
+        return this.properties.builder();
+    }
+}
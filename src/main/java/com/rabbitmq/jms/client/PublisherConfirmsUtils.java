@@ -37,11 +37,35 @@ class PublisherConfirmsUtils {
    * @return
    */
   static PublishingListener configurePublisherConfirmsSupport(Channel channel) {
+    return configurePublisherConfirmsSupport(channel, JmsMetricsCollector.NO_OP);
+  }
+
+  /**
+   * Enables publisher confirms support and reports confirm round-trip times to the
+   * {@link JmsMetricsCollector}.
+   *
+   * @param channel
+   * @param metricsCollector
+   * @return
+   * @since 3.10.0
+   */
+  static PublishingListener configurePublisherConfirmsSupport(Channel channel,
+      JmsMetricsCollector metricsCollector) {
     final Map<Long, OutboundMessageContext> outstandingConfirms = new ConcurrentHashMap<>();
     final AtomicLong multipleLowerBound = new AtomicLong(1);
-    PublishingListener publishingListener = (message, completionListener, sequenceNumber) -> {
-      outstandingConfirms.put(sequenceNumber,
-          new OutboundMessageContext(message, completionListener));
+    final boolean timed = metricsCollector != JmsMetricsCollector.NO_OP;
+    PublishingListener publishingListener = new PublishingListener() {
+      @Override
+      public void publish(Message message, CompletionListener completionListener,
+          long sequenceNumber) {
+        outstandingConfirms.put(sequenceNumber,
+            new OutboundMessageContext(message, completionListener, timed ? System.nanoTime() : 0));
+      }
+
+      @Override
+      public int outstandingConfirms() {
+        return outstandingConfirms.size();
+      }
     };
     channel.addConfirmListener(new com.rabbitmq.client.ConfirmListener() {
       @Override
@@ -49,6 +73,9 @@ class PublisherConfirmsUtils {
         cleanPublisherConfirmsCorrelation(
             outstandingConfirms, multipleLowerBound,
             deliveryTag, multiple, context -> {
+              if (timed) {
+                metricsCollector.confirmed(true, System.nanoTime() - context.publishedAt);
+              }
               executeSafely(
                   () -> context.completionListener.onCompletion(context.message),
                   "CompletionListener"
@@ -62,6 +89,9 @@ class PublisherConfirmsUtils {
         cleanPublisherConfirmsCorrelation(
             outstandingConfirms, multipleLowerBound,
             deliveryTag, multiple, context -> {
+              if (timed) {
+                metricsCollector.confirmed(false, System.nanoTime() - context.publishedAt);
+              }
               executeSafely(
                   () -> context.completionListener.onException(context.message,
                       new JMSException("Outbound message was negatively acknowledged")),
@@ -105,6 +135,9 @@ class PublisherConfirmsUtils {
           messageConsumer.accept(context);
         }
       }
+      // the next multiple confirm does not scan the tags confirmed by this one,
+      // a multiple confirm for lower tags handled late does not move it back
+      multipleLowerBound.accumulateAndGet(deliveryTag, Math::max);
     } else {
       OutboundMessageContext context = outstandingConfirms.remove(deliveryTag);
       if (context != null) {
@@ -127,11 +160,13 @@ class PublisherConfirmsUtils {
 
     private final Message message;
     private final CompletionListener completionListener;
+    private final long publishedAt;
 
-
-    private OutboundMessageContext(Message message, CompletionListener completionListener) {
+    private OutboundMessageContext(Message message, CompletionListener completionListener,
+        long publishedAt) {
       this.message = message;
       this.completionListener = completionListener;
+      this.publishedAt = publishedAt;
     }
   }
 
@@ -17,4 +17,12 @@ interface PublishingListener {
 
     void publish(Message message, CompletionListener completionListener, long sequenceNumber);
 
+    /**
+     * @return the number of published messages waiting for their confirm
+     * @since 3.10.0
+     */
+    default int outstandingConfirms() {
+        return 0;
+    }
+
 }
@@ -10,9 +10,17 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import javax.management.ObjectName;
 
 import com.rabbitmq.jms.admin.NamingStrategy;
 import jakarta.jms.*;
@@ -27,6 +35,7 @@ import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.ShutdownListener;
 import com.rabbitmq.client.ShutdownSignalException;
 import com.rabbitmq.jms.util.RMQJMSException;
+import com.rabbitmq.jms.util.TimeTracker;
 
 import static com.rabbitmq.jms.admin.NamingStrategy.*;
 import static java.util.Optional.ofNullable;
@@ -36,6 +45,10 @@ import static java.util.Optional.ofNullable;
  * A {@link RMQConnection} object holds a list of {@link RMQSession} objects as well as the actual
  * {link com.rabbitmq.client.Connection} object that represents the TCP connection to the RabbitMQ broker.
  * <p>
+ * The connection can also be backed by several TCP connections, channels of its sessions are then
+ * spread over them according to a {@link StripingStrategy}.
+ * </p>
+ * <p>
  * This implementation also holds a reference to the executor service that is used by the connection so that we
  * can pause incoming messages.
  * </p>
@@ -44,10 +57,21 @@ public class RMQConnection implements Connection, QueueConnection, TopicConnecti
 
     public static final int NO_CHANNEL_QOS = -1;
 
+    /** maximum number of threads used to start or close the sessions of a connection */
+    private static final int MAX_SESSION_PARALLELISM = 64;
+
     private final Logger logger = LoggerFactory.getLogger(RMQConnection.class);
 
     /** the TCP connection wrapper to the RabbitMQ broker */
     private final com.rabbitmq.client.Connection rabbitConnection;
+    /** all the TCP connections channels are spread on, the first one is {@link #rabbitConnection} */
+    private final com.rabbitmq.client.Connection[] rabbitConnections;
+    /** number of open channels on each of {@link #rabbitConnections} */
+    private final AtomicInteger[] openChannels;
+    /** how to pick the TCP connection of a new channel */
+    private final StripingStrategy stripingStrategy;
+    /** round-robin sequence for channel creation */
+    private final AtomicInteger channelSequence = new AtomicInteger(0);
     /** Hard coded connection meta data returned in the call {@link #getMetaData()} call */
     private static final ConnectionMetaData connectionMetaData = new RMQConnectionMetaData();
     /** The client ID for this connection */
@@ -156,6 +180,13 @@ public class RMQConnection implements Connection, QueueConnection, TopicConnecti
 
     private final boolean keepTextMessageType;
 
+    /**
+     * Whether producers send the properties of JMS messages only in AMQP headers.
+     *
+     * @since 3.10.0
+     */
+    private final boolean propertiesInHeadersOnly;
+
     private final DelayedMessageService delayedMessageService;
 
     /**
@@ -173,6 +204,82 @@ public class RMQConnection implements Connection, QueueConnection, TopicConnecti
      */
     private final NamingStrategy namingStrategy;
 
+    /**
+     * The generator of the ID of messages sent by the producers of this connection.
+     *
+     * @since 3.10.0
+     */
+    private final MessageIdGenerator messageIdGenerator;
+
+    /**
+     * The compression of message bodies sent and received by this connection.
+     *
+     * @since 3.10.0
+     */
+    private final MessageCompression messageCompression;
+
+    /**
+     * The codec of ObjectMessage bodies.
+     *
+     * @since 3.10.0
+     */
+    private final ObjectMessageCodec objectMessageCodec;
+
+    /**
+     * Whether StreamMessage and MapMessage bodies are sent in the compact encoding
+     * rather than Java serialization.
+     *
+     * @since 3.10.0
+     */
+    private final boolean compactMessageBodies;
+
+    /**
+     * Collector of JMS-level metrics.
+     *
+     * @since 3.10.0
+     */
+    private final JmsMetricsCollector jmsMetricsCollector;
+
+    /**
+     * Requeues the messages that message listeners fail to process,
+     * null to requeue them right away.
+     *
+     * @since 3.10.0
+     */
+    private final RedeliveryBackoff redeliveryBackoff;
+
+    /**
+     * Whether consumers discard the messages that have expired.
+     *
+     * @since 3.10.0
+     */
+    private final boolean discardExpiredMessages;
+
+    /**
+     * Whether discarded expired messages are dead-lettered instead of acknowledged.
+     *
+     * @since 3.10.0
+     */
+    private final boolean deadLetterExpiredMessages;
+
+    /**
+     * Channels borrowed by lightweight sessions to publish,
+     * null if lightweight sessions are disabled.
+     *
+     * @since 3.10.0
+     */
+    private final ChannelPool channelPool;
+
+    /**
+     * Registers the MXBeans of the connection and of its sessions, producers and consumers.
+     *
+     * @since 3.10.0
+     */
+    private final ManagementRegistry managementRegistry;
+
+    /** object name of the MXBean of the connection, null if it is not registered */
+    private final ObjectName objectName;
+
     /**
      * Creates an RMQConnection object.
      * @param connectionParams parameters for this connection
@@ -182,9 +289,22 @@ public class RMQConnection implements Connection, QueueConnection, TopicConnecti
             throw new IllegalArgumentException("requeueOnTimeout can be true only if requeueOnMessageListenerException is true as well");
         }
 
-        connectionParams.getRabbitConnection().addShutdownListener(new RMQConnectionShutdownListener());
+        List<com.rabbitmq.client.Connection> connections = connectionParams.getRabbitConnections();
+        if (connections.isEmpty()) {
+            throw new IllegalArgumentException("At least one AMQP connection is required");
+        }
+        RMQConnectionShutdownListener shutdownListener = new RMQConnectionShutdownListener();
+        for (com.rabbitmq.client.Connection connection : connections) {
+            connection.addShutdownListener(shutdownListener);
+        }
 
-        this.rabbitConnection = connectionParams.getRabbitConnection();
+        this.rabbitConnection = connections.get(0);
+        this.rabbitConnections = connections.toArray(new com.rabbitmq.client.Connection[0]);
+        this.openChannels = new AtomicInteger[this.rabbitConnections.length];
+        for (int i = 0; i < this.openChannels.length; i++) {
+            this.openChannels[i] = new AtomicInteger(0);
+        }
+        this.stripingStrategy = ofNullable(connectionParams.getStripingStrategy()).orElse(StripingStrategy.ROUND_ROBIN);
         this.terminationTimeout = connectionParams.getTerminationTimeout();
         this.queueBrowserReadMax = connectionParams.getQueueBrowserReadMax();
         this.onMessageTimeoutMs = connectionParams.getOnMessageTimeoutMs();
@@ -199,9 +319,28 @@ public class RMQConnection implements Connection, QueueConnection, TopicConnecti
         this.trustedPackages = connectionParams.getTrustedPackages();
         this.requeueOnTimeout = connectionParams.willRequeueOnTimeout();
         this.keepTextMessageType = connectionParams.isKeepTextMessageType();
+        this.propertiesInHeadersOnly = connectionParams.isPropertiesInHeadersOnly();
         this.delayedMessageService = new DelayedMessageService();
         this.replyToStrategy = connectionParams.getReplyToStrategy();
+        this.messageIdGenerator = connectionParams.getMessageIdGenerator() == null ?
+            new DefaultMessageIdGenerator() : connectionParams.getMessageIdGenerator();
+        this.messageCompression = new MessageCompression(connectionParams.getCompressionPolicy(),
+            connectionParams.getCompressionCodec(), connectionParams.getMaxDecompressedSize());
+        this.objectMessageCodec = connectionParams.getObjectMessageCodec() == null ?
+            ObjectMessageCodec.javaSerialization() : connectionParams.getObjectMessageCodec();
+        this.compactMessageBodies = connectionParams.isCompactMessageBodies();
+        this.jmsMetricsCollector = connectionParams.getJmsMetricsCollector() == null ?
+            JmsMetricsCollector.NO_OP : connectionParams.getJmsMetricsCollector();
+        this.redeliveryBackoff = connectionParams.getRedeliveryPolicy() == null ? null :
+            new RedeliveryBackoff(connectionParams.getRedeliveryPolicy(), this.jmsMetricsCollector);
+        this.discardExpiredMessages = connectionParams.willDiscardExpiredMessages();
+        this.deadLetterExpiredMessages = connectionParams.willDeadLetterExpiredMessages();
         this.namingStrategy = ofNullable(connectionParams.getNamingStrategy()).orElse(DEFAULT);
+        this.channelPool = connectionParams.getChannelPoolSize() > 0 ?
+            new ChannelPool(this, connectionParams.getChannelPoolSize()) : null;
+        this.managementRegistry = connectionParams.isJmxEnabled() ?
+            ManagementRegistry.platform() : ManagementRegistry.DISABLED;
+        this.objectName = this.managementRegistry.registerConnection(this);
     }
 
     /**
@@ -257,9 +396,18 @@ public class RMQConnection implements Connection, QueueConnection, TopicConnecti
             .setTrustedPackages(this.trustedPackages)
             .setRequeueOnTimeout(this.requeueOnTimeout)
             .setKeepTextMessageType(this.keepTextMessageType)
+            .setPropertiesInHeadersOnly(this.propertiesInHeadersOnly)
             .setDelayedMessageService(this.delayedMessageService)
             .setReplyToStrategy(this.replyToStrategy)
             .setNamingStrategy(this.namingStrategy)
+            .setMessageIdGenerator(this.messageIdGenerator)
+            .setMessageCompression(this.messageCompression)
+            .setObjectMessageCodec(this.objectMessageCodec)
+            .setCompactMessageBodies(this.compactMessageBodies)
+            .setJmsMetricsCollector(this.jmsMetricsCollector)
+            .setRedeliveryBackoff(this.redeliveryBackoff)
+            .setDiscardExpiredMessages(this.discardExpiredMessages)
+            .setDeadLetterExpiredMessages(this.deadLetterExpiredMessages)
         );
         this.sessions.add(session);
         return session;
@@ -346,9 +494,49 @@ public class RMQConnection implements Connection, QueueConnection, TopicConnecti
         illegalStateExceptionIfClosed();
         freezeClientID();
         if (stopped.compareAndSet(true, false)) {
-            for (RMQSession session : this.sessions) {
-                session.resume();
+            resumeAllSessions();
+        }
+    }
+
+    /**
+     * Resumes the consumers of all the sessions.
+     * <p>
+     * A channel handles one <code>basic.consume</code> at a time, so sessions are resumed
+     * in parallel when there are several of them: the registrations of consumers
+     * of different sessions overlap instead of being made one after the other.
+     * All the consumers are resumed even if some fail, the failures are then reported
+     * together (in the suppressed exceptions of the thrown exception).
+     */
+    private void resumeAllSessions() throws JMSException {
+        List<RMQSession> sessionsToResume;
+        synchronized (this.sessions) {
+            sessionsToResume = new ArrayList<>(this.sessions);
+        }
+        long start = System.nanoTime();
+        List<JMSException> failures = Collections.synchronizedList(new ArrayList<>());
+        if (sessionsToResume.size() <= 1) {
+            for (RMQSession session : sessionsToResume) {
+                session.resume(failures);
+            }
+        } else {
+            ExecutorService executorService = newSessionExecutorService(sessionsToResume.size(), "rabbitmq-jms-connection-start");
+            try {
+                runForAllSessions(executorService, sessionsToResume, session -> session.resume(failures));
+            } finally {
+                executorService.shutdown();
+            }
+        }
+        logger.debug("resumed {} session(s) of connection ({}) in {} ms", sessionsToResume.size(), this,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        if (!failures.isEmpty()) {
+            JMSException exception;
+            synchronized (failures) {
+                exception = new RMQJMSException(failures.size() + " consumer(s) failed to start", failures.get(0));
+                for (JMSException failure : failures) {
+                    exception.addSuppressed(failure);
+                }
             }
+            throw exception;
         }
     }
 
@@ -396,17 +584,49 @@ public class RMQConnection implements Connection, QueueConnection, TopicConnecti
         this.exceptionListener.set(null);
 
         closeAllSessions();
+        if (this.channelPool != null) {
+            this.channelPool.close();
+        }
         this.delayedMessageService.close();
+        if (this.redeliveryBackoff != null) {
+            this.redeliveryBackoff.close();
+        }
+        this.managementRegistry.unregister(this.objectName);
 
-        try {
-            this.rabbitConnection.close();
-        } catch (ShutdownSignalException x) {
-            //nothing to do
-        } catch (IOException x) {
-            if (!(x.getCause() instanceof ShutdownSignalException)) {
-                throw new RMQJMSException(x);
+        IOException closeException = null;
+        for (com.rabbitmq.client.Connection connection : this.rabbitConnections) {
+            try {
+                connection.close();
+            } catch (ShutdownSignalException x) {
+                //nothing to do
+            } catch (IOException x) {
+                if (!(x.getCause() instanceof ShutdownSignalException) && closeException == null) {
+                    closeException = x;
+                }
             }
         }
+        if (closeException != null) {
+            throw new RMQJMSException(closeException);
+        }
+    }
+
+    /**
+     * Whether this connection can still be used, that is it is not closed
+     * and all its underlying AMQP connections are open.
+     *
+     * @return true if the connection can be used
+     * @since 3.10.0
+     */
+    public boolean isOpen() {
+        if (this.closed) {
+            return false;
+        }
+        for (com.rabbitmq.client.Connection connection : this.rabbitConnections) {
+            if (!connection.isOpen()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private void removeClientID() throws JMSException {
@@ -415,23 +635,102 @@ public class RMQConnection implements Connection, QueueConnection, TopicConnecti
             CLIENT_IDS.remove(cID);
     }
 
+    /**
+     * Closes the sessions in 2 steps: all the consumers are cancelled first, then
+     * the sessions wait for their consumers until a single deadline
+     * (the termination timeout) and close their channels.
+     * <p>
+     * Sessions are closed in parallel when there are several of them. The workers
+     * are not interrupted: each of them is bounded by the shared deadline, and the
+     * close waits for all of them before closing the AMQP connection.
+     */
     private void closeAllSessions() {
-        for (RMQSession session : this.sessions) {
+        List<RMQSession> sessionsToClose;
+        synchronized (this.sessions) {
+            sessionsToClose = new ArrayList<>(this.sessions);
+        }
+        long start = System.nanoTime();
+        TimeTracker consumersDeadline = new TimeTracker(this.terminationTimeout, TimeUnit.MILLISECONDS);
+        if (sessionsToClose.size() <= 1) {
+            for (RMQSession session : sessionsToClose) {
+                session.cancelConsumers();
+                closeSession(session, consumersDeadline);
+            }
+        } else {
+            ExecutorService executorService = newSessionExecutorService(sessionsToClose.size(), "rabbitmq-jms-connection-close");
             try {
-                session.internalClose();
-            } catch (Exception e) {
-                if (e instanceof ShutdownSignalException) {
-                    // do nothing
-                } else {
-                    logger.error("exception closing session ({})", session, e);
-                }
+                runForAllSessions(executorService, sessionsToClose, RMQSession::cancelConsumers);
+                runForAllSessions(executorService, sessionsToClose,
+                    session -> closeSession(session, consumersDeadline));
+            } finally {
+                executorService.shutdown();
             }
         }
         this.sessions.clear();
+        logger.debug("closed {} session(s) of connection ({}) in {} ms", sessionsToClose.size(), this,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void closeSession(RMQSession session, TimeTracker consumersDeadline) {
+        try {
+            session.internalClose(consumersDeadline);
+        } catch (Exception e) {
+            if (e instanceof ShutdownSignalException) {
+                // do nothing
+            } else {
+                logger.error("exception closing session ({})", session, e);
+            }
+        }
+    }
+
+    private static ExecutorService newSessionExecutorService(int sessionCount, String threadName) {
+        return Executors.newFixedThreadPool(Math.min(sessionCount, MAX_SESSION_PARALLELISM), runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs an action for each session on the executor service and waits for all of them.
+     * The workers are never interrupted: if the calling thread is, it stops waiting and
+     * the remaining workers finish on their own.
+     */
+    private void runForAllSessions(ExecutorService executorService, List<RMQSession> sessions,
+                                   Consumer<RMQSession> action) {
+        List<Future<?>> futures = new ArrayList<>(sessions.size());
+        for (RMQSession session : sessions) {
+            futures.add(executorService.submit(() -> action.accept(session)));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                logger.warn("interrupted while waiting for the sessions of connection ({})", this);
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                logger.error("exception processing session", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * The pool lightweight sessions borrow their channels from.
+     *
+     * @return the channel pool, null if lightweight sessions are disabled
+     * @since 3.10.0
+     */
+    ChannelPool getChannelPool() {
+        return this.channelPool;
     }
 
     Channel createRabbitChannel(boolean transactional) throws IOException {
-        Channel channel = this.rabbitConnection.createChannel();
+        int index = this.rabbitConnections.length == 1 ? 0 : nextRabbitConnectionIndex();
+        Channel channel = this.rabbitConnections[index].createChannel();
+        AtomicInteger channelCount = this.openChannels[index];
+        channelCount.incrementAndGet();
+        channel.addShutdownListener(cause -> channelCount.decrementAndGet());
         if(this.channelsQos != NO_CHANNEL_QOS) {
             channel.basicQos(channelsQos);
         }
@@ -441,6 +740,56 @@ public class RMQConnection implements Connection, QueueConnection, TopicConnecti
         return channel;
     }
 
+    private int nextRabbitConnectionIndex() {
+        if (this.stripingStrategy == StripingStrategy.LEAST_LOADED) {
+            int index = 0;
+            int lowest = Integer.MAX_VALUE;
+            for (int i = 0; i < this.openChannels.length; i++) {
+                int count = this.openChannels[i].get();
+                if (count < lowest) {
+                    lowest = count;
+                    index = i;
+                }
+            }
+            return index;
+        } else {
+            return Math.floorMod(this.channelSequence.getAndIncrement(), this.rabbitConnections.length);
+        }
+    }
+
+    /** For tests, number of open channels on the AMQP connection at the given index */
+    int getOpenChannelCount(int rabbitConnectionIndex) {
+        return this.openChannels[rabbitConnectionIndex].get();
+    }
+
+    int getOpenChannelCount() {
+        int count = 0;
+        for (AtomicInteger openChannels : this.openChannels) {
+            count += openChannels.get();
+        }
+        return count;
+    }
+
+    int getAmqpConnectionCount() {
+        return this.rabbitConnections.length;
+    }
+
+    int getSessionCount() {
+        return this.sessions.size();
+    }
+
+    boolean isClosed() {
+        return this.closed;
+    }
+
+    ManagementRegistry getManagementRegistry() {
+        return this.managementRegistry;
+    }
+
+    ObjectName getObjectName() {
+        return this.objectName;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -528,6 +877,7 @@ public class RMQConnection implements Connection, QueueConnection, TopicConnecti
     public String toString() {
         return new StringBuilder("RMQConnection{")
                 .append("rabbitConnection=").append(this.rabbitConnection)
+                .append(", rabbitConnectionCount=").append(this.rabbitConnections.length)
                 .append(", stopped=").append(this.stopped.get())
                 .append(", queueBrowserReadMax=").append(this.queueBrowserReadMax)
                 .append('}').toString();
@@ -586,4 +936,39 @@ public class RMQConnection implements Connection, QueueConnection, TopicConnecti
     public ReplyToStrategy getReplyToStrategy() {
         return replyToStrategy;
     }
+
+    MessageIdGenerator getMessageIdGenerator() {
+        return this.messageIdGenerator;
+    }
+
+    MessageCompression getMessageCompression() {
+        return this.messageCompression;
+    }
+
+    ObjectMessageCodec getObjectMessageCodec() {
+        return this.objectMessageCodec;
+    }
+
+    boolean isCompactMessageBodies() {
+        return this.compactMessageBodies;
+    }
+
+    JmsMetricsCollector getJmsMetricsCollector() {
+        return this.jmsMetricsCollector;
+    }
+
+    RedeliveryBackoff getRedeliveryBackoff() {
+        return this.redeliveryBackoff;
+    }
+
+    /**
+     * Returns the statistics of the compression of the message bodies
+     * sent and received by this connection.
+     *
+     * @return the compression statistics
+     * @since 3.10.0
+     */
+    public CompressionStatistics getCompressionStatistics() {
+        return this.messageCompression.getStatistics();
+    }
 }
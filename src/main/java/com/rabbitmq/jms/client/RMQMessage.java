@@ -5,9 +5,11 @@
 // Copyright (c) 2013-2023 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
 package com.rabbitmq.jms.client;
 
+import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.BasicProperties;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Consumer;
+import com.rabbitmq.client.Envelope;
 import com.rabbitmq.client.GetResponse;
 import com.rabbitmq.jms.admin.RMQDestination;
 import com.rabbitmq.jms.client.message.RMQBytesMessage;
@@ -18,8 +20,10 @@ import com.rabbitmq.jms.client.message.RMQTextMessage;
 import com.rabbitmq.jms.util.HexDisplay;
 import com.rabbitmq.jms.util.IteratorEnum;
 import com.rabbitmq.jms.util.RMQJMSException;
-import com.rabbitmq.jms.util.Util;
 import com.rabbitmq.jms.util.WhiteListObjectInputStream;
+import com.rabbitmq.jms.util.RMQByteArrayInputStream;
+import com.rabbitmq.jms.util.RMQByteArrayOutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,6 +42,7 @@ import jakarta.jms.TextMessage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.ObjectOutputStream;
@@ -102,13 +107,15 @@ public abstract class RMQMessage implements Message, Cloneable {
      * coded fields. This way we can create a structure later on that the rabbit MQ broker can read by just changing the
      * {@link #toByteArray()}} and {@link #fromMessage(byte[], List)}.
      */
-    private static final String PREFIX = "rmq.";
-    private static final String JMS_MESSAGE_ID = PREFIX + "jms.message.id";
-    private static final String JMS_MESSAGE_TIMESTAMP = PREFIX + "jms.message.timestamp";
+    static final String PREFIX = "rmq.";
+    static final String JMS_MESSAGE_ID = PREFIX + "jms.message.id";
+    /** prefix of the values of {@link #getJMSMessageID()} */
+    static final String MESSAGE_ID_PREFIX = "ID:";
+    static final String JMS_MESSAGE_TIMESTAMP = PREFIX + "jms.message.timestamp";
     static final String JMS_MESSAGE_CORR_ID = PREFIX + "jms.message.correlation.id";
     static final String JMS_MESSAGE_REPLY_TO = PREFIX + "jms.message.reply.to";
-    private static final String JMS_MESSAGE_DESTINATION = PREFIX + "jms.message.destination";
-    private static final String JMS_MESSAGE_REDELIVERED = PREFIX + "jms.message.redelivered";
+    static final String JMS_MESSAGE_DESTINATION = PREFIX + "jms.message.destination";
+    static final String JMS_MESSAGE_REDELIVERED = PREFIX + "jms.message.redelivered";
     static final String JMS_MESSAGE_TYPE = PREFIX + "jms.message.type";
 
     /**
@@ -118,10 +125,37 @@ public abstract class RMQMessage implements Message, Cloneable {
     static final String JMS_MESSAGE_EXPIRATION = PREFIX + "jms.message.expiration";
     static final String JMS_MESSAGE_PRIORITY = PREFIX + "jms.message.priority";
     static final String JMS_MESSAGE_DELIVERY_TIME = PREFIX + "jms.message.delivery.type";
+
+    /**
+     * AMQP header set on JMS messages whose properties are only in the AMQP headers,
+     * the body then has empty property sections.
+     */
+    static final String JMS_PROPERTIES_IN_HEADERS_HEADER = PREFIX + "jms.properties.in.headers";
+
+    /**
+     * AMQP header set on messages compressed by this library, with the content encoding
+     * as value.
+     * @see MessageCompression
+     */
+    static final String JMS_COMPRESSED_HEADER = PREFIX + "jms.compressed";
+
+    /**
+     * Chunk queue, number of chunks and length of the payload of a streamed message.
+     * @see LargeMessageStream
+     */
+    static final String JMS_STREAM_QUEUE = PREFIX + "jms.stream.queue";
+    static final String JMS_STREAM_CHUNKS = PREFIX + "jms.stream.chunks";
+    static final String JMS_STREAM_LENGTH = PREFIX + "jms.stream.length";
+
+    /**
+     * Name of the codec of the body of an ObjectMessage, absent for Java serialization.
+     * @see ObjectMessageCodec
+     */
+    static final String JMS_OBJECT_CODEC = PREFIX + "jms.object.codec";
     /**
      * JMS Defined Properties
      */
-    private static final String JMS_X_DELIVERY_COUNT = "JMSXDeliveryCount";
+    static final String JMS_X_DELIVERY_COUNT = "JMSXDeliveryCount";
 
     /**
      * For turning {@link String}s into <code>byte[]</code> and back we use this {@link Charset} instance.
@@ -139,6 +173,11 @@ public abstract class RMQMessage implements Message, Cloneable {
      * {@link #hashCode()} and {@link #equals(Object)}
      */
     private volatile String internalMessageID=null;
+    /**
+     * The message ID generated for the last send, with the <code>ID:</code> prefix.
+     * The {@link #internalMessageID} is then derived from it when it is needed.
+     */
+    private volatile String generatedMessageID=null;
     /**
      * A message is read only if it has been received.
      * We set this flag when we receive a message in the following method
@@ -227,6 +266,106 @@ public abstract class RMQMessage implements Message, Cloneable {
         this.session = session;
     }
 
+    /**
+     * Records the codec of the body of an ObjectMessage.
+     *
+     * @param codec the codec, null if there is no body
+     * @since 3.10.0
+     */
+    protected void setObjectCodec(ObjectMessageCodec codec) {
+        if (codec == null || codec == ObjectMessageCodec.javaSerialization()) {
+            this.rmqProperties.remove(JMS_OBJECT_CODEC);
+        } else {
+            this.rmqProperties.put(JMS_OBJECT_CODEC, codec.name());
+        }
+    }
+
+    /**
+     * Returns the codec to decode the body of an ObjectMessage with.
+     * <p>
+     * The codec is the one with the name in the message: the given codec,
+     * the codec of the session that received the message, or a registered codec.
+     *
+     * @param codec the codec of the message, can be null
+     * @return the codec of the body
+     * @throws MessageFormatException if there is no codec with the name in the message
+     * @since 3.10.0
+     */
+    protected ObjectMessageCodec resolveObjectCodec(ObjectMessageCodec codec) throws JMSException {
+        Serializable name = this.rmqProperties.get(JMS_OBJECT_CODEC);
+        if (name == null) {
+            return ObjectMessageCodec.javaSerialization();
+        } else if (codec != null && name.equals(codec.name())) {
+            return codec;
+        }
+        RMQSession s = this.session;
+        ObjectMessageCodec sessionCodec = s == null ? null : s.getObjectMessageCodec();
+        if (sessionCodec != null && name.equals(sessionCodec.name())) {
+            return sessionCodec;
+        }
+        ObjectMessageCodec registeredCodec = ObjectMessageCodecs.get(name.toString());
+        if (registeredCodec == null) {
+            throw new MessageFormatException("No ObjectMessage codec with name " + name);
+        }
+        return registeredCodec;
+    }
+
+    /** The stream over the chunks of a received streamed message, created on first access */
+    private transient LargeMessageStream.ChunkInputStream streamedBody = null;
+
+    /**
+     * Sets or removes the chunk queue of a streamed message.
+     * @param stream the published chunks, null to remove them
+     */
+    void setStream(LargeMessageStream stream) {
+        if (stream == null) {
+            this.rmqProperties.remove(JMS_STREAM_QUEUE);
+            this.rmqProperties.remove(JMS_STREAM_CHUNKS);
+            this.rmqProperties.remove(JMS_STREAM_LENGTH);
+        } else {
+            this.rmqProperties.put(JMS_STREAM_QUEUE, stream.getQueue());
+            this.rmqProperties.put(JMS_STREAM_CHUNKS, stream.getChunks());
+            this.rmqProperties.put(JMS_STREAM_LENGTH, stream.getLength());
+        }
+    }
+
+    /**
+     * @return whether the payload of this message is in a chunk queue
+     * @see RMQMessageProducer#sendStream(BytesMessage, InputStream, int)
+     * @since 3.10.0
+     */
+    protected boolean isStreamed() {
+        return this.rmqProperties.get(JMS_STREAM_QUEUE) != null;
+    }
+
+    /**
+     * @return the length of the payload of a streamed message
+     * @since 3.10.0
+     */
+    protected long getStreamLength() {
+        Serializable length = this.rmqProperties.get(JMS_STREAM_LENGTH);
+        return length instanceof Number ? ((Number) length).longValue() : 0L;
+    }
+
+    /**
+     * Returns the stream over the chunks of a received streamed message.
+     * <p>
+     * The same stream is returned on each call: the chunks can be read only once.
+     *
+     * @return the stream, or null if the message is not streamed
+     * @since 3.10.0
+     */
+    protected synchronized InputStream getStreamedBody() {
+        if (this.streamedBody == null && isStreamed()) {
+            Serializable chunks = this.rmqProperties.get(JMS_STREAM_CHUNKS);
+            this.streamedBody = new LargeMessageStream.ChunkInputStream(this, new LargeMessageStream(
+                this.rmqProperties.get(JMS_STREAM_QUEUE).toString(),
+                chunks instanceof Number ? ((Number) chunks).intValue() : 0,
+                getStreamLength()));
+        }
+        return this.streamedBody;
+    }
+
     /**
      * Constructor for auto de-serialization
      */
@@ -745,6 +884,29 @@ public abstract class RMQMessage implements Message, Cloneable {
      */
     protected abstract void writeAmqpBody(ByteArrayOutputStream out) throws IOException;
 
+    /**
+     * Returns the AMQP body of the message, so that {@link RMQMessage#toAmqpByteArray()}
+     * does not have to copy it through {@link #writeAmqpBody(ByteArrayOutputStream)}.
+     * The returned buffer must not be modified.
+     * @return the AMQP body, or null if it must be written with {@link #writeAmqpBody(ByteArrayOutputStream)}
+     * @since 3.10.0
+     */
+    protected ByteBuffer amqpBody() {
+        return null;
+    }
+
+    /**
+     * Returns the body of the message if it is made only of the unstructured part
+     * {@link #writeBody(ObjectOutput, ByteArrayOutputStream)} writes, so that
+     * {@link RMQMessage#toByteArray()} can assemble the properties and the body
+     * in a single array. The returned buffer must not be modified.
+     * @return the unstructured body, or null if it must be written with {@link #writeBody(ObjectOutput, ByteArrayOutputStream)}
+     * @since 3.10.0
+     */
+    protected ByteBuffer unstructuredBody() {
+        return null;
+    }
+
     /**
      * Invoked when a message is being deserialized to read and decode the message body.
      * The implementing class should <i>only</i> read its body from this stream.
@@ -762,8 +924,9 @@ public abstract class RMQMessage implements Message, Cloneable {
      * The implementing class should <i>only</i> read its body by this method
      *
      * @param barr - the byte array payload of the AMQP message
+     * @throws IOException if the payload cannot be decoded
      */
-    protected abstract void readAmqpBody(byte[] barr);
+    protected abstract void readAmqpBody(byte[] barr) throws IOException;
 
     /**
      * Generate the headers for this JMS message; these are the properties used in selection.
@@ -809,16 +972,88 @@ public abstract class RMQMessage implements Message, Cloneable {
         }
 
         // set (overwrite?) selectable JMS properties
-        hdrs.put("JMSDeliveryMode", (this.getJMSDeliveryMode()==DeliveryMode.PERSISTENT ? "PERSISTENT": "NON_PERSISTENT"));
-        putIfNotNull(hdrs, "JMSMessageID", this.getJMSMessageID());
-        hdrs.put("JMSTimestamp", this.getJMSTimestamp());
-        hdrs.put("JMSPriority", this.getJMSPriority());
-        putIfNotNull(hdrs, "JMSCorrelationID", this.getJMSCorrelationID());
-        putIfNotNull(hdrs, JMS_TYPE_HEADER, this.getJMSType());
+        this.putSelectableHeaders(hdrs);
 
         return hdrs;
     }
 
+    /**
+     * Generates the AMQP headers of a JMS message that carries its properties
+     * only in headers.
+     * <p>
+     * The headers are the ones of {@link #toHeaders()}, plus the JMS header
+     * fields that are not selectable (e.g. <code>JMSDestination</code>,
+     * <code>JMSReplyTo</code>, <code>JMSExpiration</code>).
+     *
+     * @return the headers, or null if a property cannot be an AMQP header value
+     * @see #toByteArray(int, boolean)
+     */
+    Map<String, Object> toHeadersWithAllProperties() throws IOException, JMSException {
+        Map<String, Object> hdrs = this.toHeaders();
+        for (Map.Entry<String, Serializable> e : this.rmqProperties.entrySet()) {
+            if (isSelectableHeaderProperty(e.getKey())) {
+                continue;
+            }
+            Object value = HeaderPropertyValues.toHeaderValue(e.getValue());
+            if (value == null) {
+                return null;
+            }
+            hdrs.put(e.getKey(), value);
+        }
+        hdrs.put(JMS_PROPERTIES_IN_HEADERS_HEADER, true);
+        return hdrs;
+    }
+
+    private static boolean isSelectableHeaderProperty(String name) {
+        HeaderKey key = HeaderKey.lookup(name);
+        return key != null && key.isSelectable();
+    }
+
+    /**
+     * Sets the properties of a JMS message from the headers generated by {@link #toHeadersWithAllProperties()}.
+     */
+    private void setPropertiesFromHeaders(Map<String, Object> hdrs) throws JMSException {
+        for (Entry<String, Object> e : hdrs.entrySet()) {
+            HeaderKey key = HeaderKey.lookup(e.getKey());
+            Object val = e.getValue();
+            if (key == null) {
+                this.setPropertyFromHeader(e.getKey(), val);
+                continue;
+            }
+            switch (key) {
+                case JMS_DELIVERY_MODE:         this.setJMSDeliveryMode(HeaderPropertyValues.PERSISTENT.equals(HeaderPropertyValues.stringValue(val))
+                                                    ? DeliveryMode.PERSISTENT : DeliveryMode.NON_PERSISTENT); break;
+                case JMS_MESSAGE_ID:            this.setJMSMessageID(HeaderPropertyValues.stringValue(val)); break;
+                case JMS_TIMESTAMP:             this.setJMSTimestamp(objectToLong(val, 0L)); break;
+                case JMS_PRIORITY:              this.setJMSPriority(objectToInt(val, Message.DEFAULT_PRIORITY)); break;
+                case JMS_CORRELATION_ID:        this.setJMSCorrelationID(HeaderPropertyValues.stringValue(val)); break;
+                case JMS_TYPE:                  this.setJMSType(HeaderPropertyValues.stringValue(val)); break;
+                case JMS_PROPERTIES_IN_HEADERS: break;
+                case COMPRESSED:                break;
+                case MESSAGE_DESTINATION:
+                case MESSAGE_REPLY_TO:          this.setDestinationFromHeader(key.key(), val); break;
+                default:                        this.setPropertyFromHeader(key.key(), val); // the constant, not a copy of the name
+            }
+        }
+    }
+
+    private void setDestinationFromHeader(String key, Object val) {
+        RMQDestination destination = HeaderPropertyValues.destinationValue(val);
+        if (destination != null) {
+            this.rmqProperties.put(key, destination);
+        }
+    }
+
+    private void setPropertyFromHeader(String key, Object val) {
+        if (key.startsWith("x-") || DelayedMessageService.X_DELAYED_JMS_EXCHANGE_HEADER.equals(key)) {
+            return; // set by the broker or by the client (e.g. x-delay), not a property
+        }
+        Serializable value = HeaderPropertyValues.fromHeaderValue(val);
+        if      (value == null)                   {} // not a property value type, e.g. a table or an array from another client
+        else if (key.startsWith(PREFIX))          { this.rmqProperties.put(key, value);}
+        else                                      { this.userJmsProperties.put(key, value);}
+    }
+
     /**
      * Converts a {@link GetResponse} to a {@link RMQMessage}
      *
@@ -829,46 +1064,69 @@ public abstract class RMQMessage implements Message, Cloneable {
     static RMQMessage convertMessage(RMQSession session, RMQDestination dest, GetResponse response, ReceivingContextConsumer receivingContextConsumer) throws JMSException {
         if (response == null) /* return null if the response is null */
             return null;
+        return convertMessage(session, dest, response.getEnvelope(), response.getProps(), response.getBody(), receivingContextConsumer);
+    }
+
+    /**
+     * Converts a delivery to a {@link RMQMessage}, without wrapping it in a {@link GetResponse}.
+     *
+     * @param envelope the envelope of the delivery
+     * @param props the properties of the delivery
+     * @param body the body of the delivery
+     * @return the JMS message corresponding to the RabbitMQ message
+     * @throws JMSException
+     * @since 3.10.0
+     */
+    static RMQMessage convertMessage(RMQSession session, RMQDestination dest, Envelope envelope, AMQP.BasicProperties props, byte[] body,
+                                     ReceivingContextConsumer receivingContextConsumer) throws JMSException {
+        MessageCompression messageCompression = session.getMessageCompression();
+        body = (messageCompression == null ? MessageCompression.DECOMPRESSION_ONLY : messageCompression)
+            .decompress(props, body);
         if (dest.isAmqp()) {
-            return convertAmqpMessage(session, dest, response, receivingContextConsumer);
+            return convertAmqpMessage(session, dest, envelope, props, body, receivingContextConsumer);
         } else {
-            return convertJmsMessage(session, dest, response, receivingContextConsumer);
+            return convertJmsMessage(session, dest, envelope, props, body, receivingContextConsumer);
         }
     }
 
-    static RMQMessage convertJmsMessage(RMQSession session, RMQDestination dest, GetResponse response, ReceivingContextConsumer receivingContextConsumer) throws JMSException {
+    static RMQMessage convertJmsMessage(RMQSession session, RMQDestination dest, Envelope envelope, AMQP.BasicProperties props, byte[] body,
+                                        ReceivingContextConsumer receivingContextConsumer) throws JMSException {
         // Deserialize the message payload from the byte[] body
-        RMQMessage message = fromMessage(response.getBody(), session.getTrustedPackages());
+        RMQMessage message = fromMessage(body, session.getTrustedPackages());
+        Map<String, Object> headers = props == null ? null : props.getHeaders();
+        if (headers != null && headers.containsKey(JMS_PROPERTIES_IN_HEADERS_HEADER)) {
+            message.setPropertiesFromHeaders(headers);                          // properties are not in the body
+        }
 
         message.setSession(session);                                            // Insert session in received message for Message.acknowledge
-        message = handleJmsRedeliveredAndDeliveryCount(response, message);
-        message.setRabbitDeliveryTag(response.getEnvelope().getDeliveryTag());  // Insert delivery tag in received message for Message.acknowledge
+        message = handleJmsRedeliveredAndDeliveryCount(envelope, props, message);
+        message.setRabbitDeliveryTag(envelope.getDeliveryTag());                // Insert delivery tag in received message for Message.acknowledge
         // message.setJMSDestination(dest);                                     // DO NOT set the destination bug#57214768
         // JMSProperties already set
         message.setReadonly(true);                                              // Set readOnly - mandatory for received messages
 
-        maybeSetupDirectReplyTo(session, message, response.getProps().getReplyTo());
-        receivingContextConsumer.accept(new ReceivingContext(message));
+        maybeSetupDirectReplyTo(session, message, props.getReplyTo());
+        acceptReceivingContext(receivingContextConsumer, message);
 
         return message;
     }
 
-    private static RMQMessage convertAmqpMessage(RMQSession session, RMQDestination dest, GetResponse response, ReceivingContextConsumer receivingContextConsumer) throws JMSException {
+    private static RMQMessage convertAmqpMessage(RMQSession session, RMQDestination dest, Envelope envelope, AMQP.BasicProperties props, byte[] body,
+                                                 ReceivingContextConsumer receivingContextConsumer) throws JMSException {
         try {
-            BasicProperties props = response.getProps();
-
-            RMQMessage message = RMQMessage.isAmqpTextMessage(props.getHeaders()) ? new RMQTextMessage() : new RMQBytesMessage();
-            message = RMQMessage.fromAmqpMessage(response.getBody(), message);      // Deserialize the message payload from the byte[] body
+            RMQMessage message = RMQMessage.isAmqpMapMessage(props) ? new RMQMapMessage()
+                : RMQMessage.isAmqpTextMessage(props.getHeaders()) ? new RMQTextMessage() : new RMQBytesMessage();
+            message = RMQMessage.fromAmqpMessage(body, message);                    // Deserialize the message payload from the byte[] body
 
             message.setSession(session);                                            // Insert session in received message for Message.acknowledge
-            message = handleJmsRedeliveredAndDeliveryCount(response, message);
-            message.setRabbitDeliveryTag(response.getEnvelope().getDeliveryTag());  // Insert delivery tag in received message for Message.acknowledge
+            message = handleJmsRedeliveredAndDeliveryCount(envelope, props, message);
+            message.setRabbitDeliveryTag(envelope.getDeliveryTag());                // Insert delivery tag in received message for Message.acknowledge
             message.setJMSDestination(dest);                                        // We cannot know the original destination, so set local one
             message.setJMSPropertiesFromAmqpProperties(props);
             message.setReadonly(true);                                              // Set readOnly - mandatory for received messages
 
-            maybeSetupDirectReplyTo(session, message, response.getProps().getReplyTo());
-            receivingContextConsumer.accept(new ReceivingContext(message));
+            maybeSetupDirectReplyTo(session, message, props.getReplyTo());
+            acceptReceivingContext(receivingContextConsumer, message);
 
             return message;
         } catch (IOException x) {
@@ -876,12 +1134,21 @@ public abstract class RMQMessage implements Message, Cloneable {
         }
     }
 
-    private static RMQMessage handleJmsRedeliveredAndDeliveryCount(GetResponse response, RMQMessage message)
+    /**
+     * Calls the {@link ReceivingContextConsumer}, the context is not created for the no-op one.
+     */
+    private static void acceptReceivingContext(ReceivingContextConsumer receivingContextConsumer, RMQMessage message) throws JMSException {
+        if (receivingContextConsumer != ReceivingContextConsumer.NO_OP) {
+            receivingContextConsumer.accept(new ReceivingContext(message));
+        }
+    }
+
+    private static RMQMessage handleJmsRedeliveredAndDeliveryCount(Envelope envelope, AMQP.BasicProperties props, RMQMessage message)
         throws JMSException {
-        boolean redelivered = response.getEnvelope().isRedeliver();
+        boolean redelivered = envelope.isRedeliver();
         message.setJMSRedelivered(redelivered);
         if (redelivered) {
-            Map<String, Object> headers = response.getProps().getHeaders();
+            Map<String, Object> headers = props.getHeaders();
             Number deliveryCount = null;
             if (headers != null) {
                 // RabbitMQ 4.3+
@@ -977,16 +1244,21 @@ public abstract class RMQMessage implements Message, Cloneable {
         }
 
         // set (overwrite?) selectable JMS properties
-        hdrs.put("JMSDeliveryMode", (this.getJMSDeliveryMode()==DeliveryMode.PERSISTENT ? "PERSISTENT": "NON_PERSISTENT"));
-        putIfNotNull(hdrs, "JMSMessageID", this.getJMSMessageID());
-        hdrs.put("JMSTimestamp", this.getJMSTimestamp());
-        hdrs.put("JMSPriority", this.getJMSPriority());
-        putIfNotNull(hdrs, "JMSCorrelationID", this.getJMSCorrelationID());
-        putIfNotNull(hdrs, JMS_TYPE_HEADER, this.getJMSType());
+        this.putSelectableHeaders(hdrs);
 
         return hdrs;
     }
 
+    private void putSelectableHeaders(Map<String, Object> hdrs) throws JMSException {
+        hdrs.put(HeaderKey.JMS_DELIVERY_MODE.key(), this.getJMSDeliveryMode() == DeliveryMode.PERSISTENT
+            ? HeaderPropertyValues.PERSISTENT : HeaderPropertyValues.NON_PERSISTENT);
+        putIfNotNull(hdrs, HeaderKey.JMS_MESSAGE_ID.key(), this.getJMSMessageID());
+        hdrs.put(HeaderKey.JMS_TIMESTAMP.key(), this.getJMSTimestamp());
+        hdrs.put(HeaderKey.JMS_PRIORITY.key(), this.getJMSPriority());
+        putIfNotNull(hdrs, HeaderKey.JMS_CORRELATION_ID.key(), this.getJMSCorrelationID());
+        putIfNotNull(hdrs, HeaderKey.JMS_TYPE.key(), this.getJMSType());
+    }
+
     private static void putIfNotNullAndAmqpType(Map<String, Object> hdrs, String key, Object val) {
         if (val!=null)
             if (  val instanceof String
@@ -1013,12 +1285,31 @@ public abstract class RMQMessage implements Message, Cloneable {
      * @throws IOException if conversion fails
      */
     byte[] toAmqpByteArray() throws IOException, JMSException {
-        ByteArrayOutputStream bout = new ByteArrayOutputStream(DEFAULT_MESSAGE_BODY_SIZE);
-        //invoke write body
-        this.writeAmqpBody(bout);
-        //flush and return
-        bout.flush();
-        return bout.toByteArray();
+        return toAmqpByteArray(DEFAULT_MESSAGE_BODY_SIZE);
+    }
+
+    /**
+     * Generates an AMQP byte array body for this message.
+     * @param sizeHint expected size of the body
+     * @return the body in a byte array
+     * @throws IOException if conversion fails
+     * @see #toAmqpByteArray()
+     */
+    byte[] toAmqpByteArray(int sizeHint) throws IOException, JMSException {
+        ByteBuffer body = this.amqpBody();
+        if (body != null) {
+            return toExactByteArray(body);
+        }
+        RMQByteArrayOutputStream bout = EncoderBuffers.acquire(sizeHint);
+        try {
+            //invoke write body
+            this.writeAmqpBody(bout);
+            //flush and return
+            bout.flush();
+            return bout.toByteArray();
+        } finally {
+            EncoderBuffers.release(bout);
+        }
     }
 
     /**
@@ -1029,30 +1320,95 @@ public abstract class RMQMessage implements Message, Cloneable {
      * @throws IOException if serialization fails
      */
     byte[] toByteArray() throws IOException, JMSException {
-        ByteArrayOutputStream bout = new ByteArrayOutputStream(DEFAULT_MESSAGE_BODY_SIZE);
+        return toByteArray(DEFAULT_MESSAGE_BODY_SIZE);
+    }
+
+    /**
+     * Generates a JMS byte array body for this message.
+     * <p>
+     * The message is encoded in a buffer of the current thread, which is
+     * reused for the next messages, so only the returned array is allocated
+     * once the buffer is large enough.
+     * @param sizeHint expected size of the encoded message
+     * @return the body in a byte array
+     * @throws IOException if serialization fails
+     * @see #toByteArray()
+     */
+    byte[] toByteArray(int sizeHint) throws IOException, JMSException {
+        return toByteArray(sizeHint, false);
+    }
+
+    /**
+     * Generates a JMS byte array body for this message.
+     * @param sizeHint expected size of the encoded message
+     * @param propertiesInHeaders true to leave the properties out of the body,
+     *                            when they are in headers from {@link #toHeadersWithAllProperties()}
+     * @return the body in a byte array
+     * @throws IOException if serialization fails
+     * @see #toByteArray()
+     */
+    byte[] toByteArray(int sizeHint, boolean propertiesInHeaders) throws IOException, JMSException {
+        ByteBuffer unstructuredBody = this.unstructuredBody();
+        // only the properties go through the buffer if the body is unstructured
+        RMQByteArrayOutputStream bout = EncoderBuffers.acquire(unstructuredBody == null ? sizeHint : DEFAULT_MESSAGE_BODY_SIZE);
+        try {
+            return toByteArray(bout, unstructuredBody, propertiesInHeaders);
+        } finally {
+            EncoderBuffers.release(bout);
+        }
+    }
+
+    private byte[] toByteArray(RMQByteArrayOutputStream bout, ByteBuffer unstructuredBody, boolean propertiesInHeaders) throws IOException, JMSException {
         ObjectOutputStream out = new ObjectOutputStream(bout);
         //write the class of the message so we can instantiate on the other end
         out.writeUTF(this.getClass().getName());
         //write out message id
-        out.writeUTF(this.internalMessageID);
-        //write our JMS properties
-        out.writeInt(this.rmqProperties.size());
-        for (Map.Entry<String, Serializable> entry : this.rmqProperties.entrySet()) {
-            out.writeUTF(entry.getKey());
-            writePrimitive(entry.getValue(), out, true);
-        }
-        //write custom properties
-        out.writeInt(this.userJmsProperties.size());
-        for (Map.Entry<String, Serializable> entry : this.userJmsProperties.entrySet()) {
-            out.writeUTF(entry.getKey());
-            writePrimitive(entry.getValue(), out, true);
+        writeInternalID(out);
+        if (propertiesInHeaders) {
+            // empty property sections, so the body can still be read by any consumer
+            out.writeInt(0);
+            out.writeInt(0);
+        } else {
+            //write our JMS properties
+            out.writeInt(this.rmqProperties.size());
+            for (Map.Entry<String, Serializable> entry : this.rmqProperties.entrySet()) {
+                out.writeUTF(entry.getKey());
+                writePrimitive(entry.getValue(), out, true);
+            }
+            //write custom properties
+            out.writeInt(this.userJmsProperties.size());
+            for (Map.Entry<String, Serializable> entry : this.userJmsProperties.entrySet()) {
+                out.writeUTF(entry.getKey());
+                writePrimitive(entry.getValue(), out, true);
+            }
         }
         out.flush();  // ensure structured part written to byte stream
+        if (unstructuredBody != null) {
+            // properties then body, in a single array of the exact size
+            ByteBuffer properties = bout.asByteBuffer();
+            byte[] result = new byte[properties.remaining() + unstructuredBody.remaining()];
+            properties.get(result, 0, properties.remaining());
+            unstructuredBody.duplicate().get(result, properties.limit(), unstructuredBody.remaining());
+            return result;
+        }
         this.writeBody(out, bout);
         out.flush();  // force any more structured data to byte stream
         return bout.toByteArray();
     }
 
+    /**
+     * Returns the backing array of the buffer if it has exactly its content, a copy otherwise.
+     */
+    private static byte[] toExactByteArray(ByteBuffer buffer) {
+        if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0
+            && buffer.remaining() == buffer.array().length) {
+            return buffer.array();
+        }
+        byte[] result = new byte[buffer.remaining()];
+        buffer.duplicate().get(result);
+        return result;
+    }
+
     /**
      * Deserializes a {@link RMQMessage} from a JMS generated byte array
      * This method invokes the {@link #readBody(ObjectInput, ByteArrayInputStream)} method
@@ -1065,32 +1421,19 @@ public abstract class RMQMessage implements Message, Cloneable {
     static RMQMessage fromMessage(byte[] b, List<String> trustedPackages) throws RMQJMSException {
         /* If we don't recognise the message format this throws an exception */
         try {
-            ByteArrayInputStream bin = new ByteArrayInputStream(b);
-            WhiteListObjectInputStream in = new WhiteListObjectInputStream(bin, trustedPackages);
-            // read the class name from the stream
-            String clazz = in.readUTF();
-            // instantiate the message object
-            RMQMessage msg = instantiateRmqMessage(clazz, trustedPackages);
-
-            // read the message id
-            msg.internalMessageID = in.readUTF();
-            // read JMS properties
-            int propsize = in.readInt();
-            for (int i = 0; i < propsize; i++) {
-                String name = in.readUTF();
-                Object value = readPrimitive(in);
-                msg.rmqProperties.put(name, (Serializable) value);
-            }
-            //read custom properties
-            propsize = in.readInt();
-            for (int i = 0; i < propsize; i++) {
-                String name = in.readUTF();
-                Object value = readPrimitive(in);
-                msg.userJmsProperties.put(name, (Serializable) value);
+            MessageInput input = MessageInput.acquire(b, trustedPackages);
+            if (input != null) {
+                try {
+                    return readMessage(input.blockData(), input, trustedPackages);
+                } catch (MessageInput.SerializedObjectException e) {
+                    // not the usual stream, it is read again below
+                } finally {
+                    MessageInput.release(input);
+                }
             }
-            // read the body of the message
-            msg.readBody(in, bin);
-            return msg;
+            ByteArrayInputStream bin = new RMQByteArrayInputStream(b);
+            WhiteListObjectInputStream in = new WhiteListObjectInputStream(bin, trustedPackages);
+            return readMessage(in, bin, trustedPackages);
         } catch (IOException x) {
             throw new RMQJMSException(x);
         } catch (ClassNotFoundException x) {
@@ -1098,8 +1441,43 @@ public abstract class RMQMessage implements Message, Cloneable {
         }
     }
 
+    private static RMQMessage readMessage(ObjectInput in, ByteArrayInputStream bin, List<String> trustedPackages)
+        throws IOException, ClassNotFoundException, RMQJMSException {
+        // read the class name from the stream
+        String clazz = in.readUTF();
+        // instantiate the message object
+        RMQMessage msg = instantiateRmqMessage(clazz, trustedPackages);
+
+        // read the message id
+        msg.internalMessageID = in.readUTF();
+        // read JMS properties
+        int propsize = in.readInt();
+        for (int i = 0; i < propsize; i++) {
+            String name = in.readUTF();
+            Object value = readPrimitive(in);
+            msg.rmqProperties.put(name, (Serializable) value);
+        }
+        //read custom properties
+        propsize = in.readInt();
+        for (int i = 0; i < propsize; i++) {
+            String name = in.readUTF();
+            Object value = readPrimitive(in);
+            msg.userJmsProperties.put(name, (Serializable) value);
+        }
+        // read the body of the message
+        msg.readBody(in, bin);
+        return msg;
+    }
+
     private static RMQMessage instantiateRmqMessage(String messageClass, List<String> trustedPackages) throws RMQJMSException {
-        if(isRmqObjectMessageClass(messageClass)) {
+        // the most common classes are instantiated without reflection
+        if (RMQTextMessage.class.getName().equals(messageClass)) {
+            return new RMQTextMessage();
+        } else if (RMQBytesMessage.class.getName().equals(messageClass)) {
+            return new RMQBytesMessage();
+        } else if (RMQMapMessage.class.getName().equals(messageClass)) {
+            return new RMQMapMessage();
+        } else if(isRmqObjectMessageClass(messageClass)) {
             return instantiateRmqObjectMessageWithTrustedPackages(trustedPackages);
         } else if (isRmqStreamMessageClass(messageClass)) {
             return instantiateRmqStreamMessageWithTrustedPackages(trustedPackages);
@@ -1203,13 +1581,76 @@ public abstract class RMQMessage implements Message, Cloneable {
         }
     }
 
+    /**
+     * Computes the <code>JMSExpiration</code> of a received message from its AMQP
+     * properties and headers, without decoding its body.
+     * <p>
+     * The expiration comes from the <code>JMSExpiration</code> header of AMQP messages or
+     * from the expiration header of JMS messages with properties in headers. Otherwise it is
+     * the time-to-live of the AMQP <code>expiration</code> property, from the
+     * <code>JMSTimestamp</code> header or the AMQP <code>timestamp</code> property.
+     *
+     * @param props the properties of the delivery
+     * @return the expiration time in milliseconds, 0 if the message does not expire or if
+     * the expiration cannot be known from the properties
+     */
+    static long expiration(BasicProperties props) {
+        if (props == null) {
+            return 0L;
+        }
+        Map<String, Object> headers = props.getHeaders();
+        if (headers != null) {
+            long expiration = headerToLong(headers.get(HeaderKey.JMS_EXPIRATION.key()));
+            if (expiration == 0L) {
+                expiration = headerToLong(headers.get(JMS_MESSAGE_EXPIRATION));
+            }
+            if (expiration != 0L) {
+                return expiration;
+            }
+        }
+        String ttl = props.getExpiration();
+        if (ttl == null) {
+            return 0L;
+        }
+        long timestamp = headers == null ? 0L : headerToLong(headers.get(HeaderKey.JMS_TIMESTAMP.key()));
+        if (timestamp == 0L && props.getTimestamp() != null) {
+            timestamp = props.getTimestamp().getTime();
+        }
+        if (timestamp == 0L) {
+            // not "now", the message may have waited in the queue for a while
+            return 0L;
+        }
+        try {
+            return timestamp + Long.parseLong(ttl);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * @return the header value as a long, 0 if it is null or not a number
+     */
+    private static long headerToLong(Object val) {
+        if (val == null) {
+            return 0L;
+        } else if (val instanceof Number) {
+            return ((Number) val).longValue();
+        }
+        try {
+            return Long.parseLong(HeaderPropertyValues.stringValue(val));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
     public abstract boolean isAmqpWritable();
 
     @Override
     public int hashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + ((this.internalMessageID == null) ? 0 : this.internalMessageID.hashCode());
+        String internalID = this.getInternalID();
+        result = prime * result + ((internalID == null) ? 0 : internalID.hashCode());
         return result;
     }
     @Override
@@ -1221,10 +1662,11 @@ public abstract class RMQMessage implements Message, Cloneable {
         if (getClass() != obj.getClass())
             return false;
         RMQMessage other = (RMQMessage) obj;
-        if (this.internalMessageID == null) {
-            if (other.internalMessageID != null)
+        String internalID = this.getInternalID();
+        if (internalID == null) {
+            if (other.getInternalID() != null)
                 return false;
-        } else if (!this.internalMessageID.equals(other.internalMessageID))
+        } else if (!internalID.equals(other.getInternalID()))
             return false;
         return true;
     }
@@ -1235,15 +1677,55 @@ public abstract class RMQMessage implements Message, Cloneable {
      * @return internal message ID
      */
     public String getInternalID() {
-        return this.internalMessageID;
+        String internalID = this.internalMessageID;
+        String generated = this.generatedMessageID;
+        if (internalID == null && generated != null) {
+            internalID = generated.substring(MESSAGE_ID_PREFIX.length());
+            this.internalMessageID = internalID;
+        }
+        return internalID;
     }
 
     /**
      * Called when a message is sent so that each message is unique
      */
     void generateInternalID() {
-        this.internalMessageID = Util.generateUUID("");
-        this.rmqProperties.put(JMS_MESSAGE_ID, "ID:" + this.internalMessageID);
+        generateInternalID(MessageIdGenerator.randomUuid());
+    }
+
+    /**
+     * Called when a message is sent so that each message is unique
+     * @param messageIdGenerator the generator of the ID
+     */
+    void generateInternalID(MessageIdGenerator messageIdGenerator) {
+        if (messageIdGenerator instanceof DefaultMessageIdGenerator) {
+            // the internal ID is the end of the message ID
+            this.internalMessageID = null;
+            this.generatedMessageID = ((DefaultMessageIdGenerator) messageIdGenerator).generateMessageId();
+        } else {
+            this.internalMessageID = messageIdGenerator.generate();
+            this.generatedMessageID = MESSAGE_ID_PREFIX + this.internalMessageID;
+        }
+        this.rmqProperties.put(JMS_MESSAGE_ID, this.generatedMessageID);
+    }
+
+    /**
+     * Writes the internal ID as {@link ObjectOutput#writeUTF(String)} does, from the
+     * generated message ID if the internal ID has not been derived from it.
+     */
+    private void writeInternalID(ObjectOutput out) throws IOException {
+        String internalID = this.internalMessageID;
+        String generated = this.generatedMessageID;
+        if (internalID != null || generated == null) {
+            out.writeUTF(internalID);
+            return;
+        }
+        // IDs of the default generator are ASCII, one byte per character in UTF-8
+        int start = MESSAGE_ID_PREFIX.length();
+        out.writeShort(generated.length() - start);
+        for (int i = start; i < generated.length(); i++) {
+            out.writeByte(generated.charAt(i));
+        }
     }
 
 	/**
@@ -1379,7 +1861,8 @@ public abstract class RMQMessage implements Message, Cloneable {
         String ci = props.getCorrelationId();  // This is AMQP's correlation ID
         if (null!=ci)   this.setJMSCorrelationID(ci);
 
-        this.setJMSType(isAmqpTextMessage(props.getHeaders()) ? TEXT_MESSAGE_HEADER_VALUE : "BytesMessage");
+        this.setJMSType(isAmqpTextMessage(props.getHeaders()) ? TEXT_MESSAGE_HEADER_VALUE
+            : isAmqpMapMessage(props) ? "MapMessage" : "BytesMessage");
 
         // now set properties from header: these may overwrite the ones that have already been set above
         Map<String, Object> hdrs = props.getHeaders();
@@ -1389,26 +1872,37 @@ public abstract class RMQMessage implements Message, Cloneable {
     private void setJMSPropertiesFromHeader(Map<String, Object> hdrs) throws JMSException{
         if (hdrs!=null) {
             for (Entry<String, Object> e : hdrs.entrySet()) {
-                String key = e.getKey();
+                HeaderKey key = HeaderKey.lookup(e.getKey());
                 Object val = e.getValue();
-                if      (key.equals("JMSExpiration"))   { this.setJMSExpiration(objectToLong(val, 0l));}
-                else if (key.equals("JMSPriority"))     { this.setJMSPriority(objectToInt(val, 4));}
-                else if (key.equals("JMSTimestamp"))    { this.setJMSTimestamp(objectToLong(val, 0l));}
-                else if (key.equals("JMSMessageID"))    { this.setJMSMessageID(val.toString());}
-                else if (key.equals("JMSCorrelationID")){ this.setJMSCorrelationID(val.toString());}
-                else if (key.equals(JMS_TYPE_HEADER))   { this.setJMSType(val.toString());}
-                else if (key.startsWith(PREFIX))        {} // avoid setting this internal field
-                else if (key.startsWith("JMS"))         {} // avoid setting this field
-                else                                    { this.userJmsProperties.put(key, val.toString());}
+                if (key == null) {
+                    String name = e.getKey();
+                    if      (name.startsWith(PREFIX))   {} // avoid setting this internal field
+                    else if (name.startsWith("JMS"))    {} // avoid setting this field
+                    else                                { this.userJmsProperties.put(name, HeaderPropertyValues.stringValue(val));}
+                    continue;
+                }
+                switch (key) {
+                    case JMS_EXPIRATION:     this.setJMSExpiration(objectToLong(val, 0l)); break;
+                    case JMS_PRIORITY:       this.setJMSPriority(objectToInt(val, 4)); break;
+                    case JMS_TIMESTAMP:      this.setJMSTimestamp(objectToLong(val, 0l)); break;
+                    case JMS_MESSAGE_ID:     this.setJMSMessageID(HeaderPropertyValues.stringValue(val)); break;
+                    case JMS_CORRELATION_ID: this.setJMSCorrelationID(HeaderPropertyValues.stringValue(val)); break;
+                    case JMS_TYPE:           this.setJMSType(HeaderPropertyValues.stringValue(val)); break;
+                    default:                 break; // other known keys are internal or JMS fields, not set
+                }
             }
         }
     }
 
+    private static boolean isAmqpMapMessage(BasicProperties props) {
+        return RMQMapMessage.AMQP_TABLE_CONTENT_TYPE.equals(props.getContentType());
+    }
+
     private static boolean isAmqpTextMessage(Map<String, Object> hdrs) {
         boolean isTextMessage = false;
         if(hdrs != null) {
             Object headerJMSType = hdrs.get(JMS_TYPE_HEADER);
-            isTextMessage = (headerJMSType != null && TEXT_MESSAGE_HEADER_VALUE.equals(headerJMSType.toString()));
+            isTextMessage = (headerJMSType != null && TEXT_MESSAGE_HEADER_VALUE.equals(HeaderPropertyValues.stringValue(headerJMSType)));
         }
         return isTextMessage;
     }
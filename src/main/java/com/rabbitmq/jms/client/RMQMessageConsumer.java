@@ -11,6 +11,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 import jakarta.jms.IllegalStateException;
 import jakarta.jms.JMSException;
@@ -27,6 +28,7 @@ import com.rabbitmq.jms.util.RMQJMSException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.client.Consumer;
 import com.rabbitmq.client.GetResponse;
@@ -37,6 +39,7 @@ import com.rabbitmq.jms.util.AbortedException;
 import com.rabbitmq.jms.util.EntryExitManager;
 import com.rabbitmq.jms.util.TimeTracker;
 import com.rabbitmq.jms.util.Util;
+import javax.management.ObjectName;
 
 /**
  * The implementation of {@link MessageConsumer} in the RabbitMQ JMS Client.
@@ -96,6 +99,24 @@ class RMQMessageConsumer implements MessageConsumer, QueueReceiver, TopicSubscri
 
     private final ReceivingContextConsumer receivingContextConsumer;
 
+    private final JmsMetricsCollector metricsCollector;
+
+    private final LongAdder receivedMessages = new LongAdder();
+
+    /**
+     * Whether to discard the messages that have expired, and whether
+     * to dead-letter them instead of acknowledging them.
+     */
+    private final boolean discardExpiredMessages;
+    private final boolean deadLetterExpiredMessages;
+
+    private final LongAdder expiredMessages = new LongAdder();
+
+    private final ManagementRegistry managementRegistry;
+
+    /** object name of the MXBean of the consumer, null if it is not registered */
+    private final ObjectName objectName;
+
     /**
      * Creates a RMQMessageConsumer object. Internal constructor used by {@link RMQSession}
      *
@@ -122,6 +143,13 @@ class RMQMessageConsumer implements MessageConsumer, QueueReceiver, TopicSubscri
         this.requeueOnMessageListenerException = requeueOnMessageListenerException;
         this.receivingContextConsumer = receivingContextConsumer;
         this.requeueOnTimeout = requeueOnTimeout;
+        JmsMetricsCollector metricsCollector = session.getJmsMetricsCollector();
+        this.metricsCollector = metricsCollector == null ? JmsMetricsCollector.NO_OP : metricsCollector;
+        this.discardExpiredMessages = session.willDiscardExpiredMessages();
+        this.deadLetterExpiredMessages = session.willDeadLetterExpiredMessages();
+        ManagementRegistry managementRegistry = session.getManagementRegistry();
+        this.managementRegistry = managementRegistry == null ? ManagementRegistry.DISABLED : managementRegistry;
+        this.objectName = this.managementRegistry.registerConsumer(session.getObjectName(), this);
     }
 
     /**
@@ -159,10 +187,30 @@ class RMQMessageConsumer implements MessageConsumer, QueueReceiver, TopicSubscri
      * Dispose of any Rabbit Consumer that may be active and tracked.
      */
     private void removeListenerConsumer() {
+        removeListenerConsumer(null);
+    }
+
+    private void removeListenerConsumer(TimeTracker deadline) {
         MessageListenerConsumer listConsumer = this.listenerConsumer.getAndSet(null);
         if (listConsumer != null) {
             this.abortables.remove(listConsumer);
-            listConsumer.stop();  // orderly stop
+            if (deadline == null) {
+                listConsumer.stop();  // orderly stop
+            } else {
+                listConsumer.stop(deadline);
+            }
+        }
+    }
+
+    /**
+     * Sends basicCancel for the active RabbitMQ Consumer, if any, without waiting for
+     * the cancellation to complete. The consumer must then be closed with
+     * {@link #internalClose(TimeTracker)}.
+     */
+    void cancel() {
+        MessageListenerConsumer listConsumer = this.listenerConsumer.get();
+        if (listConsumer != null) {
+            listConsumer.cancel();
         }
     }
 
@@ -218,8 +266,7 @@ class RMQMessageConsumer implements MessageConsumer, QueueReceiver, TopicSubscri
               new MessageListenerConsumer(this,
                                           getSession().getChannel(),
                                           messageListener,
-                                          TimeUnit.MILLISECONDS.toNanos(this.session.getConnection()
-                                                                                    .getTerminationTimeout()),
+                                          this.session.getConnection().getTerminationTimeout(),
                                           this.requeueOnMessageListenerException, this.receivingContextConsumer,
                                           this.requeueOnTimeout);
             if (this.listenerConsumer.compareAndSet(null, mlConsumer)) {
@@ -351,11 +398,12 @@ class RMQMessageConsumer implements MessageConsumer, QueueReceiver, TopicSubscri
                 return null; // timed out while stopped
             /* Try to receive a message, there's some time left! */
             try {
-                GetResponse resp = this.delayedReceiver.get(tt);
-                if (resp == null) return null; // nothing received in time or aborted
-                this.dealWithAcknowledgements(this.isAutoAck(), resp.getEnvelope().getDeliveryTag());
-                this.session.addUncommittedTag(resp.getEnvelope().getDeliveryTag());
-                return RMQMessage.convertMessage(this.session, this.destination, resp, this.receivingContextConsumer);
+                GetResponse resp;
+                do {
+                    resp = this.delayedReceiver.get(tt);
+                    if (resp == null) return null; // nothing received in time or aborted
+                } while (this.discardIfExpired(resp.getEnvelope().getDeliveryTag(), resp.getProps(), false));
+                return this.consume(resp);
             } finally {
                 this.receiveManager.exit();
             }
@@ -371,6 +419,94 @@ class RMQMessageConsumer implements MessageConsumer, QueueReceiver, TopicSubscri
         }
     }
 
+    /**
+     * Acknowledges or tracks a message received by <code>receive</code>, and converts it.
+     *
+     * @param resp the message received from the queue
+     * @return the JMS message
+     */
+    RMQMessage consume(GetResponse resp) throws JMSException {
+        this.received(resp.getBody());
+        long dtag = resp.getEnvelope().getDeliveryTag();
+        RMQMessage message = RMQMessage.convertMessage(this.session, this.destination, resp, this.receivingContextConsumer);
+        if (!LargeMessageStream.isAcknowledgedAtEnd(message)) {
+            this.dealWithAcknowledgements(this.isAutoAck(), dtag);
+        }
+        this.session.addUncommittedTag(dtag);
+        return message;
+    }
+
+    /**
+     * Counts a message received by <code>receive</code> or by the message listener.
+     */
+    void received(byte[] body) {
+        this.receivedMessages.increment();
+        this.metricsCollector.consumed(this.destination.getDestinationName(), body == null ? 0 : body.length);
+    }
+
+    long getReceivedMessageCount() {
+        return this.receivedMessages.sum();
+    }
+
+    /**
+     * Acknowledges or dead-letters a message that has expired, before it is decoded,
+     * if the consumer discards expired messages.
+     * <p>
+     * The expiration is computed from the AMQP properties and headers only,
+     * see {@link RMQMessage#expiration(AMQP.BasicProperties)}.
+     *
+     * @param dtag the delivery tag of the message
+     * @param props the properties of the message
+     * @param autoAcked whether the message has been acknowledged by the broker already
+     * @return true if the message has expired and has been discarded
+     */
+    boolean discardIfExpired(long dtag, AMQP.BasicProperties props, boolean autoAcked) {
+        if (!this.discardExpiredMessages) {
+            return false;
+        }
+        long expiration = RMQMessage.expiration(props);
+        if (expiration == 0L || expiration > System.currentTimeMillis()) {
+            return false;
+        }
+        logger.debug("discarding expired message {} (expiration {})", dtag, expiration);
+        if (!autoAcked) {
+            if (this.deadLetterExpiredMessages) {
+                this.session.explicitNack(dtag, false);
+            } else {
+                this.session.explicitAck(dtag);
+            }
+            // in a transacted session the ack or nack is part of the transaction
+            this.session.addUncommittedTag(dtag);
+        }
+        this.expiredMessages.increment();
+        this.metricsCollector.expired(this.destination.getDestinationName());
+        return true;
+    }
+
+    long getExpiredMessageCount() {
+        return this.expiredMessages.sum();
+    }
+
+    boolean isMessageListenerSet() {
+        return this.messageListener != null;
+    }
+
+    /**
+     * @return whether the consumer is paused by the stop of its connection
+     */
+    boolean isPaused() {
+        return !this.closed && !this.closing && this.receiveManager.isClosed();
+    }
+
+    boolean isRejecting() {
+        MessageListenerConsumer listenerConsumer = this.listenerConsumer.get();
+        return listenerConsumer != null && listenerConsumer.isRejecting();
+    }
+
+    int getPendingReceiveCount() {
+        return this.numberOfReceives.get();
+    }
+
     void dealWithAcknowledgements(boolean ack, long dtag) {
         if (ack) {
             this.session.explicitAck(dtag);
@@ -419,6 +555,16 @@ class RMQMessageConsumer implements MessageConsumer, QueueReceiver, TopicSubscri
      * Method called when message consumer is closed
      */
     void internalClose() throws JMSException {
+        internalClose(null);
+    }
+
+    /**
+     * Closes the message consumer, waiting for the cancellation of the RabbitMQ Consumer
+     * until a deadline shared with other consumers.
+     *
+     * @param deadline the shared deadline, or null to wait up to the termination timeout
+     */
+    void internalClose(TimeTracker deadline) throws JMSException {
         try {
             logger.trace("close consumer({})", this);
             this.closing = true;
@@ -430,7 +576,7 @@ class RMQMessageConsumer implements MessageConsumer, QueueReceiver, TopicSubscri
             this.delayedReceiver.close(); // close the synchronous receive, if any
 
             /* stop and remove any active subscription - waits for onMessage processing to finish */
-            this.removeListenerConsumer();
+            this.removeListenerConsumer(deadline);
 
             try {
                 this.abortables.abort(); // abort Consumers of both types that remain
@@ -443,6 +589,7 @@ class RMQMessageConsumer implements MessageConsumer, QueueReceiver, TopicSubscri
             this.closed = true;
             this.closing = false;
         } finally {
+            this.managementRegistry.unregister(this.objectName);
             this.closedListeners.forEach(l -> {
                 try {
                     l.closed(this);
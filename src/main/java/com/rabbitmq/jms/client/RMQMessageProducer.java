@@ -8,25 +8,33 @@ package com.rabbitmq.jms.client;
 import com.rabbitmq.client.AMQP;
 import com.rabbitmq.client.Channel;
 import com.rabbitmq.jms.admin.RMQDestination;
+import com.rabbitmq.jms.client.message.RMQBytesMessage;
+import com.rabbitmq.jms.client.message.RMQMapMessage;
 import com.rabbitmq.jms.client.message.RMQTextMessage;
 import com.rabbitmq.jms.util.RMQJMSException;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import jakarta.jms.CompletionListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import jakarta.jms.BytesMessage;
+import jakarta.jms.DeliveryMode;
 import jakarta.jms.Destination;
 import jakarta.jms.InvalidDestinationException;
 import jakarta.jms.JMSException;
 import jakarta.jms.Message;
+import jakarta.jms.MessageFormatException;
 import jakarta.jms.MessageProducer;
 import jakarta.jms.Queue;
 import jakarta.jms.QueueSender;
 import jakarta.jms.Topic;
 import jakarta.jms.TopicPublisher;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.function.BiFunction;
+import javax.management.ObjectName;
 
 import static com.rabbitmq.jms.client.RMQMessage.*;
 
@@ -39,6 +47,16 @@ public class RMQMessageProducer implements MessageProducer, QueueSender, TopicPu
 
     private static final String DIRECT_REPLY_TO = "amq.rabbitmq.reply-to";
 
+    private static final String OCTET_STREAM_CONTENT_TYPE = "application/octet-stream";
+
+    /**
+     * Default size of chunks of streamed messages.
+     *
+     * @see #sendStream(BytesMessage, InputStream)
+     * @since 3.10.0
+     */
+    public static final int DEFAULT_STREAM_CHUNK_SIZE = 1024 * 1024;
+
     static final CompletionListener NO_OP_COMPLETION_LISTENER = new CompletionListener() {
         @Override
         public void onCompletion(Message message) {
@@ -97,13 +115,37 @@ public class RMQMessageProducer implements MessageProducer, QueueSender, TopicPu
 
     private final boolean keepTextMessageType;
 
+    private final MessageIdGenerator messageIdGenerator;
+
+    private final boolean propertiesInHeadersOnly;
+
+    private final MessageCompression messageCompression;
+
+    private final JmsMetricsCollector metricsCollector;
+
+    private final LongAdder sentMessages = new LongAdder();
+
+    private final ManagementRegistry managementRegistry;
+
+    /** object name of the MXBean of the producer, null if it is not registered */
+    private final ObjectName objectName;
+
     private final AtomicBoolean publishConfirmedEnabled = new AtomicBoolean(false);
 
+    /** AMQP properties of the settings of the last message sent, immutable */
+    private PropertiesTemplate propertiesTemplate;
+
+    /** Sizes the encoding buffer from the size of the last messages sent */
+    private final EncoderBuffers.SizeEstimate encodedSize = new EncoderBuffers.SizeEstimate(RMQMessage.DEFAULT_MESSAGE_BODY_SIZE);
+
     RMQMessageProducer(RMQSession session, RMQDestination destination, boolean preferProducerMessageProperty,
                               BiFunction<AMQP.BasicProperties.Builder, Message, AMQP.BasicProperties.Builder> amqpPropertiesCustomiser,
                               SendingContextConsumer sendingContextConsumer,
                               PublishingListener publishingListener,
-                              boolean keepTextMessageType) {
+                              boolean keepTextMessageType,
+                              MessageIdGenerator messageIdGenerator,
+                              boolean propertiesInHeadersOnly,
+                              MessageCompression messageCompression) {
         this.session = session;
         this.destination = destination;
         if (preferProducerMessageProperty) {
@@ -120,13 +162,21 @@ public class RMQMessageProducer implements MessageProducer, QueueSender, TopicPu
                 publishingListener.publish(message, completionListener, channel.getNextPublishSeqNo());
         }
         this.keepTextMessageType = keepTextMessageType;
+        this.messageIdGenerator = messageIdGenerator == null ? new DefaultMessageIdGenerator() : messageIdGenerator;
+        this.propertiesInHeadersOnly = propertiesInHeadersOnly;
+        this.messageCompression = messageCompression == null ? MessageCompression.DECOMPRESSION_ONLY : messageCompression;
+        JmsMetricsCollector metricsCollector = session == null ? null : session.getJmsMetricsCollector();
+        this.metricsCollector = metricsCollector == null ? JmsMetricsCollector.NO_OP : metricsCollector;
+        ManagementRegistry managementRegistry = session == null ? null : session.getManagementRegistry();
+        this.managementRegistry = managementRegistry == null ? ManagementRegistry.DISABLED : managementRegistry;
+        this.objectName = this.managementRegistry.registerProducer(session == null ? null : session.getObjectName(), this);
     }
 
     public RMQMessageProducer(RMQSession session, RMQDestination destination, boolean preferProducerMessageProperty,
             BiFunction<AMQP.BasicProperties.Builder, Message, AMQP.BasicProperties.Builder> amqpPropertiesCustomiser,
             SendingContextConsumer sendingContextConsumer) {
         this(session, destination, preferProducerMessageProperty, amqpPropertiesCustomiser, sendingContextConsumer, null,
-            false);
+            false, null, false, null);
     }
 
     public RMQMessageProducer(RMQSession session, RMQDestination destination, boolean preferProducerMessageProperty,
@@ -255,6 +305,7 @@ public class RMQMessageProducer implements MessageProducer, QueueSender, TopicPu
      * when system is shutting down
      */
     protected void internalClose() {
+        this.managementRegistry.unregister(this.objectName);
     }
 
     /**
@@ -265,6 +316,95 @@ public class RMQMessageProducer implements MessageProducer, QueueSender, TopicPu
         this.sendingStrategy.send(this.destination, message, NO_OP_COMPLETION_LISTENER);
     }
 
+    /**
+     * Sends a payload of any size as a stream of chunks, with
+     * {@link #DEFAULT_STREAM_CHUNK_SIZE 1 MiB} chunks.
+     *
+     * @param message the message to send, with the properties of the payload
+     * @param payload the payload, read until its end
+     * @throws JMSException if the payload cannot be sent
+     * @see #sendStream(BytesMessage, InputStream, int)
+     * @since 3.10.0
+     */
+    public void sendStream(BytesMessage message, InputStream payload) throws JMSException {
+        sendStream(message, payload, DEFAULT_STREAM_CHUNK_SIZE);
+    }
+
+    /**
+     * Sends a payload of any size as a stream of chunks.
+     * <p>
+     * The payload is read one chunk at a time and each chunk is published to a
+     * server-named queue of its own, so the payload is never in memory as a whole.
+     * The message is then sent to the destination of this producer, with the
+     * producer delivery mode, priority and time-to-live. It should have an empty body.
+     * <p>
+     * The consumer reads the payload from
+     * {@link RMQBytesMessage#getBodyAsInputStream()}, one chunk at a time as well.
+     * Once the payload is fully read, the chunk queue is deleted. Sessions that
+     * acknowledge messages automatically acknowledge the message only then; in
+     * client acknowledge sessions, the application acknowledges it as any other message.
+     * A message listener of a session that acknowledges messages automatically must
+     * read the stream before <code>onMessage</code> returns: the message is otherwise
+     * rejected and its chunk queue deleted.
+     * If the consumer closes the stream before its end, or fails to read it,
+     * the chunk queue is deleted as well.
+     * <p>
+     * Streaming is supported only from non-transacted sessions to JMS destinations
+     * (not AMQP destinations). Consumers must use version 3.10.0 or later.
+     * The chunk queue of a message with a time-to-live expires some time after the message,
+     * the chunk queue of a message without time-to-live after one day without being read.
+     *
+     * @param message the message to send, created by a session of this library
+     * @param payload the payload, read until its end
+     * @param chunkSize the size of the chunks, in bytes
+     * @throws JMSException if the payload cannot be sent
+     * @since 3.10.0
+     */
+    public void sendStream(BytesMessage message, InputStream payload, int chunkSize) throws JMSException {
+        if (this.destination == null) {
+            throw new UnsupportedOperationException("Streams cannot be sent by an unidentified MessageProducer");
+        }
+        if (this.destination.isAmqp()) {
+            throw new RMQJMSException("Cannot stream to AMQP destination", new UnsupportedOperationException("MessageProducer.sendStream to AMQP resource"));
+        }
+        if (this.session.getTransacted()) {
+            throw new jakarta.jms.IllegalStateException("Streams cannot be sent in a transacted session");
+        }
+        if (!(message instanceof RMQBytesMessage)) {
+            throw new MessageFormatException("Only bytes messages created by a session of this library can be streamed");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be strictly positive: " + chunkSize);
+        }
+        RMQMessage rmqMessage = (RMQMessage) message;
+        this.session.declareDestinationIfNecessary(this.destination);
+        Channel channel = null;
+        LargeMessageStream stream = null;
+        try {
+            channel = this.session.getConnection().createRabbitChannel(false);
+            stream = LargeMessageStream.publish(channel, payload, chunkSize,
+                this.deliveryMode == DeliveryMode.PERSISTENT, this.ttl);
+            rmqMessage.setStream(stream);
+            send(message);
+        } catch (IOException x) {
+            throw new RMQJMSException(x);
+        } catch (JMSException | RuntimeException x) {
+            if (stream != null) {
+                LargeMessageStream.deleteQuietly(channel, stream.getQueue());
+            }
+            throw x;
+        } finally {
+            rmqMessage.setStream(null);
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (Exception x) {
+                    this.logger.debug("Error while closing channel after streaming message", x);
+                }
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -334,7 +474,7 @@ public class RMQMessageProducer implements MessageProducer, QueueSender, TopicPu
         rmqMessage.setJMSExpiration(expiration);
         rmqMessage.setJMSDestination(destination);
         rmqMessage.setJMSTimestamp(currentTime);
-        rmqMessage.generateInternalID();
+        rmqMessage.generateInternalID(this.messageIdGenerator);
         long deliveryDelay = getDeliveryDelayAndSetJMSDeliveryTimeIfNeeded(rmqMessage, deliveryTimeSource);
 
         /* Now send it */
@@ -368,12 +508,10 @@ public class RMQMessageProducer implements MessageProducer, QueueSender, TopicPu
 
         if (msg.isAmqpWritable()) {
             try {
-                AMQP.BasicProperties.Builder bob = new AMQP.BasicProperties.Builder();
-                bob.contentType("application/octet-stream");
-                bob.deliveryMode(RMQMessage.rmqDeliveryMode(deliveryMode));
-                bob.priority(priority);
+                AMQP.BasicProperties.Builder bob = propertiesTemplate(
+                    msg instanceof RMQMapMessage ? RMQMapMessage.AMQP_TABLE_CONTENT_TYPE : OCTET_STREAM_CONTENT_TYPE,
+                    deliveryMode, priority, timeToLive).builder();
                 bob.correlationId(msg.getJMSCorrelationID());
-                bob.expiration(rmqExpiration(timeToLive));
                 Map<String, Object> messageHeaders = msg.toAmqpHeaders();
                 if (this.keepTextMessageType && msg instanceof RMQTextMessage) {
                     messageHeaders.put(RMQMessage.JMS_TYPE_HEADER,
@@ -384,18 +522,23 @@ public class RMQMessageProducer implements MessageProducer, QueueSender, TopicPu
 
                 setReplyToProperty(bob, msg);
 
-                bob = amqpPropertiesCustomiser.apply(bob, msg);
+                byte[] data = msg.toAmqpByteArray(this.encodedSize.estimate());
+                this.encodedSize.record(data.length);
+                // before the customiser, which can see the content encoding
+                data = this.messageCompression.compress(destination, data, bob, messageHeaders);
 
-                byte[] data = msg.toAmqpByteArray();
+                bob = amqpPropertiesCustomiser.apply(bob, msg);
 
-                this.beforePublishingCallback.beforePublishing(originalMessage, completionListener, this.session.getChannel());
-                this.session.getChannel().basicPublish(targetAmqpExchangeName, destination.getAmqpRoutingKey(), bob.build(), data);
+                publish(targetAmqpExchangeName, destination.getAmqpRoutingKey(), bob.build(), data,
+                    originalMessage, completionListener);
+                this.metricsCollector.published(destination.getDestinationName(), data.length);
+                this.sentMessages.increment();
             } catch (IOException x) {
                 throw new RMQJMSException(x);
             }
         } else {
             this.logger.error("Unsupported message type {} for AMQP destination {}", msg.getClass().getName(), destination);
-            throw new RMQJMSException("Unsupported message type for AMQP destination", new UnsupportedOperationException("MessageProducer.send to AMQP resource: Message not Text or Bytes"));
+            throw new RMQJMSException("Unsupported message type for AMQP destination", new UnsupportedOperationException("MessageProducer.send to AMQP resource: Message not Text, Bytes or Map"));
         }
     }
 
@@ -405,28 +548,75 @@ public class RMQMessageProducer implements MessageProducer, QueueSender, TopicPu
                                   int deliveryMode, int priority, long timeToLive, long deliveryDelay) throws JMSException {
         this.session.declareDestinationIfNecessary(destination);
         try {
-            AMQP.BasicProperties.Builder bob = new AMQP.BasicProperties.Builder();
-            bob.contentType("application/octet-stream");
-            bob.deliveryMode(RMQMessage.rmqDeliveryMode(deliveryMode));
-            bob.priority(priority);
+            AMQP.BasicProperties.Builder bob = propertiesTemplate(OCTET_STREAM_CONTENT_TYPE,
+                deliveryMode, priority, timeToLive).builder();
             bob.correlationId(msg.getJMSCorrelationID());
-            bob.expiration(rmqExpiration(timeToLive));
-            Map<String, Object> headers = msg.toHeaders();
+            Map<String, Object> headers = this.propertiesInHeadersOnly ? msg.toHeadersWithAllProperties() : null;
+            // falls back to properties in the body if some cannot be AMQP header values
+            boolean propertiesInHeaders = headers != null;
+            if (!propertiesInHeaders) {
+                headers = msg.toHeaders();
+            }
             String targetAmqpExchangeName = session.delayMessage(destination, headers, deliveryDelay);
             bob.headers(headers);
 
             setReplyToProperty(bob, msg);
 
-            byte[] data = msg.toByteArray();
+            byte[] data = msg.toByteArray(this.encodedSize.estimate(), propertiesInHeaders);
+            this.encodedSize.record(data.length);
+            data = this.messageCompression.compress(destination, data, bob, headers);
 
-            this.beforePublishingCallback.beforePublishing(originalMessage, completionListener,
-                this.session.getChannel());
-            this.session.getChannel().basicPublish(targetAmqpExchangeName, destination.getAmqpRoutingKey(), bob.build(), data);
+            publish(targetAmqpExchangeName, destination.getAmqpRoutingKey(), bob.build(), data,
+                originalMessage, completionListener);
+            this.metricsCollector.published(destination.getDestinationName(), data.length);
+            this.sentMessages.increment();
         } catch (IOException x) {
             throw new RMQJMSException(x);
         }
     }
 
+    /**
+     * Returns the template of the AMQP properties for the settings of a message,
+     * the one of the last message if the settings are the same.
+     */
+    private PropertiesTemplate propertiesTemplate(String contentType, int deliveryMode, int priority, long timeToLive) {
+        PropertiesTemplate template = this.propertiesTemplate;
+        if (template == null || !template.matches(contentType, deliveryMode, priority, timeToLive)) {
+            template = new PropertiesTemplate(contentType, deliveryMode, priority, timeToLive, rmqExpiration(timeToLive));
+            this.propertiesTemplate = template;
+        }
+        return template;
+    }
+
+    /**
+     * Publishes on the session channel, or on a channel borrowed for the time
+     * of the publish if the session is lightweight.
+     * <p>
+     * A borrowed channel tracks the message for publisher confirms itself,
+     * so the completion listener is notified whatever the session that
+     * borrows the channel next.
+     */
+    private void publish(String exchange, String routingKey, AMQP.BasicProperties properties, byte[] data,
+                         Message originalMessage, CompletionListener completionListener) throws IOException {
+        ChannelPool.PooledChannel pooledChannel = this.session.borrowPooledChannel();
+        if (pooledChannel == null) {
+            this.beforePublishingCallback.beforePublishing(originalMessage, completionListener, this.session.getChannel());
+            this.session.getChannel().basicPublish(exchange, routingKey, properties, data);
+        } else {
+            try {
+                Channel channel = pooledChannel.channel();
+                if (this.publishConfirmedEnabled.get()) {
+                    pooledChannel.enablePublishConfirm();
+                }
+                pooledChannel.publishingListener().publish(originalMessage, completionListener,
+                    channel.getNextPublishSeqNo());
+                channel.basicPublish(exchange, routingKey, properties, data);
+            } finally {
+                this.session.releasePooledChannel(pooledChannel);
+            }
+        }
+    }
+
     /**
      * Set AMQP reply-to property to reply-to if necessary.
      * <p>
@@ -673,6 +863,18 @@ public class RMQMessageProducer implements MessageProducer, QueueSender, TopicPu
         }
     }
 
+    RMQDestination getRMQDestination() {
+        return this.destination;
+    }
+
+    boolean isPublisherConfirmsEnabled() {
+        return this.publishConfirmedEnabled.get();
+    }
+
+    long getSentMessageCount() {
+        return this.sentMessages.sum();
+    }
+
     private void enablePublishConfirm() throws JMSException {
         if (this.publishConfirmedEnabled.compareAndSet(false, true)) {
             try {
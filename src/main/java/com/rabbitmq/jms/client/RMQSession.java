@@ -16,6 +16,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiFunction;
+import javax.management.ObjectName;
 
 import jakarta.jms.BytesMessage;
 import jakarta.jms.Destination;
@@ -57,6 +58,7 @@ import com.rabbitmq.jms.client.message.RMQObjectMessage;
 import com.rabbitmq.jms.client.message.RMQStreamMessage;
 import com.rabbitmq.jms.client.message.RMQTextMessage;
 import com.rabbitmq.jms.util.RMQJMSException;
+import com.rabbitmq.jms.util.TimeTracker;
 import com.rabbitmq.jms.util.Util;
 
 import static com.rabbitmq.jms.admin.NamingStrategy.*;
@@ -133,8 +135,19 @@ public class RMQSession implements Session, QueueSession, TopicSession {
 
     private final PublishingListener publishingListener;
 
-    /** The main RabbitMQ channel we use under the hood */
-    private final Channel channel;
+    /**
+     * The main RabbitMQ channel we use under the hood.
+     * Opened lazily for a lightweight session, when it needs to consume.
+     */
+    private volatile Channel channel;
+
+    /**
+     * The connection-level pool a lightweight session borrows its channels from,
+     * null for a regular session.
+     *
+     * @since 3.10.0
+     */
+    private final ChannelPool channelPool;
 
     /** Set to true if close() has been called and completed */
     private final AtomicBoolean closed = new AtomicBoolean(false);
@@ -151,16 +164,17 @@ public class RMQSession implements Session, QueueSession, TopicSession {
     /** We keep an ordered set of the message tags (acknowledgement tags) for all messages received and unacknowledged.
      * Each message acknowledgement must ACK all (unacknowledged) messages received up to this point, and
      * we must never acknowledge a message more than once (nor acknowledge a message that doesn't exist). */
-    private final SortedSet<Long> unackedMessageTags =
-        Collections.synchronizedSortedSet(new TreeSet<>()); // GuardedBy("unackedMessageTagsLock")
+    private final DeliveryTags unackedMessageTags = new DeliveryTags(); // GuardedBy("unackedMessageTagsLock")
     private final Lock unackedMessageTagsLock = new ReentrantLock();
+    /** messages held by the redelivery policy, not acknowledged by group acknowledgements */
+    private final DeliveryTags heldMessageTags = new DeliveryTags(); // GuardedBy("unackedMessageTagsLock")
 
     /** List of all our topic subscriptions so we can track them */
     private final Subscriptions subscriptions; // GuardedBy("subscriptionsLock")
     private final Lock subscriptionsLock = new ReentrantLock();
 
     /* Holds the uncommited tags to commit a nack on rollback */
-    private final List<Long> uncommittedMessageTags = new ArrayList<>(); // GuardedBy("commitLock");
+    private final DeliveryTags uncommittedMessageTags = new DeliveryTags(); // GuardedBy("commitLock");
     /** Lock commit and rollback blocking of other commands */
     private final Lock commitLock = new ReentrantLock();
 
@@ -207,6 +221,13 @@ public class RMQSession implements Session, QueueSession, TopicSession {
 
     private final boolean keepTextMessageType;
 
+    /**
+     * Whether producers send the properties of JMS messages only in AMQP headers.
+     *
+     * @since 3.10.0
+     */
+    private final boolean propertiesInHeadersOnly;
+
     private final SubscriptionNameValidator subscriptionNameValidator;
 
     private final AtomicBoolean confirmSelectCalledOnChannel = new AtomicBoolean(false);
@@ -228,6 +249,74 @@ public class RMQSession implements Session, QueueSession, TopicSession {
      */
     private final NamingStrategy namingStrategy;
 
+    /**
+     * The generator of the ID of sent messages.
+     *
+     * @since 3.10.0
+     */
+    private final MessageIdGenerator messageIdGenerator;
+
+    /**
+     * The compression of sent and received message bodies.
+     *
+     * @since 3.10.0
+     */
+    private final MessageCompression messageCompression;
+
+    /**
+     * The codec of ObjectMessage bodies.
+     *
+     * @since 3.10.0
+     */
+    private final ObjectMessageCodec objectMessageCodec;
+
+    /**
+     * Whether StreamMessage and MapMessage bodies are sent in the compact encoding
+     * rather than Java serialization.
+     *
+     * @since 3.10.0
+     */
+    private final boolean compactMessageBodies;
+
+    /**
+     * Collector of JMS-level metrics.
+     *
+     * @since 3.10.0
+     */
+    private final JmsMetricsCollector jmsMetricsCollector;
+
+    /**
+     * Requeues the messages that message listeners fail to process,
+     * null to requeue them right away.
+     *
+     * @since 3.10.0
+     */
+    private final RedeliveryBackoff redeliveryBackoff;
+
+    /**
+     * Whether consumers discard the messages that have expired.
+     *
+     * @since 3.10.0
+     */
+    private final boolean discardExpiredMessages;
+
+    /**
+     * Whether discarded expired messages are dead-lettered instead of acknowledged.
+     *
+     * @since 3.10.0
+     */
+    private final boolean deadLetterExpiredMessages;
+
+    /**
+     * Registers the MXBeans of the session and of its producers and consumers.
+     *
+     * @since 3.10.0
+     */
+    private final ManagementRegistry managementRegistry;
+
+    /** object name of the MXBean of the session, null if it is not registered */
+    private final ObjectName objectName;
+
     static boolean validateSessionMode(int sessionMode) {
        return sessionMode >= 0 && sessionMode <= CLIENT_INDIVIDUAL_ACKNOWLEDGE;
     }
@@ -247,8 +336,14 @@ public class RMQSession implements Session, QueueSession, TopicSession {
         this.connection = sessionParams.getConnection();
         this.transacted = sessionParams.isTransacted();
         this.subscriptions = sessionParams.getSubscriptions();
+        this.jmsMetricsCollector = sessionParams.getJmsMetricsCollector() == null ?
+            JmsMetricsCollector.NO_OP : sessionParams.getJmsMetricsCollector();
+        this.redeliveryBackoff = sessionParams.getRedeliveryBackoff();
+        this.discardExpiredMessages = sessionParams.willDiscardExpiredMessages();
+        this.deadLetterExpiredMessages = sessionParams.willDeadLetterExpiredMessages();
         boolean deliveryExecutorCloseOnTimeout = !sessionParams.willRequeueOnTimeout();
-        this.deliveryExecutor = new DeliveryExecutor(sessionParams.getOnMessageTimeoutMs(), deliveryExecutorCloseOnTimeout);
+        this.deliveryExecutor = new DeliveryExecutor(sessionParams.getOnMessageTimeoutMs(), deliveryExecutorCloseOnTimeout,
+            this.jmsMetricsCollector);
         this.preferProducerMessageProperty = sessionParams.willPreferProducerMessageProperty();
         this.requeueOnMessageListenerException = sessionParams.willRequeueOnMessageListenerException();
         this.nackOnRollback = sessionParams.willNackOnRollback();
@@ -260,6 +355,7 @@ public class RMQSession implements Session, QueueSession, TopicSession {
         this.trustedPackages = sessionParams.getTrustedPackages();
         this.requeueOnTimeout = sessionParams.willRequeueOnTimeout();
         this.keepTextMessageType = sessionParams.isKeepTextMessageType();
+        this.propertiesInHeadersOnly = sessionParams.isPropertiesInHeadersOnly();
         this.delayedMessageService = sessionParams.getDelayedMessageService();
         this.subscriptionNameValidator = name -> {
             boolean subscriptionIsValid = Utils.SUBSCRIPTION_NAME_PREDICATE.test(name);
@@ -275,6 +371,13 @@ public class RMQSession implements Session, QueueSession, TopicSession {
         this.replyToStrategy = sessionParams.getReplyToStrategy() == null ?
             DefaultReplyToStrategy.INSTANCE : sessionParams.getReplyToStrategy();
         this.namingStrategy = ofNullable(sessionParams.getNamingStrategy()).orElse(DEFAULT);
+        this.messageIdGenerator = sessionParams.getMessageIdGenerator() == null ?
+            new DefaultMessageIdGenerator() : sessionParams.getMessageIdGenerator();
+        this.messageCompression = sessionParams.getMessageCompression() == null ?
+            MessageCompression.DECOMPRESSION_ONLY : sessionParams.getMessageCompression();
+        this.objectMessageCodec = sessionParams.getObjectMessageCodec() == null ?
+            ObjectMessageCodec.javaSerialization() : sessionParams.getObjectMessageCodec();
+        this.compactMessageBodies = sessionParams.isCompactMessageBodies();
 
         if (transacted) {
             this.acknowledgeMode = Session.SESSION_TRANSACTED;
@@ -286,14 +389,24 @@ public class RMQSession implements Session, QueueSession, TopicSession {
             this.acknowledgeMode = sessionParams.getMode();
             this.isIndividualAck = false;
         }
-        try {
-            this.channel = connection.createRabbitChannel(transacted);
-            this.publishingListener = PublisherConfirmsUtils.configurePublisherConfirmsSupport(
-                this.channel
-            );
-        } catch (Exception x) { // includes unchecked exceptions, e.g. ShutdownSignalException
-            throw new RMQJMSException(x);
+        this.channelPool = transacted ? null : connection.getChannelPool();
+        if (this.channelPool == null) {
+            try {
+                this.channel = connection.createRabbitChannel(transacted);
+                this.publishingListener = PublisherConfirmsUtils.configurePublisherConfirmsSupport(
+                    this.channel, this.jmsMetricsCollector
+                );
+            } catch (Exception x) { // includes unchecked exceptions, e.g. ShutdownSignalException
+                throw new RMQJMSException(x);
+            }
+        } else {
+            // lightweight session: messages are published on pooled channels,
+            // which keep their own publisher confirms correlation
+            this.publishingListener = null;
         }
+        ManagementRegistry managementRegistry = this.connection == null ? null : this.connection.getManagementRegistry();
+        this.managementRegistry = managementRegistry == null ? ManagementRegistry.DISABLED : managementRegistry;
+        this.objectName = this.managementRegistry.registerSession(this);
     }
 
     /**
@@ -314,10 +427,20 @@ public class RMQSession implements Session, QueueSession, TopicSession {
             .setSubscriptions(subscriptions)
             .setDelayedMessageService(delayedMessageService)
             .setReplyToStrategy(connection.getReplyToStrategy())
+            .setMessageIdGenerator(connection.getMessageIdGenerator())
+            .setMessageCompression(connection.getMessageCompression())
+            .setObjectMessageCodec(connection.getObjectMessageCodec())
+            .setCompactMessageBodies(connection.isCompactMessageBodies())
+            .setJmsMetricsCollector(connection.getJmsMetricsCollector())
+            .setRedeliveryBackoff(connection.getRedeliveryBackoff())
         );
     }
 
     void enablePublishConfirmOnChannel() throws IOException {
+        if (this.channelPool != null) {
+            // confirms are enabled on the pooled channels at publishing time
+            return;
+        }
         if (this.confirmSelectCalledOnChannel.compareAndSet(false, true)) {
             this.channel.confirmSelect();
         }
@@ -342,7 +465,7 @@ public class RMQSession implements Session, QueueSession, TopicSession {
     @Override
     public MapMessage createMapMessage() throws JMSException {
         illegalStateExceptionIfClosed();
-        return new RMQMapMessage();
+        return new RMQMapMessage(this.compactMessageBodies);
     }
 
     /**
@@ -360,7 +483,7 @@ public class RMQSession implements Session, QueueSession, TopicSession {
     @Override
     public ObjectMessage createObjectMessage() throws JMSException {
         illegalStateExceptionIfClosed();
-        return new RMQObjectMessage();
+        return new RMQObjectMessage(WhiteListObjectInputStream.DEFAULT_TRUSTED_PACKAGES, this.objectMessageCodec);
     }
 
     /**
@@ -380,7 +503,7 @@ public class RMQSession implements Session, QueueSession, TopicSession {
     @Override
     public StreamMessage createStreamMessage() throws JMSException {
         illegalStateExceptionIfClosed();
-        return new RMQStreamMessage();
+        return new RMQStreamMessage(WhiteListObjectInputStream.DEFAULT_TRUSTED_PACKAGES, this.compactMessageBodies);
     }
 
     /**
@@ -417,7 +540,7 @@ public class RMQSession implements Session, QueueSession, TopicSession {
      * but does not declare a JMSException in the throw clause
      * @return true if this session is transacted
      */
-    private boolean getTransactedNoException() {
+    boolean getTransactedNoException() {
         return this.transacted;
     }
 
@@ -509,10 +632,11 @@ public class RMQSession implements Session, QueueSession, TopicSession {
                 // rollback the RabbitMQ transaction which may cause some messages to become unacknowledged
                 this.channel.txRollback();
                 if (this.nackOnRollback && this.uncommittedMessageTags.size() > 0) {
-                    for (Long dtag : this.uncommittedMessageTags) {
-                        this.channel.basicNack(dtag, false, false);
+                    for (int i = 0; i < this.uncommittedMessageTags.size(); i++) {
+                        this.channel.basicNack(this.uncommittedMessageTags.get(i), false, false);
                     }
                     this.channel.txCommit();
+                    this.jmsMetricsCollector.negativelyAcknowledged(this.uncommittedMessageTags.size());
                     this.clearUncommittedTags();
                 }
                 // requeue all unacknowledged messages (not automatically done by RabbitMQ)
@@ -531,6 +655,7 @@ public class RMQSession implements Session, QueueSession, TopicSession {
         if (this.enterCommittingBlock()) {
             try {
                 this.channel.basicAck(deliveryTag, false);
+                this.jmsMetricsCollector.acknowledged(1);
             } catch (Exception x) {
                 // this is problematic, we have received a message, but we can't ACK it to the server
                 this.logger.error("Cannot acknowledge message received (dTag={})", deliveryTag, x);
@@ -543,9 +668,18 @@ public class RMQSession implements Session, QueueSession, TopicSession {
     }
 
     void explicitNack(long deliveryTag) {
+        explicitNack(deliveryTag, true);
+    }
+
+    /**
+     * @param deliveryTag the delivery tag of the message
+     * @param requeue false to dead-letter the message
+     */
+    void explicitNack(long deliveryTag, boolean requeue) {
         if (this.enterCommittingBlock()) {
             try {
-                this.channel.basicNack(deliveryTag, false, true);
+                this.channel.basicNack(deliveryTag, false, requeue);
+                this.jmsMetricsCollector.negativelyAcknowledged(1);
             } catch (Exception x) {
                 // TODO logging impl debug message
                 this.logger.warn("Cannot reject/requeue message received (dTag={})", deliveryTag, x);
@@ -564,12 +698,38 @@ public class RMQSession implements Session, QueueSession, TopicSession {
         this.getConnection().sessionClose(this);
     }
 
+    /**
+     * Whether this session can still be used, that is it is not closed
+     * and its underlying channel is open.
+     *
+     * @return true if the session can be used
+     * @since 3.10.0
+     */
+    public boolean isOpen() {
+        if (this.closing.get()) {
+            return false;
+        }
+        Channel ch = this.channel;
+        return ch == null ? this.channelPool != null : ch.isOpen();
+    }
+
     void internalClose() throws JMSException {
+        internalClose(null);
+    }
+
+    /**
+     * Closes the session, waiting for the cancellation of its consumers
+     * until a deadline shared with other sessions.
+     *
+     * @param deadline the shared deadline, or null to wait up to the termination timeout for each consumer
+     * @see #cancelConsumers()
+     */
+    void internalClose(TimeTracker deadline) throws JMSException {
         if (this.closing.compareAndSet(false, true)) {
             try {
                 logger.trace("close session {}", this);
                 // close consumers first (to prevent requeues being consumed)
-                closeAllConsumers();
+                closeAllConsumers(deadline);
 
                 // rollback anything not committed already
                 if (this.getTransactedNoException()) {
@@ -595,15 +755,29 @@ public class RMQSession implements Session, QueueSession, TopicSession {
                 this.closeRabbitChannels();
             } finally {
                 this.closed.set(true);
+                this.managementRegistry.unregister(this.objectName);
             }
         }
     }
 
-    private void closeAllConsumers() {
+    /**
+     * Sends basicCancel for all the consumers of the session, without waiting
+     * for the cancellations to complete.
+     * <p>
+     * First step of the close of a connection, so that the consumers of all its
+     * sessions wind down at the same time.
+     */
+    void cancelConsumers() {
+        for (RMQMessageConsumer consumer : this.consumers) {
+            consumer.cancel();
+        }
+    }
+
+    private void closeAllConsumers(TimeTracker deadline) {
         //close all consumers created by this session
         for (RMQMessageConsumer consumer : this.consumers) {
             try {
-                consumer.internalClose();
+                consumer.internalClose(deadline);
             } catch (JMSException x) {
                 this.logger.error("Consumer ({}) cannot be closed", consumer, x);
             }
@@ -611,8 +785,8 @@ public class RMQSession implements Session, QueueSession, TopicSession {
         this.consumers.clear();
     }
 
-    void deliverMessage(RMQMessage rmqMessage, MessageListener messageListener) throws JMSException, InterruptedException {
-        this.deliveryExecutor.deliverMessageWithProtection(rmqMessage, messageListener);
+    void deliverMessage(RMQMessage rmqMessage, MessageListener messageListener, String destinationName) throws JMSException, InterruptedException {
+        this.deliveryExecutor.deliverMessageWithProtection(rmqMessage, messageListener, destinationName);
     }
 
     private void closeRabbitChannels() throws JMSException {
@@ -640,6 +814,60 @@ public class RMQSession implements Session, QueueSession, TopicSession {
         }
     }
 
+    /**
+     * Requeues a message that a message listener failed to process, right away
+     * or after the delay of the redelivery policy of the connection.
+     *
+     * @param message the message
+     * @param deliveryTag the delivery tag of the message
+     * @param destinationName the name of the destination of the consumer
+     * @see RedeliveryPolicy
+     */
+    void requeue(RMQMessage message, long deliveryTag, String destinationName) {
+        if (this.redeliveryBackoff == null || this.transacted) {
+            // a rollback would requeue held messages
+            explicitNack(deliveryTag);
+        } else {
+            if (!isAutoAck()) {
+                // acknowledging the next messages must not acknowledge this one
+                try {
+                    this.unackedMessageTagsLock.lock();
+                    this.unackedMessageTags.remove(deliveryTag);
+                    this.heldMessageTags.add(deliveryTag);
+                } finally {
+                    this.unackedMessageTagsLock.unlock();
+                }
+            }
+            this.redeliveryBackoff.requeue(this, message, deliveryTag, destinationName);
+        }
+    }
+
+    /**
+     * Requeues or dead-letters a message held by the redelivery policy, unless the
+     * session is closing or the message has been recovered in the meantime.
+     *
+     * @param deliveryTag the delivery tag of the message
+     * @param requeue false to dead-letter the message
+     */
+    void releaseHeld(long deliveryTag, boolean requeue) {
+        if (this.closing.get()) {
+            // the broker requeues the message when the channel closes
+            return;
+        }
+        if (isAutoAck()) {
+            explicitNack(deliveryTag, requeue);
+        } else {
+            try {
+                this.unackedMessageTagsLock.lock();
+                if (this.heldMessageTags.remove(deliveryTag)) {
+                    explicitNack(deliveryTag, requeue);
+                }
+            } finally {
+                this.unackedMessageTagsLock.unlock();
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -652,14 +880,18 @@ public class RMQSession implements Session, QueueSession, TopicSession {
             try {
                this.unackedMessageTagsLock.lock();
                 /* If we have messages to recover */
-                if (!this.unackedMessageTags.isEmpty()) {
+                if (!this.unackedMessageTags.isEmpty() || !this.heldMessageTags.isEmpty()) {
                     try {
                         this.channel.basicRecover(true); // requeue
                     } catch (IOException x) {
                         logger.warn("basicRecover on channel({}) failed", this.channel, x);
                         throw new RMQJMSException(x);
                     }
+                    this.jmsMetricsCollector.negativelyAcknowledged(
+                        this.unackedMessageTags.size() + this.heldMessageTags.size());
                     this.unackedMessageTags.clear();
+                    // held messages are requeued as well
+                    this.heldMessageTags.clear();
                 }
             } finally {
                this.unackedMessageTagsLock.unlock();
@@ -708,7 +940,8 @@ public class RMQSession implements Session, QueueSession, TopicSession {
         declareDestinationIfNecessary(dest);
         RMQMessageProducer producer = new RMQMessageProducer(this, dest, this.preferProducerMessageProperty,
             this.amqpPropertiesCustomiser, this.sendingContextConsumer, this.publishingListener,
-            this.keepTextMessageType);
+            this.keepTextMessageType, this.messageIdGenerator, this.propertiesInHeadersOnly,
+            this.messageCompression);
         this.producers.add(producer);
         return producer;
     }
@@ -738,7 +971,14 @@ public class RMQSession implements Session, QueueSession, TopicSession {
      * @return
      */
     String delayMessage(RMQDestination destination, Map<String, Object> messageHeaders, long deliveryDelayMs) {
-        return delayedMessageService.delayMessage(channel, destination, messageHeaders, deliveryDelayMs);
+        if (this.channelPool == null || deliveryDelayMs <= 0L) {
+            return delayedMessageService.delayMessage(this.channel, destination, messageHeaders, deliveryDelayMs);
+        }
+        try {
+            return onChannel(ch -> delayedMessageService.delayMessage(ch, destination, messageHeaders, deliveryDelayMs));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
 
@@ -780,6 +1020,7 @@ public class RMQSession implements Session, QueueSession, TopicSession {
     private RMQMessageConsumer createConsumerInternal(RMQDestination dest, String uuidTag, boolean durableSubscriber, String jmsSelector) throws JMSException {
         String consumerTag = uuidTag != null ? uuidTag : generateJmsConsumerQueueName();
         logger.trace("create consumer for destination '{}' with consumerTag '{}' and selector '{}'", dest, consumerTag, jmsSelector);
+        openChannelIfNecessary();
         declareDestinationIfNecessary(dest);
         if (!dest.isQueue()) {
             String subscriptionName = consumerTag;
@@ -929,10 +1170,10 @@ public class RMQSession implements Session, QueueSession, TopicSession {
             else {
                 logger.trace("declare RabbitMQ exchange for queue destinations '{}'", dest);
                 try {
-                    this.channel.exchangeDeclare(exchangeName, exchangeType, durable,
-                                                 false, // autoDelete
-                                                 false, // internal
-                                                 null); // object properties
+                    onChannel(ch -> ch.exchangeDeclare(exchangeName, exchangeType, durable,
+                                                       false, // autoDelete
+                                                       false, // internal
+                                                       null)); // object properties
                 } catch (Exception x) {
                     throw new RMQJMSException(x);
                 }
@@ -950,11 +1191,11 @@ public class RMQSession implements Session, QueueSession, TopicSession {
                               queueName, durable, exclusive, false,
                               this.queueDeclareArguments, dest.getQueueDeclareArguments());
             Map<String, Object> arguments = merge(this.queueDeclareArguments, dest.getQueueDeclareArguments());
-            this.channel.queueDeclare(queueName,
-                                      durable,
-                                      exclusive,
-                                      autoDelete,
-                                      arguments);
+            onChannel(ch -> ch.queueDeclare(queueName,
+                                            durable,
+                                            exclusive,
+                                            autoDelete,
+                                            arguments));
 
             /* Temporary or 'topic queues' are exclusive and therefore get deleted by RabbitMQ on close */
         } catch (Exception x) {
@@ -968,9 +1209,9 @@ public class RMQSession implements Session, QueueSession, TopicSession {
             try { /* Bind the queue to our exchange -- this allows publications to succeed. */
                 this.logger.debug("bind queue name({}), to exchange({}), with r-key({}), no arguments",
                         queueName, exchangeName, queueName);
-                this.channel.queueBind(queueName, exchangeName,
+                onChannel(ch -> ch.queueBind(queueName, exchangeName,
                         queueName, // routing key
-                        null); // arguments
+                        null)); // arguments
             } catch (Exception x) {
                 this.logger.error("RabbitMQ exception on queue declare name({}), durable({}), exclusive({}), auto-delete({}), properties({})",
                         queueName, durable, exclusive, false, queueDeclareArguments, x);
@@ -1004,19 +1245,19 @@ public class RMQSession implements Session, QueueSession, TopicSession {
         else {
             logger.trace("declare RabbitMQ exchange for topic destination '{}'", dest);
             try {
-                this.channel.exchangeDeclare(/* the name of the exchange */
-                                             dest.getAmqpExchangeName(),
-                                             /* the type of exchange to use */
-                                             dest.getAmqpExchangeType(),
-                                             /* durable for all except temporary topics */
-                                             !dest.isTemporary(),
-                                             // TODO: how do we delete exchanges used for temporary topics
-                                             /* auto delete is always false */
-                                             false,
-                                             /* internal is false: JMS clients will want to publish directly to the exchange */
-                                             false,
-                                             /* object parameters */
-                                             null);
+                onChannel(ch -> ch.exchangeDeclare(/* the name of the exchange */
+                                                   dest.getAmqpExchangeName(),
+                                                   /* the type of exchange to use */
+                                                   dest.getAmqpExchangeType(),
+                                                   /* durable for all except temporary topics */
+                                                   !dest.isTemporary(),
+                                                   // TODO: how do we delete exchanges used for temporary topics
+                                                   /* auto delete is always false */
+                                                   false,
+                                                   /* internal is false: JMS clients will want to publish directly to the exchange */
+                                                   false,
+                                                   /* object parameters */
+                                                   null));
             } catch (IOException x) {
                 throw new RMQJMSException(x);
             }
@@ -1042,6 +1283,7 @@ public class RMQSession implements Session, QueueSession, TopicSession {
         if (queue instanceof RMQDestination) {
             RMQDestination rmqDest = (RMQDestination) queue;
             if (rmqDest.isQueue()) {
+                openChannelIfNecessary();
                 return new BrowsingMessageQueue(this, rmqDest, messageSelector,
                     this.connection.getQueueBrowserReadMax(), this.receivingContextConsumer);
             }
@@ -1146,7 +1388,7 @@ public class RMQSession implements Session, QueueSession, TopicSession {
         try {
             if (name != null && this.subscriptions.remove(true, name) != null) {
                 // remove the queue
-                this.channel.queueDelete(name);
+                onChannel(ch -> ch.queueDelete(name));
             } else {
                 logger.warn("Cannot unsubscribe subscription named '{}'", name);
             }
@@ -1223,6 +1465,70 @@ public class RMQSession implements Session, QueueSession, TopicSession {
         return this.connection;
     }
 
+    MessageCompression getMessageCompression() {
+        return this.messageCompression;
+    }
+
+    ObjectMessageCodec getObjectMessageCodec() {
+        return this.objectMessageCodec;
+    }
+
+    boolean isCompactMessageBodies() {
+        return this.compactMessageBodies;
+    }
+
+    JmsMetricsCollector getJmsMetricsCollector() {
+        return this.jmsMetricsCollector;
+    }
+
+    boolean willDiscardExpiredMessages() {
+        return this.discardExpiredMessages;
+    }
+
+    boolean willDeadLetterExpiredMessages() {
+        return this.deadLetterExpiredMessages;
+    }
+
+    ManagementRegistry getManagementRegistry() {
+        return this.managementRegistry;
+    }
+
+    ObjectName getObjectName() {
+        return this.objectName;
+    }
+
+    boolean isLightweight() {
+        return this.channelPool != null;
+    }
+
+    boolean isClosed() {
+        return this.closed.get();
+    }
+
+    int getProducerCount() {
+        return this.producers.size();
+    }
+
+    int getConsumerCount() {
+        return this.consumers.size();
+    }
+
+    int getUnackedMessageCount() {
+        return this.unackedMessageTags.size();
+    }
+
+    int getUncommittedMessageCount() {
+        return this.uncommittedMessageTags.size();
+    }
+
+    int getOutstandingConfirmCount() {
+        return this.publishingListener == null ? 0 : this.publishingListener.outstandingConfirms();
+    }
+
+    DeliveryExecutor getDeliveryExecutor() {
+        return this.deliveryExecutor;
+    }
+
     /**
      * Returns the {@link Channel} this session has created
      * @return
@@ -1231,6 +1537,65 @@ public class RMQSession implements Session, QueueSession, TopicSession {
         return this.channel;
     }
 
+    /**
+     * Opens the dedicated channel of a lightweight session, before it starts consuming.
+     *
+     * @throws JMSException if the channel cannot be created
+     */
+    private void openChannelIfNecessary() throws JMSException {
+        if (this.channel == null) {
+            synchronized (this.channelPool) {
+                if (this.channel == null) {
+                    try {
+                        this.channel = this.connection.createRabbitChannel(false);
+                    } catch (Exception x) { // includes unchecked exceptions, e.g. ShutdownSignalException
+                        throw new RMQJMSException(x);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Borrows a channel to publish a message, if this session is lightweight.
+     * The channel must be given back with {@link #releasePooledChannel(ChannelPool.PooledChannel)}.
+     *
+     * @return a pooled channel, or null if this session publishes on its own channel
+     * @throws IOException if a new pooled channel cannot be created
+     * @since 3.10.0
+     */
+    ChannelPool.PooledChannel borrowPooledChannel() throws IOException {
+        return this.channelPool == null ? null : this.channelPool.borrow();
+    }
+
+    void releasePooledChannel(ChannelPool.PooledChannel pooledChannel) {
+        this.channelPool.release(pooledChannel);
+    }
+
+    /**
+     * Runs an operation on the session channel, or on a pooled channel
+     * if this lightweight session has not opened its own channel.
+     */
+    private <T> T onChannel(ChannelCallback<T> callback) throws IOException {
+        Channel ch = this.channel;
+        if (ch != null) {
+            return callback.call(ch);
+        }
+        ChannelPool.PooledChannel pooledChannel = this.channelPool.borrow();
+        try {
+            return callback.call(pooledChannel.channel());
+        } finally {
+            this.channelPool.release(pooledChannel);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChannelCallback<T> {
+
+        T call(Channel channel) throws IOException;
+
+    }
+
     void consumerClose(RMQMessageConsumer consumer) throws JMSException {
         if (this.consumers.remove(consumer)) {
             //TODO: if (consumer.isDurable()) { don't cancel it? cancel it? -- decide }
@@ -1279,13 +1644,30 @@ public class RMQSession implements Session, QueueSession, TopicSession {
      * @throws jakarta.jms.JMSException if the thread is interrupted
      */
     void resume() throws JMSException {
+        List<JMSException> failures = resume(new ArrayList<>());
+        if (!failures.isEmpty()) {
+            throw failures.get(0);
+        }
+    }
+
+    /**
+     * Resubscribes all async listeners, even if some of them fail to.
+     *
+     * @param failures where to add the failure of each consumer that could not be resumed
+     * @return the failures
+     * @since 3.10.0
+     */
+    List<JMSException> resume(List<JMSException> failures) {
         for (RMQMessageConsumer consumer : this.consumers) {
             try {
                 consumer.resume();
-            } catch (IllegalStateException x) {
-                throw new RMQJMSException(x);
+            } catch (Exception x) {
+                logger.error("Consumer on queue '{}' of session {} failed to resume", consumer.rmqQueueName(), this, x);
+                failures.add(new RMQJMSException(
+                    "Consumer on queue '" + consumer.rmqQueueName() + "' failed to resume", x));
             }
         }
+        return failures;
     }
 
     void unackedMessageReceived(long dTag) {
@@ -1309,12 +1691,11 @@ public class RMQSession implements Session, QueueSession, TopicSession {
     }
 
     void acknowledgeMessages() throws JMSException {
-        try {
-            Long lastMessageTag = this.unackedMessageTags.last();
+        long lastMessageTag = this.unackedMessageTags.last();
+        if (lastMessageTag != -1) {
             this.acknowledge(lastMessageTag);
-        } catch (NoSuchElementException e) {
-           // nothing to acknowledge
         }
+        // otherwise nothing to acknowledge
     }
 
 
@@ -1341,19 +1722,39 @@ public class RMQSession implements Session, QueueSession, TopicSession {
                     /* ACK a single message */
                     this.getChannel().basicAck(messageTag, false); // we ack the single message with this tag
                     this.unackedMessageTags.remove(messageTag);
+                    this.jmsMetricsCollector.acknowledged(1);
                 } else if (groupAck) {
-                    /** The tags that precede the given one, and the given one, if unacknowledged */
-                    SortedSet<Long> previousTags = this.unackedMessageTags.headSet(messageTag+1);
-                    if (previousTags.isEmpty()) return; // no message to acknowledge
-                    /* ack multiple message up until the existing tag */
-                    this.getChannel().basicAck(previousTags.last(), // we ack the latest one (which might be this one, but might not be)
-                        true);               // and everything prior to that
-                    // now remove all the tags <= messageTag
-                    previousTags.clear();
+                    /** The latest of the tags that precede the given one, and the given one, if unacknowledged */
+                    long previousTag = this.unackedMessageTags.floor(messageTag);
+                    if (previousTag == -1) return; // no message to acknowledge
+                    long lowestHeldTag = this.heldMessageTags.isEmpty() ? Long.MAX_VALUE : this.heldMessageTags.get(0);
+                    if (previousTag < lowestHeldTag) {
+                        /* ack multiple message up until the existing tag */
+                        this.getChannel().basicAck(previousTag, // we ack the latest one (which might be this one, but might not be)
+                            true);               // and everything prior to that
+                        // now remove all the tags <= messageTag
+                        this.jmsMetricsCollector.acknowledged(this.unackedMessageTags.removeUpTo(messageTag));
+                    } else {
+                        /* a multiple ack would acknowledge the held messages, ack the messages after the first held one one by one */
+                        long belowHeldTag = this.unackedMessageTags.floor(lowestHeldTag);
+                        int acknowledged = 0;
+                        if (belowHeldTag != -1) {
+                            this.getChannel().basicAck(belowHeldTag, true);
+                            acknowledged += this.unackedMessageTags.removeUpTo(belowHeldTag);
+                        }
+                        while (!this.unackedMessageTags.isEmpty() && this.unackedMessageTags.get(0) <= messageTag) {
+                            long tag = this.unackedMessageTags.get(0);
+                            this.getChannel().basicAck(tag, false);
+                            this.unackedMessageTags.remove(tag);
+                            acknowledged++;
+                        }
+                        this.jmsMetricsCollector.acknowledged(acknowledged);
+                    }
                 } else {
                     // this block is no longer possible (groupAck == true) after RJMS 1.2.0
                     this.getChannel().basicAck(this.unackedMessageTags.last(), // we ack the highest tag
                         true);                          // and everything prior to that
+                    this.jmsMetricsCollector.acknowledged(this.unackedMessageTags.size());
                     this.unackedMessageTags.clear();
                 }
             } catch (IOException x) {
@@ -1432,6 +1833,7 @@ public class RMQSession implements Session, QueueSession, TopicSession {
         illegalStateExceptionIfClosed();
 
         this.subscriptionNameValidator.validate(name);
+        openChannelIfNecessary();
 
         RMQDestination topicDest = (RMQDestination) topic;
         String queueName = durable ? name : generateJmsConsumerQueueName();
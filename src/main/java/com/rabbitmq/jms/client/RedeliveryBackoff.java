@@ -0,0 +1,178 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.jms.JMSException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies the {@link RedeliveryPolicy} of a connection: holds the messages that
+ * message listeners fail to process, requeues them when their delay is over,
+ * and dead-letters them when they reach the maximum delivery count.
+ * <p>
+ * The messages of all the sessions of the connection are held by one timer thread,
+ * started with the first held message. A held message is not requeued if its
+ * session closes in the meantime: the broker requeues it when the channel closes.
+ * In client acknowledge sessions, the session keeps the held messages apart from
+ * the unacknowledged ones, so acknowledging later messages does not acknowledge them.
+ *
+ * @since 3.10.0
+ */
+final class RedeliveryBackoff {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedeliveryBackoff.class);
+
+    /** requeue counts kept for classic queues, by message ID */
+    static final int MAX_TRACKED_MESSAGES = 10_000;
+
+    private final RedeliveryPolicy policy;
+    private final JmsMetricsCollector metricsCollector;
+    private final AtomicInteger pending = new AtomicInteger(0);
+    /** deliveries seen by the client, by message ID, least recently requeued first */
+    private final Map<String, Integer> deliveries = new LinkedHashMap<String, Integer>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > MAX_TRACKED_MESSAGES;
+        }
+    }; // @GuardedBy(this.deliveries)
+    private final Object timerLock = new Object();
+    private ScheduledThreadPoolExecutor timer; // @GuardedBy(timerLock)
+    private boolean closed = false; // @GuardedBy(timerLock)
+
+    RedeliveryBackoff(RedeliveryPolicy policy, JmsMetricsCollector metricsCollector) {
+        this.policy = policy;
+        this.metricsCollector = metricsCollector == null ? JmsMetricsCollector.NO_OP : metricsCollector;
+    }
+
+    /**
+     * Requeues a message that a message listener failed to process, after its delay,
+     * or dead-letters it.
+     *
+     * @param session the session of the consumer
+     * @param message the message
+     * @param deliveryTag the delivery tag of the message
+     * @param destinationName the name of the destination of the consumer
+     */
+    void requeue(RMQSession session, RMQMessage message, long deliveryTag, String destinationName) {
+        String messageId = messageId(message);
+        int deliveryCount = deliveryCount(message, messageId);
+        if (this.policy.isExhausted(deliveryCount)) {
+            LOGGER.debug("dead-lettering {} after {} deliveries", deliveryTag, deliveryCount);
+            forget(messageId);
+            session.releaseHeld(deliveryTag, false);
+            this.metricsCollector.deadLettered(destinationName, deliveryCount);
+            return;
+        }
+        if (this.pending.incrementAndGet() > this.policy.getMaxPending()) {
+            this.pending.decrementAndGet();
+            LOGGER.debug("too many held messages, requeuing {}", deliveryTag);
+            session.releaseHeld(deliveryTag, true);
+            return;
+        }
+        remember(messageId, deliveryCount);
+        long delayNanos = this.policy.delayNanos(deliveryCount);
+        try {
+            schedule(() -> {
+                try {
+                    session.releaseHeld(deliveryTag, true);
+                } finally {
+                    this.pending.decrementAndGet();
+                }
+            }, delayNanos);
+        } catch (RejectedExecutionException e) {
+            // the connection is closing
+            this.pending.decrementAndGet();
+            session.releaseHeld(deliveryTag, true);
+            return;
+        }
+        LOGGER.debug("holding {} for {} ns before requeuing it", deliveryTag, delayNanos);
+        this.metricsCollector.redeliveryDelayed(destinationName, delayNanos);
+    }
+
+    /**
+     * @return the number of held messages
+     */
+    int pending() {
+        return this.pending.get();
+    }
+
+    void close() {
+        synchronized (this.timerLock) {
+            this.closed = true;
+            if (this.timer != null) {
+                this.timer.shutdownNow();
+            }
+        }
+    }
+
+    private void schedule(Runnable task, long delayNanos) {
+        synchronized (this.timerLock) {
+            if (this.closed) {
+                throw new RejectedExecutionException("Redelivery timer is closed");
+            }
+            if (this.timer == null) {
+                this.timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+                    Thread thread = new Thread(runnable, "rabbitmq-jms-redelivery");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            this.timer.schedule(task, delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private int deliveryCount(RMQMessage message, String messageId) {
+        int deliveryCount;
+        try {
+            deliveryCount = message.getIntProperty(RMQMessage.JMS_X_DELIVERY_COUNT);
+        } catch (JMSException | RuntimeException e) {
+            deliveryCount = 1;
+        }
+        if (messageId != null) {
+            synchronized (this.deliveries) {
+                Integer seen = this.deliveries.get(messageId);
+                if (seen != null && seen >= deliveryCount) {
+                    // the queue only flags redeliveries
+                    deliveryCount = seen + 1;
+                }
+            }
+        }
+        return deliveryCount;
+    }
+
+    private void remember(String messageId, int deliveryCount) {
+        if (messageId != null) {
+            synchronized (this.deliveries) {
+                this.deliveries.put(messageId, deliveryCount);
+            }
+        }
+    }
+
+    private void forget(String messageId) {
+        if (messageId != null) {
+            synchronized (this.deliveries) {
+                this.deliveries.remove(messageId);
+            }
+        }
+    }
+
+    private static String messageId(RMQMessage message) {
+        try {
+            return message.getJMSMessageID();
+        } catch (JMSException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import java.time.Duration;
+
+/**
+ * Decides when the messages that message listeners fail to process are requeued,
+ * and when they are dead-lettered instead.
+ * <p>
+ * Without a policy, a message is requeued as soon as the listener throws a
+ * {@link RuntimeException} or times out (see
+ * {@link com.rabbitmq.jms.admin.RMQConnectionFactory#setRequeueOnMessageListenerException(boolean)}
+ * and {@link com.rabbitmq.jms.admin.RMQConnectionFactory#setRequeueOnTimeout(boolean)}),
+ * so a message that always fails goes back and forth between the broker and the consumers
+ * as fast as they can. With a policy, the consumer holds such a message for a delay that
+ * grows exponentially with its delivery count, and only then requeues it. A message held
+ * this way counts against the prefetch of its consumer.
+ * <p>
+ * The delivery count of a message is its <code>JMSXDeliveryCount</code> property, which
+ * comes from the <code>x-delivery-count</code> header of quorum queues. Classic queues only
+ * flag redeliveries, so the client also counts the requeues of the messages it holds, by
+ * message ID. A message that reaches the maximum delivery count is rejected without being
+ * requeued: the broker dead-letters it if its queue has a dead-letter exchange, and
+ * drops it otherwise.
+ * <p>
+ * Messages are requeued right away when too many are held, and in transacted sessions.
+ * <p>
+ * Instances are immutable.
+ *
+ * @see com.rabbitmq.jms.admin.RMQConnectionFactory#setRedeliveryPolicy(RedeliveryPolicy)
+ * @since 3.10.0
+ */
+public final class RedeliveryPolicy {
+
+    static final int DEFAULT_MAX_PENDING = 1000;
+
+    private final long initialDelayNanos;
+    private final double multiplier;
+    private final long maxDelayNanos;
+    private final int maxDeliveries;
+    private final int maxPending;
+
+    private RedeliveryPolicy(long initialDelayNanos, double multiplier, long maxDelayNanos,
+                             int maxDeliveries, int maxPending) {
+        this.initialDelayNanos = initialDelayNanos;
+        this.multiplier = multiplier;
+        this.maxDelayNanos = maxDelayNanos;
+        this.maxDeliveries = maxDeliveries;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Returns a policy that holds a message for <code>initialDelay</code> after its first
+     * delivery, then for <code>multiplier</code> times longer after each redelivery, up to
+     * <code>maxDelay</code>. The policy does not limit the number of deliveries and holds
+     * up to 1000 messages per connection.
+     *
+     * @param initialDelay the delay after the first delivery
+     * @param multiplier the factor between 2 consecutive delays, at least 1
+     * @param maxDelay the maximum delay
+     * @return the policy
+     * @see #withMaxDeliveries(int)
+     * @see #withMaxPending(int)
+     */
+    public static RedeliveryPolicy exponentialBackoff(Duration initialDelay, double multiplier, Duration maxDelay) {
+        if (initialDelay == null || initialDelay.isNegative() || maxDelay == null || maxDelay.compareTo(initialDelay) < 0) {
+            throw new IllegalArgumentException("Delays must be positive, and the maximum delay not less than the initial delay");
+        }
+        if (!(multiplier >= 1)) {
+            throw new IllegalArgumentException("Multiplier must be at least 1: " + multiplier);
+        }
+        return new RedeliveryPolicy(initialDelay.toNanos(), multiplier, maxDelay.toNanos(), 0, DEFAULT_MAX_PENDING);
+    }
+
+    /**
+     * Returns a copy of this policy that dead-letters the messages that have been
+     * delivered <code>maxDeliveries</code> times.
+     *
+     * @param maxDeliveries the maximum number of deliveries of a message, 0 for no limit
+     * @return the policy
+     */
+    public RedeliveryPolicy withMaxDeliveries(int maxDeliveries) {
+        if (maxDeliveries < 0) {
+            throw new IllegalArgumentException("Maximum number of deliveries cannot be negative: " + maxDeliveries);
+        }
+        return new RedeliveryPolicy(this.initialDelayNanos, this.multiplier, this.maxDelayNanos,
+            maxDeliveries, this.maxPending);
+    }
+
+    /**
+     * Returns a copy of this policy that holds up to <code>maxPending</code> messages
+     * per connection, further messages are requeued right away.
+     *
+     * @param maxPending the maximum number of held messages, at least 1
+     * @return the policy
+     */
+    public RedeliveryPolicy withMaxPending(int maxPending) {
+        if (maxPending < 1) {
+            throw new IllegalArgumentException("Maximum number of held messages must be at least 1: " + maxPending);
+        }
+        return new RedeliveryPolicy(this.initialDelayNanos, this.multiplier, this.maxDelayNanos,
+            this.maxDeliveries, maxPending);
+    }
+
+    /**
+     * @param deliveryCount the number of deliveries of the message, the current one included
+     * @return the time to hold the message before requeuing it, in nanoseconds
+     */
+    long delayNanos(int deliveryCount) {
+        double delay = this.initialDelayNanos * Math.pow(this.multiplier, Math.max(0, deliveryCount - 1));
+        return delay >= this.maxDelayNanos ? this.maxDelayNanos : (long) delay;
+    }
+
+    /**
+     * @param deliveryCount the number of deliveries of the message, the current one included
+     * @return true if the message must be dead-lettered instead of requeued
+     */
+    boolean isExhausted(int deliveryCount) {
+        return this.maxDeliveries > 0 && deliveryCount >= this.maxDeliveries;
+    }
+
+    public int getMaxDeliveries() {
+        return this.maxDeliveries;
+    }
+
+    public int getMaxPending() {
+        return this.maxPending;
+    }
+
+    @Override
+    public String toString() {
+        return "RedeliveryPolicy{initialDelay=" + Duration.ofNanos(this.initialDelayNanos)
+            + ", multiplier=" + this.multiplier
+            + ", maxDelay=" + Duration.ofNanos(this.maxDelayNanos)
+            + ", maxDeliveries=" + this.maxDeliveries
+            + ", maxPending=" + this.maxPending + '}';
+    }
+}
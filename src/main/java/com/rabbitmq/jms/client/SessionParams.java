@@ -104,6 +104,13 @@ public class SessionParams {
 
     private boolean keepTextMessageType = false;
 
+    /**
+     * Whether producers send the properties of JMS messages only in AMQP headers.
+     *
+     * @since 3.10.0
+     */
+    private boolean propertiesInHeadersOnly = false;
+
     private List<String> trustedPackages = WhiteListObjectInputStream.DEFAULT_TRUSTED_PACKAGES;
 
     private DelayedMessageService delayedMessageService;
@@ -123,6 +130,64 @@ public class SessionParams {
      */
     private NamingStrategy namingStrategy = NamingStrategy.DEFAULT;
 
+    /**
+     * The generator of message IDs.
+     *
+     * @since 3.10.0
+     */
+    private MessageIdGenerator messageIdGenerator;
+
+    /**
+     * The compression of sent and received message bodies.
+     *
+     * @since 3.10.0
+     */
+    private MessageCompression messageCompression;
+
+    /**
+     * The codec of ObjectMessage bodies.
+     *
+     * @since 3.10.0
+     */
+    private ObjectMessageCodec objectMessageCodec;
+
+    /**
+     * Whether StreamMessage and MapMessage bodies are sent in the compact encoding
+     * rather than Java serialization.
+     *
+     * @since 3.10.0
+     */
+    private boolean compactMessageBodies = false;
+
+    /**
+     * Collector of JMS-level metrics.
+     *
+     * @since 3.10.0
+     */
+    private JmsMetricsCollector jmsMetricsCollector = JmsMetricsCollector.NO_OP;
+
+    /**
+     * Requeues the messages that message listeners fail to process,
+     * requeued right away if null.
+     *
+     * @since 3.10.0
+     */
+    private RedeliveryBackoff redeliveryBackoff;
+
+    /**
+     * Whether consumers discard the messages that have expired.
+     *
+     * @since 3.10.0
+     */
+    private boolean discardExpiredMessages = false;
+
+    /**
+     * Whether discarded expired messages are dead-lettered instead of acknowledged.
+     *
+     * @since 3.10.0
+     */
+    private boolean deadLetterExpiredMessages = false;
+
     public RMQConnection getConnection() {
         return connection;
     }
@@ -240,6 +305,15 @@ public class SessionParams {
         return keepTextMessageType;
     }
 
+    public SessionParams setPropertiesInHeadersOnly(boolean propertiesInHeadersOnly) {
+        this.propertiesInHeadersOnly = propertiesInHeadersOnly;
+        return this;
+    }
+
+    public boolean isPropertiesInHeadersOnly() {
+        return propertiesInHeadersOnly;
+    }
+
     public SessionParams setTrustedPackages(List<String> trustedPackages) {
         this.trustedPackages = trustedPackages;
         return this;
@@ -276,6 +350,78 @@ public class SessionParams {
         return replyToStrategy;
     }
 
+    SessionParams setMessageIdGenerator(MessageIdGenerator messageIdGenerator) {
+        this.messageIdGenerator = messageIdGenerator;
+        return this;
+    }
+
+    MessageIdGenerator getMessageIdGenerator() {
+        return messageIdGenerator;
+    }
+
+    SessionParams setMessageCompression(MessageCompression messageCompression) {
+        this.messageCompression = messageCompression;
+        return this;
+    }
+
+    MessageCompression getMessageCompression() {
+        return messageCompression;
+    }
+
+    SessionParams setObjectMessageCodec(ObjectMessageCodec objectMessageCodec) {
+        this.objectMessageCodec = objectMessageCodec;
+        return this;
+    }
+
+    ObjectMessageCodec getObjectMessageCodec() {
+        return objectMessageCodec;
+    }
+
+    SessionParams setCompactMessageBodies(boolean compactMessageBodies) {
+        this.compactMessageBodies = compactMessageBodies;
+        return this;
+    }
+
+    boolean isCompactMessageBodies() {
+        return compactMessageBodies;
+    }
+
+    SessionParams setJmsMetricsCollector(JmsMetricsCollector jmsMetricsCollector) {
+        this.jmsMetricsCollector = jmsMetricsCollector;
+        return this;
+    }
+
+    JmsMetricsCollector getJmsMetricsCollector() {
+        return jmsMetricsCollector;
+    }
+
+    SessionParams setRedeliveryBackoff(RedeliveryBackoff redeliveryBackoff) {
+        this.redeliveryBackoff = redeliveryBackoff;
+        return this;
+    }
+
+    RedeliveryBackoff getRedeliveryBackoff() {
+        return redeliveryBackoff;
+    }
+
+    SessionParams setDiscardExpiredMessages(boolean discardExpiredMessages) {
+        this.discardExpiredMessages = discardExpiredMessages;
+        return this;
+    }
+
+    boolean willDiscardExpiredMessages() {
+        return discardExpiredMessages;
+    }
+
+    SessionParams setDeadLetterExpiredMessages(boolean deadLetterExpiredMessages) {
+        this.deadLetterExpiredMessages = deadLetterExpiredMessages;
+        return this;
+    }
+
+    boolean willDeadLetterExpiredMessages() {
+        return deadLetterExpiredMessages;
+    }
+
     SessionParams setNamingStrategy(NamingStrategy namingStrategy) {
         this.namingStrategy = namingStrategy;
         return this;
@@ -0,0 +1,159 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Function;
+
+/**
+ * Immutable table of values keyed by a fixed set of ASCII strings, with a perfect hash.
+ * <p>
+ * The table is sized and its hash multiplier chosen when it is created, so that no two
+ * keys share a slot: a lookup computes the hash of the candidate, reads one slot, and
+ * compares the candidate with one key. A candidate can be a {@link String}, whose hash
+ * code is cached, or the encoded bytes of a string (e.g. a header name in a delivery
+ * array, or a {@link com.rabbitmq.client.LongString}), which are then not decoded.
+ *
+ * @param <T> the type of the values
+ * @since 3.10.0
+ */
+final class StringTable<T> {
+
+    private static final int MAX_BITS = 16;
+
+    private final String[] keys;
+    private final byte[][] encodedKeys;
+    private final Object[] values;
+    private final int multiplier;
+    private final int shift;
+    private final int maxKeyLength;
+
+    private StringTable(String[] keys, Object[] values) {
+        for (String key : keys) {
+            for (int i = 0; i < key.length(); i++) {
+                if (key.charAt(i) >= 0x80) {
+                    throw new IllegalArgumentException("not an ASCII key: " + key);
+                }
+            }
+        }
+        int bits = 32 - Integer.numberOfLeadingZeros(Math.max(1, keys.length * 2 - 1));
+        int multiplier = 0;
+        while (multiplier == 0) {
+            if (bits > MAX_BITS) {
+                throw new IllegalArgumentException("no perfect hash for " + Arrays.toString(keys));
+            }
+            multiplier = perfectHashMultiplier(keys, 32 - bits);
+            if (multiplier == 0) {
+                bits++;
+            }
+        }
+        this.multiplier = multiplier;
+        this.shift = 32 - bits;
+        this.keys = new String[1 << bits];
+        this.encodedKeys = new byte[1 << bits][];
+        this.values = new Object[1 << bits];
+        int maxKeyLength = 0;
+        for (int i = 0; i < keys.length; i++) {
+            int slot = slot(keys[i].hashCode(), multiplier, this.shift);
+            this.keys[slot] = keys[i];
+            this.encodedKeys[slot] = keys[i].getBytes(StandardCharsets.US_ASCII);
+            this.values[slot] = values[i];
+            maxKeyLength = Math.max(maxKeyLength, keys[i].length());
+        }
+        this.maxKeyLength = maxKeyLength;
+    }
+
+    /**
+     * @param values the values of the table
+     * @param key the key of a value, keys must be distinct
+     */
+    static <T> StringTable<T> of(T[] values, Function<T, String> key) {
+        String[] keys = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            keys[i] = key.apply(values[i]);
+        }
+        return new StringTable<>(keys, values);
+    }
+
+    /**
+     * @param strings the strings of the table, which are their own values
+     */
+    static StringTable<String> of(String... strings) {
+        return new StringTable<>(strings.clone(), strings.clone());
+    }
+
+    /**
+     * @return a multiplier that gives each key its own slot, 0 if none is found
+     */
+    private static int perfectHashMultiplier(String[] keys, int shift) {
+        for (int candidate = 1; candidate < 1 << 12; candidate += 2) {
+            // odd multiples of the golden ratio spread the hash codes
+            int multiplier = candidate * 0x9E3779B1;
+            if (isPerfect(keys, multiplier, shift)) {
+                return multiplier;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isPerfect(String[] keys, int multiplier, int shift) {
+        boolean[] used = new boolean[1 << (32 - shift)];
+        for (String key : keys) {
+            int slot = slot(key.hashCode(), multiplier, shift);
+            if (used[slot]) {
+                return false;
+            }
+            used[slot] = true;
+        }
+        return true;
+    }
+
+    private static int slot(int hash, int multiplier, int shift) {
+        return (hash * multiplier) >>> shift;
+    }
+
+    /**
+     * @param key a string
+     * @return the value of the key, null if the key is not in the table
+     */
+    @SuppressWarnings("unchecked")
+    T get(String key) {
+        if (key == null) {
+            return null;
+        }
+        int slot = slot(key.hashCode(), this.multiplier, this.shift);
+        String candidate = this.keys[slot];
+        return candidate != null && candidate.equals(key) ? (T) this.values[slot] : null;
+    }
+
+    /**
+     * @param bytes bytes of a string, encoded in UTF-8 or in modified UTF-8
+     * @param offset the offset of the string
+     * @param length the length of the encoded string
+     * @return the value of the string, null if the string is not in the table
+     */
+    @SuppressWarnings("unchecked")
+    T get(byte[] bytes, int offset, int length) {
+        if (length > this.maxKeyLength) {
+            return null;
+        }
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            byte b = bytes[i];
+            if (b < 0) {
+                // not ASCII, so not a key
+                return null;
+            }
+            // the hash of String, for ASCII characters
+            hash = 31 * hash + b;
+        }
+        int slot = slot(hash, this.multiplier, this.shift);
+        byte[] candidate = this.encodedKeys[slot];
+        return candidate != null && candidate.length == length
+            && Arrays.equals(candidate, 0, length, bytes, offset, offset + length) ? (T) this.values[slot] : null;
+    }
+}
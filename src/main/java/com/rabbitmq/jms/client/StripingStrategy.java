@@ -0,0 +1,29 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+/**
+ * How an {@link RMQConnection} backed by several AMQP connections picks
+ * the AMQP connection of a new channel.
+ * <p>
+ * Only relevant when the JMS connection uses more than one AMQP connection.
+ *
+ * @see com.rabbitmq.jms.admin.RMQConnectionFactory#setAmqpConnectionCount(int)
+ * @since 3.10.0
+ */
+public enum StripingStrategy {
+
+    /**
+     * Channels are created on each AMQP connection in turn.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Channels are created on the AMQP connection with the fewest open channels.
+     */
+    LEAST_LOADED
+
+}
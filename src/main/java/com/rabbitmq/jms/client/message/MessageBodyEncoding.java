@@ -0,0 +1,573 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client.message;
+
+import com.rabbitmq.jms.util.RMQByteArrayOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary encodings of {@link jakarta.jms.StreamMessage} and {@link jakarta.jms.MapMessage}
+ * bodies that do not use Java serialization.
+ * <p>
+ * The <i>compact</i> encoding is a sequence of values, each made of a tag, the same as in
+ * {@link com.rabbitmq.jms.client.RMQMessage#writePrimitive(Object, java.io.ObjectOutput)},
+ * followed by the big-endian value. Strings are UTF-8 bytes, byte arrays and strings are
+ * preceded by their length as an int. A compact {@link jakarta.jms.StreamMessage} body starts
+ * with {@link #HEADER}, so it can be told apart from a Java serialization stream.
+ * <p>
+ * The <i>AMQP table</i> encoding is the AMQP 0-9-1 field table format, for the body of
+ * {@link jakarta.jms.MapMessage}s sent to AMQP destinations, so any AMQP client can decode it.
+ *
+ * @since 3.10.0
+ */
+final class MessageBodyEncoding {
+
+    /** First bytes of a compact body, Java serialization streams start with 0xACED */
+    static final byte[] HEADER = {'R', 'M', 'Q', 1};
+
+    static final byte NULL = -1;
+    static final byte BOOLEAN = 1;
+    static final byte BYTE = 2;
+    static final byte SHORT = 3;
+    static final byte INT = 4;
+    static final byte LONG = 5;
+    static final byte FLOAT = 6;
+    static final byte DOUBLE = 7;
+    static final byte STRING = 8;
+    static final byte CHAR = 9;
+    static final byte BYTES = 10;
+
+    private static final int MAX_SHORT_STRING_LENGTH = 255;
+
+    private MessageBodyEncoding() { }
+
+    static void writeHeader(RMQByteArrayOutputStream out) {
+        out.write(HEADER, 0, HEADER.length);
+    }
+
+    static boolean hasHeader(byte[] buf, int offset, int length) {
+        if (length < HEADER.length) {
+            return false;
+        }
+        for (int i = 0; i < HEADER.length; i++) {
+            if (buf[offset + i] != HEADER[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static void writeNull(RMQByteArrayOutputStream out) {
+        out.write(NULL);
+    }
+
+    static void writeBoolean(RMQByteArrayOutputStream out, boolean value) {
+        out.write(BOOLEAN);
+        out.writeBoolean(value);
+    }
+
+    static void writeByte(RMQByteArrayOutputStream out, byte value) {
+        out.write(BYTE);
+        out.writeByte(value);
+    }
+
+    static void writeShort(RMQByteArrayOutputStream out, short value) {
+        out.write(SHORT);
+        out.writeShort(value);
+    }
+
+    static void writeChar(RMQByteArrayOutputStream out, char value) {
+        out.write(CHAR);
+        out.writeChar(value);
+    }
+
+    static void writeInt(RMQByteArrayOutputStream out, int value) {
+        out.write(INT);
+        out.writeInt(value);
+    }
+
+    static void writeLong(RMQByteArrayOutputStream out, long value) {
+        out.write(LONG);
+        out.writeLong(value);
+    }
+
+    static void writeFloat(RMQByteArrayOutputStream out, float value) {
+        out.write(FLOAT);
+        out.writeFloat(value);
+    }
+
+    static void writeDouble(RMQByteArrayOutputStream out, double value) {
+        out.write(DOUBLE);
+        out.writeDouble(value);
+    }
+
+    static void writeString(RMQByteArrayOutputStream out, String value) {
+        if (value == null) {
+            writeNull(out);
+        } else {
+            out.write(STRING);
+            writeUtf8(out, value);
+        }
+    }
+
+    static void writeBytes(RMQByteArrayOutputStream out, byte[] value, int offset, int length) {
+        if (value == null) {
+            writeNull(out);
+        } else {
+            out.write(BYTES);
+            out.writeInt(length);
+            out.write(value, offset, length);
+        }
+    }
+
+    /**
+     * Writes a primitive value, its wrapper type gives its tag.
+     *
+     * @throws IOException if the value is not a primitive, a string, or a byte array
+     */
+    static void writeValue(RMQByteArrayOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            writeNull(out);
+        } else if (value instanceof Boolean) {
+            writeBoolean(out, (Boolean) value);
+        } else if (value instanceof Byte) {
+            writeByte(out, (Byte) value);
+        } else if (value instanceof Short) {
+            writeShort(out, (Short) value);
+        } else if (value instanceof Integer) {
+            writeInt(out, (Integer) value);
+        } else if (value instanceof Long) {
+            writeLong(out, (Long) value);
+        } else if (value instanceof Float) {
+            writeFloat(out, (Float) value);
+        } else if (value instanceof Double) {
+            writeDouble(out, (Double) value);
+        } else if (value instanceof String) {
+            writeString(out, (String) value);
+        } else if (value instanceof Character) {
+            writeChar(out, (Character) value);
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            writeBytes(out, bytes, 0, bytes.length);
+        } else {
+            throw new IOException(value + " is not a recognized primitive type.");
+        }
+    }
+
+    private static void writeUtf8(RMQByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Writes the entries of a map body: their number, then each name and value.
+     */
+    static void writeMap(RMQByteArrayOutputStream out, Map<String, ? extends Serializable> map) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<String, ? extends Serializable> entry : map.entrySet()) {
+            writeUtf8(out, entry.getKey());
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    static Map<String, Serializable> readMap(byte[] buf, int offset, int length) throws IOException {
+        Reader reader = new Reader(buf, offset, length, false);
+        int size = reader.readRawInt();
+        if (size < 0) {
+            throw new StreamCorruptedException("Invalid map size " + size);
+        }
+        Map<String, Serializable> map = new HashMap<>(Math.min(size, length) * 4 / 3 + 1);
+        for (int i = 0; i < size; i++) {
+            String name = reader.readRawString();
+            map.put(name, (Serializable) reader.readValue());
+        }
+        return map;
+    }
+
+    /**
+     * Converts a compact {@link jakarta.jms.StreamMessage} body to the Java serialization
+     * format, for consumers of previous versions.
+     */
+    static byte[] toJavaSerialization(byte[] buf, int offset, int length) throws IOException {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream(length + 32);
+        ObjectOutputStream out = new ObjectOutputStream(bout);
+        Reader reader = new Reader(buf, offset, length, true);
+        while (reader.hasRemaining()) {
+            byte tag = reader.readTag();
+            out.writeByte(tag);
+            switch (tag) {
+                case NULL:
+                    break;
+                case BOOLEAN:
+                    out.writeBoolean(reader.readBoolean());
+                    break;
+                case BYTE:
+                    out.writeByte(reader.readByte());
+                    break;
+                case SHORT:
+                    out.writeShort(reader.readShort());
+                    break;
+                case INT:
+                    out.writeInt(reader.readInt());
+                    break;
+                case LONG:
+                    out.writeLong(reader.readLong());
+                    break;
+                case FLOAT:
+                    out.writeFloat(reader.readFloat());
+                    break;
+                case DOUBLE:
+                    out.writeDouble(reader.readDouble());
+                    break;
+                case STRING:
+                    out.writeUTF(reader.readRawString());
+                    break;
+                case CHAR:
+                    out.writeChar(reader.readChar());
+                    break;
+                case BYTES: {
+                    int n = reader.readRawInt();
+                    out.writeInt(n);
+                    out.write(reader.buf, reader.skip(n), n);
+                    break;
+                }
+                default:
+                    throw new StreamCorruptedException("Unexpected type " + tag + " in StreamMessage body");
+            }
+        }
+        out.flush();
+        return bout.toByteArray();
+    }
+
+    /**
+     * Writes a map as an AMQP 0-9-1 field table.
+     * <p>
+     * Characters are written as strings, as field tables have no character type.
+     *
+     * @throws IOException if a name is too long or a value has no field table type
+     */
+    static void writeAmqpTable(RMQByteArrayOutputStream out, Map<String, ?> table) throws IOException {
+        int sizeIndex = out.size();
+        out.writeInt(0);
+        for (Map.Entry<String, ?> entry : table.entrySet()) {
+            byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            if (name.length > MAX_SHORT_STRING_LENGTH) {
+                throw new IOException("Map name too long for an AMQP field table: " + entry.getKey());
+            }
+            out.write(name.length);
+            out.write(name, 0, name.length);
+            writeAmqpFieldValue(out, entry.getValue());
+        }
+        out.setInt(sizeIndex, out.size() - sizeIndex - 4);
+    }
+
+    private static void writeAmqpFieldValue(RMQByteArrayOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.write('V');
+        } else if (value instanceof Boolean) {
+            out.write('t');
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Byte) {
+            out.write('b');
+            out.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            out.write('s');
+            out.writeShort((Short) value);
+        } else if (value instanceof Integer) {
+            out.write('I');
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.write('l');
+            out.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            out.write('f');
+            out.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            out.write('d');
+            out.writeDouble((Double) value);
+        } else if (value instanceof String || value instanceof Character) {
+            out.write('S');
+            writeUtf8(out, value.toString());
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            out.write('x');
+            out.writeInt(bytes.length);
+            out.write(bytes, 0, bytes.length);
+        } else if (value instanceof Map) {
+            out.write('F');
+            @SuppressWarnings("unchecked")
+            Map<String, ?> nested = (Map<String, ?>) value;
+            writeAmqpTable(out, nested);
+        } else if (value instanceof List) {
+            out.write('A');
+            int sizeIndex = out.size();
+            out.writeInt(0);
+            for (Object element : (List<?>) value) {
+                writeAmqpFieldValue(out, element);
+            }
+            out.setInt(sizeIndex, out.size() - sizeIndex - 4);
+        } else {
+            throw new IOException(value + " cannot be written in an AMQP field table.");
+        }
+    }
+
+    /**
+     * Reads an AMQP 0-9-1 field table.
+     * <p>
+     * Decimals are read as strings and timestamps as milliseconds since the epoch,
+     * nested tables and arrays as {@link HashMap}s and {@link ArrayList}s.
+     *
+     * @throws IOException if the table is not valid
+     */
+    static Map<String, Serializable> readAmqpTable(byte[] buf, int offset, int length) throws IOException {
+        Reader reader = new Reader(buf, offset, length, false);
+        Map<String, Serializable> table = readAmqpTable(reader);
+        if (reader.hasRemaining()) {
+            throw new StreamCorruptedException("Unexpected bytes after AMQP field table");
+        }
+        return table;
+    }
+
+    private static HashMap<String, Serializable> readAmqpTable(Reader reader) throws IOException {
+        int end = reader.endOfSection(reader.readRawInt());
+        HashMap<String, Serializable> table = new HashMap<>();
+        while (reader.position < end) {
+            int nameLength = reader.readByte() & 0xFF;
+            String name = new String(reader.buf, reader.skip(nameLength), nameLength, StandardCharsets.UTF_8);
+            table.put(name, readAmqpFieldValue(reader));
+        }
+        return table;
+    }
+
+    private static Serializable readAmqpFieldValue(Reader reader) throws IOException {
+        byte type = reader.readByte();
+        switch (type) {
+            case 'V':
+                return null;
+            case 't':
+                return reader.readBoolean();
+            case 'b':
+                return reader.readByte();
+            case 'B':
+                return (short) (reader.readByte() & 0xFF);
+            case 's':
+                return reader.readShort();
+            case 'u':
+                return reader.readShort() & 0xFFFF;
+            case 'I':
+                return reader.readInt();
+            case 'i':
+                return reader.readInt() & 0xFFFFFFFFL;
+            case 'l':
+                return reader.readLong();
+            case 'f':
+                return reader.readFloat();
+            case 'd':
+                return reader.readDouble();
+            case 'D': {
+                int scale = reader.readByte() & 0xFF;
+                return new BigDecimal(BigInteger.valueOf(reader.readInt()), scale).toString();
+            }
+            case 'S':
+                return reader.readRawString();
+            case 'x': {
+                int n = reader.readRawInt();
+                byte[] bytes = new byte[n];
+                System.arraycopy(reader.buf, reader.skip(n), bytes, 0, n);
+                return bytes;
+            }
+            case 'T':
+                return reader.readLong() * 1000;
+            case 'F':
+                return readAmqpTable(reader);
+            case 'A': {
+                int end = reader.endOfSection(reader.readRawInt());
+                ArrayList<Serializable> array = new ArrayList<>();
+                while (reader.position < end) {
+                    array.add(readAmqpFieldValue(reader));
+                }
+                return array;
+            }
+            default:
+                throw new StreamCorruptedException("Unknown AMQP field type " + (char) type);
+        }
+    }
+
+    /**
+     * Reads values from a buffer, without copying it.
+     * <p>
+     * Primitive values are read without boxing. The position can be saved and restored,
+     * to read a value again after a failed conversion.
+     */
+    static final class Reader {
+
+        private final byte[] buf;
+        private final int start;
+        private final int end;
+        private int position;
+
+        /**
+         * @param header true if the buffer starts with {@link #HEADER}
+         * @throws StreamCorruptedException if the header is expected but missing
+         */
+        Reader(byte[] buf, int offset, int length, boolean header) throws StreamCorruptedException {
+            if (header && !hasHeader(buf, offset, length)) {
+                throw new StreamCorruptedException("Invalid message body header");
+            }
+            this.buf = buf;
+            this.start = header ? offset + HEADER.length : offset;
+            this.end = offset + length;
+            this.position = this.start;
+        }
+
+        int position() {
+            return this.position;
+        }
+
+        void position(int position) {
+            this.position = position;
+        }
+
+        void rewind() {
+            this.position = this.start;
+        }
+
+        boolean hasRemaining() {
+            return this.position < this.end;
+        }
+
+        /**
+         * Moves the position forward.
+         *
+         * @return the position before the move
+         * @throws EOFException if there are fewer bytes left
+         */
+        private int skip(int n) throws EOFException {
+            if (n < 0 || n > this.end - this.position) {
+                throw new EOFException();
+            }
+            int p = this.position;
+            this.position += n;
+            return p;
+        }
+
+        private int endOfSection(int length) throws EOFException {
+            int p = this.position;
+            skip(length);
+            this.position = p;
+            return p + length;
+        }
+
+        byte readTag() throws EOFException {
+            return readByte();
+        }
+
+        boolean readBoolean() throws EOFException {
+            return this.buf[skip(1)] != 0;
+        }
+
+        byte readByte() throws EOFException {
+            return this.buf[skip(1)];
+        }
+
+        short readShort() throws EOFException {
+            int p = skip(2);
+            return (short) ((this.buf[p] << 8) | (this.buf[p + 1] & 0xFF));
+        }
+
+        char readChar() throws EOFException {
+            return (char) readShort();
+        }
+
+        int readInt() throws EOFException {
+            return readRawInt();
+        }
+
+        private int readRawInt() throws EOFException {
+            int p = skip(4);
+            return (this.buf[p] << 24) | ((this.buf[p + 1] & 0xFF) << 16)
+                | ((this.buf[p + 2] & 0xFF) << 8) | (this.buf[p + 3] & 0xFF);
+        }
+
+        long readLong() throws EOFException {
+            return ((long) readRawInt() << 32) | (readRawInt() & 0xFFFFFFFFL);
+        }
+
+        float readFloat() throws EOFException {
+            return Float.intBitsToFloat(readRawInt());
+        }
+
+        double readDouble() throws EOFException {
+            return Double.longBitsToDouble(readLong());
+        }
+
+        /**
+         * Reads the value of a {@link #STRING}, its tag already read.
+         */
+        String readRawString() throws EOFException {
+            int n = readRawInt();
+            return new String(this.buf, skip(n), n, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Reads the value of {@link #BYTES}, its tag already read.
+         *
+         * @return a copy of the bytes
+         */
+        byte[] readRawBytes() throws EOFException {
+            int n = readRawInt();
+            byte[] bytes = new byte[n];
+            System.arraycopy(this.buf, skip(n), bytes, 0, n);
+            return bytes;
+        }
+
+        /**
+         * Reads a value, tag included, boxed if it is a primitive.
+         */
+        Object readValue() throws IOException {
+            byte tag = readTag();
+            switch (tag) {
+                case NULL:
+                    return null;
+                case BOOLEAN:
+                    return readBoolean();
+                case BYTE:
+                    return readByte();
+                case SHORT:
+                    return readShort();
+                case INT:
+                    return readInt();
+                case LONG:
+                    return readLong();
+                case FLOAT:
+                    return readFloat();
+                case DOUBLE:
+                    return readDouble();
+                case STRING:
+                    return readRawString();
+                case CHAR:
+                    return readChar();
+                case BYTES:
+                    return readRawBytes();
+                default:
+                    throw new StreamCorruptedException("Unexpected type " + tag + " in message body");
+            }
+        }
+    }
+}
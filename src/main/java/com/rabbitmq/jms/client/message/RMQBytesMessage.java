@@ -9,8 +9,11 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import jakarta.jms.BytesMessage;
 import jakarta.jms.JMSException;
@@ -20,6 +23,7 @@ import jakarta.jms.MessageNotReadableException;
 import jakarta.jms.MessageNotWriteableException;
 
 import com.rabbitmq.jms.client.RMQMessage;
+import com.rabbitmq.jms.util.RMQByteArrayInputStream;
 import com.rabbitmq.jms.util.RMQByteArrayOutputStream;
 import com.rabbitmq.jms.util.RMQJMSException;
 import com.rabbitmq.jms.util.RMQMessageFormatException;
@@ -34,8 +38,15 @@ public class RMQBytesMessage extends RMQMessage implements BytesMessage {
      */
     private volatile boolean reading;
 
-    /** <code>buf</code> stores the byte array payload and we read from it directly */
+    /**
+     * <code>buf</code> stores the byte array payload and we read from it directly.
+     * For a received message, this is the delivery body and the payload starts at <code>bodyOffset</code>.
+     */
     private volatile transient byte[] buf;
+    /** The index of the first byte of the payload in <code>buf</code> */
+    private volatile transient int bodyOffset;
+    /** The index after the last byte of the payload in <code>buf</code> */
+    private volatile transient int bodyEnd;
     /** The position of our read in the byte array <code>buf</code> */
     private volatile transient int pos;
 
@@ -66,7 +77,7 @@ public class RMQBytesMessage extends RMQMessage implements BytesMessage {
     public boolean readBoolean() throws JMSException {
         if (!this.reading)
             throw new MessageNotReadableException(NOT_READABLE);
-        if (this.pos + Bits.NUM_BYTES_IN_BOOLEAN > this.buf.length)
+        if (this.pos + Bits.NUM_BYTES_IN_BOOLEAN > this.bodyEnd)
             throw new MessageEOFException(MSG_EOF);
         return Bits.getBoolean(this.buf, this.pos++);
     }
@@ -78,7 +89,7 @@ public class RMQBytesMessage extends RMQMessage implements BytesMessage {
     public byte readByte() throws JMSException {
         if (!this.reading)
             throw new MessageNotReadableException(NOT_READABLE);
-        if (this.pos + 1 > this.buf.length)
+        if (this.pos + 1 > this.bodyEnd)
             throw new MessageEOFException(MSG_EOF);
         return this.buf[this.pos++];
     }
@@ -90,7 +101,7 @@ public class RMQBytesMessage extends RMQMessage implements BytesMessage {
     public int readUnsignedByte() throws JMSException {
         if (!this.reading)
             throw new MessageNotReadableException(NOT_READABLE);
-        if (this.pos + 1 > this.buf.length)
+        if (this.pos + 1 > this.bodyEnd)
             throw new MessageEOFException(MSG_EOF);
         return ((int) (this.buf[this.pos++])) & 0xFF;
     }
@@ -102,7 +113,7 @@ public class RMQBytesMessage extends RMQMessage implements BytesMessage {
     public short readShort() throws JMSException {
         if (!this.reading)
             throw new MessageNotReadableException(NOT_READABLE);
-        if (this.pos + Bits.NUM_BYTES_IN_SHORT > this.buf.length)
+        if (this.pos + Bits.NUM_BYTES_IN_SHORT > this.bodyEnd)
             throw new MessageEOFException(MSG_EOF);
         short s = Bits.getShort(this.buf, this.pos);
         this.pos += Bits.NUM_BYTES_IN_SHORT;
@@ -116,7 +127,7 @@ public class RMQBytesMessage extends RMQMessage implements BytesMessage {
     public int readUnsignedShort() throws JMSException {
         if (!this.reading)
             throw new MessageNotReadableException(NOT_READABLE);
-        if (this.pos + Bits.NUM_BYTES_IN_SHORT > this.buf.length)
+        if (this.pos + Bits.NUM_BYTES_IN_SHORT > this.bodyEnd)
             throw new MessageEOFException(MSG_EOF);
         short s = Bits.getShort(this.buf, this.pos);
         this.pos += Bits.NUM_BYTES_IN_SHORT;
@@ -130,7 +141,7 @@ public class RMQBytesMessage extends RMQMessage implements BytesMessage {
     public char readChar() throws JMSException {
         if (!this.reading)
             throw new MessageNotReadableException(NOT_READABLE);
-        if (this.pos + Bits.NUM_BYTES_IN_CHAR > this.buf.length)
+        if (this.pos + Bits.NUM_BYTES_IN_CHAR > this.bodyEnd)
             throw new MessageEOFException(MSG_EOF);
         char ch = Bits.getChar(this.buf, this.pos);
         this.pos += Bits.NUM_BYTES_IN_CHAR;
@@ -144,7 +155,7 @@ public class RMQBytesMessage extends RMQMessage implements BytesMessage {
     public int readInt() throws JMSException {
         if (!this.reading)
             throw new MessageNotReadableException(NOT_READABLE);
-        if (this.pos + Bits.NUM_BYTES_IN_INT > this.buf.length)
+        if (this.pos + Bits.NUM_BYTES_IN_INT > this.bodyEnd)
             throw new MessageEOFException(MSG_EOF);
         int i = Bits.getInt(this.buf, this.pos);
         this.pos += Bits.NUM_BYTES_IN_INT;
@@ -158,7 +169,7 @@ public class RMQBytesMessage extends RMQMessage implements BytesMessage {
     public long readLong() throws JMSException {
         if (!this.reading)
             throw new MessageNotReadableException(NOT_READABLE);
-        if (this.pos + Bits.NUM_BYTES_IN_LONG > this.buf.length)
+        if (this.pos + Bits.NUM_BYTES_IN_LONG > this.bodyEnd)
             throw new MessageEOFException(MSG_EOF);
         long l = Bits.getLong(this.buf, this.pos);
         this.pos += Bits.NUM_BYTES_IN_LONG;
@@ -172,7 +183,7 @@ public class RMQBytesMessage extends RMQMessage implements BytesMessage {
     public float readFloat() throws JMSException {
         if (!this.reading)
             throw new MessageNotReadableException(NOT_READABLE);
-        if (this.pos + Bits.NUM_BYTES_IN_FLOAT > this.buf.length)
+        if (this.pos + Bits.NUM_BYTES_IN_FLOAT > this.bodyEnd)
             throw new MessageEOFException(MSG_EOF);
         float flt = Bits.getFloat(this.buf, this.pos);
         this.pos += Bits.NUM_BYTES_IN_FLOAT;
@@ -186,7 +197,7 @@ public class RMQBytesMessage extends RMQMessage implements BytesMessage {
     public double readDouble() throws JMSException {
         if (!this.reading)
             throw new MessageNotReadableException(NOT_READABLE);
-        if (this.pos + Bits.NUM_BYTES_IN_DOUBLE > this.buf.length)
+        if (this.pos + Bits.NUM_BYTES_IN_DOUBLE > this.bodyEnd)
             throw new MessageEOFException(MSG_EOF);
         double dbl = Bits.getDouble(this.buf, this.pos);
         this.pos += Bits.NUM_BYTES_IN_DOUBLE;
@@ -205,14 +216,11 @@ public class RMQBytesMessage extends RMQMessage implements BytesMessage {
         this.pos = posOfUtfItem;               // reset in case of failure
 
         int utfItemLen = Bits.NUM_BYTES_IN_SHORT + lenUtfBytes;
-        if (posOfUtfItem + utfItemLen > this.buf.length) {
+        if (posOfUtfItem + utfItemLen > this.bodyEnd) {
             throw new MessageFormatException("Not enough bytes in message body for UTF object");
         }
-        byte[] utfBuf = new byte[utfItemLen];
-        System.arraycopy(this.buf, posOfUtfItem, utfBuf, 0, utfItemLen);
-
         try {
-            String str = new DataInputStream(new ByteArrayInputStream(utfBuf)).readUTF();
+            String str = new DataInputStream(new ByteArrayInputStream(this.buf, posOfUtfItem, utfItemLen)).readUTF();
             this.pos += utfItemLen;
             return str;
         } catch (IOException ioe) {
@@ -238,8 +246,8 @@ public class RMQBytesMessage extends RMQMessage implements BytesMessage {
         if (length<0 || length>value.length) {
             throw new IndexOutOfBoundsException();
         }
-        if (this.pos < this.buf.length) {
-            int readLen = Math.min(length, this.buf.length - this.pos);
+        if (this.pos < this.bodyEnd) {
+            int readLen = Math.min(length, this.bodyEnd - this.pos);
             System.arraycopy(this.buf, this.pos, value, 0, readLen);
             this.pos += readLen;
             return readLen;
@@ -384,15 +392,10 @@ public class RMQBytesMessage extends RMQMessage implements BytesMessage {
         if (this.reading) {
             //if we already are reading, all we want to do is reset to the
             //beginning of the stream
-            this.pos = 0;
+            this.pos = this.bodyOffset;
         } else {
-            if (this.bout != null) {
-                this.buf = this.bout.toByteArray();
-            } else {
-                this.buf = new byte[0];
-            }
-            this.pos = 0;
-            this.reading = true;
+            byte[] body = this.bout != null ? this.bout.toByteArray() : new byte[0];
+            setReadBuffer(body, 0, body.length);
             this.bout = null;
         }
     }
@@ -402,7 +405,10 @@ public class RMQBytesMessage extends RMQMessage implements BytesMessage {
      */
     @Override
     public long getBodyLength() throws JMSException {
-        return this.reading ? this.buf.length : this.bout.size();
+        if (this.reading && isStreamed()) {
+            return getStreamLength();
+        }
+        return this.reading ? this.bodyEnd - this.bodyOffset : this.bout.size();
     }
 
     /**
@@ -413,12 +419,21 @@ public class RMQBytesMessage extends RMQMessage implements BytesMessage {
         this.bout = new RMQByteArrayOutputStream(DEFAULT_MESSAGE_BODY_SIZE);
         this.pos = 0;
         this.buf = null;
+        this.bodyOffset = 0;
+        this.bodyEnd = 0;
         this.reading = false;
     }
 
-    private byte[] getByteArray() {
-        if (reading) return this.buf;
-        else return this.bout.toByteArray();
+    private void setReadBuffer(byte[] buf, int offset, int length) {
+        this.buf = buf;
+        this.bodyOffset = offset;
+        this.bodyEnd = offset + length;
+        this.pos = offset;
+        this.reading = true;
+    }
+
+    private static void write(ByteBuffer body, ByteArrayOutputStream bout) {
+        bout.write(body.array(), body.arrayOffset() + body.position(), body.remaining());
     }
 
     /**
@@ -426,34 +441,114 @@ public class RMQBytesMessage extends RMQMessage implements BytesMessage {
      */
     @Override
     protected void writeBody(ObjectOutput oOut, ByteArrayOutputStream bout) throws IOException {
-        byte[] buf = getByteArray();
-        bout.write(buf);
+        write(amqpBody(), bout);
     }
 
     @Override
     protected void writeAmqpBody(ByteArrayOutputStream baos) throws IOException {
-        byte[] buf = getByteArray();
-        baos.write(buf);
+        write(amqpBody(), baos);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The bytes written or received are returned without copy.
+     */
+    @Override
+    protected ByteBuffer amqpBody() {
+        return this.reading ? ByteBuffer.wrap(this.buf, this.bodyOffset, this.bodyEnd - this.bodyOffset)
+                            : this.bout.asByteBuffer();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The body of a {@link BytesMessage} is made only of unstructured bytes.
+     */
+    @Override
+    protected ByteBuffer unstructuredBody() {
+        return amqpBody();
     }
 
     /**
      * {@inheritDoc}
      * Structured data (if any) is already read by the time this is called, in which case, for {@link RMQBytesMessage},
      * only a byte array remains.
+     * The remaining bytes are not copied when they come from a {@link RMQByteArrayInputStream}:
+     * the message reads them from the delivery body.
      */
     @Override
     protected void readBody(ObjectInput inputStream, ByteArrayInputStream bin) throws IOException, ClassNotFoundException {
-        this.buf = new byte[bin.available()];
-        bin.read(this.buf);
-        this.reading = true;
-        this.pos = 0;
+        if (bin instanceof RMQByteArrayInputStream) {
+            ByteBuffer body = ((RMQByteArrayInputStream) bin).remainingAsByteBuffer();
+            setReadBuffer(body.array(), body.arrayOffset() + body.position(), body.remaining());
+        } else {
+            byte[] body = new byte[bin.available()];
+            bin.read(body);
+            setReadBuffer(body, 0, body.length);
+        }
     }
 
     @Override
     protected void readAmqpBody(byte[] barr) {
-        this.buf = barr;
-        this.reading = true;
-        this.pos = 0;
+        setReadBuffer(barr, 0, barr == null ? 0 : barr.length);
+    }
+
+    /**
+     * Returns a read-only view of the body of this message, without copying it.
+     * <p>
+     * The view starts at the beginning of the body and is independent of the read
+     * position of the message: reading from it does not change what the
+     * <code>readXXX</code> methods return.
+     * For a received message, the view is backed by the delivery body.
+     *
+     * @return a read-only buffer over the body
+     * @throws MessageNotReadableException if the message is in write-only mode
+     * @since 3.10.0
+     */
+    public ByteBuffer getBodyAsByteBuffer() throws JMSException {
+        if (!this.reading)
+            throw new MessageNotReadableException(NOT_READABLE);
+        return amqpBody().slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns a stream over the body of this message, without copying it.
+     * <p>
+     * This is convenient to stream a payload to a parser or to a file.
+     * As for {@link #getBodyAsByteBuffer()}, the stream is independent of the read
+     * position of the message.
+     * <p>
+     * For a {@link #isStreamed() streamed} message, the stream reads the payload
+     * chunk by chunk from the broker. It can be read only once, each call returns
+     * the same stream.
+     *
+     * @return a stream over the body
+     * @throws MessageNotReadableException if the message is in write-only mode
+     * @since 3.10.0
+     */
+    public InputStream getBodyAsInputStream() throws JMSException {
+        if (!this.reading)
+            throw new MessageNotReadableException(NOT_READABLE);
+        InputStream streamedBody = getStreamedBody();
+        if (streamedBody != null) {
+            return streamedBody;
+        }
+        return new ByteArrayInputStream(this.buf, this.bodyOffset, this.bodyEnd - this.bodyOffset);
+    }
+
+    /**
+     * Whether the payload of this message has been sent with
+     * {@link com.rabbitmq.jms.client.RMQMessageProducer#sendStream(BytesMessage, InputStream)}.
+     * <p>
+     * The payload of a streamed message is not in its body: it must be read
+     * with {@link #getBodyAsInputStream()}. {@link #getBodyLength()} returns
+     * the length of the payload.
+     *
+     * @return true if the message is streamed
+     * @since 3.10.0
+     */
+    @Override
+    public boolean isStreamed() {
+        return super.isStreamed();
     }
 
     /**
@@ -588,9 +683,8 @@ public class RMQBytesMessage extends RMQMessage implements BytesMessage {
         if (this.buf == null) {
             return null;
         } else {
-            byte [] copy = new byte[this.buf.length];
-            System.arraycopy(this.buf, 0, copy, 0, this.buf.length);
-            return (T) copy;
+            // the body must not be changed through the returned array
+            return (T) Arrays.copyOfRange(this.buf, this.bodyOffset, this.bodyEnd);
         }
     }
 
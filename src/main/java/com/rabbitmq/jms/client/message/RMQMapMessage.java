@@ -11,9 +11,11 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import java.util.Map.Entry;
@@ -25,15 +27,48 @@ import jakarta.jms.MessageNotWriteableException;
 import com.rabbitmq.jms.client.RMQMessage;
 import com.rabbitmq.jms.util.DiscardingObjectOutput;
 import com.rabbitmq.jms.util.IteratorEnum;
+import com.rabbitmq.jms.util.RMQByteArrayInputStream;
+import com.rabbitmq.jms.util.RMQByteArrayOutputStream;
 import com.rabbitmq.jms.util.RMQMessageFormatException;
 
 /**
  * Implementation of {@link MapMessage} interface.
+ * <p>
+ * The body is sent in the compact encoding of {@link MessageBodyEncoding} if the message
+ * is created with <code>compactBody</code>, in the format of previous versions otherwise.
+ * It is sent as an AMQP field table to AMQP destinations.
  */
 public class RMQMapMessage extends RMQMessage implements MapMessage {
 
+    /**
+     * Content type of map messages sent to AMQP destinations, their body is an AMQP 0-9-1
+     * field table. AMQP messages with this content type are received as map messages.
+     *
+     * @since 3.10.0
+     */
+    public static final String AMQP_TABLE_CONTENT_TYPE = "application/x-amqp-table";
+
+    /** map size that marks a body in the compact encoding, consumers of previous versions read an empty map */
+    private static final int COMPACT_BODY = -2;
+
     private Map<String, Serializable> data = new HashMap<>();
 
+    /** whether the body is sent in the compact encoding */
+    private final boolean compactBody;
+
+    public RMQMapMessage() {
+        this(false);
+    }
+
+    /**
+     * @param compactBody true to send the body in the compact encoding, which consumers of
+     *                    versions before 3.10.0 cannot read
+     * @since 3.10.0
+     */
+    public RMQMapMessage(boolean compactBody) {
+        this.compactBody = compactBody;
+    }
+
     @Override
     public boolean getBoolean(String name) throws JMSException {
         Object o = this.data.get(name);
@@ -302,6 +337,19 @@ public class RMQMapMessage extends RMQMessage implements MapMessage {
 
     @Override
     protected void writeBody(ObjectOutput out, ByteArrayOutputStream bout) throws IOException {
+        if (this.compactBody) {
+            // the marker, then the entries right after the structured part
+            out.writeInt(COMPACT_BODY);
+            out.flush();
+            if (bout instanceof RMQByteArrayOutputStream) {
+                MessageBodyEncoding.writeMap((RMQByteArrayOutputStream) bout, this.data);
+            } else {
+                RMQByteArrayOutputStream buffer = new RMQByteArrayOutputStream(RMQMessage.DEFAULT_MESSAGE_BODY_SIZE);
+                MessageBodyEncoding.writeMap(buffer, this.data);
+                buffer.writeTo(bout);
+            }
+            return;
+        }
         int size = this.data.size();
         out.writeInt(size);
         for (Map.Entry<String, Serializable> entry : this.data.entrySet()) {
@@ -317,6 +365,17 @@ public class RMQMapMessage extends RMQMessage implements MapMessage {
     @Override
     protected void readBody(ObjectInput inputStream, ByteArrayInputStream bin) throws IOException, ClassNotFoundException {
         int size = inputStream.readInt();
+        if (size == COMPACT_BODY) {
+            if (bin instanceof RMQByteArrayInputStream) {
+                ByteBuffer body = ((RMQByteArrayInputStream) bin).remainingAsByteBuffer();
+                this.data = MessageBodyEncoding.readMap(body.array(), body.arrayOffset() + body.position(), body.remaining());
+            } else {
+                byte[] body = new byte[bin.available()];
+                bin.read(body);
+                this.data = MessageBodyEncoding.readMap(body, 0, body.length);
+            }
+            return;
+        }
         for (int i = 0; i < size; i++) {
             String name = inputStream.readUTF();
             Object value = RMQMessage.readPrimitive(inputStream);
@@ -324,9 +383,20 @@ public class RMQMapMessage extends RMQMessage implements MapMessage {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * The body is an AMQP 0-9-1 field table. Nested tables and arrays, which other
+     * clients can send, are not map message values and are skipped.
+     */
     @Override
-    protected void readAmqpBody(byte[] barr) {
-        throw new UnsupportedOperationException();
+    protected void readAmqpBody(byte[] barr) throws IOException {
+        if (barr == null || barr.length == 0) {
+            this.data = new HashMap<>();
+            return;
+        }
+        Map<String, Serializable> table = MessageBodyEncoding.readAmqpTable(barr, 0, barr.length);
+        table.values().removeIf(value -> value instanceof Map || value instanceof List);
+        this.data = table;
     }
 
     /**
@@ -371,9 +441,19 @@ public class RMQMapMessage extends RMQMessage implements MapMessage {
             throw new MessageNotWriteableException("Message not writeable");
     }
 
+    /**
+     * {@inheritDoc}
+     * The body is written as an AMQP 0-9-1 field table.
+     */
     @Override
     protected void writeAmqpBody(ByteArrayOutputStream out) throws IOException {
-        throw new UnsupportedOperationException();
+        if (out instanceof RMQByteArrayOutputStream) {
+            MessageBodyEncoding.writeAmqpTable((RMQByteArrayOutputStream) out, this.data);
+        } else {
+            RMQByteArrayOutputStream buffer = new RMQByteArrayOutputStream(RMQMessage.DEFAULT_MESSAGE_BODY_SIZE);
+            MessageBodyEncoding.writeAmqpTable(buffer, this.data);
+            buffer.writeTo(out);
+        }
     }
 
     public static RMQMessage recreate(MapMessage msg) throws JMSException {
@@ -418,6 +498,6 @@ public class RMQMapMessage extends RMQMessage implements MapMessage {
 
     @Override
     public boolean isAmqpWritable() {
-        return false;
+        return true;
     }
 }
@@ -10,7 +10,6 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
-import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.List;
 
@@ -18,6 +17,7 @@ import jakarta.jms.JMSException;
 import jakarta.jms.MessageNotWriteableException;
 import jakarta.jms.ObjectMessage;
 
+import com.rabbitmq.jms.client.ObjectMessageCodec;
 import com.rabbitmq.jms.client.RMQMessage;
 import com.rabbitmq.jms.util.RMQJMSException;
 import com.rabbitmq.jms.util.WhiteListObjectInputStream;
@@ -28,32 +28,45 @@ import com.rabbitmq.jms.util.WhiteListObjectInputStream;
 public class RMQObjectMessage extends RMQMessage implements ObjectMessage {
 
     private final List<String> trustedPackages;
+    /** Codec to encode the object with */
+    private final ObjectMessageCodec codec;
     /** Buffer to hold serialised object */
     private volatile byte[] buf = null;
+    /** The object decoded by {@link #getObject()}, returned by the next calls */
+    private volatile Serializable decodedObject = null;
 
     public RMQObjectMessage() {
         this(WhiteListObjectInputStream.DEFAULT_TRUSTED_PACKAGES);
     }
 
     public RMQObjectMessage(List<String> trustedPackages) {
+        this(trustedPackages, ObjectMessageCodec.javaSerialization());
+    }
+
+    /**
+     * @param trustedPackages packages trusted to decode the object
+     * @param codec codec to encode the object with
+     * @since 3.10.0
+     */
+    public RMQObjectMessage(List<String> trustedPackages, ObjectMessageCodec codec) {
         this.trustedPackages = trustedPackages;
+        this.codec = codec == null ? ObjectMessageCodec.javaSerialization() : codec;
     }
 
     @Override
     public void setObject(Serializable object) throws JMSException {
         if (isReadonlyBody()) throw new MessageNotWriteableException("Message not writeable");
+        this.decodedObject = null;
         try {
             if (object==null) {
                 buf = null;
+                setObjectCodec(null);
             } else {
                 /*
                  * We have to serialise the object now
                  */
-                ByteArrayOutputStream bout = new ByteArrayOutputStream();
-                ObjectOutputStream out = new ObjectOutputStream(bout);
-                out.writeObject(object);
-                out.flush();
-                buf = bout.toByteArray();
+                buf = this.codec.encode(object);
+                setObjectCodec(this.codec);
             }
         } catch (IOException x) {
             throw new RMQJMSException(x);
@@ -61,20 +74,35 @@ public class RMQObjectMessage extends RMQMessage implements ObjectMessage {
 
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The object is decoded on the first call, the next calls return the same instance.
+     */
     @Override
     public Serializable getObject() throws JMSException {
-        return this.getObject(this.trustedPackages);
+        Serializable object = this.decodedObject;
+        if (object == null) {
+            object = this.getObject(this.trustedPackages);
+            this.decodedObject = object;
+        }
+        return object;
     }
 
     public Serializable getObject(List<String> trustedPackages) throws JMSException {
-        if (buf == null) {
+        byte[] data = this.buf;
+        if (data == null) {
             return null;
         } else {
-            this.loggerDebugByteArray("Deserialising object from buffer {} for {}", this.buf, "RMQObjectMessage");
-            ByteArrayInputStream bin = new ByteArrayInputStream(buf);
+            this.loggerDebugByteArray("Deserialising object from buffer {} for {}", data, "RMQObjectMessage");
             try {
-                WhiteListObjectInputStream in = new WhiteListObjectInputStream(bin, trustedPackages);
-                return (Serializable)in.readObject();
+                ObjectMessageCodec objectCodec = resolveObjectCodec(this.codec);
+                Serializable object = objectCodec.decode(data, trustedPackages);
+                if (object != null && !(object instanceof String) && objectCodec != ObjectMessageCodec.javaSerialization()) {
+                    // Java serialization checks each class but String, so do other codecs for the root object
+                    WhiteListObjectInputStream.checkTrusted(object.getClass(), trustedPackages);
+                }
+                return object;
             } catch (ClassNotFoundException x) {
                 throw new RMQJMSException(x);
             } catch (IOException x) {
@@ -86,6 +114,8 @@ public class RMQObjectMessage extends RMQMessage implements ObjectMessage {
     @Override
     public void clearBodyInternal() throws JMSException {
         this.buf = null;
+        this.decodedObject = null;
+        setObjectCodec(null);
     }
 
     @Override
@@ -141,7 +171,7 @@ public class RMQObjectMessage extends RMQMessage implements ObjectMessage {
     }
 
     public static RMQMessage recreate(RMQObjectMessage msg, List<String> patterns) throws JMSException {
-        RMQObjectMessage rmqOMsg = new RMQObjectMessage(patterns);
+        RMQObjectMessage rmqOMsg = new RMQObjectMessage(patterns, msg.codec);
         RMQMessage.copyAttributes(rmqOMsg, msg);
 
         rmqOMsg.setObject(msg.getObject(patterns));
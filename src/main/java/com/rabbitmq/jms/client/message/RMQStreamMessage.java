@@ -5,6 +5,7 @@
 // Copyright (c) 2013-2024 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
 package com.rabbitmq.jms.client.message;
 
+import com.rabbitmq.jms.util.RMQByteArrayOutputStream;
 import com.rabbitmq.jms.util.WhiteListObjectInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -16,6 +17,8 @@ import java.io.ObjectOutput;
 import java.io.ObjectOutputStream;
 import java.io.UTFDataFormatException;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.List;
 import jakarta.jms.JMSException;
 import jakarta.jms.MessageEOFException;
@@ -35,6 +38,15 @@ import com.rabbitmq.jms.util.RMQMessageFormatException;
  */
 /**
  * Implements {@link StreamMessage} interface.
+ * <p>
+ * Messages created with <code>compactBody</code> keep their values in the compact encoding
+ * of {@link MessageBodyEncoding}, primitives are written and read without boxing, and the
+ * body is sent in this encoding. Other messages write their values with Java serialization,
+ * the format of previous versions. Received bodies are read in the format they come in.
+ * <p>
+ * Each format has a {@link BodyWriter} and a {@link BodyReader}, picked when the message
+ * is created or its body received. In both formats, a value that cannot be converted to
+ * the requested type is left to be read again.
  */
 public class RMQStreamMessage extends RMQMessage implements StreamMessage {
 
@@ -42,185 +54,74 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
 
     private volatile boolean reading;
 
-    private transient ObjectInputStream in;
-    private transient ByteArrayInputStream bin;
-    private transient ObjectOutputStream out;
-    private transient ByteArrayOutputStream bout;
-    private volatile transient byte[] buf;
+    /** values written so far, while writing */
+    private transient BodyWriter writer;
+    /** values to read, once reset or received */
+    private transient BodyReader reader;
+
     private volatile transient byte[] readbuf = null;
 
     private final List<String> trustedPackages;
 
+    /** whether the body is sent in the compact encoding */
+    private final boolean compactBody;
+
     public RMQStreamMessage(List<String> trustedPackages) {
-        this(false, trustedPackages);
+        this(false, trustedPackages, false);
     }
 
     public RMQStreamMessage() {
-        this(false, WhiteListObjectInputStream.DEFAULT_TRUSTED_PACKAGES);
+        this(false, WhiteListObjectInputStream.DEFAULT_TRUSTED_PACKAGES, false);
+    }
+
+    /**
+     * @param trustedPackages packages trusted to read bodies in the Java serialization format
+     * @param compactBody true to send the body in the compact encoding, which consumers of
+     *                    versions before 3.10.0 cannot read
+     * @since 3.10.0
+     */
+    public RMQStreamMessage(List<String> trustedPackages, boolean compactBody) {
+        this(false, trustedPackages, compactBody);
     }
 
-    private RMQStreamMessage(boolean reading, List<String> trustedPackages) {
+    private RMQStreamMessage(boolean reading, List<String> trustedPackages, boolean compactBody) {
         this.reading = reading;
         this.trustedPackages = trustedPackages;
+        this.compactBody = compactBody;
         if (!reading) {
-            this.bout = new ByteArrayOutputStream(RMQMessage.DEFAULT_MESSAGE_BODY_SIZE);
             try {
-                this.out = new ObjectOutputStream(this.bout);
+                this.writer = newWriter();
             } catch (IOException x) {
                 throw new RuntimeException(x);
             }
         }
     }
 
-    private void writePrimitive(Object value) throws JMSException {
+    private BodyWriter newWriter() throws IOException {
+        return this.compactBody ? new CompactWriter() : new SerializedWriter();
+    }
+
+    /**
+     * @return the writer of the values
+     * @throws MessageNotWriteableException if the message is not writeable
+     */
+    private BodyWriter writer() throws JMSException {
         if (this.reading || isReadonlyBody())
             throw new MessageNotWriteableException(NOT_WRITEABLE);
-        try {
-            RMQMessage.writePrimitive(value, this.out);
-        } catch (IOException x) {
-            throw new RMQJMSException(x);
-        }
+        return this.writer;
     }
 
-    private Object readPrimitiveType(Class<?> type) throws JMSException {
+    /**
+     * @return the reader of the values
+     * @throws MessageNotReadableException if the message is not readable
+     */
+    private BodyReader reader() throws JMSException {
         if (!this.reading)
             throw new MessageNotReadableException(NOT_READABLE);
         if (this.readbuf!=null) {
             throw new MessageFormatException("You must call 'int readBytes(byte[])' since the buffer is not empty");
         }
-        boolean success = true;
-        try {
-            this.bin.mark(0);
-            Object o = RMQMessage.readPrimitive(in);
-            if (o instanceof byte[]) {
-                if (type == ByteArray.class || type == Object.class) {
-                    return o;
-                } else {
-                    throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "byte[]"));
-                }
-            } else if (type == ByteArray.class) {
-                if (o==null) {
-                    return null;
-                }
-                throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "byte[]"));
-            } else if (type == Boolean.class) {
-                if (o == null) {
-                    return Boolean.FALSE;
-                } else if (o instanceof Boolean) {
-                    return o;
-                } else if (o instanceof String) {
-                    return Boolean.parseBoolean((String)o);
-                } else {
-                    throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "boolean"));
-                }
-            } else if (type == Byte.class) {
-                if (o instanceof Byte) {
-                    return o;
-                } else if (o instanceof String) {
-                    return Byte.parseByte((String)o);
-                } else {
-                    throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "byte"));
-                }
-            } else if (type == Short.class) {
-                if (o instanceof Byte) {
-                    return (short) (Byte) o;
-                } else if (o instanceof Short) {
-                    return o;
-                } else if (o instanceof String) {
-                    return Short.parseShort((String)o);
-                } else {
-                    throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "byte"));
-                }
-            } else if (type == Integer.class) {
-                if (o instanceof Byte) {
-                    return (int) (Byte) o;
-                } else if (o instanceof Short) {
-                    return (int) (Short) o;
-                } else if (o instanceof Integer){
-                    return o;
-                } else if (o instanceof String) {
-                    return Integer.parseInt((String)o);
-                } else {
-                    throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "int"));
-                }
-            } else if (type == Character.class) {
-                if (o instanceof Character) {
-                    return o;
-                } else {
-                    throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "char"));
-                }
-            } else if (type == Long.class) {
-                if (o instanceof Byte) {
-                    return (long) (Byte) o;
-                } else if (o instanceof Short) {
-                    return (long) (Short) o;
-                } else if (o instanceof Integer){
-                    return (long) (Integer) o;
-                } else if (o instanceof Long){
-                    return o;
-                } else if (o instanceof String) {
-                    return Long.parseLong((String)o);
-                } else {
-                    throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "long"));
-                }
-            } else if (type == Float.class) {
-                if (o instanceof Float) {
-                    return (Float) o;
-                } else if (o instanceof String) {
-                    return Float.parseFloat((String)o);
-                } else {
-                    throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "float"));
-                }
-            } else if (type == Double.class) {
-                if (o instanceof Float) {
-                    return (double) (Float) o;
-                } else if (o instanceof Double) {
-                    return (Double) o;
-                } else if (o instanceof String) {
-                    return Double.parseDouble((String)o);
-                } else {
-                    throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "double"));
-                }
-            } else if (type == String.class) {
-                if (o == null) {
-                    return null;
-                } else if (o instanceof byte[]) {
-                    throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "String"));
-                } else {
-                    return o.toString();
-                }
-            } else if (type == Object.class) {
-                return o;
-            } else {
-                throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, type.toString()));
-            }
-        } catch (NumberFormatException x) {
-            success = false;
-            throw x;
-        } catch (ClassNotFoundException x) {
-            success = false;
-            throw new RMQJMSException(x);
-        } catch (EOFException x) {
-            success = false;
-            throw new MessageEOFException(MSG_EOF);
-        } catch (UTFDataFormatException x) {
-            success = false;
-            throw new RMQMessageFormatException(x);
-        } catch (IOException x) {
-            success = false;
-            throw new RMQJMSException(x);
-        } catch (Exception x) {
-            success = false;
-            if (x instanceof JMSException) {
-                throw (JMSException)x;
-            } else {
-                throw new RMQJMSException(x);
-            }
-        } finally {
-            if (!success) {
-                this.bin.reset();
-            }
-        }
+        return this.reader;
     }
 
     /**
@@ -228,7 +129,7 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public boolean readBoolean() throws JMSException {
-        return (Boolean)this.readPrimitiveType(Boolean.class);
+        return reader().readBoolean();
     }
 
     /**
@@ -236,7 +137,7 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public byte readByte() throws JMSException {
-        return (Byte)this.readPrimitiveType(Byte.class);
+        return reader().readByte();
     }
 
     /**
@@ -244,7 +145,7 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public short readShort() throws JMSException {
-        return (Short)this.readPrimitiveType(Short.class);
+        return reader().readShort();
     }
 
     /**
@@ -252,7 +153,7 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public char readChar() throws JMSException {
-        return (Character)this.readPrimitiveType(Character.class);
+        return reader().readChar();
     }
 
     /**
@@ -260,8 +161,7 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public int readInt() throws JMSException {
-        return (Integer)this.readPrimitiveType(Integer.class);
-
+        return reader().readInt();
     }
 
     /**
@@ -269,7 +169,7 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public long readLong() throws JMSException {
-        return (Long)this.readPrimitiveType(Long.class);
+        return reader().readLong();
     }
 
     /**
@@ -277,7 +177,7 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public float readFloat() throws JMSException {
-        return (Float)this.readPrimitiveType(Float.class);
+        return reader().readFloat();
     }
 
     /**
@@ -285,7 +185,7 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public double readDouble() throws JMSException {
-        return (Double)this.readPrimitiveType(Double.class);
+        return reader().readDouble();
     }
 
     /**
@@ -293,17 +193,16 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public String readString() throws JMSException {
-        return (String)this.readPrimitiveType(String.class);
+        return reader().readString();
     }
 
-
     /**
      * {@inheritDoc}
      */
     @Override
     public int readBytes(byte[] value) throws JMSException {
         if (readbuf==null) {
-            readbuf = (byte[])this.readPrimitiveType(ByteArray.class);
+            readbuf = reader().readBytes();
             if (readbuf==null) return -1;
         }
         if (readbuf!=null) {
@@ -336,7 +235,7 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public Object readObject() throws JMSException {
-        return this.readPrimitiveType(Object.class);
+        return reader().readObject();
     }
 
     /**
@@ -344,7 +243,7 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public void writeBoolean(boolean value) throws JMSException {
-        writePrimitive(value);
+        writer().writeBoolean(value);
     }
 
     /**
@@ -352,7 +251,7 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public void writeByte(byte value) throws JMSException {
-        writePrimitive(value);
+        writer().writeByte(value);
     }
 
     /**
@@ -360,7 +259,7 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public void writeShort(short value) throws JMSException {
-        writePrimitive(value);
+        writer().writeShort(value);
     }
 
     /**
@@ -368,7 +267,7 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public void writeChar(char value) throws JMSException {
-        writePrimitive(value);
+        writer().writeChar(value);
     }
 
     /**
@@ -376,7 +275,7 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public void writeInt(int value) throws JMSException {
-        writePrimitive(value);
+        writer().writeInt(value);
     }
 
     /**
@@ -384,7 +283,7 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public void writeLong(long value) throws JMSException {
-        writePrimitive(value);
+        writer().writeLong(value);
     }
 
     /**
@@ -392,7 +291,7 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public void writeFloat(float value) throws JMSException {
-        writePrimitive(value);
+        writer().writeFloat(value);
     }
 
     /**
@@ -400,7 +299,7 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public void writeDouble(double value) throws JMSException {
-        writePrimitive(value);
+        writer().writeDouble(value);
     }
 
     /**
@@ -408,7 +307,7 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public void writeString(String value) throws JMSException {
-        writePrimitive(value);
+        writer().writeString(value);
     }
 
     /**
@@ -416,7 +315,7 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public void writeBytes(byte[] value) throws JMSException {
-        writePrimitive(value);
+        writer().writeBytes(value, 0, value == null ? 0 : value.length);
     }
 
     /**
@@ -424,9 +323,11 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public void writeBytes(byte[] value, int offset, int length) throws JMSException {
-        byte[] buf = new byte[length];
-        System.arraycopy(value, offset, buf, 0, length);
-        writePrimitive(buf);
+        BodyWriter w = writer();
+        if (offset < 0 || length < 0 || offset > value.length - length) {
+            throw new IndexOutOfBoundsException();
+        }
+        w.writeBytes(value, offset, length);
     }
 
     /**
@@ -434,17 +335,7 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public void writeObject(Object value) throws JMSException {
-        writeObject(value,false);
-    }
-
-    private void writeObject(Object value, boolean allowSerializable) throws JMSException {
-        if (this.reading || isReadonlyBody())
-            throw new MessageNotWriteableException(NOT_WRITEABLE);
-        try {
-            RMQMessage.writePrimitive(value, this.out, allowSerializable);
-        } catch (IOException x) {
-            throw new RMQJMSException(x);
-        }
+        writer().writeObject(value);
     }
 
     /**
@@ -457,29 +348,11 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
         if (this.reading) {
             //if we already are reading, all we want to do is reset to the
             //beginning of the stream
-            try {
-                this.bin = new ByteArrayInputStream(buf);
-                this.in = new ObjectInputStream(this.bin);
-            } catch (IOException x) {
-                throw new RMQJMSException(x);
-            }
+            this.reader.rewind();
         } else {
-            try {
-                buf = null;
-                if (this.out != null) {
-                    this.out.flush();
-                    buf = this.bout.toByteArray();
-                } else {
-                    buf = new byte[0];
-                }
-                this.bin = new ByteArrayInputStream(buf);
-                this.in = new ObjectInputStream(this.bin);
-            } catch (IOException x) {
-                throw new RMQJMSException(x);
-            }
+            this.reader = this.writer.toReader(this.trustedPackages);
             this.reading = true;
-            this.out = null;
-            this.bout = null;
+            this.writer = null;
         }
     }
 
@@ -488,41 +361,45 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
      */
     @Override
     public void clearBodyInternal() throws JMSException {
-        this.bout = new ByteArrayOutputStream(RMQMessage.DEFAULT_MESSAGE_BODY_SIZE);
+        this.reader = null;
         try {
-            this.out = new ObjectOutputStream(this.bout);
+            this.writer = newWriter();
         } catch (IOException x) {
             throw new RMQJMSException(x);
         }
-        this.bin = null;
-        this.in = null;
-        this.buf = null;
         this.readbuf = null;
         this.reading = false;
     }
 
     /**
      * {@inheritDoc}
+     * The body is written in the compact encoding if the message was created with
+     * <code>compactBody</code>, in the Java serialization format otherwise. A received
+     * body in the Java serialization format is written as is.
      */
     @Override
     protected void writeBody(ObjectOutput out, ByteArrayOutputStream bout) throws IOException {
-        this.out.flush();
-        byte[] buf = this.bout.toByteArray();
-        out.writeInt(buf.length);
-        out.write(buf);
+        if (this.reading) {
+            this.reader.writeTo(out, this.compactBody);
+        } else {
+            this.writer.writeTo(out);
+        }
     }
 
     /**
      * {@inheritDoc}
+     * The body can be in the compact encoding or in the Java serialization format.
      */
     @Override
     protected void readBody(ObjectInput inputStream, ByteArrayInputStream bin) throws IOException, ClassNotFoundException {
         int len = inputStream.readInt();
-        buf = new byte[len];
+        byte[] buf = new byte[len];
         inputStream.readFully(buf);
         this.reading = true;
-        this.bin = new ByteArrayInputStream(buf);
-        this.in = new WhiteListObjectInputStream(this.bin, this.trustedPackages);
+        this.writer = null;
+        this.reader = MessageBodyEncoding.hasHeader(buf, 0, len)
+            ? new CompactReader(buf, 0, len)
+            : new SerializedReader(buf, this.trustedPackages);
     }
 
     @Override
@@ -530,10 +407,6 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
         throw new UnsupportedOperationException();
     }
 
-    private static class ByteArray {
-
-    }
-
     @Override
     protected void writeAmqpBody(ByteArrayOutputStream out) throws IOException {
         throw new UnsupportedOperationException();
@@ -574,4 +447,797 @@ public class RMQStreamMessage extends RMQMessage implements StreamMessage {
     public boolean isAmqpWritable() {
         return false;
     }
+
+    /**
+     * Writes the values of a body, in one of the formats.
+     */
+    private interface BodyWriter {
+
+        void writeBoolean(boolean value) throws JMSException;
+
+        void writeByte(byte value) throws JMSException;
+
+        void writeShort(short value) throws JMSException;
+
+        void writeChar(char value) throws JMSException;
+
+        void writeInt(int value) throws JMSException;
+
+        void writeLong(long value) throws JMSException;
+
+        void writeFloat(float value) throws JMSException;
+
+        void writeDouble(double value) throws JMSException;
+
+        void writeString(String value) throws JMSException;
+
+        /**
+         * @param value the bytes, null to write a null value
+         */
+        void writeBytes(byte[] value, int offset, int length) throws JMSException;
+
+        void writeObject(Object value) throws JMSException;
+
+        /**
+         * @return a reader of the values written so far
+         */
+        BodyReader toReader(List<String> trustedPackages) throws JMSException;
+
+        /**
+         * Writes the length of the body and the body.
+         */
+        void writeTo(ObjectOutput out) throws IOException;
+    }
+
+    /**
+     * Reads the values of a body, in one of the formats.
+     * <p>
+     * A value that cannot be converted to the requested type is not consumed.
+     */
+    private interface BodyReader {
+
+        boolean readBoolean() throws JMSException;
+
+        byte readByte() throws JMSException;
+
+        short readShort() throws JMSException;
+
+        char readChar() throws JMSException;
+
+        int readInt() throws JMSException;
+
+        long readLong() throws JMSException;
+
+        float readFloat() throws JMSException;
+
+        double readDouble() throws JMSException;
+
+        String readString() throws JMSException;
+
+        /**
+         * @return the next value, which must be a byte array or null
+         */
+        byte[] readBytes() throws JMSException;
+
+        Object readObject() throws JMSException;
+
+        /**
+         * Reads the values from the beginning again.
+         */
+        void rewind() throws JMSException;
+
+        /**
+         * Writes the length of the body and the body.
+         *
+         * @param compact whether a compact body is sent as is, or converted to Java serialization
+         */
+        void writeTo(ObjectOutput out, boolean compact) throws IOException;
+    }
+
+    private static final class CompactWriter implements BodyWriter {
+
+        private final RMQByteArrayOutputStream out = new RMQByteArrayOutputStream(RMQMessage.DEFAULT_MESSAGE_BODY_SIZE);
+
+        CompactWriter() {
+            MessageBodyEncoding.writeHeader(this.out);
+        }
+
+        @Override
+        public void writeBoolean(boolean value) {
+            MessageBodyEncoding.writeBoolean(this.out, value);
+        }
+
+        @Override
+        public void writeByte(byte value) {
+            MessageBodyEncoding.writeByte(this.out, value);
+        }
+
+        @Override
+        public void writeShort(short value) {
+            MessageBodyEncoding.writeShort(this.out, value);
+        }
+
+        @Override
+        public void writeChar(char value) {
+            MessageBodyEncoding.writeChar(this.out, value);
+        }
+
+        @Override
+        public void writeInt(int value) {
+            MessageBodyEncoding.writeInt(this.out, value);
+        }
+
+        @Override
+        public void writeLong(long value) {
+            MessageBodyEncoding.writeLong(this.out, value);
+        }
+
+        @Override
+        public void writeFloat(float value) {
+            MessageBodyEncoding.writeFloat(this.out, value);
+        }
+
+        @Override
+        public void writeDouble(double value) {
+            MessageBodyEncoding.writeDouble(this.out, value);
+        }
+
+        @Override
+        public void writeString(String value) {
+            MessageBodyEncoding.writeString(this.out, value);
+        }
+
+        @Override
+        public void writeBytes(byte[] value, int offset, int length) {
+            MessageBodyEncoding.writeBytes(this.out, value, offset, length);
+        }
+
+        @Override
+        public void writeObject(Object value) throws JMSException {
+            try {
+                MessageBodyEncoding.writeValue(this.out, value);
+            } catch (IOException x) {
+                throw new MessageFormatException(x.getMessage());
+            }
+        }
+
+        @Override
+        public BodyReader toReader(List<String> trustedPackages) throws JMSException {
+            // read the written values in place
+            ByteBuffer values = this.out.asByteBuffer();
+            try {
+                return new CompactReader(values.array(), values.arrayOffset() + values.position(), values.remaining());
+            } catch (IOException x) {
+                throw new RMQJMSException(x);
+            }
+        }
+
+        @Override
+        public void writeTo(ObjectOutput out) throws IOException {
+            ByteBuffer values = this.out.asByteBuffer();
+            out.writeInt(values.remaining());
+            out.write(values.array(), values.arrayOffset() + values.position(), values.remaining());
+        }
+    }
+
+    private static final class CompactReader implements BodyReader {
+
+        private final byte[] buf;
+        private final int offset;
+        private final int length;
+        private final MessageBodyEncoding.Reader r;
+
+        CompactReader(byte[] buf, int offset, int length) throws IOException {
+            this.buf = buf;
+            this.offset = offset;
+            this.length = length;
+            this.r = new MessageBodyEncoding.Reader(buf, offset, length, true);
+        }
+
+        @Override
+        public boolean readBoolean() throws JMSException {
+            int mark = this.r.position();
+            boolean success = false;
+            try {
+                boolean result;
+                byte tag = this.r.readTag();
+                if (tag == MessageBodyEncoding.NULL) {
+                    result = false;
+                } else if (tag == MessageBodyEncoding.BOOLEAN) {
+                    result = this.r.readBoolean();
+                } else if (tag == MessageBodyEncoding.STRING) {
+                    result = Boolean.parseBoolean(this.r.readRawString());
+                } else {
+                    throw cannotCast(mark, "boolean");
+                }
+                success = true;
+                return result;
+            } catch (IOException x) {
+                throw readError(x);
+            } finally {
+                if (!success) {
+                    this.r.position(mark);
+                }
+            }
+        }
+
+        @Override
+        public byte readByte() throws JMSException {
+            return (byte) readIntegral(MessageBodyEncoding.BYTE, "byte");
+        }
+
+        @Override
+        public short readShort() throws JMSException {
+            return (short) readIntegral(MessageBodyEncoding.SHORT, "short");
+        }
+
+        @Override
+        public char readChar() throws JMSException {
+            int mark = this.r.position();
+            boolean success = false;
+            try {
+                if (this.r.readTag() != MessageBodyEncoding.CHAR) {
+                    throw cannotCast(mark, "char");
+                }
+                char result = this.r.readChar();
+                success = true;
+                return result;
+            } catch (IOException x) {
+                throw readError(x);
+            } finally {
+                if (!success) {
+                    this.r.position(mark);
+                }
+            }
+        }
+
+        @Override
+        public int readInt() throws JMSException {
+            return (int) readIntegral(MessageBodyEncoding.INT, "int");
+        }
+
+        @Override
+        public long readLong() throws JMSException {
+            return readIntegral(MessageBodyEncoding.LONG, "long");
+        }
+
+        /**
+         * Reads an integral value, of a type at most as wide as <code>widest</code>,
+         * or parsed from a string.
+         */
+        private long readIntegral(byte widest, String type) throws JMSException {
+            int mark = this.r.position();
+            boolean success = false;
+            try {
+                long result;
+                byte tag = this.r.readTag();
+                if (tag == MessageBodyEncoding.STRING) {
+                    String s = this.r.readRawString();
+                    switch (widest) {
+                        case MessageBodyEncoding.BYTE:
+                            result = Byte.parseByte(s);
+                            break;
+                        case MessageBodyEncoding.SHORT:
+                            result = Short.parseShort(s);
+                            break;
+                        case MessageBodyEncoding.INT:
+                            result = Integer.parseInt(s);
+                            break;
+                        default:
+                            result = Long.parseLong(s);
+                    }
+                } else if (tag < MessageBodyEncoding.BYTE || tag > widest) {
+                    throw cannotCast(mark, type);
+                } else if (tag == MessageBodyEncoding.BYTE) {
+                    result = this.r.readByte();
+                } else if (tag == MessageBodyEncoding.SHORT) {
+                    result = this.r.readShort();
+                } else if (tag == MessageBodyEncoding.INT) {
+                    result = this.r.readInt();
+                } else {
+                    result = this.r.readLong();
+                }
+                success = true;
+                return result;
+            } catch (IOException x) {
+                throw readError(x);
+            } finally {
+                if (!success) {
+                    this.r.position(mark);
+                }
+            }
+        }
+
+        @Override
+        public float readFloat() throws JMSException {
+            int mark = this.r.position();
+            boolean success = false;
+            try {
+                float result;
+                byte tag = this.r.readTag();
+                if (tag == MessageBodyEncoding.FLOAT) {
+                    result = this.r.readFloat();
+                } else if (tag == MessageBodyEncoding.STRING) {
+                    result = Float.parseFloat(this.r.readRawString());
+                } else {
+                    throw cannotCast(mark, "float");
+                }
+                success = true;
+                return result;
+            } catch (IOException x) {
+                throw readError(x);
+            } finally {
+                if (!success) {
+                    this.r.position(mark);
+                }
+            }
+        }
+
+        @Override
+        public double readDouble() throws JMSException {
+            int mark = this.r.position();
+            boolean success = false;
+            try {
+                double result;
+                byte tag = this.r.readTag();
+                if (tag == MessageBodyEncoding.FLOAT) {
+                    result = this.r.readFloat();
+                } else if (tag == MessageBodyEncoding.DOUBLE) {
+                    result = this.r.readDouble();
+                } else if (tag == MessageBodyEncoding.STRING) {
+                    result = Double.parseDouble(this.r.readRawString());
+                } else {
+                    throw cannotCast(mark, "double");
+                }
+                success = true;
+                return result;
+            } catch (IOException x) {
+                throw readError(x);
+            } finally {
+                if (!success) {
+                    this.r.position(mark);
+                }
+            }
+        }
+
+        @Override
+        public String readString() throws JMSException {
+            int mark = this.r.position();
+            boolean success = false;
+            try {
+                String result;
+                byte tag = this.r.readTag();
+                if (tag == MessageBodyEncoding.STRING) {
+                    result = this.r.readRawString();
+                } else if (tag == MessageBodyEncoding.BYTES) {
+                    throw cannotCast(mark, "String");
+                } else {
+                    this.r.position(mark);
+                    Object value = this.r.readValue();
+                    result = value == null ? null : value.toString();
+                }
+                success = true;
+                return result;
+            } catch (IOException x) {
+                throw readError(x);
+            } finally {
+                if (!success) {
+                    this.r.position(mark);
+                }
+            }
+        }
+
+        @Override
+        public byte[] readBytes() throws JMSException {
+            int mark = this.r.position();
+            boolean success = false;
+            try {
+                byte[] result;
+                byte tag = this.r.readTag();
+                if (tag == MessageBodyEncoding.BYTES) {
+                    result = this.r.readRawBytes();
+                } else if (tag == MessageBodyEncoding.NULL) {
+                    result = null;
+                } else {
+                    throw cannotCast(mark, "byte[]");
+                }
+                success = true;
+                return result;
+            } catch (IOException x) {
+                throw readError(x);
+            } finally {
+                if (!success) {
+                    this.r.position(mark);
+                }
+            }
+        }
+
+        @Override
+        public Object readObject() throws JMSException {
+            int mark = this.r.position();
+            try {
+                return this.r.readValue();
+            } catch (IOException x) {
+                this.r.position(mark);
+                throw readError(x);
+            }
+        }
+
+        @Override
+        public void rewind() {
+            this.r.rewind();
+        }
+
+        @Override
+        public void writeTo(ObjectOutput out, boolean compact) throws IOException {
+            if (compact) {
+                out.writeInt(this.length);
+                out.write(this.buf, this.offset, this.length);
+            } else {
+                byte[] serialized = MessageBodyEncoding.toJavaSerialization(this.buf, this.offset, this.length);
+                out.writeInt(serialized.length);
+                out.write(serialized);
+            }
+        }
+
+        private MessageFormatException cannotCast(int mark, String type) {
+            this.r.position(mark);
+            Object value;
+            try {
+                value = this.r.readValue();
+            } catch (IOException x) {
+                value = null;
+            }
+            return new MessageFormatException(String.format(UNABLE_TO_CAST, value, type));
+        }
+
+        private static JMSException readError(IOException x) {
+            if (x instanceof EOFException) {
+                return new MessageEOFException(MSG_EOF);
+            } else if (x instanceof UTFDataFormatException) {
+                return new RMQMessageFormatException(x);
+            } else {
+                return new RMQJMSException(x);
+            }
+        }
+    }
+
+    private static final class SerializedWriter implements BodyWriter {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(RMQMessage.DEFAULT_MESSAGE_BODY_SIZE);
+        private final ObjectOutputStream out;
+
+        SerializedWriter() throws IOException {
+            this.out = new ObjectOutputStream(this.bytes);
+        }
+
+        @Override
+        public void writeBoolean(boolean value) throws JMSException {
+            write(value);
+        }
+
+        @Override
+        public void writeByte(byte value) throws JMSException {
+            write(value);
+        }
+
+        @Override
+        public void writeShort(short value) throws JMSException {
+            write(value);
+        }
+
+        @Override
+        public void writeChar(char value) throws JMSException {
+            write(value);
+        }
+
+        @Override
+        public void writeInt(int value) throws JMSException {
+            write(value);
+        }
+
+        @Override
+        public void writeLong(long value) throws JMSException {
+            write(value);
+        }
+
+        @Override
+        public void writeFloat(float value) throws JMSException {
+            write(value);
+        }
+
+        @Override
+        public void writeDouble(double value) throws JMSException {
+            write(value);
+        }
+
+        @Override
+        public void writeString(String value) throws JMSException {
+            write(value);
+        }
+
+        @Override
+        public void writeBytes(byte[] value, int offset, int length) throws JMSException {
+            if (value == null || (offset == 0 && length == value.length)) {
+                write(value);
+            } else {
+                write(Arrays.copyOfRange(value, offset, offset + length));
+            }
+        }
+
+        @Override
+        public void writeObject(Object value) throws JMSException {
+            try {
+                RMQMessage.writePrimitive(value, this.out, false);
+            } catch (IOException x) {
+                throw new RMQJMSException(x);
+            }
+        }
+
+        private void write(Object value) throws JMSException {
+            try {
+                RMQMessage.writePrimitive(value, this.out);
+            } catch (IOException x) {
+                throw new RMQJMSException(x);
+            }
+        }
+
+        private byte[] toByteArray() throws IOException {
+            this.out.flush();
+            return this.bytes.toByteArray();
+        }
+
+        @Override
+        public BodyReader toReader(List<String> trustedPackages) throws JMSException {
+            try {
+                return new SerializedReader(toByteArray(), trustedPackages);
+            } catch (IOException x) {
+                throw new RMQJMSException(x);
+            }
+        }
+
+        @Override
+        public void writeTo(ObjectOutput out) throws IOException {
+            byte[] buf = toByteArray();
+            out.writeInt(buf.length);
+            out.write(buf);
+        }
+    }
+
+    /**
+     * Reads values written with Java serialization. The values are read as objects and
+     * then converted: a value that cannot be converted is kept to be returned by the next read.
+     */
+    private static final class SerializedReader implements BodyReader {
+
+        private final byte[] buf;
+        private final List<String> trustedPackages;
+        private ObjectInputStream in;
+        /** whether a value is read but not returned yet, after a failed conversion */
+        private boolean pending;
+        private Object pendingValue;
+
+        SerializedReader(byte[] buf, List<String> trustedPackages) throws IOException {
+            this.buf = buf;
+            this.trustedPackages = trustedPackages;
+            open();
+        }
+
+        private void open() throws IOException {
+            this.in = new WhiteListObjectInputStream(new ByteArrayInputStream(this.buf), this.trustedPackages);
+            this.pending = false;
+            this.pendingValue = null;
+        }
+
+        @Override
+        public boolean readBoolean() throws JMSException {
+            return (Boolean) read(Boolean.class);
+        }
+
+        @Override
+        public byte readByte() throws JMSException {
+            return (Byte) read(Byte.class);
+        }
+
+        @Override
+        public short readShort() throws JMSException {
+            return (Short) read(Short.class);
+        }
+
+        @Override
+        public char readChar() throws JMSException {
+            return (Character) read(Character.class);
+        }
+
+        @Override
+        public int readInt() throws JMSException {
+            return (Integer) read(Integer.class);
+        }
+
+        @Override
+        public long readLong() throws JMSException {
+            return (Long) read(Long.class);
+        }
+
+        @Override
+        public float readFloat() throws JMSException {
+            return (Float) read(Float.class);
+        }
+
+        @Override
+        public double readDouble() throws JMSException {
+            return (Double) read(Double.class);
+        }
+
+        @Override
+        public String readString() throws JMSException {
+            return (String) read(String.class);
+        }
+
+        @Override
+        public byte[] readBytes() throws JMSException {
+            return (byte[]) read(byte[].class);
+        }
+
+        @Override
+        public Object readObject() throws JMSException {
+            return read(Object.class);
+        }
+
+        @Override
+        public void rewind() throws JMSException {
+            try {
+                open();
+            } catch (IOException x) {
+                throw new RMQJMSException(x);
+            }
+        }
+
+        @Override
+        public void writeTo(ObjectOutput out, boolean compact) throws IOException {
+            out.writeInt(this.buf.length);
+            out.write(this.buf);
+        }
+
+        /**
+         * Reads the next value as a value of <code>type</code>.
+         */
+        private Object read(Class<?> type) throws JMSException {
+            Object o = next();
+            boolean success = false;
+            try {
+                Object result = convert(o, type);
+                success = true;
+                return result;
+            } finally {
+                if (!success) {
+                    this.pending = true;
+                    this.pendingValue = o;
+                }
+            }
+        }
+
+        private Object next() throws JMSException {
+            if (this.pending) {
+                Object o = this.pendingValue;
+                this.pending = false;
+                this.pendingValue = null;
+                return o;
+            }
+            try {
+                return RMQMessage.readPrimitive(this.in);
+            } catch (ClassNotFoundException x) {
+                throw new RMQJMSException(x);
+            } catch (EOFException x) {
+                throw new MessageEOFException(MSG_EOF);
+            } catch (UTFDataFormatException x) {
+                throw new RMQMessageFormatException(x);
+            } catch (IOException | RuntimeException x) {
+                throw new RMQJMSException(x);
+            }
+        }
+
+        private static Object convert(Object o, Class<?> type) throws MessageFormatException {
+            if (o instanceof byte[]) {
+                if (type == byte[].class || type == Object.class) {
+                    return o;
+                } else {
+                    throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "byte[]"));
+                }
+            } else if (type == byte[].class) {
+                if (o==null) {
+                    return null;
+                }
+                throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "byte[]"));
+            } else if (type == Boolean.class) {
+                if (o == null) {
+                    return Boolean.FALSE;
+                } else if (o instanceof Boolean) {
+                    return o;
+                } else if (o instanceof String) {
+                    return Boolean.parseBoolean((String)o);
+                } else {
+                    throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "boolean"));
+                }
+            } else if (type == Byte.class) {
+                if (o instanceof Byte) {
+                    return o;
+                } else if (o instanceof String) {
+                    return Byte.parseByte((String)o);
+                } else {
+                    throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "byte"));
+                }
+            } else if (type == Short.class) {
+                if (o instanceof Byte) {
+                    return (short) (Byte) o;
+                } else if (o instanceof Short) {
+                    return o;
+                } else if (o instanceof String) {
+                    return Short.parseShort((String)o);
+                } else {
+                    throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "byte"));
+                }
+            } else if (type == Integer.class) {
+                if (o instanceof Byte) {
+                    return (int) (Byte) o;
+                } else if (o instanceof Short) {
+                    return (int) (Short) o;
+                } else if (o instanceof Integer){
+                    return o;
+                } else if (o instanceof String) {
+                    return Integer.parseInt((String)o);
+                } else {
+                    throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "int"));
+                }
+            } else if (type == Character.class) {
+                if (o instanceof Character) {
+                    return o;
+                } else {
+                    throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "char"));
+                }
+            } else if (type == Long.class) {
+                if (o instanceof Byte) {
+                    return (long) (Byte) o;
+                } else if (o instanceof Short) {
+                    return (long) (Short) o;
+                } else if (o instanceof Integer){
+                    return (long) (Integer) o;
+                } else if (o instanceof Long){
+                    return o;
+                } else if (o instanceof String) {
+                    return Long.parseLong((String)o);
+                } else {
+                    throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "long"));
+                }
+            } else if (type == Float.class) {
+                if (o instanceof Float) {
+                    return o;
+                } else if (o instanceof String) {
+                    return Float.parseFloat((String)o);
+                } else {
+                    throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "float"));
+                }
+            } else if (type == Double.class) {
+                if (o instanceof Float) {
+                    return (double) (Float) o;
+                } else if (o instanceof Double) {
+                    return o;
+                } else if (o instanceof String) {
+                    return Double.parseDouble((String)o);
+                } else {
+                    throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, "double"));
+                }
+            } else if (type == String.class) {
+                if (o == null) {
+                    return null;
+                } else {
+                    return o.toString();
+                }
+            } else if (type == Object.class) {
+                return o;
+            } else {
+                throw new MessageFormatException(String.format(UNABLE_TO_CAST, o, type.toString()));
+            }
+        }
+    }
 }
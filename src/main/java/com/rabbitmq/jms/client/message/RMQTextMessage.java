@@ -11,6 +11,8 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 import jakarta.jms.JMSException;
 import jakarta.jms.MessageNotWriteableException;
@@ -99,6 +101,15 @@ public class RMQTextMessage extends RMQMessage implements TextMessage {
         out.write((this.text!=null ? this.text : "").getBytes("UTF-8"));
     }
 
+    /**
+     * {@inheritDoc}
+     * The encoded text is published as is.
+     */
+    @Override
+    protected ByteBuffer amqpBody() {
+        return ByteBuffer.wrap((this.text != null ? this.text : "").getBytes(StandardCharsets.UTF_8));
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public boolean isBodyAssignableTo(Class c) {
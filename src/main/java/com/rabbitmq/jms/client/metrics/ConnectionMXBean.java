@@ -0,0 +1,39 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client.metrics;
+
+/**
+ * Management interface of a JMS connection, registered as
+ * <code>com.rabbitmq.jms:type=Connection,connection=&lt;id&gt;</code>.
+ *
+ * @see com.rabbitmq.jms.admin.RMQConnectionFactory#setJmxEnabled(boolean)
+ * @since 3.10.0
+ */
+public interface ConnectionMXBean {
+
+    String getClientID();
+
+    boolean isStarted();
+
+    boolean isClosed();
+
+    int getSessionCount();
+
+    /**
+     * @return the number of AMQP connections the JMS connection stripes its channels over
+     */
+    int getAmqpConnectionCount();
+
+    /**
+     * @return the number of open channels, over all the AMQP connections
+     */
+    int getOpenChannelCount();
+
+    /**
+     * @return the number of idle channels of the pool of lightweight sessions, 0 if there is no pool
+     */
+    int getIdleChannelCount();
+}
@@ -0,0 +1,146 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of non-negative values, with power-of-two buckets.
+ * <p>
+ * Percentiles are the upper bounds of buckets, so they are at most twice the
+ * actual values. Mean and maximum are exact.
+ *
+ * @since 3.10.0
+ */
+public final class Histogram {
+
+    private static final int BUCKETS = Long.SIZE;
+
+    /** bucket i counts the values v such that 2^(i-1) <= v < 2^i, bucket 0 counts 0 */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a value, negative values are recorded as 0.
+     *
+     * @param value the value
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        this.buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(v));
+        this.count.increment();
+        this.sum.add(v);
+        this.max.accumulate(v);
+    }
+
+    /**
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * @return the mean of the recorded values, 0 if there are none
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) this.sum.sum() / count;
+    }
+
+    /**
+     * @return the maximum recorded value, 0 if there are none
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * @param percentile the percentile, between 0 and 100
+     * @return an upper bound of the value at the percentile, 0 if there are no values
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.buckets.get(i);
+            total += counts[i];
+        }
+        long rank = (long) Math.ceil(percentile / 100 * total);
+        long cumulated = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulated += counts[i];
+            if (cumulated >= rank && cumulated > 0) {
+                return Math.min(getMax(), i == 0 ? 0 : (1L << i) - 1);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return a snapshot of the statistics of the histogram
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(getCount(), getMean(), getValueAtPercentile(50), getValueAtPercentile(90),
+            getValueAtPercentile(99), getMax());
+    }
+
+    /**
+     * Statistics of a {@link Histogram}.
+     */
+    public static final class Snapshot {
+
+        private final long count;
+        private final double mean;
+        private final long p50;
+        private final long p90;
+        private final long p99;
+        private final long max;
+
+        Snapshot(long count, double mean, long p50, long p90, long p99, long max) {
+            this.count = count;
+            this.mean = mean;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return this.count;
+        }
+
+        public double getMean() {
+            return this.mean;
+        }
+
+        public long getP50() {
+            return this.p50;
+        }
+
+        public long getP90() {
+            return this.p90;
+        }
+
+        public long getP99() {
+            return this.p99;
+        }
+
+        public long getMax() {
+            return this.max;
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + this.count + ", mean=" + this.mean + ", p50=" + this.p50 + ", p90=" + this.p90
+                + ", p99=" + this.p99 + ", max=" + this.max;
+        }
+    }
+}
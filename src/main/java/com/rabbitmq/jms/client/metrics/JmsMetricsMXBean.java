@@ -0,0 +1,54 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link JmxJmsMetricsCollector}.
+ * <p>
+ * Times are in nanoseconds.
+ *
+ * @since 3.10.0
+ */
+public interface JmsMetricsMXBean {
+
+    long getPublishedMessages();
+
+    long getPublishedBytes();
+
+    long getConsumedMessages();
+
+    long getConsumedBytes();
+
+    Map<String, Long> getPublishedMessagesByDestination();
+
+    Map<String, Long> getConsumedMessagesByDestination();
+
+    Histogram.Snapshot getOnMessageQueueTime();
+
+    Histogram.Snapshot getOnMessageServiceTime();
+
+    Histogram.Snapshot getConfirmRoundTrip();
+
+    Histogram.Snapshot getAcknowledgementBatchSize();
+
+    long getAcknowledgedMessages();
+
+    long getConfirmNacks();
+
+    long getNegativelyAcknowledgedMessages();
+
+    Histogram.Snapshot getRedeliveryDelay();
+
+    long getDeadLetteredMessages();
+
+    long getExpiredMessages();
+
+    long getSelectorMatches();
+
+    long getSelectorMismatches();
+}
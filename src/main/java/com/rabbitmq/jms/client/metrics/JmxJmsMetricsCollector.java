@@ -0,0 +1,66 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client.metrics;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * {@link SimpleJmsMetricsCollector} exposed as an MXBean.
+ * <p>
+ * The MXBean is registered on creation, with the
+ * <code>com.rabbitmq.jms:type=JmsMetrics,name=&lt;name&gt;</code> object name, and
+ * unregistered by {@link #close()}.
+ *
+ * @since 3.10.0
+ */
+public class JmxJmsMetricsCollector extends SimpleJmsMetricsCollector implements JmsMetricsMXBean, AutoCloseable {
+
+    private final MBeanServer server;
+    private final ObjectName objectName;
+
+    /**
+     * Registers the collector on the platform MBean server.
+     *
+     * @param name the name of the collector, used in the object name
+     * @throws JMException if the registration fails, e.g. if a collector with the same name is registered
+     */
+    public JmxJmsMetricsCollector(String name) throws JMException {
+        this(ManagementFactory.getPlatformMBeanServer(), name);
+    }
+
+    /**
+     * @param server the MBean server to register the collector on
+     * @param name the name of the collector, used in the object name
+     * @throws JMException if the registration fails, e.g. if a collector with the same name is registered
+     */
+    public JmxJmsMetricsCollector(MBeanServer server, String name) throws JMException {
+        this.server = server;
+        this.objectName = new ObjectName("com.rabbitmq.jms:type=JmsMetrics,name=" + ObjectName.quote(name));
+        this.server.registerMBean(this, this.objectName);
+    }
+
+    /**
+     * @return the object name of the MXBean
+     */
+    public ObjectName getObjectName() {
+        return this.objectName;
+    }
+
+    /**
+     * Unregisters the MXBean. The collector keeps collecting metrics.
+     *
+     * @throws JMException if the unregistration fails
+     */
+    @Override
+    public void close() throws JMException {
+        if (this.server.isRegistered(this.objectName)) {
+            this.server.unregisterMBean(this.objectName);
+        }
+    }
+}
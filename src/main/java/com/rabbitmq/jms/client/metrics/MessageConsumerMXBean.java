@@ -0,0 +1,48 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client.metrics;
+
+/**
+ * Management interface of a JMS message consumer, registered as
+ * <code>com.rabbitmq.jms:type=Consumer,connection=&lt;id&gt;,session=&lt;id&gt;,consumer=&lt;id&gt;</code>.
+ *
+ * @see com.rabbitmq.jms.admin.RMQConnectionFactory#setJmxEnabled(boolean)
+ * @since 3.10.0
+ */
+public interface MessageConsumerMXBean {
+
+    String getDestination();
+
+    String getMessageSelector();
+
+    boolean isDurable();
+
+    boolean isClosed();
+
+    boolean isMessageListenerSet();
+
+    /**
+     * @return whether the consumer is paused, because its connection is stopped
+     */
+    boolean isPaused();
+
+    /**
+     * @return whether the message listener rejects (nacks) the messages it receives, because its connection is stopped
+     */
+    boolean isRejecting();
+
+    /**
+     * @return the number of threads blocked in <code>receive</code>
+     */
+    int getPendingReceiveCount();
+
+    long getReceivedMessageCount();
+
+    /**
+     * @return the number of messages discarded because they had expired
+     */
+    long getExpiredMessageCount();
+}
@@ -0,0 +1,33 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client.metrics;
+
+/**
+ * Management interface of a JMS message producer, registered as
+ * <code>com.rabbitmq.jms:type=Producer,connection=&lt;id&gt;,session=&lt;id&gt;,producer=&lt;id&gt;</code>.
+ *
+ * @see com.rabbitmq.jms.admin.RMQConnectionFactory#setJmxEnabled(boolean)
+ * @since 3.10.0
+ */
+public interface MessageProducerMXBean {
+
+    /**
+     * @return the name of the destination, null if the producer has none
+     */
+    String getDestination();
+
+    int getDeliveryMode();
+
+    int getPriority();
+
+    long getTimeToLive();
+
+    long getDeliveryDelay();
+
+    boolean isPublisherConfirmsEnabled();
+
+    long getSentMessageCount();
+}
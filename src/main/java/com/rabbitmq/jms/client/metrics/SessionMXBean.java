@@ -0,0 +1,67 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client.metrics;
+
+/**
+ * Management interface of a JMS session, registered as
+ * <code>com.rabbitmq.jms:type=Session,connection=&lt;id&gt;,session=&lt;id&gt;</code>.
+ *
+ * @see com.rabbitmq.jms.admin.RMQConnectionFactory#setJmxEnabled(boolean)
+ * @since 3.10.0
+ */
+public interface SessionMXBean {
+
+    int getAcknowledgeMode();
+
+    boolean isTransacted();
+
+    /**
+     * @return whether the session publishes on channels borrowed from the pool of the connection
+     */
+    boolean isLightweight();
+
+    boolean isClosed();
+
+    int getProducerCount();
+
+    int getConsumerCount();
+
+    /**
+     * @return the number of messages received and not acknowledged yet (client acknowledgement)
+     */
+    int getUnackedMessageCount();
+
+    /**
+     * @return the number of messages received in the current transaction, tracked only when they are nack-ed on rollback
+     */
+    int getUncommittedMessageCount();
+
+    /**
+     * @return the number of messages sent with a completion listener and not confirmed yet,
+     * 0 for lightweight sessions as their pooled channels track confirms
+     */
+    int getOutstandingConfirmCount();
+
+    /**
+     * @return whether the session has a thread to call message listeners
+     */
+    boolean isDeliveryExecutorActive();
+
+    /**
+     * @return whether a message listener of the session is in <code>onMessage</code>
+     */
+    boolean isDelivering();
+
+    /**
+     * @return the number of messages delivered to the message listeners of the session
+     */
+    long getDeliveredMessageCount();
+
+    /**
+     * @return the number of <code>onMessage</code> calls that took longer than the timeout
+     */
+    long getOnMessageTimeoutCount();
+}
@@ -0,0 +1,259 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client.metrics;
+
+import com.rabbitmq.jms.client.JmsMetricsCollector;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * {@link JmsMetricsCollector} that keeps the metrics in memory.
+ * <p>
+ * Counters are cumulative since the creation of the collector. Times are in nanoseconds.
+ * The collector can be shared by several connection factories.
+ *
+ * @since 3.10.0
+ */
+public class SimpleJmsMetricsCollector implements JmsMetricsCollector {
+
+    private final ConcurrentMap<String, DestinationMetrics> destinations = new ConcurrentHashMap<>();
+    private final Histogram onMessageQueueTime = new Histogram();
+    private final Histogram onMessageServiceTime = new Histogram();
+    private final Histogram confirmRoundTrip = new Histogram();
+    private final Histogram acknowledgementBatchSize = new Histogram();
+    private final LongAdder acknowledgedMessages = new LongAdder();
+    private final LongAdder confirmNacks = new LongAdder();
+    private final LongAdder negativelyAcknowledgedMessages = new LongAdder();
+    private final Histogram redeliveryDelay = new Histogram();
+    private final LongAdder deadLetteredMessages = new LongAdder();
+    private final LongAdder expiredMessages = new LongAdder();
+    private final LongAdder selectorMatches = new LongAdder();
+    private final LongAdder selectorMismatches = new LongAdder();
+
+    @Override
+    public void published(String destination, int size) {
+        DestinationMetrics metrics = destination(destination);
+        metrics.publishedMessages.increment();
+        metrics.publishedBytes.add(size);
+    }
+
+    @Override
+    public void consumed(String destination, int size) {
+        DestinationMetrics metrics = destination(destination);
+        metrics.consumedMessages.increment();
+        metrics.consumedBytes.add(size);
+    }
+
+    @Override
+    public void onMessage(String destination, long queueTimeNanos, long serviceTimeNanos) {
+        this.onMessageQueueTime.record(queueTimeNanos);
+        this.onMessageServiceTime.record(serviceTimeNanos);
+    }
+
+    @Override
+    public void confirmed(boolean ack, long roundTripNanos) {
+        this.confirmRoundTrip.record(roundTripNanos);
+        if (!ack) {
+            this.confirmNacks.increment();
+        }
+    }
+
+    @Override
+    public void acknowledged(int messages) {
+        this.acknowledgementBatchSize.record(messages);
+        this.acknowledgedMessages.add(messages);
+    }
+
+    @Override
+    public void negativelyAcknowledged(int messages) {
+        this.negativelyAcknowledgedMessages.add(messages);
+    }
+
+    @Override
+    public void redeliveryDelayed(String destination, long delayNanos) {
+        this.redeliveryDelay.record(delayNanos);
+    }
+
+    @Override
+    public void deadLettered(String destination, int deliveryCount) {
+        this.deadLetteredMessages.increment();
+    }
+
+    @Override
+    public void expired(String destination) {
+        this.expiredMessages.increment();
+    }
+
+    @Override
+    public void selectorEvaluated(String destination, boolean matched) {
+        (matched ? this.selectorMatches : this.selectorMismatches).increment();
+    }
+
+    private DestinationMetrics destination(String destination) {
+        String name = destination == null ? "" : destination;
+        DestinationMetrics metrics = this.destinations.get(name);
+        return metrics == null ? this.destinations.computeIfAbsent(name, n -> new DestinationMetrics()) : metrics;
+    }
+
+    /**
+     * @param destination the name of the destination
+     * @return the metrics of the destination, <code>null</code> if no message was published to or consumed from it
+     */
+    public DestinationMetrics getDestinationMetrics(String destination) {
+        return this.destinations.get(destination);
+    }
+
+    /**
+     * @return the metrics of the destinations, by destination name
+     */
+    public Map<String, DestinationMetrics> getDestinations() {
+        return Collections.unmodifiableMap(this.destinations);
+    }
+
+    public long getPublishedMessages() {
+        return sum(m -> m.getPublishedMessages());
+    }
+
+    public long getPublishedBytes() {
+        return sum(m -> m.getPublishedBytes());
+    }
+
+    public long getConsumedMessages() {
+        return sum(m -> m.getConsumedMessages());
+    }
+
+    public long getConsumedBytes() {
+        return sum(m -> m.getConsumedBytes());
+    }
+
+    /**
+     * @return the number of messages published to each destination, destinations without any are omitted
+     */
+    public Map<String, Long> getPublishedMessagesByDestination() {
+        return byDestination(m -> m.getPublishedMessages());
+    }
+
+    /**
+     * @return the number of messages consumed from each destination, destinations without any are omitted
+     */
+    public Map<String, Long> getConsumedMessagesByDestination() {
+        return byDestination(m -> m.getConsumedMessages());
+    }
+
+    /**
+     * @return the time messages waited for the delivery thread of their session, in nanoseconds
+     */
+    public Histogram.Snapshot getOnMessageQueueTime() {
+        return this.onMessageQueueTime.snapshot();
+    }
+
+    /**
+     * @return the time <code>onMessage</code> took, in nanoseconds
+     */
+    public Histogram.Snapshot getOnMessageServiceTime() {
+        return this.onMessageServiceTime.snapshot();
+    }
+
+    /**
+     * @return the time between the publishing of messages and their confirms, in nanoseconds
+     */
+    public Histogram.Snapshot getConfirmRoundTrip() {
+        return this.confirmRoundTrip.snapshot();
+    }
+
+    /**
+     * @return the number of messages of AMQP acknowledgements
+     */
+    public Histogram.Snapshot getAcknowledgementBatchSize() {
+        return this.acknowledgementBatchSize.snapshot();
+    }
+
+    public long getAcknowledgedMessages() {
+        return this.acknowledgedMessages.sum();
+    }
+
+    public long getConfirmNacks() {
+        return this.confirmNacks.sum();
+    }
+
+    public long getNegativelyAcknowledgedMessages() {
+        return this.negativelyAcknowledgedMessages.sum();
+    }
+
+    /**
+     * @return the time messages that message listeners failed to process were held before
+     * being requeued, in nanoseconds, its count is the number of immediate requeues avoided
+     */
+    public Histogram.Snapshot getRedeliveryDelay() {
+        return this.redeliveryDelay.snapshot();
+    }
+
+    public long getDeadLetteredMessages() {
+        return this.deadLetteredMessages.sum();
+    }
+
+    /**
+     * @return the number of messages discarded by consumers because they had expired
+     */
+    public long getExpiredMessages() {
+        return this.expiredMessages.sum();
+    }
+
+    public long getSelectorMatches() {
+        return this.selectorMatches.sum();
+    }
+
+    public long getSelectorMismatches() {
+        return this.selectorMismatches.sum();
+    }
+
+    private long sum(ToLongFunction<DestinationMetrics> metric) {
+        return this.destinations.values().stream().mapToLong(metric).sum();
+    }
+
+    private Map<String, Long> byDestination(ToLongFunction<DestinationMetrics> metric) {
+        Map<String, Long> result = new TreeMap<>();
+        this.destinations.forEach((name, metrics) -> {
+            long value = metric.applyAsLong(metrics);
+            if (value > 0) {
+                result.put(name, value);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Counters of a destination.
+     */
+    public static final class DestinationMetrics {
+
+        private final LongAdder publishedMessages = new LongAdder();
+        private final LongAdder publishedBytes = new LongAdder();
+        private final LongAdder consumedMessages = new LongAdder();
+        private final LongAdder consumedBytes = new LongAdder();
+
+        public long getPublishedMessages() {
+            return this.publishedMessages.sum();
+        }
+
+        public long getPublishedBytes() {
+            return this.publishedBytes.sum();
+        }
+
+        public long getConsumedMessages() {
+            return this.consumedMessages.sum();
+        }
+
+        public long getConsumedBytes() {
+            return this.consumedBytes.sum();
+        }
+    }
+}
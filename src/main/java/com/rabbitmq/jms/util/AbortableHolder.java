@@ -48,8 +48,11 @@ public class AbortableHolder implements Abortable {
         if (this.flags[action.index()]) return; // prevent infinite
         this.flags[action.index()] = true;      // regress
 
-        Abortable[] as = this.abortableQueue.toArray(new Abortable[this.abortableQueue.size()]);
-        for (Abortable a : as) { action.doit(a); }
-        this.flags[action.index()] = false;     // allow multiple invocations
+        try {
+            Abortable[] as = this.abortableQueue.toArray(new Abortable[this.abortableQueue.size()]);
+            for (Abortable a : as) { action.doit(a); }
+        } finally {
+            this.flags[action.index()] = false; // allow multiple invocations, even after a failure
+        }
     }
 }
\ No newline at end of file
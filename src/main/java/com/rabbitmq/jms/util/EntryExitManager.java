@@ -1,18 +1,12 @@
 /* Copyright (c) 2013-2023 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries. */
 package com.rabbitmq.jms.util;
 
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
-
-import com.rabbitmq.jms.client.Completion;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Manages threads entering and exiting a notional region. Entry is controlled by a gate, and exit is signalled by
- * {@link Completion}. Can block threads entering, abort waiting threads and wait for threads which have entered to exit.
+ * {@link #exit()}. Can block threads entering, abort waiting threads and wait for threads which have entered to exit.
  * <p>
  * When the gate is open, threads are not prevented from entering. When the gate is closed, threads will block on
  * {@link #enter enter(...)}, until the gate is opened (by some other thread).
@@ -20,8 +14,11 @@ import com.rabbitmq.jms.client.Completion;
  * <p>
  * Threads which enter the region must leave it by calling {@link #exit()}. This will signal the exit of the thread. The
  * manager offers a method {@link #waitToClear waitToClear(...)} which will block
- * until all the currently entered threads have exited the region. Threads which enter during {@link #waitToClear} are not
- * detected.
+ * until all the currently entered threads have exited the region. Threads which enter during {@link #waitToClear}
+ * may or may not be waited for.
+ * </p>
+ * <p>
+ * Threads in the region are counted, so entering an open gate and exiting do not take locks or allocate.
  * </p>
  * <dl>
  * <dt>{@link #closeGate()}</dt>
@@ -41,21 +38,18 @@ import com.rabbitmq.jms.client.Completion;
 public class EntryExitManager {
 
     private final WaiterGate gate;
-    private final Queue<Completion> entered = new ConcurrentLinkedQueue<Completion>();
-    private ThreadLocal<Completion> threadCompletion = new ThreadLocal<Completion>();
-
-    private void registerEntry() {
-        Completion comp = new Completion();
-        this.threadCompletion.set(comp); // thread-local
-        this.entered.add(comp);
-    }
+    /** Number of threads in the region */
+    private final AtomicInteger entered = new AtomicInteger();
+    /** Number of threads in {@link #waitToClear}, exiting threads signal {@link #clearLock} only if there are some */
+    private final AtomicInteger clearWaiters = new AtomicInteger();
+    private final Object clearLock = new Object();
 
     /**
      * Create an <code>EntryExitManager</code>, initially closed.
      */
     public EntryExitManager() {
         this.gate = new WaiterGate(false) {
-            @Override public void onEntry() { /*register on entry*/ EntryExitManager.this.registerEntry();}
+            @Override public void onEntry() { /*register on entry*/ EntryExitManager.this.entered.incrementAndGet();}
             @Override public void onAbort() { /*noop*/ }
             };
     }
@@ -116,17 +110,25 @@ public class EntryExitManager {
      * @throws AbortedException if this thread is aborted by a <code>stop()</code> or <code>close()</code> while waiting.
      */
     public boolean enter(TimeTracker tt) throws InterruptedException, AbortedException {
+        // counted before the gate is checked, so a thread closing the gate
+        // then waiting to clear either sees this thread or keeps it out
+        this.entered.incrementAndGet();
+        if (gate.isOpen()) {
+            return true;
+        }
+        exit();
         return gate.waitForOpen(tt);
     }
 
     /**
-     * This thread is exiting the region. Must be called eventually by the thread that entered the region.
+     * This thread is exiting the region. Must be called eventually by the thread that entered the region,
+     * and only by it.
      */
     public void exit() {
-        Completion comp = this.threadCompletion.get(); // this thread's completion object
-        if (comp != null) {
-            comp.setComplete();
-            this.entered.remove(comp);
+        if (this.entered.decrementAndGet() <= 0 && this.clearWaiters.get() > 0) {
+            synchronized (this.clearLock) {
+                this.clearLock.notifyAll();
+            }
         }
     }
 
@@ -148,17 +150,19 @@ public class EntryExitManager {
      * @throws InterruptedException if thread is interrupted and is waiting.
      */
     public boolean waitToClear(TimeTracker tt) throws InterruptedException {
-        List<Completion> comps = new LinkedList<Completion>(this.entered);
-        if (comps.isEmpty()) return true; // nothing to wait for
-        for (Completion c : comps) {
-            try {
-                if (tt.timedOut()) return false;
-                c.waitUntilComplete(tt);
-            } catch (TimeoutException unused) {
-                return false; // we ran out of time
+        if (this.entered.get() <= 0) return true; // nothing to wait for
+        this.clearWaiters.incrementAndGet();
+        try {
+            synchronized (this.clearLock) {
+                while (this.entered.get() > 0) {
+                    if (tt.timedOut()) return false; // we ran out of time
+                    tt.timedWait(this.clearLock);
+                }
             }
+            return true;
+        } finally {
+            this.clearWaiters.decrementAndGet();
         }
-        return true;
     }
 
     /**
@@ -0,0 +1,27 @@
+/* Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries. */
+package com.rabbitmq.jms.util;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link ByteArrayInputStream} that gives access to the bytes not read yet without copying them.
+ *
+ * @since 3.10.0
+ */
+public class RMQByteArrayInputStream extends ByteArrayInputStream {
+
+    public RMQByteArrayInputStream(byte[] buf) {
+        super(buf);
+    }
+
+    /**
+     * Returns a view of the bytes not read yet, without copying them.
+     * The position of the stream is not changed.
+     *
+     * @return the remaining bytes
+     */
+    public synchronized ByteBuffer remainingAsByteBuffer() {
+        return ByteBuffer.wrap(this.buf, this.pos, this.count - this.pos);
+    }
+}
@@ -3,6 +3,8 @@ package com.rabbitmq.jms.util;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import jakarta.jms.JMSException;
 import jakarta.jms.MessageFormatException;
@@ -13,6 +15,38 @@ public class RMQByteArrayOutputStream extends ByteArrayOutputStream {
         super(size);
     }
 
+    /**
+     * Returns a view of the bytes written so far, without copying them.
+     * The view must not be used once more bytes are written.
+     *
+     * @return the written bytes
+     * @since 3.10.0
+     */
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(this.buf, 0, this.count);
+    }
+
+    /**
+     * @return the number of bytes the stream can hold before it grows
+     * @since 3.10.0
+     */
+    public synchronized int capacity() {
+        return this.buf.length;
+    }
+
+    /**
+     * Grows the stream if necessary so it can hold at least <code>minCapacity</code> bytes.
+     *
+     * @param minCapacity the minimum capacity
+     * @since 3.10.0
+     */
+    public synchronized void ensureCapacity(int minCapacity) {
+        if (minCapacity > this.buf.length) {
+            // nothing to copy into an empty stream
+            this.buf = this.count == 0 ? new byte[minCapacity] : Arrays.copyOf(this.buf, minCapacity);
+        }
+    }
+
     public void writeBoolean(boolean value) {
         this.write((byte) (value ? 1 : 0));
     }
@@ -49,6 +83,24 @@ public class RMQByteArrayOutputStream extends ByteArrayOutputStream {
         this.write((byte) (value >>> 0));
     }
 
+    /**
+     * Overwrites 4 bytes already written with an int, e.g. a length
+     * known only once what follows it is written.
+     *
+     * @param index the index of the first byte
+     * @param value the value
+     * @since 3.10.0
+     */
+    public synchronized void setInt(int index, int value) {
+        if (index < 0 || index > this.count - 4) {
+            throw new IndexOutOfBoundsException();
+        }
+        this.buf[index] = (byte) (value >>> 24);
+        this.buf[index + 1] = (byte) (value >>> 16);
+        this.buf[index + 2] = (byte) (value >>> 8);
+        this.buf[index + 3] = (byte) value;
+    }
+
     public void writeFloat(float value) {
         this.writeInt(Float.floatToIntBits(value));
     }
@@ -0,0 +1,262 @@
+/* Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries. */
+package com.rabbitmq.jms.util;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>
+ * Bounded cache of the classes {@link WhiteListObjectInputStream} has loaded
+ * and checked against trusted packages.
+ * </p>
+ * <p>
+ * A class is cached for the class loaders it has been loaded with, its name,
+ * and the list of trusted packages it has been checked against. Lists of trusted
+ * packages are compared by identity: a class checked against a list is checked
+ * again against any other list. The cache is invalidated when trusted packages
+ * are changed with {@link WhiteListObjectInputStream#addTrustedPackage(String)},
+ * {@link WhiteListObjectInputStream#setTrustedPackages(List)}, or
+ * <code>RMQConnectionFactory#setTrustedPackages</code>. An application that
+ * changes the content of a list it has already passed to the library must call
+ * {@link #invalidate()}.
+ * </p>
+ * <p>
+ * Class loaders and classes are weakly referenced, so the cache does not prevent
+ * them from being unloaded. The maximum number of entries can be set with the
+ * <code>com.rabbitmq.jms.TrustedClassCacheSize</code> system property,
+ * 0 disables the cache.
+ * </p>
+ *
+ * @since 3.10.0
+ */
+public final class TrustedClassCache {
+
+    static final int DEFAULT_MAX_SIZE = 1024;
+
+    private static final TrustedClassCache INSTANCE = new TrustedClassCache(
+        Integer.getInteger("com.rabbitmq.jms.TrustedClassCacheSize", DEFAULT_MAX_SIZE));
+
+    /** Stands for a class loader that has been garbage-collected, equal to no class loader */
+    private static final Object COLLECTED = new Object();
+
+    private final int maxSize;
+    private final ConcurrentHashMap<Key, WeakReference<Class<?>>> classes = new ConcurrentHashMap<>();
+    /** Incremented on invalidation, so classes checked before are not added after it */
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    TrustedClassCache(int maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+    }
+
+    /**
+     * @return the cache shared by all {@link WhiteListObjectInputStream}s
+     */
+    public static TrustedClassCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the current generation of the cache, to capture before a lookup
+     * and pass to {@link #get} and then {@link #put}.
+     *
+     * @return the generation, incremented by each invalidation
+     */
+    long generation() {
+        return this.generation.get();
+    }
+
+    /**
+     * Returns a class loaded with the given class loaders and checked against
+     * the given trusted packages.
+     *
+     * @param generation the generation captured before the lookup
+     * @return the class, or null if it is not in the cache
+     */
+    Class<?> get(String name, ClassLoader threadLoader, ClassLoader streamLoader, List<String> trustedPackages,
+                 long generation) {
+        if (this.maxSize == 0) {
+            return null;
+        }
+        Key key = new Key(name, threadLoader, streamLoader, trustedPackages, generation);
+        WeakReference<Class<?>> reference = this.classes.get(key);
+        Class<?> clazz = reference == null ? null : reference.get();
+        if (clazz == null) {
+            this.misses.increment();
+            if (reference != null) {
+                this.classes.remove(key, reference);
+            }
+        } else {
+            this.hits.increment();
+        }
+        return clazz;
+    }
+
+    /**
+     * Adds a class loaded with the given class loaders and checked against
+     * the given trusted packages.
+     * <p>
+     * The class is not added if the cache has been invalidated since the lookup:
+     * it may have been checked against trusted packages that have changed since.
+     *
+     * @param generation the generation captured before the lookup
+     */
+    void put(String name, ClassLoader threadLoader, ClassLoader streamLoader, List<String> trustedPackages,
+             Class<?> clazz, long generation) {
+        if (this.maxSize == 0 || generation != this.generation.get()) {
+            return;
+        }
+        if (this.classes.size() >= this.maxSize) {
+            evict();
+        }
+        Key key = new Key(name, weak(threadLoader), weak(streamLoader), trustedPackages, generation);
+        this.classes.put(key, new WeakReference<>(clazz));
+        if (generation != this.generation.get()) {
+            // invalidated meanwhile, the entry can no longer be found but takes room
+            this.classes.remove(key);
+        }
+    }
+
+    /**
+     * Removes entries until a quarter of the cache is free.
+     */
+    private void evict() {
+        int target = this.maxSize - Math.max(1, this.maxSize / 4);
+        Iterator<Key> iterator = this.classes.keySet().iterator();
+        while (this.classes.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            this.evictions.increment();
+        }
+    }
+
+    /**
+     * Removes all the classes from the cache, to check them again against trusted packages.
+     */
+    public void invalidate() {
+        this.generation.incrementAndGet();
+        this.classes.clear();
+    }
+
+    /**
+     * @return the maximum number of classes in the cache, 0 if the cache is disabled
+     */
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * @return the number of classes in the cache
+     */
+    public int size() {
+        return this.classes.size();
+    }
+
+    /**
+     * @return the number of lookups that found a class
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that did not find a class
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * @return the number of classes removed to keep the cache under its maximum size
+     */
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * @return hits divided by lookups, 0 if there has been no lookup
+     */
+    public double getHitRate() {
+        long h = getHits();
+        long total = h + getMisses();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return "TrustedClassCache{size=" + size() + ", maxSize=" + this.maxSize
+            + ", hits=" + getHits() + ", misses=" + getMisses() + ", evictions=" + getEvictions() + '}';
+    }
+
+    private static Object weak(ClassLoader loader) {
+        return loader == null ? null : new WeakReference<>(loader);
+    }
+
+    private static Object loader(Object loader) {
+        if (loader instanceof WeakReference) {
+            Object referent = ((WeakReference<?>) loader).get();
+            return referent == null ? COLLECTED : referent;
+        }
+        return loader;
+    }
+
+    /**
+     * Class loaders are either {@link ClassLoader}s, for lookups,
+     * or {@link WeakReference}s, for entries.
+     */
+    private static final class Key {
+
+        private final String name;
+        private final Object threadLoader;
+        private final Object streamLoader;
+        private final List<String> trustedPackages;
+        private final long generation;
+        private final int hash;
+
+        private Key(String name, Object threadLoader, Object streamLoader, List<String> trustedPackages, long generation) {
+            this.name = name;
+            this.threadLoader = threadLoader;
+            this.streamLoader = streamLoader;
+            this.trustedPackages = trustedPackages;
+            this.generation = generation;
+            int h = name.hashCode();
+            h = 31 * h + System.identityHashCode(loader(threadLoader));
+            h = 31 * h + System.identityHashCode(loader(streamLoader));
+            h = 31 * h + System.identityHashCode(trustedPackages);
+            this.hash = 31 * h + Long.hashCode(generation);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return this.hash == other.hash
+                && this.generation == other.generation
+                && this.trustedPackages == other.trustedPackages
+                && this.name.equals(other.name)
+                && sameLoader(this.threadLoader, other.threadLoader)
+                && sameLoader(this.streamLoader, other.streamLoader);
+        }
+
+        private static boolean sameLoader(Object l1, Object l2) {
+            Object loader1 = loader(l1);
+            return loader1 != COLLECTED && loader1 == loader(l2);
+        }
+    }
+}
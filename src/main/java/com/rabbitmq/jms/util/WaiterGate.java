@@ -36,7 +36,8 @@ abstract class WaiterGate {
     private enum GateState { OPENED, CLOSED, ABORTED };
 
     private Object lock = new Object();
-      private GateState state; // @GuardedBy("lock")
+      /** written under lock, read without it by {@link #isOpen()} */
+      private volatile GateState state; // @GuardedBy("lock")
       private long generation; // @GuardedBy("lock")
 
     /**
@@ -50,12 +51,11 @@ abstract class WaiterGate {
     }
 
     /**
+     * Does not take the gate lock.
      * @return <code>true</code> if gate is open, <code>false</code> otherwise
      */
     public final boolean isOpen() {
-        synchronized(this.lock){
-            return this.state == GateState.OPENED;
-        }
+        return this.state == GateState.OPENED;
     }
 
     /**
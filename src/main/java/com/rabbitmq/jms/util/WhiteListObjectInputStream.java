@@ -126,6 +126,10 @@ public class WhiteListObjectInputStream extends ObjectInputStream {
      * Otherwise, the <code>ClassNotFoundException</code> will be thrown to
      * the caller of this method.
      *
+     * <p>This implementation checks the class is in the trusted packages.
+     * Classes loaded and checked are kept in the {@link TrustedClassCache}.
+     * </p>
+     *
      * @param desc an instance of class <code>ObjectStreamClass</code>
      * @return a <code>Class</code> object corresponding to <code>desc</code>
      * @throws IOException            any of the usual Input/Output exceptions.
@@ -135,8 +139,15 @@ public class WhiteListObjectInputStream extends ObjectInputStream {
     @Override
     protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
         ClassLoader threadLoader = Thread.currentThread().getContextClassLoader();
-        Class clazz = load(desc.getName(), threadLoader, inputStreamLoader);
-        checkWhiteList(clazz);
+        TrustedClassCache cache = TrustedClassCache.getInstance();
+        List<String> packages = this.trustedPackages;
+        long generation = cache.generation();
+        Class<?> clazz = cache.get(desc.getName(), threadLoader, inputStreamLoader, packages, generation);
+        if (clazz == null) {
+            clazz = load(desc.getName(), threadLoader, inputStreamLoader);
+            checkTrusted(clazz, packages);
+            cache.put(desc.getName(), threadLoader, inputStreamLoader, packages, clazz, generation);
+        }
         return clazz;
     }
 
@@ -176,6 +187,7 @@ public class WhiteListObjectInputStream extends ObjectInputStream {
     @SuppressWarnings("unused")
     public void addTrustedPackage(String trustedPackage) {
         this.trustedPackages.add(trustedPackage);
+        TrustedClassCache.getInstance().invalidate();
     }
 
     /**
@@ -194,6 +206,7 @@ public class WhiteListObjectInputStream extends ObjectInputStream {
     @SuppressWarnings("unused")
     public void setTrustedPackages(List<String> trustedPackages) {
         this.trustedPackages = trustedPackages;
+        TrustedClassCache.getInstance().invalidate();
     }
 
     /**
@@ -201,18 +214,37 @@ public class WhiteListObjectInputStream extends ObjectInputStream {
      * be trusted, false otherwise
      */
     public boolean shouldTrustAllPackages() {
-        return (this.trustedPackages != null) && (trustedPackages.size() == 1 && trustedPackages.get(0).equals("*"));
+        return trustsAllPackages(this.trustedPackages);
+    }
+
+    private static boolean trustsAllPackages(List<String> trustedPackages) {
+        return (trustedPackages != null) && (trustedPackages.size() == 1 && trustedPackages.get(0).equals("*"));
     }
 
     private void checkWhiteList(Class clazz) throws ClassNotFoundException {
+        checkTrusted(clazz, this.trustedPackages);
+    }
+
+    /**
+     * Checks a class is trusted to be deserialized as ObjectMessage payload.
+     * <p>
+     * {@link com.rabbitmq.jms.client.ObjectMessageCodec} implementations must
+     * call this method for each class they instantiate.
+     *
+     * @param clazz the class to check
+     * @param trustedPackages list of packages that are trusted
+     * @throws ClassNotFoundException if the class is not trusted
+     * @since 3.10.0
+     */
+    public static void checkTrusted(Class<?> clazz, List<String> trustedPackages) throws ClassNotFoundException {
         if (clazz.isPrimitive()) {
             return;
         }
 
-        if (clazz.getPackage() != null && !shouldTrustAllPackages()) {
+        if (clazz.getPackage() != null && !trustsAllPackages(trustedPackages)) {
             boolean result = false;
             String p = clazz.getPackage().getName();
-            for (String pkg : this.trustedPackages) {
+            for (String pkg : trustedPackages) {
                 // Note: this means that an empty string works the same way as "*"
                 //       but making it mean "trust no package" makes even less sense
                 if (p.equals(pkg) || p.startsWith(pkg)) {
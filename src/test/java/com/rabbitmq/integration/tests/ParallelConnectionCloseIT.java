@@ -0,0 +1,86 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.integration.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.rabbitmq.jms.admin.RMQConnectionFactory;
+import jakarta.jms.Connection;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Integration test for the close of a connection with many sessions and consumers.
+ * <p>
+ * Also prints the time it takes to close the connection.
+ */
+public class ParallelConnectionCloseIT {
+
+  private static final String QUEUE_NAME =
+      "test.queue." + ParallelConnectionCloseIT.class.getCanonicalName();
+
+  private static final long TERMINATION_TIMEOUT_MS = 2000;
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    com.rabbitmq.client.ConnectionFactory cf = new com.rabbitmq.client.ConnectionFactory();
+    try (com.rabbitmq.client.Connection c = cf.newConnection()) {
+      c.createChannel().queueDelete(QUEUE_NAME);
+    }
+  }
+
+  @ParameterizedTest
+  @CsvSource({"1,100", "10,10", "100,10", "500,2"})
+  public void closeShouldNotTakeLongerThanTerminationTimeoutBound(int sessionCount,
+      int consumersPerSession) throws Exception {
+    RMQConnectionFactory connectionFactory = (RMQConnectionFactory) AbstractTestConnectionFactory.getTestConnectionFactory()
+        .getConnectionFactory();
+    connectionFactory.setTerminationTimeout(TERMINATION_TIMEOUT_MS);
+    Connection connection = connectionFactory.createConnection();
+    connection.start();
+
+    int consumerCount = sessionCount * consumersPerSession;
+    CountDownLatch inListenerLatch = new CountDownLatch(1);
+    CountDownLatch releaseLatch = new CountDownLatch(1);
+    Queue queue = null;
+    for (int i = 0; i < sessionCount; i++) {
+      Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+      queue = session.createQueue(QUEUE_NAME);
+      for (int j = 0; j < consumersPerSession; j++) {
+        // listeners block, so one consumer cannot be cancelled before the deadline
+        session.createConsumer(queue).setMessageListener(message -> {
+          inListenerLatch.countDown();
+          try {
+            releaseLatch.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+      }
+    }
+    Session producerSession = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+    MessageProducer producer = producerSession.createProducer(queue);
+    producer.send(producerSession.createTextMessage("hello"));
+    assertThat(inListenerLatch.await(10, TimeUnit.SECONDS)).isTrue();
+
+    long start = System.nanoTime();
+    try {
+      connection.close();
+    } finally {
+      releaseLatch.countDown();
+    }
+    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    System.out.printf(">> INFO >> %d session(s), %d consumer(s): connection closed in %d ms%n",
+        sessionCount, consumerCount, elapsedMs);
+    assertThat(elapsedMs).isLessThan(2 * TERMINATION_TIMEOUT_MS + 5000);
+  }
+}
@@ -0,0 +1,106 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.integration.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.rabbitmq.jms.admin.RMQConnectionFactory;
+import com.rabbitmq.jms.client.StripingStrategy;
+import jakarta.jms.BytesMessage;
+import jakarta.jms.Connection;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Integration test for a JMS connection backed by several AMQP connections.
+ * <p>
+ * Also prints the publishing throughput, to compare the number of AMQP connections.
+ */
+public class StripedConnectionIT {
+
+  private static final String QUEUE_NAME =
+      "test.queue." + StripedConnectionIT.class.getCanonicalName();
+
+  private static final int PRODUCER_COUNT = 8;
+  private static final int MESSAGES_PER_PRODUCER = 10_000;
+  private static final byte[] PAYLOAD = new byte[1024];
+
+  Connection connection;
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    if (connection != null) {
+      connection.close();
+    }
+    com.rabbitmq.client.ConnectionFactory cf = new com.rabbitmq.client.ConnectionFactory();
+    try (com.rabbitmq.client.Connection c = cf.newConnection()) {
+      c.createChannel().queueDelete(QUEUE_NAME);
+    }
+  }
+
+  @ParameterizedTest
+  @CsvSource({"1,ROUND_ROBIN", "2,ROUND_ROBIN", "4,ROUND_ROBIN", "4,LEAST_LOADED"})
+  public void sessionsOfStripedConnectionShouldSendAndReceive(int amqpConnectionCount,
+      StripingStrategy stripingStrategy) throws Exception {
+    RMQConnectionFactory connectionFactory = (RMQConnectionFactory) AbstractTestConnectionFactory.getTestConnectionFactory()
+        .getConnectionFactory();
+    connectionFactory.setAmqpConnectionCount(amqpConnectionCount);
+    connectionFactory.setStripingStrategy(stripingStrategy);
+    connection = connectionFactory.createConnection();
+    connection.start();
+
+    int messageCount = PRODUCER_COUNT * MESSAGES_PER_PRODUCER;
+    CountDownLatch receivedLatch = new CountDownLatch(messageCount);
+    Session consumerSession = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+    Queue queue = consumerSession.createQueue(QUEUE_NAME);
+    consumerSession.createConsumer(queue).setMessageListener(message -> receivedLatch.countDown());
+
+    ExecutorService executorService = Executors.newFixedThreadPool(PRODUCER_COUNT);
+    try {
+      CountDownLatch startLatch = new CountDownLatch(1);
+      List<Future<?>> futures = new ArrayList<>(PRODUCER_COUNT);
+      for (int i = 0; i < PRODUCER_COUNT; i++) {
+        Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        MessageProducer producer = session.createProducer(queue);
+        producer.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
+        futures.add(executorService.submit(() -> {
+          startLatch.await();
+          for (int j = 0; j < MESSAGES_PER_PRODUCER; j++) {
+            BytesMessage message = session.createBytesMessage();
+            message.writeBytes(PAYLOAD);
+            producer.send(message);
+          }
+          return null;
+        }));
+      }
+      long start = System.nanoTime();
+      startLatch.countDown();
+      for (Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+      long elapsed = System.nanoTime() - start;
+
+      assertThat(receivedLatch.await(60, TimeUnit.SECONDS)).isTrue();
+      System.out.printf(">> INFO >> %d AMQP connection(s), %s: published %d messages at %d messages/s%n",
+          amqpConnectionCount, stripingStrategy, messageCount,
+          messageCount * TimeUnit.SECONDS.toNanos(1) / Math.max(1, elapsed));
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,208 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+
+package com.rabbitmq.jms.admin;
+
+import com.rabbitmq.client.AddressResolver;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ConnectionFactory;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.IllegalStateException;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RMQCachingConnectionFactoryTest {
+
+    RMQDestination destination = new RMQDestination("dest", "exchange", "routing-key", null);
+
+    List<Connection> amqpConnections;
+    List<Channel> channels;
+    RMQCachingConnectionFactory cf;
+
+    @BeforeEach
+    void init() {
+        amqpConnections = new ArrayList<>();
+        channels = new ArrayList<>();
+        cf = new RMQCachingConnectionFactory(new TestRmqConnectionFactory());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cf.close();
+    }
+
+    @Test
+    void jmsTemplateStyleUsageReusesConnectionSessionAndProducer() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            jakarta.jms.Connection connection = cf.createConnection();
+            Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            MessageProducer producer = session.createProducer(destination);
+            producer.send(session.createTextMessage("hello " + i));
+            producer.close();
+            session.close();
+            connection.close();
+        }
+
+        assertThat(amqpConnections).hasSize(1);
+        assertThat(channels).hasSize(1);
+        verify(channels.get(0), times(100)).basicPublish(anyString(), anyString(), any(), any());
+        assertEquals(1, cf.getStatistics().getConnectionsCreated());
+        assertEquals(1, cf.getStatistics().getSessionsCreated());
+        assertEquals(99, cf.getStatistics().getSessionCacheHits());
+        assertEquals(1, cf.getStatistics().getProducersCreated());
+        assertEquals(99, cf.getStatistics().getProducerCacheHits());
+        assertEquals(1, cf.getIdleSessionCount());
+    }
+
+    @Test
+    void sessionsAreCachedByAcknowledgeMode() throws Exception {
+        jakarta.jms.Connection connection = cf.createConnection();
+        connection.createSession(false, Session.AUTO_ACKNOWLEDGE).close();
+        connection.createSession(false, Session.CLIENT_ACKNOWLEDGE).close();
+        connection.createSession(true, Session.SESSION_TRANSACTED).close();
+        assertThat(channels).hasSize(3);
+        assertEquals(3, cf.getIdleSessionCount());
+
+        Session session = connection.createSession(Session.CLIENT_ACKNOWLEDGE);
+        assertEquals(Session.CLIENT_ACKNOWLEDGE, session.getAcknowledgeMode());
+        session = connection.createSession(Session.SESSION_TRANSACTED);
+        assertThat(session.getTransacted()).isTrue();
+        assertThat(channels).hasSize(3);
+        assertEquals(2, cf.getStatistics().getSessionCacheHits());
+    }
+
+    @Test
+    void closedSessionIsNotReturnedByCache() throws Exception {
+        jakarta.jms.Connection connection = cf.createConnection();
+        connection.createSession().close();
+        when(channels.get(0).isOpen()).thenReturn(false);
+
+        connection.createSession();
+        assertThat(channels).hasSize(2);
+        assertEquals(1, cf.getStatistics().getValidationFailures());
+        assertEquals(0, cf.getStatistics().getSessionCacheHits());
+    }
+
+    @Test
+    void idleSessionsAreEvicted() throws Exception {
+        cf.setIdleTimeout(1);
+        jakarta.jms.Connection connection = cf.createConnection();
+        connection.createSession().close();
+        assertEquals(1, cf.getIdleSessionCount());
+        Thread.sleep(10);
+        cf.evictIdleSessions();
+        assertEquals(0, cf.getIdleSessionCount());
+        assertEquals(1, cf.getStatistics().getSessionsEvicted());
+        verify(channels.get(0)).close();
+    }
+
+    @Test
+    void sessionCacheSizeIsEnforced() throws Exception {
+        cf.setSessionCacheSize(1);
+        jakarta.jms.Connection connection = cf.createConnection();
+        Session session1 = connection.createSession();
+        Session session2 = connection.createSession();
+        session1.close();
+        session2.close();
+        assertEquals(1, cf.getIdleSessionCount());
+        verify(channels.get(0), never()).close();
+        verify(channels.get(1)).close();
+    }
+
+    @Test
+    void logicalCloseRestoresProducerSettings() throws Exception {
+        jakarta.jms.Connection connection = cf.createConnection();
+        Session session = connection.createSession();
+        MessageProducer producer = session.createProducer(destination);
+        producer.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
+        producer.setPriority(9);
+        producer.close();
+        assertThrows(IllegalStateException.class, () -> producer.send(session.createTextMessage()));
+
+        MessageProducer cachedProducer = session.createProducer(destination);
+        assertNotSame(producer, cachedProducer);
+        assertEquals(DeliveryMode.PERSISTENT, cachedProducer.getDeliveryMode());
+        assertEquals(4, cachedProducer.getPriority());
+        assertEquals(1, cf.getStatistics().getProducerCacheHits());
+    }
+
+    @Test
+    void closingLogicalConnectionKeepsSharedConnectionOpen() throws Exception {
+        jakarta.jms.Connection connection = cf.createConnection();
+        connection.close();
+        assertThrows(IllegalStateException.class, connection::createSession);
+        verify(amqpConnections.get(0), never()).close();
+
+        cf.createConnection().createSession();
+        assertThat(amqpConnections).hasSize(1);
+
+        cf.close();
+        verify(amqpConnections.get(0)).close();
+    }
+
+    @Test
+    void closedSharedConnectionIsRecreated() throws Exception {
+        cf.createConnection().createSession().close();
+        when(amqpConnections.get(0).isOpen()).thenReturn(false);
+
+        cf.createConnection().createSession();
+        assertThat(amqpConnections).hasSize(2);
+        assertEquals(2, cf.getStatistics().getConnectionsCreated());
+        assertEquals(0, cf.getStatistics().getSessionCacheHits());
+    }
+
+    @Test
+    void clientIdCannotBeSetOnSharedConnection() throws Exception {
+        assertThrows(IllegalStateException.class, () -> cf.createConnection().setClientID("foo"));
+    }
+
+    class TestRmqConnectionFactory extends RMQConnectionFactory {
+
+        @Override
+        protected ConnectionFactory createConnectionFactory() {
+            return new ConnectionFactory() {
+
+                @Override
+                public Connection newConnection(ExecutorService executor, AddressResolver addressResolver, String clientProvidedName) {
+                    Connection connection = mock(Connection.class);
+                    when(connection.isOpen()).thenReturn(true);
+                    try {
+                        when(connection.createChannel()).thenAnswer(invocation -> {
+                            Channel channel = mock(Channel.class);
+                            when(channel.isOpen()).thenReturn(true);
+                            channels.add(channel);
+                            return channel;
+                        });
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                    amqpConnections.add(connection);
+                    return connection;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,442 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.broker;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.AddressResolver;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.jms.admin.RMQConnectionFactory;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory implementation of the AMQP {@link Connection} and {@link com.rabbitmq.client.Channel}
+ * used by the JMS client, to test and benchmark the client without a broker.
+ * <p>
+ * The broker supports direct, fanout, topic and JMS topic exchanges, exchange-to-exchange bindings,
+ * server-named, exclusive and auto-delete queues, consumers with prefetch, <code>basic.get</code>,
+ * acks, nacks, rejects, recover, publisher confirms and transactions.
+ * JMS topic exchanges route like topic exchanges (selectors are ignored) and headers exchanges
+ * route like fanout exchanges. TTLs, delays, dead-lettering and persistence are not supported.
+ * <p>
+ * Deliveries, confirms and consumer notifications of a channel are dispatched in order on a thread
+ * of the channel, like in the Java AMQP client.
+ * <p>
+ * Use {@link #connectionFactory()} to create JMS connections to the broker:
+ * <pre>
+ * InMemoryBroker broker = new InMemoryBroker();
+ * RMQConnectionFactory connectionFactory = broker.connectionFactory();
+ * // configure the connection factory as usual
+ * jakarta.jms.Connection connection = connectionFactory.createConnection();
+ * </pre>
+ */
+public final class InMemoryBroker {
+
+    private static final String DEFAULT_EXCHANGE = "";
+
+    private final Map<String, Exchange> exchanges = new HashMap<>();
+    private final Map<String, Queue> queues = new HashMap<>();
+    private final AtomicLong names = new AtomicLong();
+
+    public InMemoryBroker() {
+        for (String type : new String[] {"direct", "fanout", "topic", "headers"}) {
+            this.exchanges.put("amq." + type, new Exchange("amq." + type, type));
+        }
+    }
+
+    /**
+     * @return a JMS connection factory whose connections use this broker
+     */
+    public RMQConnectionFactory connectionFactory() {
+        return new RMQConnectionFactory() {
+            @Override
+            protected com.rabbitmq.client.ConnectionFactory createConnectionFactory() {
+                return amqpConnectionFactory();
+            }
+        };
+    }
+
+    /**
+     * @return an AMQP connection factory whose connections use this broker
+     */
+    public com.rabbitmq.client.ConnectionFactory amqpConnectionFactory() {
+        return new com.rabbitmq.client.ConnectionFactory() {
+            @Override
+            public Connection newConnection(ExecutorService executor, AddressResolver addressResolver,
+                String clientProvidedName) {
+                return connect(clientProvidedName);
+            }
+        };
+    }
+
+    /**
+     * @param clientProvidedName name of the connection, can be <code>null</code>
+     * @return a new AMQP connection to this broker
+     */
+    public Connection connect(String clientProvidedName) {
+        return new InMemoryConnection(this, clientProvidedName).proxy;
+    }
+
+    /**
+     * @return whether the queue exists
+     */
+    public synchronized boolean queueExists(String queue) {
+        return this.queues.containsKey(queue);
+    }
+
+    /**
+     * @return the number of messages ready for delivery in the queue
+     */
+    public synchronized int messageCount(String queue) {
+        Queue q = this.queues.get(queue);
+        if (q == null) {
+            throw new IllegalArgumentException("No queue '" + queue + "'");
+        }
+        return q.messages.size();
+    }
+
+    String generateName(String prefix) {
+        return prefix + this.names.incrementAndGet();
+    }
+
+    Exchange exchange(String name) throws IOException {
+        Exchange exchange = this.exchanges.get(name);
+        if (exchange == null) {
+            throw new IOException("NOT_FOUND - no exchange '" + name + "'");
+        }
+        return exchange;
+    }
+
+    Queue queue(String name) throws IOException {
+        Queue queue = this.queues.get(name);
+        if (queue == null) {
+            throw new IOException("NOT_FOUND - no queue '" + name + "'");
+        }
+        return queue;
+    }
+
+    void declareExchange(String name, String type, Map<String, Object> arguments) throws IOException {
+        if (DEFAULT_EXCHANGE.equals(name)) {
+            throw new IOException("ACCESS_REFUSED - cannot declare the default exchange");
+        }
+        if (!this.exchanges.containsKey(name)) {
+            String routingType = "x-delayed-message".equals(type) && arguments != null && arguments.containsKey("x-delayed-type")
+                ? String.valueOf(arguments.get("x-delayed-type")) : type;
+            this.exchanges.put(name, new Exchange(name, routingType));
+        }
+    }
+
+    void deleteExchange(String name) throws IOException {
+        Exchange exchange = exchange(name);
+        this.exchanges.remove(name);
+        for (Exchange source : this.exchanges.values()) {
+            source.bindings.removeIf(binding -> binding.exchange == exchange);
+        }
+    }
+
+    Queue declareQueue(String name, boolean exclusive, boolean autoDelete, InMemoryConnection owner) {
+        return this.queues.computeIfAbsent(name, n -> new Queue(n, autoDelete, exclusive ? owner : null));
+    }
+
+    int deleteQueue(Queue queue) {
+        if (this.queues.remove(queue.name, queue)) {
+            for (Exchange exchange : this.exchanges.values()) {
+                exchange.bindings.removeIf(binding -> binding.queue == queue);
+            }
+            for (InMemoryChannel.ChannelConsumer consumer : new ArrayList<>(queue.consumers)) {
+                consumer.channel.cancelledByBroker(consumer);
+            }
+            queue.consumers.clear();
+        }
+        return queue.messages.size();
+    }
+
+    void bind(Exchange source, Queue queue, Exchange exchange, String routingKey) throws IOException {
+        if (DEFAULT_EXCHANGE.equals(source.name)) {
+            throw new IOException("ACCESS_REFUSED - cannot bind to the default exchange");
+        }
+        Binding binding = new Binding(queue, exchange, routingKey);
+        if (!source.bindings.contains(binding)) {
+            source.bindings.add(binding);
+        }
+    }
+
+    void unbind(Exchange source, Queue queue, Exchange exchange, String routingKey) {
+        source.bindings.remove(new Binding(queue, exchange, routingKey));
+    }
+
+    /**
+     * Routes a message to queues and dispatches it to their consumers.
+     */
+    void publish(String exchange, String routingKey, AMQP.BasicProperties properties, byte[] body) throws IOException {
+        Message message = new Message(exchange, routingKey, properties, body);
+        Set<Queue> destinations = new LinkedHashSet<>();
+        if (DEFAULT_EXCHANGE.equals(exchange)) {
+            Queue queue = this.queues.get(routingKey);
+            if (queue != null) {
+                destinations.add(queue);
+            }
+        } else {
+            route(exchange(exchange), routingKey, destinations, new LinkedHashSet<>());
+        }
+        for (Queue queue : destinations) {
+            queue.messages.add(new Entry(message, false));
+            dispatch(queue);
+        }
+    }
+
+    private static void route(Exchange exchange, String routingKey, Set<Queue> destinations, Set<Exchange> visited) {
+        if (!visited.add(exchange)) {
+            return;
+        }
+        for (Binding binding : exchange.bindings) {
+            if (exchange.matches(binding, routingKey)) {
+                if (binding.queue != null) {
+                    destinations.add(binding.queue);
+                } else {
+                    route(binding.exchange, routingKey, destinations, visited);
+                }
+            }
+        }
+    }
+
+    /**
+     * Puts settled messages back in their queues if they are requeued, in their original order,
+     * then dispatches the queues, as consumers may have credit again.
+     */
+    void settled(List<InMemoryChannel.Unacked> settled, boolean requeue, Collection<Queue> toDispatch) {
+        Set<Queue> queues = new LinkedHashSet<>(toDispatch);
+        for (int i = settled.size() - 1; i >= 0; i--) {
+            InMemoryChannel.Unacked unacked = settled.get(i);
+            if (unacked.consumer != null) {
+                unacked.consumer.unacked--;
+            }
+            if (requeue && this.queues.get(unacked.queue.name) == unacked.queue) {
+                unacked.queue.messages.addFirst(new Entry(unacked.message, true));
+            }
+            queues.add(unacked.queue);
+        }
+        for (Queue queue : queues) {
+            dispatch(queue);
+        }
+    }
+
+    /**
+     * Delivers ready messages to consumers with credit, round-robin.
+     */
+    void dispatch(Queue queue) {
+        int consumerCount = queue.consumers.size();
+        while (!queue.messages.isEmpty() && consumerCount > 0) {
+            InMemoryChannel.ChannelConsumer consumer = null;
+            for (int i = 0; i < consumerCount && consumer == null; i++) {
+                InMemoryChannel.ChannelConsumer candidate = queue.consumers.get((queue.nextConsumer + i) % consumerCount);
+                if (candidate.hasCredit()) {
+                    consumer = candidate;
+                    queue.nextConsumer = (queue.nextConsumer + i + 1) % consumerCount;
+                }
+            }
+            if (consumer == null) {
+                return;
+            }
+            consumer.channel.deliver(consumer, queue.messages.poll());
+        }
+    }
+
+    void consumerRemoved(InMemoryChannel.ChannelConsumer consumer) {
+        Queue queue = consumer.queue;
+        queue.consumers.remove(consumer);
+        if (queue.autoDelete && queue.consumers.isEmpty()) {
+            deleteQueue(queue);
+        }
+    }
+
+    void connectionClosed(InMemoryConnection connection) {
+        for (Queue queue : new ArrayList<>(this.queues.values())) {
+            if (queue.owner == connection) {
+                deleteQueue(queue);
+            }
+        }
+    }
+
+    /**
+     * Creates a proxy that calls the methods of the same signature of the target.
+     * <p>
+     * The AMQP interfaces have many methods the JMS client does not use, the proxy throws
+     * {@link UnsupportedOperationException} for methods the target does not implement.
+     */
+    static <T> T proxy(Class<T> type, Object target) {
+        return type.cast(Proxy.newProxyInstance(InMemoryBroker.class.getClassLoader(), new Class<?>[] {type},
+            new DelegatingHandler(type, target)));
+    }
+
+    private static final class DelegatingHandler implements InvocationHandler {
+
+        private final Class<?> type;
+        private final Object target;
+        private final Map<Method, Optional<Method>> methods = new ConcurrentHashMap<>();
+
+        private DelegatingHandler(Class<?> type, Object target) {
+            this.type = type;
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return this.target.toString();
+                }
+            }
+            Method implementation = this.methods.computeIfAbsent(method, m -> {
+                try {
+                    return Optional.of(this.target.getClass().getMethod(m.getName(), m.getParameterTypes()));
+                } catch (NoSuchMethodException e) {
+                    return Optional.empty();
+                }
+            }).orElseThrow(() -> new UnsupportedOperationException(
+                this.type.getSimpleName() + "#" + method.getName() + " is not supported by the in-memory broker"));
+            try {
+                return implementation.invoke(this.target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    static final class Message {
+
+        final String exchange;
+        final String routingKey;
+        final AMQP.BasicProperties properties;
+        final byte[] body;
+
+        Message(String exchange, String routingKey, AMQP.BasicProperties properties, byte[] body) {
+            this.exchange = exchange;
+            this.routingKey = routingKey;
+            this.properties = properties;
+            this.body = body;
+        }
+    }
+
+    static final class Entry {
+
+        final Message message;
+        final boolean redelivered;
+
+        Entry(Message message, boolean redelivered) {
+            this.message = message;
+            this.redelivered = redelivered;
+        }
+    }
+
+    static final class Queue {
+
+        final String name;
+        final boolean autoDelete;
+        /** connection of an exclusive queue */
+        final InMemoryConnection owner;
+        final ArrayDeque<Entry> messages = new ArrayDeque<>();
+        final List<InMemoryChannel.ChannelConsumer> consumers = new ArrayList<>();
+        int nextConsumer;
+
+        Queue(String name, boolean autoDelete, InMemoryConnection owner) {
+            this.name = name;
+            this.autoDelete = autoDelete;
+            this.owner = owner;
+        }
+    }
+
+    static final class Exchange {
+
+        final String name;
+        final String type;
+        final List<Binding> bindings = new ArrayList<>();
+
+        Exchange(String name, String type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        boolean matches(Binding binding, String routingKey) {
+            switch (this.type) {
+                case "fanout":
+                case "headers":
+                    return true;
+                case "topic":
+                case "x-jms-topic":
+                    return topicMatches(binding.pattern, 0, routingKey.split("\\.", -1), 0);
+                default:
+                    return binding.routingKey.equals(routingKey);
+            }
+        }
+
+        private static boolean topicMatches(String[] pattern, int p, String[] words, int w) {
+            if (p == pattern.length) {
+                return w == words.length;
+            }
+            if ("#".equals(pattern[p])) {
+                for (int i = w; i <= words.length; i++) {
+                    if (topicMatches(pattern, p + 1, words, i)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            return w < words.length && ("*".equals(pattern[p]) || pattern[p].equals(words[w]))
+                && topicMatches(pattern, p + 1, words, w + 1);
+        }
+    }
+
+    static final class Binding {
+
+        /** destination queue, or <code>null</code> for an exchange-to-exchange binding */
+        final Queue queue;
+        final Exchange exchange;
+        final String routingKey;
+        final String[] pattern;
+
+        Binding(Queue queue, Exchange exchange, String routingKey) {
+            this.queue = queue;
+            this.exchange = exchange;
+            this.routingKey = routingKey == null ? "" : routingKey;
+            this.pattern = this.routingKey.split("\\.", -1);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Binding)) {
+                return false;
+            }
+            Binding other = (Binding) o;
+            return this.queue == other.queue && this.exchange == other.exchange && this.routingKey.equals(other.routingKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.routingKey.hashCode();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.broker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.jms.CompletionListener;
+import jakarta.jms.Connection;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import jakarta.jms.Topic;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Run the JMS client against the {@link InMemoryBroker}.
+ */
+public class InMemoryBrokerTest {
+
+    InMemoryBroker broker;
+    Connection connection;
+
+    @BeforeEach
+    void init() throws Exception {
+        this.broker = new InMemoryBroker();
+        this.connection = this.broker.connectionFactory().createConnection();
+        this.connection.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        this.connection.close();
+    }
+
+    @Test
+    void sendAndReceive() throws Exception {
+        Session session = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        Queue queue = session.createQueue("in-memory");
+        MessageConsumer consumer = session.createConsumer(queue);
+        session.createProducer(queue).send(session.createTextMessage("hello"));
+
+        assertThat(this.broker.messageCount("in-memory")).isEqualTo(1);
+        TextMessage message = (TextMessage) consumer.receive(1000);
+        assertThat(message.getText()).isEqualTo("hello");
+        assertThat(this.broker.messageCount("in-memory")).isZero();
+        assertThat(consumer.receiveNoWait()).isNull();
+    }
+
+    @Test
+    void messageListenerReceivesAllMessagesWithPrefetch() throws Exception {
+        int count = 1000;
+        Session session = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        Queue queue = session.createQueue("in-memory");
+        CountDownLatch latch = new CountDownLatch(count);
+        List<String> received = new CopyOnWriteArrayList<>();
+        session.createConsumer(queue).setMessageListener(message -> {
+            try {
+                received.add(((TextMessage) message).getText());
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            latch.countDown();
+        });
+        Session producerSession = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        MessageProducer producer = producerSession.createProducer(queue);
+        for (int i = 0; i < count; i++) {
+            producer.send(producerSession.createTextMessage(String.valueOf(i)));
+        }
+
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).hasSize(count).startsWith("0", "1", "2").endsWith(String.valueOf(count - 1));
+    }
+
+    @Test
+    void topicSubscribersReceiveACopyEach() throws Exception {
+        Session session = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        Topic topic = session.createTopic("in-memory.topic");
+        MessageConsumer subscriber1 = session.createConsumer(topic);
+        MessageConsumer subscriber2 = session.createConsumer(topic);
+        session.createProducer(topic).send(session.createTextMessage("news"));
+
+        assertThat(((TextMessage) subscriber1.receive(1000)).getText()).isEqualTo("news");
+        assertThat(((TextMessage) subscriber2.receive(1000)).getText()).isEqualTo("news");
+    }
+
+    @Test
+    void asynchronousSendCompletesWithPublisherConfirms() throws Exception {
+        Session session = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        Queue queue = session.createQueue("in-memory");
+        CountDownLatch latch = new CountDownLatch(10);
+        MessageProducer producer = session.createProducer(queue);
+        for (int i = 0; i < 10; i++) {
+            producer.send(session.createTextMessage(String.valueOf(i)), new CompletionListener() {
+
+                @Override
+                public void onCompletion(Message message) {
+                    latch.countDown();
+                }
+
+                @Override
+                public void onException(Message message, Exception exception) {
+                }
+            });
+        }
+
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(this.broker.messageCount("in-memory")).isEqualTo(10);
+    }
+
+    @Test
+    void rolledBackMessagesAreRedelivered() throws Exception {
+        Session session = this.connection.createSession(true, Session.SESSION_TRANSACTED);
+        Queue queue = session.createQueue("in-memory");
+        MessageConsumer consumer = session.createConsumer(queue);
+        session.createProducer(queue).send(session.createTextMessage("transacted"));
+        assertThat(this.broker.messageCount("in-memory")).isZero();
+        session.commit();
+        assertThat(this.broker.messageCount("in-memory")).isEqualTo(1);
+
+        Message message = consumer.receive(1000);
+        assertThat(message.getJMSRedelivered()).isFalse();
+        session.rollback();
+        message = consumer.receive(1000);
+        assertThat(((TextMessage) message).getText()).isEqualTo("transacted");
+        assertThat(message.getJMSRedelivered()).isTrue();
+        session.commit();
+        assertThat(consumer.receiveNoWait()).isNull();
+    }
+}
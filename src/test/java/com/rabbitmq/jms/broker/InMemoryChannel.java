@@ -0,0 +1,649 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.broker;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.AlreadyClosedException;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ConfirmListener;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.Consumer;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import com.rabbitmq.client.ReturnListener;
+import com.rabbitmq.client.ShutdownListener;
+import com.rabbitmq.client.ShutdownSignalException;
+import com.rabbitmq.client.impl.AMQImpl;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link Channel} of an {@link InMemoryConnection}, used through {@link #proxy}.
+ * <p>
+ * The state of the channel is guarded by the lock of the broker. Callbacks run on the dispatcher
+ * thread of the channel, never with the lock held.
+ */
+final class InMemoryChannel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InMemoryChannel.class);
+
+    final Channel proxy;
+    private final InMemoryBroker broker;
+    private final InMemoryConnection connection;
+    private final int channelNumber;
+    private final ExecutorService dispatcher;
+    private final Map<String, ChannelConsumer> consumers = new LinkedHashMap<>();
+    private final NavigableMap<Long, Unacked> unacked = new TreeMap<>();
+    private final List<ConfirmListener> confirmListeners = new CopyOnWriteArrayList<>();
+    private final List<ShutdownListener> shutdownListeners = new CopyOnWriteArrayList<>();
+    private long deliveryTag;
+    private int consumerPrefetch;
+    private int channelPrefetch;
+    /** 0 when publisher confirms are not enabled */
+    private long nextPublishSeqNo;
+    /** operations of the current transaction, <code>null</code> when the channel is not transactional */
+    private List<Operation> transaction;
+    private volatile ShutdownSignalException closeReason;
+
+    InMemoryChannel(InMemoryBroker broker, InMemoryConnection connection, int channelNumber) {
+        this.broker = broker;
+        this.connection = connection;
+        this.channelNumber = channelNumber;
+        this.dispatcher = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "in-memory-broker-channel-" + channelNumber);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.proxy = InMemoryBroker.proxy(Channel.class, this);
+    }
+
+    public int getChannelNumber() {
+        return this.channelNumber;
+    }
+
+    public Connection getConnection() {
+        return this.connection.proxy;
+    }
+
+    public void basicQos(int prefetchSize, int prefetchCount, boolean global) {
+        basicQos(prefetchCount, global);
+    }
+
+    public void basicQos(int prefetchCount, boolean global) {
+        synchronized (this.broker) {
+            ensureOpen();
+            if (global) {
+                this.channelPrefetch = prefetchCount;
+            } else {
+                this.consumerPrefetch = prefetchCount;
+            }
+        }
+    }
+
+    public void basicQos(int prefetchCount) {
+        basicQos(prefetchCount, false);
+    }
+
+    public void basicPublish(String exchange, String routingKey, AMQP.BasicProperties props, byte[] body) throws IOException {
+        basicPublish(exchange, routingKey, false, false, props, body);
+    }
+
+    public void basicPublish(String exchange, String routingKey, boolean mandatory, AMQP.BasicProperties props, byte[] body)
+        throws IOException {
+        basicPublish(exchange, routingKey, mandatory, false, props, body);
+    }
+
+    public void basicPublish(String exchange, String routingKey, boolean mandatory, boolean immediate,
+        AMQP.BasicProperties props, byte[] body) throws IOException {
+        // the broker keeps its own copy, like a broker that received the frames
+        byte[] copy = Arrays.copyOf(body, body.length);
+        AMQP.BasicProperties properties = props == null ? new AMQP.BasicProperties() : props;
+        synchronized (this.broker) {
+            ensureOpen();
+            transactional(() -> this.broker.publish(exchange, routingKey, properties, copy));
+            if (this.nextPublishSeqNo > 0) {
+                long sequenceNumber = this.nextPublishSeqNo++;
+                this.dispatcher.execute(() -> {
+                    for (ConfirmListener listener : this.confirmListeners) {
+                        safely(() -> listener.handleAck(sequenceNumber, false), "ConfirmListener");
+                    }
+                });
+            }
+        }
+    }
+
+    public void addReturnListener(ReturnListener listener) {
+        // messages are never returned
+    }
+
+    public boolean removeReturnListener(ReturnListener listener) {
+        return false;
+    }
+
+    public void addConfirmListener(ConfirmListener listener) {
+        this.confirmListeners.add(listener);
+    }
+
+    public boolean removeConfirmListener(ConfirmListener listener) {
+        return this.confirmListeners.remove(listener);
+    }
+
+    public void clearConfirmListeners() {
+        this.confirmListeners.clear();
+    }
+
+    public AMQP.Exchange.DeclareOk exchangeDeclare(String exchange, String type) throws IOException {
+        return exchangeDeclare(exchange, type, false, false, false, null);
+    }
+
+    public AMQP.Exchange.DeclareOk exchangeDeclare(String exchange, String type, boolean durable) throws IOException {
+        return exchangeDeclare(exchange, type, durable, false, false, null);
+    }
+
+    public AMQP.Exchange.DeclareOk exchangeDeclare(String exchange, String type, boolean durable, boolean autoDelete,
+        Map<String, Object> arguments) throws IOException {
+        return exchangeDeclare(exchange, type, durable, autoDelete, false, arguments);
+    }
+
+    public AMQP.Exchange.DeclareOk exchangeDeclare(String exchange, String type, boolean durable, boolean autoDelete,
+        boolean internal, Map<String, Object> arguments) throws IOException {
+        synchronized (this.broker) {
+            ensureOpen();
+            this.broker.declareExchange(exchange, type, arguments);
+            return new AMQImpl.Exchange.DeclareOk();
+        }
+    }
+
+    public AMQP.Exchange.DeclareOk exchangeDeclarePassive(String exchange) throws IOException {
+        synchronized (this.broker) {
+            ensureOpen();
+            this.broker.exchange(exchange);
+            return new AMQImpl.Exchange.DeclareOk();
+        }
+    }
+
+    public AMQP.Exchange.DeleteOk exchangeDelete(String exchange) throws IOException {
+        return exchangeDelete(exchange, false);
+    }
+
+    public AMQP.Exchange.DeleteOk exchangeDelete(String exchange, boolean ifUnused) throws IOException {
+        synchronized (this.broker) {
+            ensureOpen();
+            this.broker.deleteExchange(exchange);
+            return new AMQImpl.Exchange.DeleteOk();
+        }
+    }
+
+    public AMQP.Exchange.BindOk exchangeBind(String destination, String source, String routingKey) throws IOException {
+        return exchangeBind(destination, source, routingKey, null);
+    }
+
+    public AMQP.Exchange.BindOk exchangeBind(String destination, String source, String routingKey,
+        Map<String, Object> arguments) throws IOException {
+        synchronized (this.broker) {
+            ensureOpen();
+            this.broker.bind(this.broker.exchange(source), null, this.broker.exchange(destination), routingKey);
+            return new AMQImpl.Exchange.BindOk();
+        }
+    }
+
+    public AMQP.Queue.DeclareOk queueDeclare() throws IOException {
+        return queueDeclare("", false, true, true, null);
+    }
+
+    public AMQP.Queue.DeclareOk queueDeclare(String queue, boolean durable, boolean exclusive, boolean autoDelete,
+        Map<String, Object> arguments) throws IOException {
+        synchronized (this.broker) {
+            ensureOpen();
+            String name = queue == null || queue.isEmpty() ? this.broker.generateName("amq.gen-") : queue;
+            InMemoryBroker.Queue q = this.broker.declareQueue(name, exclusive, autoDelete, this.connection);
+            return new AMQImpl.Queue.DeclareOk(name, q.messages.size(), q.consumers.size());
+        }
+    }
+
+    public AMQP.Queue.DeclareOk queueDeclarePassive(String queue) throws IOException {
+        synchronized (this.broker) {
+            ensureOpen();
+            InMemoryBroker.Queue q = this.broker.queue(queue);
+            return new AMQImpl.Queue.DeclareOk(queue, q.messages.size(), q.consumers.size());
+        }
+    }
+
+    public AMQP.Queue.DeleteOk queueDelete(String queue) throws IOException {
+        return queueDelete(queue, false, false);
+    }
+
+    public AMQP.Queue.DeleteOk queueDelete(String queue, boolean ifUnused, boolean ifEmpty) throws IOException {
+        synchronized (this.broker) {
+            ensureOpen();
+            InMemoryBroker.Queue q = this.broker.queue(queue);
+            if ((ifUnused && !q.consumers.isEmpty()) || (ifEmpty && !q.messages.isEmpty())) {
+                throw new IOException("PRECONDITION_FAILED - queue '" + queue + "' in use");
+            }
+            return new AMQImpl.Queue.DeleteOk(this.broker.deleteQueue(q));
+        }
+    }
+
+    public AMQP.Queue.PurgeOk queuePurge(String queue) throws IOException {
+        synchronized (this.broker) {
+            ensureOpen();
+            InMemoryBroker.Queue q = this.broker.queue(queue);
+            int count = q.messages.size();
+            q.messages.clear();
+            return new AMQImpl.Queue.PurgeOk(count);
+        }
+    }
+
+    public AMQP.Queue.BindOk queueBind(String queue, String exchange, String routingKey) throws IOException {
+        return queueBind(queue, exchange, routingKey, null);
+    }
+
+    public AMQP.Queue.BindOk queueBind(String queue, String exchange, String routingKey, Map<String, Object> arguments)
+        throws IOException {
+        synchronized (this.broker) {
+            ensureOpen();
+            this.broker.bind(this.broker.exchange(exchange), this.broker.queue(queue), null, routingKey);
+            return new AMQImpl.Queue.BindOk();
+        }
+    }
+
+    public AMQP.Queue.UnbindOk queueUnbind(String queue, String exchange, String routingKey) throws IOException {
+        return queueUnbind(queue, exchange, routingKey, null);
+    }
+
+    public AMQP.Queue.UnbindOk queueUnbind(String queue, String exchange, String routingKey, Map<String, Object> arguments)
+        throws IOException {
+        synchronized (this.broker) {
+            ensureOpen();
+            this.broker.unbind(this.broker.exchange(exchange), this.broker.queue(queue), null, routingKey);
+            return new AMQImpl.Queue.UnbindOk();
+        }
+    }
+
+    public long messageCount(String queue) throws IOException {
+        return queueDeclarePassive(queue).getMessageCount();
+    }
+
+    public long consumerCount(String queue) throws IOException {
+        return queueDeclarePassive(queue).getConsumerCount();
+    }
+
+    public GetResponse basicGet(String queue, boolean autoAck) throws IOException {
+        synchronized (this.broker) {
+            ensureOpen();
+            InMemoryBroker.Queue q = this.broker.queue(queue);
+            InMemoryBroker.Entry entry = q.messages.poll();
+            if (entry == null) {
+                return null;
+            }
+            long tag = ++this.deliveryTag;
+            if (!autoAck) {
+                this.unacked.put(tag, new Unacked(q, entry.message, null));
+            }
+            return new GetResponse(envelope(tag, entry), entry.message.properties, entry.message.body, q.messages.size());
+        }
+    }
+
+    public void basicAck(long deliveryTag, boolean multiple) throws IOException {
+        settle(deliveryTag, multiple, false);
+    }
+
+    public void basicNack(long deliveryTag, boolean multiple, boolean requeue) throws IOException {
+        settle(deliveryTag, multiple, requeue);
+    }
+
+    public void basicReject(long deliveryTag, boolean requeue) throws IOException {
+        settle(deliveryTag, false, requeue);
+    }
+
+    private void settle(long deliveryTag, boolean multiple, boolean requeue) throws IOException {
+        synchronized (this.broker) {
+            ensureOpen();
+            transactional(() -> {
+                List<Unacked> settled;
+                if (multiple) {
+                    NavigableMap<Long, Unacked> head = deliveryTag == 0 ? this.unacked : this.unacked.headMap(deliveryTag, true);
+                    settled = new ArrayList<>(head.values());
+                    head.clear();
+                } else {
+                    Unacked u = this.unacked.remove(deliveryTag);
+                    if (u == null) {
+                        throw new IOException("PRECONDITION_FAILED - unknown delivery tag " + deliveryTag);
+                    }
+                    settled = Collections.singletonList(u);
+                }
+                this.broker.settled(settled, requeue, consumerQueues());
+            });
+        }
+    }
+
+    public AMQP.Basic.RecoverOk basicRecover() throws IOException {
+        return basicRecover(true);
+    }
+
+    public AMQP.Basic.RecoverOk basicRecover(boolean requeue) throws IOException {
+        synchronized (this.broker) {
+            ensureOpen();
+            // messages are always requeued, not redelivered to the same consumers
+            List<Unacked> settled = new ArrayList<>(this.unacked.values());
+            this.unacked.clear();
+            this.broker.settled(settled, true, consumerQueues());
+            return new AMQImpl.Basic.RecoverOk();
+        }
+    }
+
+    public String basicConsume(String queue, Consumer callback) throws IOException {
+        return basicConsume(queue, false, "", false, false, null, callback);
+    }
+
+    public String basicConsume(String queue, boolean autoAck, Consumer callback) throws IOException {
+        return basicConsume(queue, autoAck, "", false, false, null, callback);
+    }
+
+    public String basicConsume(String queue, boolean autoAck, String consumerTag, Consumer callback) throws IOException {
+        return basicConsume(queue, autoAck, consumerTag, false, false, null, callback);
+    }
+
+    public String basicConsume(String queue, boolean autoAck, Map<String, Object> arguments, Consumer callback)
+        throws IOException {
+        return basicConsume(queue, autoAck, "", false, false, arguments, callback);
+    }
+
+    public String basicConsume(String queue, boolean autoAck, String consumerTag, boolean noLocal, boolean exclusive,
+        Map<String, Object> arguments, Consumer callback) throws IOException {
+        synchronized (this.broker) {
+            ensureOpen();
+            InMemoryBroker.Queue q = this.broker.queue(queue);
+            String tag = consumerTag == null || consumerTag.isEmpty() ? this.broker.generateName("amq.ctag-") : consumerTag;
+            if (this.consumers.containsKey(tag)) {
+                throw new IOException("NOT_ALLOWED - attempt to reuse consumer tag '" + tag + "'");
+            }
+            ChannelConsumer consumer = new ChannelConsumer(this, tag, q, autoAck, this.consumerPrefetch, callback);
+            this.consumers.put(tag, consumer);
+            q.consumers.add(consumer);
+            this.dispatcher.execute(() -> safely(() -> callback.handleConsumeOk(tag), "Consumer"));
+            this.broker.dispatch(q);
+            return tag;
+        }
+    }
+
+    public void basicCancel(String consumerTag) throws IOException {
+        synchronized (this.broker) {
+            ensureOpen();
+            ChannelConsumer consumer = this.consumers.remove(consumerTag);
+            if (consumer == null) {
+                throw new IOException("Unknown consumerTag '" + consumerTag + "'");
+            }
+            this.broker.consumerRemoved(consumer);
+            this.dispatcher.execute(() -> safely(() -> consumer.callback.handleCancelOk(consumerTag), "Consumer"));
+        }
+    }
+
+    public AMQP.Tx.SelectOk txSelect() {
+        synchronized (this.broker) {
+            ensureOpen();
+            if (this.transaction == null) {
+                this.transaction = new ArrayList<>();
+            }
+            return new AMQImpl.Tx.SelectOk();
+        }
+    }
+
+    public AMQP.Tx.CommitOk txCommit() throws IOException {
+        synchronized (this.broker) {
+            List<Operation> operations = ensureTransactional();
+            this.transaction = new ArrayList<>();
+            for (Operation operation : operations) {
+                operation.run();
+            }
+            return new AMQImpl.Tx.CommitOk();
+        }
+    }
+
+    public AMQP.Tx.RollbackOk txRollback() throws IOException {
+        synchronized (this.broker) {
+            ensureTransactional().clear();
+            return new AMQImpl.Tx.RollbackOk();
+        }
+    }
+
+    public AMQP.Confirm.SelectOk confirmSelect() {
+        synchronized (this.broker) {
+            ensureOpen();
+            if (this.nextPublishSeqNo == 0) {
+                this.nextPublishSeqNo = 1;
+            }
+            return new AMQImpl.Confirm.SelectOk();
+        }
+    }
+
+    public long getNextPublishSeqNo() {
+        synchronized (this.broker) {
+            return this.nextPublishSeqNo;
+        }
+    }
+
+    public boolean waitForConfirms() {
+        synchronized (this.broker) {
+            if (this.nextPublishSeqNo == 0) {
+                throw new IllegalStateException("Confirms not selected");
+            }
+            // messages are routed when they are published, so they are all confirmed
+            return true;
+        }
+    }
+
+    public boolean waitForConfirms(long timeout) {
+        return waitForConfirms();
+    }
+
+    public void waitForConfirmsOrDie() {
+        waitForConfirms();
+    }
+
+    public void waitForConfirmsOrDie(long timeout) throws TimeoutException {
+        waitForConfirms();
+    }
+
+    public boolean isOpen() {
+        return this.closeReason == null;
+    }
+
+    public ShutdownSignalException getCloseReason() {
+        return this.closeReason;
+    }
+
+    public void addShutdownListener(ShutdownListener listener) {
+        this.shutdownListeners.add(listener);
+    }
+
+    public void removeShutdownListener(ShutdownListener listener) {
+        this.shutdownListeners.remove(listener);
+    }
+
+    public void close() {
+        close(200, "OK");
+    }
+
+    public void close(int closeCode, String closeMessage) {
+        ShutdownSignalException cause = new ShutdownSignalException(false, true, null, this.proxy);
+        synchronized (this.broker) {
+            if (!shutdown(cause)) {
+                return;
+            }
+            this.connection.channelClosed(this);
+        }
+        notifyShutdownListeners(cause);
+    }
+
+    public void abort() {
+        close();
+    }
+
+    public void abort(int closeCode, String closeMessage) {
+        close(closeCode, closeMessage);
+    }
+
+    /**
+     * Cancels the consumers and requeues the unacknowledged messages of the channel.
+     *
+     * @return <code>false</code> if the channel was already closed
+     */
+    boolean shutdown(ShutdownSignalException cause) {
+        if (this.closeReason != null) {
+            return false;
+        }
+        this.closeReason = cause;
+        List<ChannelConsumer> consumers = new ArrayList<>(this.consumers.values());
+        List<InMemoryBroker.Queue> queues = consumerQueues();
+        this.consumers.clear();
+        for (ChannelConsumer consumer : consumers) {
+            this.broker.consumerRemoved(consumer);
+            this.dispatcher.execute(() -> safely(() -> consumer.callback.handleShutdownSignal(consumer.tag, cause), "Consumer"));
+        }
+        List<Unacked> settled = new ArrayList<>(this.unacked.values());
+        this.unacked.clear();
+        this.broker.settled(settled, true, queues);
+        this.dispatcher.shutdown();
+        return true;
+    }
+
+    void notifyShutdownListeners(ShutdownSignalException cause) {
+        for (ShutdownListener listener : this.shutdownListeners) {
+            safely(() -> listener.shutdownCompleted(cause), "ShutdownListener");
+        }
+    }
+
+    /**
+     * Called when the queue of the consumer is deleted.
+     */
+    void cancelledByBroker(ChannelConsumer consumer) {
+        if (this.consumers.remove(consumer.tag, consumer)) {
+            this.dispatcher.execute(() -> safely(() -> consumer.callback.handleCancel(consumer.tag), "Consumer"));
+        }
+    }
+
+    /**
+     * Delivers a message to a consumer of the channel, with the lock of the broker held.
+     */
+    void deliver(ChannelConsumer consumer, InMemoryBroker.Entry entry) {
+        long tag = ++this.deliveryTag;
+        if (!consumer.autoAck) {
+            this.unacked.put(tag, new Unacked(consumer.queue, entry.message, consumer));
+            consumer.unacked++;
+        }
+        Envelope envelope = envelope(tag, entry);
+        InMemoryBroker.Message message = entry.message;
+        this.dispatcher.execute(() -> safely(
+            () -> consumer.callback.handleDelivery(consumer.tag, envelope, message.properties, message.body), "Consumer"));
+    }
+
+    private boolean hasCredit() {
+        return this.closeReason == null && (this.channelPrefetch == 0 || this.unacked.size() < this.channelPrefetch);
+    }
+
+    private List<InMemoryBroker.Queue> consumerQueues() {
+        return this.consumers.values().stream().map(c -> c.queue).distinct().collect(Collectors.toList());
+    }
+
+    private void transactional(Operation operation) throws IOException {
+        if (this.transaction == null) {
+            operation.run();
+        } else {
+            this.transaction.add(operation);
+        }
+    }
+
+    private List<Operation> ensureTransactional() throws IOException {
+        ensureOpen();
+        if (this.transaction == null) {
+            throw new IOException("PRECONDITION_FAILED - channel is not transactional");
+        }
+        return this.transaction;
+    }
+
+    private void ensureOpen() {
+        if (this.closeReason != null) {
+            throw new AlreadyClosedException(this.closeReason);
+        }
+    }
+
+    private static Envelope envelope(long tag, InMemoryBroker.Entry entry) {
+        return new Envelope(tag, entry.redelivered, entry.message.exchange, entry.message.routingKey);
+    }
+
+    private static void safely(Operation operation, String callback) {
+        try {
+            operation.run();
+        } catch (Exception e) {
+            LOGGER.warn("Error in {} callback", callback, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "InMemoryChannel{" + this.channelNumber + "}";
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+
+        void run() throws IOException;
+    }
+
+    static final class ChannelConsumer {
+
+        final InMemoryChannel channel;
+        final String tag;
+        final InMemoryBroker.Queue queue;
+        final boolean autoAck;
+        final int prefetch;
+        final Consumer callback;
+        int unacked;
+
+        ChannelConsumer(InMemoryChannel channel, String tag, InMemoryBroker.Queue queue, boolean autoAck, int prefetch,
+            Consumer callback) {
+            this.channel = channel;
+            this.tag = tag;
+            this.queue = queue;
+            this.autoAck = autoAck;
+            this.prefetch = prefetch;
+            this.callback = callback;
+        }
+
+        boolean hasCredit() {
+            return (this.prefetch == 0 || this.unacked < this.prefetch) && this.channel.hasCredit();
+        }
+    }
+
+    static final class Unacked {
+
+        final InMemoryBroker.Queue queue;
+        final InMemoryBroker.Message message;
+        /** <code>null</code> for messages got with <code>basic.get</code> */
+        final ChannelConsumer consumer;
+
+        Unacked(InMemoryBroker.Queue queue, InMemoryBroker.Message message, ChannelConsumer consumer) {
+            this.queue = queue;
+            this.message = message;
+            this.consumer = consumer;
+        }
+    }
+}
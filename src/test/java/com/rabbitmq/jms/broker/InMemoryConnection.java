@@ -0,0 +1,199 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.broker;
+
+import com.rabbitmq.client.AlreadyClosedException;
+import com.rabbitmq.client.BlockedListener;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ShutdownListener;
+import com.rabbitmq.client.ShutdownSignalException;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@link Connection} to an {@link InMemoryBroker}, used through {@link #proxy}.
+ */
+final class InMemoryConnection {
+
+    private static final Map<String, Object> SERVER_PROPERTIES;
+
+    static {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("product", "RabbitMQ");
+        properties.put("version", "in-memory");
+        SERVER_PROPERTIES = Collections.unmodifiableMap(properties);
+    }
+
+    final Connection proxy;
+    private final InMemoryBroker broker;
+    private final String clientProvidedName;
+    private final List<InMemoryChannel> channels = new ArrayList<>();
+    private final List<ShutdownListener> shutdownListeners = new CopyOnWriteArrayList<>();
+    private int channelNumber;
+    private volatile ShutdownSignalException closeReason;
+    private volatile String id;
+
+    InMemoryConnection(InMemoryBroker broker, String clientProvidedName) {
+        this.broker = broker;
+        this.clientProvidedName = clientProvidedName;
+        this.proxy = InMemoryBroker.proxy(Connection.class, this);
+    }
+
+    public Channel createChannel() {
+        synchronized (this.broker) {
+            return createChannel(this.channelNumber + 1);
+        }
+    }
+
+    public Channel createChannel(int channelNumber) {
+        synchronized (this.broker) {
+            if (this.closeReason != null) {
+                throw new AlreadyClosedException(this.closeReason);
+            }
+            this.channelNumber = Math.max(this.channelNumber, channelNumber);
+            InMemoryChannel channel = new InMemoryChannel(this.broker, this, channelNumber);
+            this.channels.add(channel);
+            return channel.proxy;
+        }
+    }
+
+    void channelClosed(InMemoryChannel channel) {
+        this.channels.remove(channel);
+    }
+
+    public void close() {
+        shutdown();
+    }
+
+    public void close(int closeCode, String closeMessage) {
+        shutdown();
+    }
+
+    public void close(int timeout) {
+        shutdown();
+    }
+
+    public void close(int closeCode, String closeMessage, int timeout) {
+        shutdown();
+    }
+
+    public void abort() {
+        shutdown();
+    }
+
+    public void abort(int timeout) {
+        shutdown();
+    }
+
+    public void abort(int closeCode, String closeMessage) {
+        shutdown();
+    }
+
+    public void abort(int closeCode, String closeMessage, int timeout) {
+        shutdown();
+    }
+
+    private void shutdown() {
+        ShutdownSignalException cause = new ShutdownSignalException(true, true, null, this.proxy);
+        List<InMemoryChannel> channels;
+        synchronized (this.broker) {
+            if (this.closeReason != null) {
+                return;
+            }
+            this.closeReason = cause;
+            channels = new ArrayList<>(this.channels);
+            for (InMemoryChannel channel : channels) {
+                channel.shutdown(cause);
+            }
+            this.channels.clear();
+            this.broker.connectionClosed(this);
+        }
+        for (InMemoryChannel channel : channels) {
+            channel.notifyShutdownListeners(cause);
+        }
+        for (ShutdownListener listener : this.shutdownListeners) {
+            listener.shutdownCompleted(cause);
+        }
+    }
+
+    public boolean isOpen() {
+        return this.closeReason == null;
+    }
+
+    public ShutdownSignalException getCloseReason() {
+        return this.closeReason;
+    }
+
+    public void addShutdownListener(ShutdownListener listener) {
+        this.shutdownListeners.add(listener);
+    }
+
+    public void removeShutdownListener(ShutdownListener listener) {
+        this.shutdownListeners.remove(listener);
+    }
+
+    public void addBlockedListener(BlockedListener listener) {
+        // the broker never blocks publishers
+    }
+
+    public boolean removeBlockedListener(BlockedListener listener) {
+        return false;
+    }
+
+    public void clearBlockedListeners() {
+    }
+
+    public InetAddress getAddress() {
+        return InetAddress.getLoopbackAddress();
+    }
+
+    public int getPort() {
+        return com.rabbitmq.client.ConnectionFactory.DEFAULT_AMQP_PORT;
+    }
+
+    public int getChannelMax() {
+        return 2047;
+    }
+
+    public int getFrameMax() {
+        return 0;
+    }
+
+    public int getHeartbeat() {
+        return 0;
+    }
+
+    public Map<String, Object> getClientProperties() {
+        return Collections.emptyMap();
+    }
+
+    public Map<String, Object> getServerProperties() {
+        return SERVER_PROPERTIES;
+    }
+
+    public String getClientProvidedName() {
+        return this.clientProvidedName;
+    }
+
+    public String getId() {
+        return this.id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @Override
+    public String toString() {
+        return "InMemoryConnection{" + this.clientProvidedName + "}";
+    }
+}
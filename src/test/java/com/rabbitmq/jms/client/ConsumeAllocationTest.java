@@ -0,0 +1,193 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import com.rabbitmq.jms.broker.InMemoryBroker;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.Message;
+import jakarta.jms.MessageListener;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Allocation budget of the consume paths, from the delivery array to the message.
+ * <p>
+ * The budget is the message and what it holds: its property maps with their entries,
+ * the property names and values, and its body. It has some headroom for the differences
+ * between JVMs, but allocating e.g. an object stream per message goes over it.
+ * Handing a message to the listener thread should not allocate: its budget only
+ * tolerates a few bytes of JVM bookkeeping per message (thread-local allocation,
+ * escape analysis and GCs differ between JVMs), far less than any object per message.
+ */
+public class ConsumeAllocationTest {
+
+    /** deliveries to warm up, and then to measure */
+    static final int MESSAGES = 20_000;
+
+    /** bytes per text message with a few properties */
+    static final long BUDGET = 1536;
+
+    /** bytes per message handed to the listener thread */
+    static final long HANDOFF_BUDGET = 8;
+
+    com.sun.management.ThreadMXBean threads;
+    InMemoryBroker broker;
+    RMQConnection connection;
+    RMQSession session;
+    RMQMessageConsumer consumer;
+    AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder().deliveryMode(2).build();
+    byte[] body;
+    long tag = 0;
+    volatile long listenerThreadId;
+    volatile String lastText;
+
+    @BeforeEach
+    void init() throws Exception {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean
+            && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported());
+        this.threads = (com.sun.management.ThreadMXBean) threadMXBean;
+        this.threads.setThreadAllocatedMemoryEnabled(true);
+
+        this.broker = new InMemoryBroker();
+        this.connection = (RMQConnection) this.broker.connectionFactory().createConnection();
+        this.connection.start();
+        this.session = (RMQSession) this.connection.createSession(false, Session.CLIENT_ACKNOWLEDGE);
+        this.consumer = (RMQMessageConsumer) this.session.createConsumer(this.session.createQueue("allocation"));
+
+        RMQMessage message = (RMQMessage) this.session.createTextMessage("hello, world");
+        message.setJMSDestination(this.consumer.getDestination());
+        message.setJMSDeliveryMode(DeliveryMode.PERSISTENT);
+        message.setJMSPriority(4);
+        message.setJMSTimestamp(System.currentTimeMillis());
+        message.setJMSMessageID("ID:" + java.util.UUID.randomUUID());
+        message.setStringProperty("tenant", "acme");
+        message.setIntProperty("attempt", 1);
+        message.generateInternalID();
+        this.body = message.toByteArray();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (this.connection != null) {
+            this.connection.close();
+        }
+    }
+
+    @Test
+    void messageListenerPathStaysWithinBudget() throws Exception {
+        MessageListener listener = m -> {
+            this.listenerThreadId = Thread.currentThread().getId();
+            this.lastText = text(m);
+        };
+        MessageListenerConsumer listenerConsumer = new MessageListenerConsumer(this.consumer, this.session.getChannel(),
+            listener, TimeUnit.SECONDS.toMillis(1), true, ReceivingContextConsumer.NO_OP, false);
+
+        Envelope[] envelopes = envelopes();
+        deliver(listenerConsumer, envelopes);
+        this.session.recover();
+
+        long[] threadIds = {Thread.currentThread().getId(), this.listenerThreadId};
+        long before = allocated(threadIds);
+        deliver(listenerConsumer, envelopes);
+        long perMessage = (allocated(threadIds) - before) / MESSAGES;
+
+        assertThat(this.lastText).isEqualTo("hello, world");
+        assertThat(perMessage).isLessThanOrEqualTo(BUDGET);
+    }
+
+    @Test
+    void deliveryToListenerThreadDoesNotAllocate() throws Exception {
+        RMQMessage message = RMQMessage.convertMessage(this.session, this.consumer.getDestination(),
+            new GetResponse(envelope(), this.properties, this.body, 0), ReceivingContextConsumer.NO_OP);
+        MessageListener listener = m -> this.listenerThreadId = Thread.currentThread().getId();
+        for (int i = 0; i < MESSAGES; i++) {
+            this.session.deliverMessage(message, listener, "allocation");
+        }
+
+        long[] threadIds = {Thread.currentThread().getId(), this.listenerThreadId};
+        long before = allocated(threadIds);
+        for (int i = 0; i < MESSAGES; i++) {
+            this.session.deliverMessage(message, listener, "allocation");
+        }
+        long perMessage = (allocated(threadIds) - before) / MESSAGES;
+
+        assertThat(perMessage).isLessThanOrEqualTo(HANDOFF_BUDGET);
+    }
+
+    @Test
+    void receivePathStaysWithinBudget() throws Exception {
+        GetResponse[] responses = new GetResponse[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++) {
+            responses[i] = new GetResponse(envelope(), this.properties, this.body, 0);
+        }
+        consume(responses);
+        this.session.recover();
+        for (int i = 0; i < MESSAGES; i++) {
+            responses[i] = new GetResponse(envelope(), this.properties, this.body, 0);
+        }
+
+        long[] threadIds = {Thread.currentThread().getId()};
+        long before = allocated(threadIds);
+        consume(responses);
+        long perMessage = (allocated(threadIds) - before) / MESSAGES;
+
+        assertThat(this.lastText).isEqualTo("hello, world");
+        assertThat(perMessage).isLessThanOrEqualTo(BUDGET);
+    }
+
+    private void deliver(MessageListenerConsumer listenerConsumer, Envelope[] envelopes) throws Exception {
+        for (int i = 0; i < MESSAGES; i++) {
+            listenerConsumer.handleDelivery("consumer", envelopes[i], this.properties, this.body);
+        }
+    }
+
+    private void consume(GetResponse[] responses) throws Exception {
+        for (GetResponse response : responses) {
+            this.lastText = text(this.consumer.consume(response));
+        }
+    }
+
+    private Envelope[] envelopes() {
+        Envelope[] envelopes = new Envelope[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++) {
+            envelopes[i] = envelope();
+        }
+        return envelopes;
+    }
+
+    private Envelope envelope() {
+        return new Envelope(++this.tag, false, "", "allocation");
+    }
+
+    private long allocated(long[] threadIds) {
+        long allocated = 0;
+        for (long bytes : this.threads.getThreadAllocatedBytes(threadIds)) {
+            allocated += bytes;
+        }
+        return allocated;
+    }
+
+    private static String text(Message message) {
+        try {
+            return ((TextMessage) message).getText();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.rabbitmq.jms.client.message.RMQTextMessage;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class DefaultMessageIdGeneratorTest {
+
+    @Test
+    void idsAreRandomPrefixFollowedByCounter() {
+        DefaultMessageIdGenerator generator = new DefaultMessageIdGenerator();
+        String first = generator.generate();
+        assertThat(first).matches("[0-9a-f]{32}-0");
+        String prefix = first.substring(0, 33);
+        for (int i = 1; i < 300; i++) {
+            assertEquals(prefix + Integer.toHexString(i), generator.generate());
+        }
+        assertNotEquals(prefix, new DefaultMessageIdGenerator().generate().substring(0, 33));
+    }
+
+    @Test
+    void messageIdsHaveTheJmsPrefix() {
+        DefaultMessageIdGenerator generator = new DefaultMessageIdGenerator();
+        String messageId = generator.generateMessageId();
+        assertThat(messageId).matches("ID:[0-9a-f]{32}-0");
+        assertEquals(messageId.substring(3, 36) + "1", generator.generate());
+    }
+
+    @Test
+    void internalIdIsDerivedFromTheMessageId() throws Exception {
+        RMQTextMessage message = new RMQTextMessage();
+        message.setText("hello");
+        ((RMQMessage) message).generateInternalID(new DefaultMessageIdGenerator());
+
+        RMQMessage received = RMQMessage.fromMessage(((RMQMessage) message).toByteArray(), null);
+        assertThat(received.getInternalID()).matches("[0-9a-f]{32}-0");
+        assertEquals(message.getJMSMessageID(), "ID:" + received.getInternalID());
+        assertEquals(received.getInternalID(), ((RMQMessage) message).getInternalID());
+        assertEquals(message, received);
+    }
+
+    @Test
+    void idsAreUniqueAcrossThreads() throws Exception {
+        DefaultMessageIdGenerator generator = new DefaultMessageIdGenerator();
+        int threads = 8;
+        int idsPerThread = 10_000;
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        CountDownLatch latch = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.submit(() -> {
+                    for (int j = 0; j < idsPerThread; j++) {
+                        ids.add(generator.generate());
+                    }
+                    latch.countDown();
+                });
+            }
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(threads * idsPerThread, ids.size());
+    }
+
+    @Test
+    void randomUuidGeneratorGeneratesUuids() {
+        assertThat(MessageIdGenerator.randomUuid().generate())
+            .matches("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+    }
+}
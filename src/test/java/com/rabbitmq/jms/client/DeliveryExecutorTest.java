@@ -0,0 +1,72 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.rabbitmq.jms.client.message.RMQTextMessage;
+import com.rabbitmq.jms.util.RMQJMSException;
+import jakarta.jms.MessageListener;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class DeliveryExecutorTest {
+
+    @Test
+    void deliveryTimedOutBeforeItStartsIsNotDelivered() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        // no time for the delivery thread to pick up the message
+        DeliveryExecutor executor = new DeliveryExecutor(0, false);
+        try {
+            assertThatThrownBy(() -> executor.deliverMessageWithProtection(new RMQTextMessage(), m -> calls.incrementAndGet(), "queue"))
+                .isInstanceOf(DeliveryExecutor.DeliveryProcessingTimeoutException.class);
+            assertThatThrownBy(() -> executor.deliverMessageWithProtection(new RMQTextMessage(), m -> calls.incrementAndGet(), "queue"))
+                .isInstanceOf(DeliveryExecutor.DeliveryProcessingTimeoutException.class);
+            Thread.sleep(200);
+            assertThat(calls).hasValue(0);
+        } finally {
+            executor.close();
+        }
+    }
+
+    @Test
+    void deliveryTimedOutBeforeItStartsIsNotDeliveredWhenClosingOnTimeout() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        DeliveryExecutor executor = new DeliveryExecutor(0, true);
+        assertThatThrownBy(() -> executor.deliverMessageWithProtection(new RMQTextMessage(), m -> calls.incrementAndGet(), "queue"))
+            .isInstanceOf(RMQJMSException.class);
+        Thread.sleep(200);
+        assertThat(calls).hasValue(0);
+    }
+
+    @Test
+    void messagesAreDeliveredAfterATimeout() throws Exception {
+        DeliveryExecutor executor = new DeliveryExecutor(200, false);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        MessageListener slow = m -> {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        try {
+            assertThatThrownBy(() -> executor.deliverMessageWithProtection(new RMQTextMessage(), slow, "queue"))
+                .isInstanceOf(DeliveryExecutor.DeliveryProcessingTimeoutException.class);
+            // the abandoned delivery is interrupted, the next one is delivered
+            executor.deliverMessageWithProtection(new RMQTextMessage(), m -> calls.incrementAndGet(), "queue");
+            assertThat(calls).hasValue(2);
+        } finally {
+            release.countDown();
+            executor.close();
+        }
+    }
+}
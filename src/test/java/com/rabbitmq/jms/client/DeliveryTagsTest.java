@@ -0,0 +1,77 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class DeliveryTagsTest {
+
+    @Test
+    void tagsAreAcknowledgedFromTheStart() {
+        DeliveryTags tags = new DeliveryTags();
+        for (long tag = 1; tag <= 100; tag++) {
+            tags.add(tag);
+        }
+        assertThat(tags.size()).isEqualTo(100);
+        assertThat(tags.last()).isEqualTo(100);
+
+        assertThat(tags.removeUpTo(40)).isEqualTo(40);
+        assertThat(tags.size()).isEqualTo(60);
+        assertThat(tags.get(0)).isEqualTo(41);
+        assertThat(tags.contains(40)).isFalse();
+        assertThat(tags.contains(41)).isTrue();
+
+        assertThat(tags.removeUpTo(1000)).isEqualTo(60);
+        assertThat(tags.isEmpty()).isTrue();
+        assertThat(tags.last()).isEqualTo(-1);
+    }
+
+    @Test
+    void tagsStaySorted() {
+        DeliveryTags tags = new DeliveryTags();
+        tags.add(5);
+        tags.add(10);
+        tags.add(7);
+        tags.add(7);
+        tags.add(1);
+
+        assertThat(tags.size()).isEqualTo(4);
+        assertThat(new long[] {tags.get(0), tags.get(1), tags.get(2), tags.get(3)}).containsExactly(1, 5, 7, 10);
+        assertThat(tags.floor(8)).isEqualTo(7);
+        assertThat(tags.floor(7)).isEqualTo(7);
+        assertThat(tags.floor(0)).isEqualTo(-1);
+    }
+
+    @Test
+    void tagsAreRemovedAnywhere() {
+        DeliveryTags tags = new DeliveryTags();
+        for (long tag = 1; tag <= 5; tag++) {
+            tags.add(tag);
+        }
+        assertThat(tags.remove(3)).isTrue();
+        assertThat(tags.remove(3)).isFalse();
+        assertThat(tags.remove(1)).isTrue();
+        assertThat(new long[] {tags.get(0), tags.get(1), tags.get(2)}).containsExactly(2, 4, 5);
+
+        tags.clear();
+        assertThat(tags.isEmpty()).isTrue();
+    }
+
+    @Test
+    void arrayIsReusedWhenTagsAreAcknowledged() {
+        DeliveryTags tags = new DeliveryTags();
+        for (long tag = 1; tag <= 10_000; tag++) {
+            tags.add(tag);
+            if (tag % 10 == 0) {
+                tags.removeUpTo(tag - 5);
+            }
+        }
+        assertThat(tags.size()).isEqualTo(5);
+        assertThat(tags.get(0)).isEqualTo(9_996);
+    }
+}
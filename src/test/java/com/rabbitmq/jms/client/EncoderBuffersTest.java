@@ -0,0 +1,84 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.rabbitmq.jms.client.message.RMQTextMessage;
+import com.rabbitmq.jms.util.RMQByteArrayOutputStream;
+import org.junit.jupiter.api.Test;
+
+public class EncoderBuffersTest {
+
+    @Test
+    void bufferIsReusedByTheSameThread() {
+        RMQByteArrayOutputStream buffer = EncoderBuffers.acquire(16);
+        buffer.write(1);
+        EncoderBuffers.release(buffer);
+
+        RMQByteArrayOutputStream reused = EncoderBuffers.acquire(1024);
+        assertSame(buffer, reused);
+        assertEquals(0, reused.size());
+        assertThat(reused.capacity()).isGreaterThanOrEqualTo(1024);
+        EncoderBuffers.release(reused);
+    }
+
+    @Test
+    void nestedAcquireGetsAnotherBuffer() {
+        RMQByteArrayOutputStream outer = EncoderBuffers.acquire(16);
+        RMQByteArrayOutputStream inner = EncoderBuffers.acquire(16);
+        assertNotSame(outer, inner);
+        EncoderBuffers.release(inner);
+        EncoderBuffers.release(outer);
+    }
+
+    @Test
+    void largeBufferIsNotRetained() {
+        RMQByteArrayOutputStream buffer = EncoderBuffers.acquire(EncoderBuffers.MAX_RETAINED_CAPACITY + 1);
+        EncoderBuffers.release(buffer);
+        RMQByteArrayOutputStream next = EncoderBuffers.acquire(16);
+        assertNotSame(buffer, next);
+        assertThat(next.capacity()).isLessThanOrEqualTo(EncoderBuffers.MAX_RETAINED_CAPACITY);
+        EncoderBuffers.release(next);
+    }
+
+    @Test
+    void sizeEstimateFollowsMessageSizes() {
+        EncoderBuffers.SizeEstimate estimate = new EncoderBuffers.SizeEstimate(512);
+        assertThat(estimate.estimate()).isGreaterThanOrEqualTo(512);
+        for (int i = 0; i < 100; i++) {
+            estimate.record(64 * 1024);
+        }
+        assertThat(estimate.estimate()).isGreaterThanOrEqualTo(64 * 1024);
+        for (int i = 0; i < 100; i++) {
+            estimate.record(10);
+        }
+        // never below the minimum
+        assertEquals(512, estimate.estimate());
+    }
+
+    @Test
+    void messagesEncodedWithReusedBufferAreIndependent() throws Exception {
+        RMQMessage large = textMessage(new String(new char[10_000]).replace('\0', 'a'));
+        RMQMessage small = textMessage("hello");
+        byte[] smallEncoded = small.toByteArray();
+
+        large.toByteArray(16 * 1024);
+        assertArrayEquals(smallEncoded, small.toByteArray(16 * 1024));
+        assertEquals("hello", ((RMQTextMessage) RMQMessage.fromMessage(smallEncoded, null)).getText());
+    }
+
+    private static RMQMessage textMessage(String text) throws Exception {
+        RMQTextMessage message = new RMQTextMessage();
+        message.setText(text);
+        ((RMQMessage) message).generateInternalID();
+        return message;
+    }
+}
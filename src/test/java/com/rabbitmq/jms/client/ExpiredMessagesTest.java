@@ -0,0 +1,146 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import static com.rabbitmq.TestUtils.waitUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.rabbitmq.jms.admin.RMQConnectionFactory;
+import com.rabbitmq.jms.broker.InMemoryBroker;
+import com.rabbitmq.jms.client.metrics.SimpleJmsMetricsCollector;
+import jakarta.jms.Connection;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Expired messages are discarded by consumers, the in-memory broker does not
+ * expire messages itself.
+ */
+public class ExpiredMessagesTest {
+
+    InMemoryBroker broker;
+    SimpleJmsMetricsCollector metrics;
+    RMQConnectionFactory connectionFactory;
+    Connection connection;
+    Session session;
+    Queue queue;
+
+    @BeforeEach
+    void init() {
+        this.broker = new InMemoryBroker();
+        this.metrics = new SimpleJmsMetricsCollector();
+        this.connectionFactory = this.broker.connectionFactory();
+        this.connectionFactory.setJmsMetricsCollector(this.metrics);
+        this.connectionFactory.setDiscardExpiredMessages(true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (this.connection != null) {
+            this.connection.close();
+        }
+    }
+
+    @Test
+    void receiveSkipsExpiredMessages() throws Exception {
+        start();
+        sendExpiredThenFresh();
+
+        MessageConsumer consumer = this.session.createConsumer(this.queue);
+        Message message = consumer.receive(1000);
+
+        assertThat(((TextMessage) message).getText()).isEqualTo("fresh");
+        assertThat(consumer.receive(100)).isNull();
+        assertThat(this.metrics.getExpiredMessages()).isEqualTo(1);
+        assertThat(this.metrics.getAcknowledgedMessages()).isEqualTo(2);
+        assertThat(((RMQMessageConsumer) consumer).getExpiredMessageCount()).isEqualTo(1);
+    }
+
+    @Test
+    void messageListenerDoesNotGetExpiredMessages() throws Exception {
+        start();
+        sendExpiredThenFresh();
+
+        List<String> texts = new CopyOnWriteArrayList<>();
+        this.session.createConsumer(this.queue).setMessageListener(m -> {
+            try {
+                texts.add(((TextMessage) m).getText());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(waitUntil(() -> texts.size() == 1)).isTrue();
+        assertThat(texts).containsExactly("fresh");
+        assertThat(this.metrics.getExpiredMessages()).isEqualTo(1);
+        assertThat(this.metrics.getConsumedMessages()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredMessagesCanBeDeadLettered() throws Exception {
+        this.connectionFactory.setDeadLetterExpiredMessages(true);
+        start();
+        sendExpiredThenFresh();
+
+        MessageConsumer consumer = this.session.createConsumer(this.queue);
+        assertThat(((TextMessage) consumer.receive(1000)).getText()).isEqualTo("fresh");
+
+        assertThat(this.metrics.getExpiredMessages()).isEqualTo(1);
+        assertThat(this.metrics.getNegativelyAcknowledgedMessages()).isEqualTo(1);
+        assertThat(consumer.receive(100)).isNull();
+    }
+
+    @Test
+    void expiredMessagesAreDiscardedInTheTransaction() throws Exception {
+        this.connectionFactory.setNackOnRollback(true);
+        start();
+        sendExpiredThenFresh();
+
+        Session transacted = this.connection.createSession(true, Session.SESSION_TRANSACTED);
+        MessageConsumer consumer = transacted.createConsumer(this.queue);
+        assertThat(((TextMessage) consumer.receive(1000)).getText()).isEqualTo("fresh");
+        assertThat(this.metrics.getExpiredMessages()).isEqualTo(1);
+        // the expired message is rejected with the received one on rollback
+        assertThat(((RMQSession) transacted).getUncommittedMessageCount()).isEqualTo(2);
+        transacted.rollback();
+        assertThat(consumer.receive(100)).isNull();
+    }
+
+    @Test
+    void expiredMessagesAreDeliveredByDefault() throws Exception {
+        this.connectionFactory.setDiscardExpiredMessages(false);
+        start();
+        sendExpiredThenFresh();
+
+        MessageConsumer consumer = this.session.createConsumer(this.queue);
+        assertThat(((TextMessage) consumer.receive(1000)).getText()).isEqualTo("expired");
+        assertThat(this.metrics.getExpiredMessages()).isZero();
+    }
+
+    private void start() throws Exception {
+        this.connection = this.connectionFactory.createConnection();
+        this.connection.start();
+        this.session = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        this.queue = this.session.createQueue("expiration");
+    }
+
+    private void sendExpiredThenFresh() throws Exception {
+        MessageProducer producer = this.session.createProducer(this.queue);
+        producer.send(this.session.createTextMessage("expired"), DeliveryMode.PERSISTENT, 4, 1);
+        producer.send(this.session.createTextMessage("fresh"), DeliveryMode.PERSISTENT, 4, 60_000);
+        Thread.sleep(20);
+    }
+}
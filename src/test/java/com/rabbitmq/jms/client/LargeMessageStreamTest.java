@@ -0,0 +1,290 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import com.rabbitmq.jms.admin.RMQDestination;
+import com.rabbitmq.jms.client.message.RMQBytesMessage;
+import jakarta.jms.BytesMessage;
+import jakarta.jms.IllegalStateException;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LargeMessageStreamTest {
+
+    static final String CHUNK_QUEUE = "amq.gen-chunks";
+
+    RMQDestination destination = new RMQDestination("queue", true, false);
+    List<Channel> channels;
+    Deque<GetResponse> chunkQueue;
+    List<GetResponse> sentMessages;
+    RMQConnection connection;
+
+    @BeforeEach
+    void init() throws Exception {
+        channels = new ArrayList<>();
+        chunkQueue = new ArrayDeque<>();
+        sentMessages = new ArrayList<>();
+        Connection amqpConnection = mock(Connection.class);
+        when(amqpConnection.createChannel()).thenAnswer(invocation -> channel());
+        connection = new RMQConnection(new ConnectionParams().setRabbitConnection(amqpConnection).setOnMessageTimeoutMs(2000));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Test
+    void payloadIsSentInChunksAndReadBack() throws Exception {
+        byte[] payload = payload(2500);
+        Session session = connection.createSession(false, Session.CLIENT_ACKNOWLEDGE);
+        BytesMessage message = session.createBytesMessage();
+        message.setStringProperty("file", "data.bin");
+        ((RMQMessageProducer) session.createProducer(destination)).sendStream(message, new ByteArrayInputStream(payload), 1000);
+
+        assertThat(chunkQueue).hasSize(3);
+        assertThat(((RMQBytesMessage) message).isStreamed()).isFalse();
+        RMQBytesMessage received = receive((RMQSession) session);
+        assertThat(received.isStreamed()).isTrue();
+        assertEquals("data.bin", received.getStringProperty("file"));
+        assertEquals(payload.length, received.getBodyLength());
+
+        InputStream in = received.getBodyAsInputStream();
+        assertThat(received.getBodyAsInputStream()).isSameAs(in);
+        assertArrayEquals(payload, readAll(in));
+        assertThat(chunkQueue).isEmpty();
+        assertThat(channels).anySatisfy(channel -> verify(channel).queueDelete(CHUNK_QUEUE));
+        for (Channel channel : channels) {
+            verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        }
+    }
+
+    @Test
+    void readingStreamDoesNotAcknowledgeEarlierMessagesInClientAcknowledgeSessions() throws Exception {
+        RMQSession session = (RMQSession) connection.createSession(false, Session.CLIENT_ACKNOWLEDGE);
+        ((RMQMessageProducer) session.createProducer(destination))
+            .sendStream(session.createBytesMessage(), new ByteArrayInputStream(payload(2500)), 1000);
+        // an earlier message the application has not acknowledged yet
+        session.unackedMessageReceived(1);
+        session.unackedMessageReceived(2);
+
+        RMQBytesMessage received = receive(session, 2);
+        readAll(received.getBodyAsInputStream());
+
+        assertThat(channels).anySatisfy(channel -> verify(channel).queueDelete(CHUNK_QUEUE));
+        for (Channel channel : channels) {
+            verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        }
+        assertThat(session.getUnackedMessageCount()).isEqualTo(2);
+    }
+
+    @Test
+    void emptyPayloadHasNoChunks() throws Exception {
+        Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        ((RMQMessageProducer) session.createProducer(destination))
+            .sendStream(session.createBytesMessage(), new ByteArrayInputStream(new byte[0]));
+
+        RMQBytesMessage received = receive((RMQSession) session);
+        assertThat(received.isStreamed()).isTrue();
+        assertEquals(0, received.getBodyLength());
+        assertEquals(-1, received.getBodyAsInputStream().read());
+    }
+
+    @Test
+    void chunkQueueIsDeletedIfStreamIsClosedBeforeItsEnd() throws Exception {
+        Session session = connection.createSession(false, Session.CLIENT_ACKNOWLEDGE);
+        ((RMQMessageProducer) session.createProducer(destination))
+            .sendStream(session.createBytesMessage(), new ByteArrayInputStream(payload(2500)), 1000);
+
+        RMQBytesMessage received = receive((RMQSession) session);
+        InputStream in = received.getBodyAsInputStream();
+        assertThat(in.read(new byte[10])).isEqualTo(10);
+        in.close();
+        assertThrows(IOException.class, in::read);
+        assertThat(channels).anySatisfy(channel -> verify(channel).queueDelete(CHUNK_QUEUE));
+        for (Channel channel : channels) {
+            verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+        }
+    }
+
+    @Test
+    void autoAcknowledgedMessageIsAcknowledgedAtTheEndOfItsStream() throws Exception {
+        RMQSession session = (RMQSession) connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        ((RMQMessageProducer) session.createProducer(destination))
+            .sendStream(session.createBytesMessage(), new ByteArrayInputStream(payload(2500)), 1000);
+
+        RMQBytesMessage received = receive(session);
+        assertThat(LargeMessageStream.isAcknowledgedAtEnd(received)).isTrue();
+        InputStream in = received.getBodyAsInputStream();
+        in.read(new byte[2000]);
+        for (Channel channel : channels) {
+            verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        }
+        readAll(in);
+        assertThat(channels).anySatisfy(channel -> verify(channel).basicAck(1L, false));
+    }
+
+    @Test
+    void autoAcknowledgedMessageIsSettledWhenListenerDoesNotReadItsStream() throws Exception {
+        RMQSession session = (RMQSession) connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        ((RMQMessageProducer) session.createProducer(destination))
+            .sendStream(session.createBytesMessage(), new ByteArrayInputStream(payload(2500)), 1000);
+        RMQMessageConsumer consumer = (RMQMessageConsumer) session.createConsumer(destination);
+        connection.start();
+        List<Message> delivered = new ArrayList<>();
+        // filters messages on a property, without opening the stream
+        MessageListenerConsumer listenerConsumer = new MessageListenerConsumer(consumer, session.getChannel(),
+            delivered::add, 1000, true, ReceivingContextConsumer.NO_OP, false);
+
+        GetResponse sent = sentMessages.get(0);
+        listenerConsumer.handleDelivery("consumer", new Envelope(1, false, "", "queue"), sent.getProps(), sent.getBody());
+
+        assertThat(delivered).hasSize(1);
+        assertThat(channels).anySatisfy(channel -> verify(channel).queueDelete(CHUNK_QUEUE));
+        assertThat(channels).anySatisfy(channel -> verify(channel).basicNack(1L, false, false));
+        for (Channel channel : channels) {
+            verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        }
+    }
+
+    @Test
+    void autoAcknowledgedMessageIsRejectedIfItsStreamCannotBeRead() throws Exception {
+        RMQSession session = (RMQSession) connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        ((RMQMessageProducer) session.createProducer(destination))
+            .sendStream(session.createBytesMessage(), new ByteArrayInputStream(payload(2500)), 1000);
+        // the chunk queue has expired
+        chunkQueue.clear();
+
+        InputStream in = receive(session).getBodyAsInputStream();
+        assertThrows(IOException.class, in::read);
+        assertThrows(IOException.class, in::read);
+        assertThat(channels).anySatisfy(channel -> verify(channel).queueDelete(CHUNK_QUEUE));
+        assertThat(channels).anySatisfy(channel -> verify(channel).basicNack(1L, false, false));
+    }
+
+    @Test
+    void chunkQueueAlwaysExpires() throws Exception {
+        Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        RMQMessageProducer producer = (RMQMessageProducer) session.createProducer(destination);
+        producer.sendStream(session.createBytesMessage(), new ByteArrayInputStream(payload(10)));
+        assertThat(channels).anySatisfy(channel -> verify(channel).queueDeclare(eq(""), anyBoolean(), eq(false), eq(false),
+            eq(Collections.singletonMap("x-expires", LargeMessageStream.DEFAULT_EXPIRY_MS))));
+
+        producer.setTimeToLive(10_000);
+        producer.sendStream(session.createBytesMessage(), new ByteArrayInputStream(payload(10)));
+        assertThat(channels).anySatisfy(channel -> verify(channel).queueDeclare(eq(""), anyBoolean(), eq(false), eq(false),
+            eq(Collections.singletonMap("x-expires", 70_000L))));
+    }
+
+    @Test
+    void chunkQueueIsDeletedIfPayloadCannotBeRead() throws Exception {
+        Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        InputStream failing = new InputStream() {
+            int count = 0;
+
+            @Override
+            public int read() throws IOException {
+                if (count++ > 1500) {
+                    throw new IOException("disk error");
+                }
+                return 1;
+            }
+        };
+        RMQMessageProducer producer = (RMQMessageProducer) session.createProducer(destination);
+        assertThrows(JMSException.class, () -> producer.sendStream(session.createBytesMessage(), failing, 1000));
+        assertThat(channels).anySatisfy(channel -> verify(channel).queueDelete(CHUNK_QUEUE));
+        assertThat(sentMessages).isEmpty();
+    }
+
+    @Test
+    void streamsCannotBeSentInTransactedSessions() throws Exception {
+        Session session = connection.createSession(true, Session.SESSION_TRANSACTED);
+        RMQMessageProducer producer = (RMQMessageProducer) session.createProducer(destination);
+        assertThrows(IllegalStateException.class,
+            () -> producer.sendStream(session.createBytesMessage(), new ByteArrayInputStream(payload(10))));
+    }
+
+    private RMQBytesMessage receive(RMQSession session) throws JMSException {
+        return receive(session, 1);
+    }
+
+    private RMQBytesMessage receive(RMQSession session, long deliveryTag) throws JMSException {
+        assertThat(sentMessages).hasSize(1);
+        GetResponse sent = sentMessages.get(0);
+        return (RMQBytesMessage) RMQMessage.convertMessage(session, destination,
+            new GetResponse(new Envelope(deliveryTag, false, "", "queue"), sent.getProps(), sent.getBody(), 0), ctx -> { });
+    }
+
+    private Channel channel() throws Exception {
+        Channel channel = mock(Channel.class);
+        when(channel.isOpen()).thenReturn(true);
+        AMQP.Queue.DeclareOk declareOk = mock(AMQP.Queue.DeclareOk.class);
+        when(declareOk.getQueue()).thenReturn(CHUNK_QUEUE);
+        when(channel.queueDeclare(eq(""), anyBoolean(), anyBoolean(), anyBoolean(), any())).thenReturn(declareOk);
+        when(channel.basicGet(CHUNK_QUEUE, false)).thenAnswer(invocation -> chunkQueue.poll());
+        doAnswer(invocation -> {
+            String routingKey = invocation.getArgument(1);
+            // the chunk buffer is reused, as after a real publish
+            byte[] body = ((byte[]) invocation.getArgument(3)).clone();
+            GetResponse response = new GetResponse(new Envelope(1, false, "", routingKey),
+                invocation.getArgument(2), body, 0);
+            (CHUNK_QUEUE.equals(routingKey) ? chunkQueue : sentMessages).add(response);
+            return null;
+        }).when(channel).basicPublish(anyString(), anyString(), any(), any());
+        channels.add(channel);
+        return channel;
+    }
+
+    private static byte[] payload(int size) {
+        byte[] payload = new byte[size];
+        new Random(42).nextBytes(payload);
+        return payload;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[300];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
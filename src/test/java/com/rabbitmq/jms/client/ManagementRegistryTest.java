@@ -0,0 +1,165 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import static com.rabbitmq.TestUtils.waitUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.rabbitmq.jms.admin.RMQConnectionFactory;
+import com.rabbitmq.jms.broker.InMemoryBroker;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ManagementRegistryTest {
+
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    InMemoryBroker broker;
+    RMQConnection connection;
+    String connectionKey;
+
+    @BeforeEach
+    void init() throws Exception {
+        this.broker = new InMemoryBroker();
+        RMQConnectionFactory connectionFactory = this.broker.connectionFactory();
+        connectionFactory.setJmxEnabled(true);
+        this.connection = (RMQConnection) connectionFactory.createConnection();
+        this.connectionKey = this.connection.getObjectName().getKeyProperty("connection");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        this.connection.close();
+    }
+
+    @Test
+    void mxBeansExposeStateAndAreUnregisteredOnClose() throws Exception {
+        ObjectName connectionName = this.connection.getObjectName();
+        assertThat(attribute(connectionName, "Started")).isEqualTo(false);
+        this.connection.start();
+        assertThat(attribute(connectionName, "Started")).isEqualTo(true);
+
+        Session session = this.connection.createSession(false, Session.CLIENT_ACKNOWLEDGE);
+        Queue queue = session.createQueue("management");
+        MessageProducer producer = session.createProducer(queue);
+        MessageConsumer consumer = session.createConsumer(queue);
+        assertThat(attribute(connectionName, "SessionCount")).isEqualTo(1);
+        assertThat((Integer) attribute(connectionName, "OpenChannelCount")).isPositive();
+
+        ObjectName sessionName = single("Session");
+        ObjectName producerName = single("Producer");
+        ObjectName consumerName = single("Consumer");
+        assertThat(producerName.getKeyProperty("session")).isEqualTo(sessionName.getKeyProperty("session"));
+        assertThat(attribute(sessionName, "AcknowledgeMode")).isEqualTo(Session.CLIENT_ACKNOWLEDGE);
+        assertThat(attribute(sessionName, "ProducerCount")).isEqualTo(1);
+        assertThat(attribute(sessionName, "ConsumerCount")).isEqualTo(1);
+        assertThat(attribute(producerName, "Destination")).isEqualTo("management");
+
+        producer.send(session.createTextMessage("hello"));
+        producer.send(session.createTextMessage("hello"));
+        assertThat(attribute(producerName, "SentMessageCount")).isEqualTo(2L);
+
+        consumer.receive(1000);
+        Message message = consumer.receive(1000);
+        assertThat(attribute(consumerName, "ReceivedMessageCount")).isEqualTo(2L);
+        assertThat(attribute(sessionName, "UnackedMessageCount")).isEqualTo(2);
+        message.acknowledge();
+        assertThat(attribute(sessionName, "UnackedMessageCount")).isEqualTo(0);
+
+        this.connection.stop();
+        assertThat(attribute(consumerName, "Paused")).isEqualTo(true);
+        this.connection.start();
+        assertThat(attribute(consumerName, "Paused")).isEqualTo(false);
+
+        producer.close();
+        assertThat(this.server.isRegistered(producerName)).isFalse();
+        consumer.close();
+        assertThat(this.server.isRegistered(consumerName)).isFalse();
+        session.close();
+        assertThat(this.server.isRegistered(sessionName)).isFalse();
+        this.connection.close();
+        assertThat(this.server.isRegistered(connectionName)).isFalse();
+    }
+
+    @Test
+    void sessionMxBeanExposesMessageListenerDelivery() throws Exception {
+        this.connection.start();
+        Session session = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        Queue queue = session.createQueue("management");
+        CountDownLatch inOnMessage = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        MessageConsumer consumer = session.createConsumer(queue);
+        consumer.setMessageListener(message -> {
+            inOnMessage.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        ObjectName sessionName = single("Session");
+        ObjectName consumerName = single("Consumer");
+        assertThat(attribute(consumerName, "MessageListenerSet")).isEqualTo(true);
+
+        Session producerSession = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        producerSession.createProducer(queue).send(producerSession.createTextMessage("hello"));
+        assertThat(inOnMessage.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(attribute(sessionName, "Delivering")).isEqualTo(true);
+        assertThat(attribute(sessionName, "DeliveryExecutorActive")).isEqualTo(true);
+        release.countDown();
+        assertThat(waitUntil(() -> Boolean.FALSE.equals(attribute(sessionName, "Delivering")))).isTrue();
+        assertThat(attribute(sessionName, "DeliveredMessageCount")).isEqualTo(1L);
+    }
+
+    @Test
+    void closingTheConnectionUnregistersAllMxBeans() throws Exception {
+        Session session = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        Queue queue = session.createQueue("management");
+        session.createProducer(queue);
+        session.createConsumer(queue);
+        assertThat(names("*")).hasSize(4);
+
+        this.connection.close();
+        assertThat(names("*")).isEmpty();
+    }
+
+    @Test
+    void noMxBeansByDefault() throws Exception {
+        RMQConnection connection = (RMQConnection) this.broker.connectionFactory().createConnection();
+        try {
+            connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            assertThat(connection.getObjectName()).isNull();
+        } finally {
+            connection.close();
+        }
+    }
+
+    private Object attribute(ObjectName name, String attribute) throws Exception {
+        return this.server.getAttribute(name, attribute);
+    }
+
+    private Set<ObjectName> names(String type) throws Exception {
+        return this.server.queryNames(new ObjectName(ManagementRegistry.DOMAIN + ":type=" + type
+            + ",connection=" + this.connectionKey + ",*"), null);
+    }
+
+    private ObjectName single(String type) throws Exception {
+        Set<ObjectName> names = names(type);
+        assertThat(names).hasSize(1);
+        return names.iterator().next();
+    }
+}
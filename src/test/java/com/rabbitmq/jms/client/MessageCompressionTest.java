@@ -0,0 +1,183 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import com.rabbitmq.jms.admin.RMQDestination;
+import jakarta.jms.JMSException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class MessageCompressionTest {
+
+    RMQDestination destination = new RMQDestination("queue", true, false);
+
+    @Test
+    void bodiesAboveThresholdAreCompressed() throws Exception {
+        MessageCompression compression = new MessageCompression(
+            CompressionPolicy.threshold(CompressionCodec.deflate(), 1024), null);
+        byte[] body = json(100);
+        Map<String, Object> headers = new HashMap<>();
+        AMQP.BasicProperties.Builder properties = new AMQP.BasicProperties.Builder().headers(headers);
+
+        byte[] compressed = compression.compress(destination, body, properties, headers);
+
+        assertThat(compressed.length).isLessThan(body.length);
+        assertEquals("deflate", properties.build().getContentEncoding());
+        assertEquals("deflate", headers.get(RMQMessage.JMS_COMPRESSED_HEADER));
+        assertEquals(1, compression.getStatistics().getCompressedMessages());
+        assertEquals(body.length, compression.getStatistics().getBytesBeforeCompression());
+        assertEquals(compressed.length, compression.getStatistics().getBytesAfterCompression());
+        assertThat(compression.getStatistics().getCompressionRatio()).isLessThan(1.0);
+
+        GetResponse decompressed = compression.decompress(response(properties.build(), compressed));
+        assertArrayEquals(body, decompressed.getBody());
+        assertEquals(1, compression.getStatistics().getDecompressedMessages());
+    }
+
+    @Test
+    void bodiesBelowThresholdAreNotCompressed() throws Exception {
+        MessageCompression compression = new MessageCompression(
+            CompressionPolicy.threshold(CompressionCodec.deflate(), 1024), null);
+        byte[] body = json(1);
+        AMQP.BasicProperties.Builder properties = new AMQP.BasicProperties.Builder();
+
+        assertSame(body, compression.compress(destination, body, properties, new HashMap<>()));
+        assertNull(properties.build().getContentEncoding());
+        assertEquals(0, compression.getStatistics().getCompressedMessages());
+    }
+
+    @Test
+    void incompressibleBodiesAreSentAsIs() throws Exception {
+        MessageCompression compression = new MessageCompression(
+            CompressionPolicy.threshold(CompressionCodec.deflate(), 0), null);
+        byte[] body = new byte[4096];
+        new Random(42).nextBytes(body);
+        AMQP.BasicProperties.Builder properties = new AMQP.BasicProperties.Builder();
+
+        Map<String, Object> headers = new HashMap<>();
+        assertSame(body, compression.compress(destination, body, properties, headers));
+        assertNull(properties.build().getContentEncoding());
+        assertThat(headers).isEmpty();
+        assertEquals(1, compression.getStatistics().getIneffectiveCompressions());
+    }
+
+    @Test
+    void policyCanDependOnDestination() throws Exception {
+        RMQDestination other = new RMQDestination("other", true, false);
+        MessageCompression compression = new MessageCompression(
+            (dest, size) -> dest == other ? CompressionCodec.deflate(9) : null, null);
+        byte[] body = json(100);
+
+        assertSame(body, compression.compress(destination, body, new AMQP.BasicProperties.Builder(), new HashMap<>()));
+        assertThat(compression.compress(other, body, new AMQP.BasicProperties.Builder(), new HashMap<>()).length)
+            .isLessThan(body.length);
+    }
+
+    @Test
+    void bodiesWithUnknownContentEncodingAreNotDecompressed() throws Exception {
+        GetResponse response = response(compressed("br"), json(1));
+        assertSame(response, MessageCompression.DECOMPRESSION_ONLY.decompress(response));
+        response = response(new AMQP.BasicProperties.Builder().build(), json(1));
+        assertSame(response, MessageCompression.DECOMPRESSION_ONLY.decompress(response));
+    }
+
+    @Test
+    void configuredCodecIsUsedToDecompress() throws Exception {
+        CompressionCodec reverse = new CompressionCodec() {
+            @Override
+            public String contentEncoding() {
+                return "x-reverse";
+            }
+
+            @Override
+            public byte[] compress(byte[] data) {
+                byte[] result = new byte[data.length];
+                for (int i = 0; i < data.length; i++) {
+                    result[i] = data[data.length - 1 - i];
+                }
+                return result;
+            }
+
+            @Override
+            public byte[] decompress(byte[] data) {
+                return compress(data);
+            }
+        };
+        MessageCompression compression = new MessageCompression(null, reverse);
+        GetResponse response = response(compressed("x-reverse"), new byte[] {3, 2, 1});
+        assertArrayEquals(new byte[] {1, 2, 3}, compression.decompress(response).getBody());
+        assertSame(response, MessageCompression.DECOMPRESSION_ONLY.decompress(response));
+    }
+
+    @Test
+    void invalidCompressedBodyIsAnError() {
+        GetResponse response = response(compressed("deflate"), json(1));
+        assertThrows(JMSException.class, () -> MessageCompression.DECOMPRESSION_ONLY.decompress(response));
+    }
+
+    @Test
+    void bodiesNotCompressedByTheClientAreNotDecompressed() throws Exception {
+        byte[] compressed = CompressionCodec.deflate().compress(json(100));
+        GetResponse response = response(new AMQP.BasicProperties.Builder().contentEncoding("deflate").build(), compressed);
+        assertSame(response, MessageCompression.DECOMPRESSION_ONLY.decompress(response));
+    }
+
+    @Test
+    void decompressedBodiesAreLimitedInSize() throws Exception {
+        // 64 MiB of zeros compress to about 64 KiB
+        byte[] bomb = CompressionCodec.deflate().compress(new byte[64 * 1024 * 1024 + 1]);
+        assertThat(bomb.length).isLessThan(100 * 1024);
+        assertThrows(JMSException.class, () -> MessageCompression.DECOMPRESSION_ONLY.decompress(response(compressed("deflate"), bomb)));
+
+        byte[] body = json(100);
+        GetResponse response = response(compressed("deflate"), CompressionCodec.deflate().compress(body));
+        assertThat(new MessageCompression(null, null, body.length).decompress(response).getBody()).isEqualTo(body);
+        assertThrows(JMSException.class, () -> new MessageCompression(null, null, body.length - 1).decompress(response));
+        assertThrows(IllegalArgumentException.class, () -> new MessageCompression(null, null, 0));
+    }
+
+    @Test
+    void deflateCodecReusesItsState() throws Exception {
+        CompressionCodec codec = CompressionCodec.deflate();
+        for (int i = 1; i < 200; i *= 3) {
+            byte[] body = json(i);
+            assertArrayEquals(body, codec.decompress(codec.compress(body)));
+        }
+        assertArrayEquals(new byte[0], codec.decompress(codec.compress(new byte[0])));
+        assertThrows(IllegalArgumentException.class, () -> CompressionCodec.deflate(10));
+    }
+
+    private static AMQP.BasicProperties compressed(String contentEncoding) {
+        return new AMQP.BasicProperties.Builder().contentEncoding(contentEncoding)
+            .headers(Collections.singletonMap(RMQMessage.JMS_COMPRESSED_HEADER, contentEncoding)).build();
+    }
+
+    private static GetResponse response(AMQP.BasicProperties properties, byte[] body) {
+        return new GetResponse(new Envelope(1, false, "", "queue"), properties, body, 0);
+    }
+
+    private static byte[] json(int items) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < items; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"name\":\"item\",\"tags\":[\"a\",\"b\"]}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,109 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.rabbitmq.jms.admin.RMQDestination;
+import com.rabbitmq.jms.client.message.RMQBytesMessage;
+import com.rabbitmq.jms.client.message.RMQTextMessage;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class MessageInputTest {
+
+    static final List<String> TRUSTED_PACKAGES = Collections.singletonList("*");
+
+    @Test
+    void valuesSplitOverBlockDataRecordsAreRead() throws Exception {
+        char[] chars = new char[70_000];
+        Arrays.fill(chars, 'é');
+        chars[0] = 'a';
+        chars[1] = '€';
+        String text = new String(chars, 0, 5_000);
+        RMQTextMessage message = new RMQTextMessage();
+        message.setText(text);
+        message.setStringProperty("string", text);
+        message.setBooleanProperty("boolean", true);
+        message.setByteProperty("byte", (byte) -1);
+        message.setShortProperty("short", (short) -2);
+        message.setIntProperty("int", -3);
+        message.setLongProperty("long", Long.MIN_VALUE);
+        message.setFloatProperty("float", 1.5f);
+        message.setDoubleProperty("double", -2.5d);
+
+        RMQTextMessage read = (RMQTextMessage) read(message);
+
+        assertThat(read.getText()).isEqualTo(text);
+        assertThat(read.getStringProperty("string")).isEqualTo(text);
+        assertThat(read.getBooleanProperty("boolean")).isTrue();
+        assertThat(read.getByteProperty("byte")).isEqualTo((byte) -1);
+        assertThat(read.getShortProperty("short")).isEqualTo((short) -2);
+        assertThat(read.getIntProperty("int")).isEqualTo(-3);
+        assertThat(read.getLongProperty("long")).isEqualTo(Long.MIN_VALUE);
+        assertThat(read.getFloatProperty("float")).isEqualTo(1.5f);
+        assertThat(read.getDoubleProperty("double")).isEqualTo(-2.5d);
+    }
+
+    @Test
+    void bytesBodyAfterDestinationIsRead() throws Exception {
+        RMQBytesMessage message = new RMQBytesMessage();
+        message.setJMSDestination(new RMQDestination("bytes", true, false));
+        message.writeBytes(new byte[] {1, 2, 3});
+
+        for (int i = 0; i < 3; i++) {
+            RMQBytesMessage read = (RMQBytesMessage) read(message);
+            read.reset();
+            byte[] body = new byte[4];
+            assertThat(read.readBytes(body)).isEqualTo(3);
+            assertThat(body).containsExactly(1, 2, 3, 0);
+            assertThat(((RMQDestination) read.getJMSDestination()).getDestinationName()).isEqualTo("bytes");
+        }
+    }
+
+    @Test
+    void eachMessageGetsItsOwnDestination() throws Exception {
+        RMQMessage first = textMessage(new RMQDestination("queue-1", true, false), null);
+        RMQMessage second = textMessage(new RMQDestination("queue-2", true, false), null);
+
+        RMQDestination destination = (RMQDestination) read(first).getJMSDestination();
+        RMQDestination again = (RMQDestination) read(first).getJMSDestination();
+        RMQDestination other = (RMQDestination) read(second).getJMSDestination();
+
+        assertThat(again).isNotSameAs(destination).isEqualTo(destination);
+        assertThat(destination.getDestinationName()).isEqualTo("queue-1");
+        assertThat(other.getDestinationName()).isEqualTo("queue-2");
+        assertThat(((RMQDestination) read(first).getJMSDestination()).getDestinationName()).isEqualTo("queue-1");
+    }
+
+    @Test
+    void objectsAfterCachedDestinationAreRead() throws Exception {
+        RMQMessage message = textMessage(new RMQDestination("request", true, false),
+            new RMQDestination("reply", false, true));
+
+        for (int i = 0; i < 3; i++) {
+            RMQMessage read = read(message);
+            assertThat(((RMQDestination) read.getJMSDestination()).getDestinationName()).isEqualTo("request");
+            assertThat(((RMQDestination) read.getJMSReplyTo()).getDestinationName()).isEqualTo("reply");
+            assertThat(((RMQTextMessage) read).getText()).isEqualTo("hello");
+        }
+    }
+
+    private static RMQMessage textMessage(RMQDestination destination, RMQDestination replyTo) throws Exception {
+        RMQTextMessage message = new RMQTextMessage();
+        message.setText("hello");
+        message.setJMSDestination(destination);
+        message.setJMSReplyTo(replyTo);
+        return message;
+    }
+
+    private static RMQMessage read(RMQMessage message) throws Exception {
+        message.generateInternalID();
+        return RMQMessage.fromMessage(message.toByteArray(), TRUSTED_PACKAGES);
+    }
+}
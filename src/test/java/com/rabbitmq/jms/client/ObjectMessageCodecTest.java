@@ -0,0 +1,155 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import com.rabbitmq.jms.admin.RMQDestination;
+import com.rabbitmq.jms.client.message.RMQObjectMessage;
+import jakarta.jms.JMSException;
+import jakarta.jms.MessageFormatException;
+import jakarta.jms.ObjectMessage;
+import jakarta.jms.Session;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ObjectMessageCodecTest {
+
+    RMQDestination destination = new RMQDestination("queue", true, false);
+    List<GetResponse> sentMessages;
+    Connection amqpConnection;
+
+    @BeforeEach
+    void init() throws Exception {
+        sentMessages = new ArrayList<>();
+        amqpConnection = mock(Connection.class);
+        when(amqpConnection.createChannel()).thenAnswer(invocation -> channel());
+    }
+
+    @Test
+    void javaSerializationIsTheDefaultAndCarriesNoCodecName() throws Exception {
+        RMQSession session = session(null);
+        ObjectMessage message = session.createObjectMessage("hello");
+        session.createProducer(destination).send(message);
+
+        ObjectMessage received = receive(session);
+        assertEquals("hello", received.getObject());
+        assertNull(received.getObjectProperty("rmq.jms.object.codec"));
+    }
+
+    @Test
+    void customCodecIsUsedToEncodeAndDecode() throws Exception {
+        RMQSession session = session(new StringCodec());
+        ObjectMessage message = session.createObjectMessage("hello");
+        session.createProducer(destination).send(message);
+
+        ObjectMessage received = receive(session);
+        assertEquals("string", received.getObjectProperty("rmq.jms.object.codec"));
+        assertEquals("hello", received.getObject());
+    }
+
+    @Test
+    void decodedObjectIsCached() throws Exception {
+        RMQSession session = session(null);
+        ObjectMessage message = session.createObjectMessage(new ArrayList<>(Arrays.asList("a", "b")));
+        Serializable object = message.getObject();
+        assertSame(object, message.getObject());
+
+        message.setObject(new ArrayList<>(Arrays.asList("c")));
+        assertThat(message.getObject()).isNotSameAs(object).isEqualTo(Arrays.asList("c"));
+        message.clearBody();
+        assertNull(message.getObject());
+    }
+
+    @Test
+    void unknownCodecIsAnError() throws Exception {
+        RMQSession producerSession = session(new StringCodec());
+        producerSession.createProducer(destination).send(producerSession.createObjectMessage("hello"));
+
+        ObjectMessage received = receive(session(null));
+        assertThrows(MessageFormatException.class, received::getObject);
+    }
+
+    @Test
+    void objectsOfUntrustedClassesAreRejected() throws Exception {
+        // the codec does not check trusted packages, the library does
+        RMQSession session = session(new StringCodec() {
+            @Override
+            public Serializable decode(byte[] data, List<String> trustedPackages) {
+                return new StringBuilder(new String(data, StandardCharsets.UTF_8));
+            }
+        });
+        session.createProducer(destination).send(session.createObjectMessage("hello"));
+
+        ObjectMessage received = receive(session);
+        assertThat(received.getObject().toString()).isEqualTo("hello");
+        assertThrows(JMSException.class,
+            () -> ((RMQObjectMessage) received).getObject(Arrays.asList("com.example")));
+    }
+
+    private RMQSession session(ObjectMessageCodec codec) throws JMSException {
+        RMQConnection connection = new RMQConnection(new ConnectionParams()
+            .setRabbitConnection(amqpConnection).setObjectMessageCodec(codec));
+        return (RMQSession) connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+    }
+
+    private ObjectMessage receive(RMQSession session) throws JMSException {
+        GetResponse sent = sentMessages.remove(0);
+        return (ObjectMessage) RMQMessage.convertMessage(session, destination,
+            new GetResponse(new Envelope(1, false, "", "queue"), sent.getProps(), sent.getBody(), 0), ctx -> { });
+    }
+
+    private Channel channel() throws Exception {
+        Channel channel = mock(Channel.class);
+        when(channel.isOpen()).thenReturn(true);
+        doAnswer(invocation -> {
+            sentMessages.add(new GetResponse(new Envelope(1, false, "", invocation.getArgument(1)),
+                invocation.getArgument(2), ((byte[]) invocation.getArgument(3)).clone(), 0));
+            return null;
+        }).when(channel).basicPublish(anyString(), anyString(), any(), any());
+        return channel;
+    }
+
+    /**
+     * Encodes strings as UTF-8.
+     */
+    private static class StringCodec implements ObjectMessageCodec {
+
+        @Override
+        public String name() {
+            return "string";
+        }
+
+        @Override
+        public byte[] encode(Serializable object) {
+            return object.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Serializable decode(byte[] data, List<String> trustedPackages) throws IOException {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+    }
+}
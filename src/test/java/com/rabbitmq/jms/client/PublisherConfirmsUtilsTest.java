@@ -133,4 +133,54 @@ public class PublisherConfirmsUtilsTest {
                 .containsAll(IntStream.range(31, 50).filter(i -> i != 35).boxed().collect(Collectors.toList()));
     }
 
+    @Test
+    public void outOfOrderMultipleConfirmsSettleEachMessageOnce() throws Exception {
+        Channel channel = mock(Channel.class);
+        AtomicReference<com.rabbitmq.client.ConfirmListener> amqpConfirmListener = new AtomicReference<>();
+        doAnswer(invocation -> {
+            amqpConfirmListener.set(invocation.getArgument(0, com.rabbitmq.client.ConfirmListener.class));
+            return null;
+        }).when(channel).addConfirmListener(any(com.rabbitmq.client.ConfirmListener.class));
+
+        List<Integer> acked = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> nacked = Collections.synchronizedList(new ArrayList<>());
+        CompletionListener completionListener = new CompletionListener() {
+            @Override
+            public void onCompletion(Message message) {
+                acked.add(toInt(message));
+            }
+
+            @Override
+            public void onException(Message message, Exception exception) {
+                nacked.add(toInt(message));
+            }
+        };
+
+        PublishingListener publishingListener = PublisherConfirmsUtils.configurePublisherConfirmsSupport(
+                channel
+        );
+        for (int i = 1; i <= 12; i++) {
+            publishingListener.publish(message(String.valueOf(i)), completionListener, i);
+        }
+
+        com.rabbitmq.client.ConfirmListener confirmListener = amqpConfirmListener.get();
+        confirmListener.handleAck(4, true);
+        // multiple confirms for lower tags, handled late
+        confirmListener.handleAck(2, true);
+        confirmListener.handleNack(3, true);
+        assertThat(acked).containsExactly(1, 2, 3, 4);
+        assertThat(nacked).isEmpty();
+
+        confirmListener.handleAck(6, false);
+        confirmListener.handleNack(8, true);
+        confirmListener.handleAck(5, true);
+        confirmListener.handleAck(9, false);
+        confirmListener.handleAck(12, true);
+        confirmListener.handleAck(10, true);
+
+        assertThat(acked).containsExactly(1, 2, 3, 4, 6, 9, 10, 11, 12);
+        assertThat(nacked).containsExactly(5, 7, 8);
+        assertThat(publishingListener.outstandingConfirms()).isZero();
+    }
+
 }
@@ -0,0 +1,415 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ConfirmListener;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import com.rabbitmq.client.ShutdownListener;
+import com.rabbitmq.client.ShutdownSignalException;
+import com.rabbitmq.jms.admin.RMQDestination;
+import com.rabbitmq.jms.util.WhiteListObjectInputStream;
+import jakarta.jms.CompletionListener;
+import jakarta.jms.JMSException;
+import jakarta.jms.MapMessage;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import jakarta.jms.StreamMessage;
+import jakarta.jms.TextMessage;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RMQConnectionTest {
+
+    static final RMQDestination AMQP_DESTINATION = new RMQDestination("dest", "exchange", "routing-key", "queue");
+
+    @Test
+    void singleAmqpConnectionIsUsedByDefault() throws IOException {
+        Connection amqpConnection = amqpConnection();
+        RMQConnection connection = new RMQConnection(new ConnectionParams().setRabbitConnection(amqpConnection));
+        connection.createRabbitChannel(false);
+        connection.createRabbitChannel(false);
+        verify(amqpConnection, times(2)).createChannel();
+    }
+
+    @Test
+    void channelsAreSpreadRoundRobin() throws IOException {
+        List<Connection> amqpConnections = Arrays.asList(amqpConnection(), amqpConnection(), amqpConnection());
+        RMQConnection connection = new RMQConnection(new ConnectionParams()
+            .setRabbitConnections(amqpConnections)
+            .setStripingStrategy(StripingStrategy.ROUND_ROBIN));
+        for (int i = 0; i < 7; i++) {
+            connection.createRabbitChannel(false);
+        }
+        verify(amqpConnections.get(0), times(3)).createChannel();
+        verify(amqpConnections.get(1), times(2)).createChannel();
+        verify(amqpConnections.get(2), times(2)).createChannel();
+    }
+
+    @Test
+    void channelsGoToLeastLoadedAmqpConnection() throws IOException {
+        List<Channel> channels = new ArrayList<>();
+        List<Connection> amqpConnections = Arrays.asList(amqpConnection(channels), amqpConnection(channels));
+        RMQConnection connection = new RMQConnection(new ConnectionParams()
+            .setRabbitConnections(amqpConnections)
+            .setStripingStrategy(StripingStrategy.LEAST_LOADED));
+
+        Channel first = connection.createRabbitChannel(false);
+        connection.createRabbitChannel(false);
+        assertEquals(1, connection.getOpenChannelCount(0));
+        assertEquals(1, connection.getOpenChannelCount(1));
+
+        // closing the first channel frees a slot on the first connection
+        ArgumentCaptor<ShutdownListener> listener = ArgumentCaptor.forClass(ShutdownListener.class);
+        verify(first).addShutdownListener(listener.capture());
+        listener.getValue().shutdownCompleted(mock(ShutdownSignalException.class));
+        assertEquals(0, connection.getOpenChannelCount(0));
+
+        connection.createRabbitChannel(false);
+        verify(amqpConnections.get(0), times(2)).createChannel();
+        verify(amqpConnections.get(1), times(1)).createChannel();
+    }
+
+    @Test
+    void closeClosesAllAmqpConnections() throws Exception {
+        List<Connection> amqpConnections = Arrays.asList(amqpConnection(), amqpConnection());
+        RMQConnection connection = new RMQConnection(new ConnectionParams().setRabbitConnections(amqpConnections));
+        connection.close();
+        for (Connection amqpConnection : amqpConnections) {
+            verify(amqpConnection).close();
+        }
+    }
+
+    @Test
+    void exceptionListenerIsCalledWhenAnyAmqpConnectionFails() throws Exception {
+        List<Connection> amqpConnections = Arrays.asList(amqpConnection(), amqpConnection());
+        RMQConnection connection = new RMQConnection(new ConnectionParams().setRabbitConnections(amqpConnections));
+        AtomicReference<JMSException> exception = new AtomicReference<>();
+        connection.setExceptionListener(exception::set);
+
+        ArgumentCaptor<ShutdownListener> listener = ArgumentCaptor.forClass(ShutdownListener.class);
+        verify(amqpConnections.get(1)).addShutdownListener(listener.capture());
+        listener.getValue().shutdownCompleted(mock(ShutdownSignalException.class));
+
+        assertThat(exception.get()).isNotNull();
+    }
+
+    @Test
+    void lightweightSessionsPublishOnPooledChannel() throws Exception {
+        List<Channel> channels = new ArrayList<>();
+        RMQConnection connection = new RMQConnection(new ConnectionParams()
+            .setRabbitConnection(amqpConnection(channels))
+            .setChannelPoolSize(2));
+        for (int i = 0; i < 10; i++) {
+            Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            MessageProducer producer = session.createProducer(AMQP_DESTINATION);
+            producer.send(session.createTextMessage("hello " + i));
+            session.close();
+        }
+        assertThat(channels).hasSize(1);
+        verify(channels.get(0), times(10)).basicPublish(anyString(), anyString(), any(), any());
+        assertEquals(1, connection.getChannelPool().idleCount());
+
+        connection.close();
+        verify(channels.get(0)).close();
+    }
+
+    @Test
+    void lightweightSessionOpensItsOwnChannelToConsume() throws Exception {
+        List<Channel> channels = new ArrayList<>();
+        RMQConnection connection = new RMQConnection(new ConnectionParams()
+            .setRabbitConnection(amqpConnection(channels))
+            .setChannelPoolSize(2));
+        RMQSession session = (RMQSession) connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        assertThat(channels).isEmpty();
+        assertThat(session.isOpen()).isTrue();
+
+        session.createConsumer(AMQP_DESTINATION);
+        assertThat(channels).hasSize(1);
+        assertSame(channels.get(0), session.getChannel());
+
+        // sending still goes through the pool
+        session.createProducer(AMQP_DESTINATION).send(session.createTextMessage());
+        assertThat(channels).hasSize(2);
+        verify(channels.get(1)).basicPublish(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void transactedSessionsDoNotUseChannelPool() throws Exception {
+        List<Channel> channels = new ArrayList<>();
+        RMQConnection connection = new RMQConnection(new ConnectionParams()
+            .setRabbitConnection(amqpConnection(channels))
+            .setChannelPoolSize(2));
+        RMQSession session = (RMQSession) connection.createSession(true, Session.SESSION_TRANSACTED);
+        assertThat(channels).hasSize(1);
+        verify(channels.get(0)).txSelect();
+        session.createProducer(AMQP_DESTINATION).send(session.createTextMessage());
+        verify(channels.get(0)).basicPublish(anyString(), anyString(), any(), any());
+        assertEquals(0, connection.getChannelPool().idleCount());
+    }
+
+    @Test
+    void publisherConfirmsAreRoutedThroughPooledChannel() throws Exception {
+        List<Channel> channels = new ArrayList<>();
+        RMQConnection connection = new RMQConnection(new ConnectionParams()
+            .setRabbitConnection(amqpConnection(channels))
+            .setChannelPoolSize(2));
+        Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        MessageProducer producer = session.createProducer(AMQP_DESTINATION);
+        Message message = session.createTextMessage("hello");
+        AtomicReference<Message> confirmed = new AtomicReference<>();
+        producer.send(message, new CompletionListener() {
+
+            @Override
+            public void onCompletion(Message msg) {
+                confirmed.set(msg);
+            }
+
+            @Override
+            public void onException(Message msg, Exception exception) {
+            }
+        });
+        // the session is closed before the confirm arrives
+        session.close();
+
+        Channel channel = channels.get(0);
+        verify(channel).confirmSelect();
+        ArgumentCaptor<ConfirmListener> confirmListener = ArgumentCaptor.forClass(ConfirmListener.class);
+        verify(channel).addConfirmListener(confirmListener.capture());
+        confirmListener.getValue().handleAck(1, false);
+        assertSame(message, confirmed.get());
+    }
+
+    @Test
+    void messageIdGeneratorIsUsedBySessionsOfConnection() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        RMQConnection connection = new RMQConnection(new ConnectionParams()
+            .setRabbitConnection(amqpConnection())
+            .setMessageIdGenerator(() -> "custom-" + counter.incrementAndGet()));
+        for (int i = 1; i <= 2; i++) {
+            Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            Message message = session.createTextMessage();
+            session.createProducer(AMQP_DESTINATION).send(message);
+            assertEquals("ID:custom-" + i, message.getJMSMessageID());
+        }
+    }
+
+    @Test
+    void connectionsHaveTheirOwnMessageIdGeneratorByDefault() throws Exception {
+        String[] ids = new String[2];
+        for (int i = 0; i < ids.length; i++) {
+            RMQConnection connection = new RMQConnection(new ConnectionParams()
+                .setRabbitConnection(amqpConnection()));
+            Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            Message message = session.createTextMessage();
+            session.createProducer(AMQP_DESTINATION).send(message);
+            ids[i] = message.getJMSMessageID();
+            assertThat(ids[i]).matches("ID:[0-9a-f]{32}-0");
+        }
+        assertThat(ids[0]).isNotEqualTo(ids[1]);
+    }
+
+    @Test
+    void compressedMessagesAreDecompressedOnReception() throws Exception {
+        List<Channel> channels = new ArrayList<>();
+        RMQConnection connection = new RMQConnection(new ConnectionParams()
+            .setRabbitConnection(amqpConnection(channels))
+            .setCompressionPolicy(CompressionPolicy.threshold(CompressionCodec.deflate(), 1024)));
+        RMQSession session = (RMQSession) connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            text.append("{\"id\":").append(i).append('}');
+        }
+        RMQDestination destination = new RMQDestination("queue", true, false);
+        session.createProducer(destination).send(session.createTextMessage(text.toString()));
+
+        ArgumentCaptor<AMQP.BasicProperties> properties = ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+        ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(channels.get(0)).basicPublish(anyString(), anyString(), properties.capture(), body.capture());
+        assertEquals("deflate", properties.getValue().getContentEncoding());
+        assertThat(body.getValue().length).isLessThan(text.length());
+
+        RMQMessage received = RMQMessage.convertMessage(session, destination,
+            new GetResponse(new Envelope(1, false, "", "queue"), properties.getValue(), body.getValue(), 0),
+            ctx -> { });
+        assertEquals(text.toString(), ((TextMessage) received).getText());
+        assertEquals(1, connection.getCompressionStatistics().getCompressedMessages());
+        assertEquals(1, connection.getCompressionStatistics().getDecompressedMessages());
+    }
+
+    @Test
+    void producersCanSendPropertiesOnlyInHeaders() throws Exception {
+        List<Channel> channels = new ArrayList<>();
+        RMQConnection connection = new RMQConnection(new ConnectionParams()
+            .setRabbitConnection(amqpConnection(channels))
+            .setPropertiesInHeadersOnly(true));
+        Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        Message message = session.createTextMessage("hello");
+        message.setStringProperty("foo", "bar");
+        session.createProducer(new RMQDestination("queue", true, false)).send(message);
+
+        ArgumentCaptor<AMQP.BasicProperties> properties = ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+        ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(channels.get(0)).basicPublish(anyString(), anyString(), properties.capture(), body.capture());
+        assertThat(properties.getValue().getHeaders())
+            .containsEntry(RMQMessage.JMS_PROPERTIES_IN_HEADERS_HEADER, true)
+            .containsEntry("foo", "bar")
+            .containsKey("rmq.jms.message.destination");
+        RMQMessage bodyOnly = RMQMessage.fromMessage(body.getValue(), null);
+        assertThat(bodyOnly.getObjectProperty("foo")).isNull();
+        assertEquals("hello", ((TextMessage) bodyOnly).getText());
+    }
+
+    @Test
+    void producersCanSendCompactMessageBodies() throws Exception {
+        List<Channel> channels = new ArrayList<>();
+        RMQConnection connection = new RMQConnection(new ConnectionParams()
+            .setRabbitConnection(amqpConnection(channels))
+            .setCompactMessageBodies(true));
+        Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        MessageProducer producer = session.createProducer(new RMQDestination("queue", true, false));
+        StreamMessage streamMessage = session.createStreamMessage();
+        streamMessage.writeInt(42);
+        streamMessage.writeString("hello");
+        producer.send(streamMessage);
+        MapMessage mapMessage = session.createMapMessage();
+        mapMessage.setLong("long", 42L);
+        producer.send(mapMessage);
+
+        ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(channels.get(0), times(2)).basicPublish(anyString(), anyString(), any(), body.capture());
+        StreamMessage receivedStreamMessage = (StreamMessage) RMQMessage.fromMessage(body.getAllValues().get(0), WhiteListObjectInputStream.DEFAULT_TRUSTED_PACKAGES);
+        assertEquals(42, receivedStreamMessage.readInt());
+        assertEquals("hello", receivedStreamMessage.readString());
+        MapMessage receivedMapMessage = (MapMessage) RMQMessage.fromMessage(body.getAllValues().get(1), WhiteListObjectInputStream.DEFAULT_TRUSTED_PACKAGES);
+        assertEquals(42L, receivedMapMessage.getLong("long"));
+    }
+
+    @Test
+    void closeCancelsConsumersOfAllSessionsBeforeWaitingOnSharedDeadline() throws Exception {
+        List<Channel> channels = new ArrayList<>();
+        RMQConnection connection = new RMQConnection(new ConnectionParams()
+            .setRabbitConnection(amqpConnection(channels))
+            .setTerminationTimeout(200));
+        connection.start();
+        int sessionCount = 4;
+        int consumersPerSession = 3;
+        for (int i = 0; i < sessionCount; i++) {
+            Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            for (int j = 0; j < consumersPerSession; j++) {
+                // cancel-ok never comes back, each consumer waits until the deadline
+                session.createConsumer(AMQP_DESTINATION).setMessageListener(message -> { });
+            }
+        }
+
+        long start = System.nanoTime();
+        connection.close();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // closing serially would take sessionCount * consumersPerSession * 200 ms
+        assertThat(elapsedMs).isLessThan(1000);
+        assertThat(channels).hasSize(sessionCount);
+        for (Channel channel : channels) {
+            verify(channel, times(consumersPerSession)).basicCancel(anyString());
+            verify(channel).close();
+        }
+    }
+
+    @Test
+    void startRegistersConsumersOfSessionsInParallel() throws Exception {
+        List<Channel> channels = new ArrayList<>();
+        RMQConnection connection = new RMQConnection(new ConnectionParams()
+            .setRabbitConnection(amqpConnection(channels)));
+        int sessionCount = 4;
+        for (int i = 0; i < sessionCount; i++) {
+            connection.createSession(false, Session.AUTO_ACKNOWLEDGE)
+                .createConsumer(AMQP_DESTINATION).setMessageListener(message -> { });
+        }
+        for (Channel channel : channels) {
+            when(channel.basicConsume(anyString(), anyBoolean(), anyString(), anyBoolean(), anyBoolean(), any(), any()))
+                .thenAnswer(invocation -> {
+                    Thread.sleep(200);
+                    return invocation.getArgument(2);
+                });
+        }
+
+        long start = System.nanoTime();
+        connection.start();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // registering consumers one after the other would take sessionCount * 200 ms
+        assertThat(elapsedMs).isLessThan(700);
+        for (Channel channel : channels) {
+            verify(channel).basicConsume(anyString(), anyBoolean(), anyString(), anyBoolean(), anyBoolean(), any(), any());
+        }
+    }
+
+    @Test
+    void startReportsFailureOfEachConsumer() throws Exception {
+        List<Channel> channels = new ArrayList<>();
+        RMQConnection connection = new RMQConnection(new ConnectionParams()
+            .setRabbitConnection(amqpConnection(channels)));
+        int sessionCount = 3;
+        for (int i = 0; i < sessionCount; i++) {
+            Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            session.createConsumer(AMQP_DESTINATION).setMessageListener(message -> { });
+            session.createConsumer(AMQP_DESTINATION).setMessageListener(message -> { });
+        }
+        // the first consumer of the first 2 sessions fails to start
+        for (Channel channel : channels.subList(0, 2)) {
+            when(channel.basicConsume(anyString(), anyBoolean(), anyString(), anyBoolean(), anyBoolean(), any(), any()))
+                .thenThrow(new IOException("consume failed"))
+                .thenReturn("consumer-tag");
+        }
+
+        JMSException exception = assertThrows(JMSException.class, connection::start);
+        assertThat(exception.getSuppressed()).hasSize(2);
+        // the other consumers have started anyway
+        for (Channel channel : channels) {
+            verify(channel, times(2)).basicConsume(anyString(), anyBoolean(), anyString(), anyBoolean(), anyBoolean(), any(), any());
+        }
+    }
+
+    private static Connection amqpConnection() throws IOException {
+        return amqpConnection(new ArrayList<>());
+    }
+
+    private static Connection amqpConnection(List<Channel> channels) throws IOException {
+        Connection amqpConnection = mock(Connection.class);
+        when(amqpConnection.createChannel()).thenAnswer(invocation -> {
+            Channel channel = mock(Channel.class);
+            when(channel.isOpen()).thenReturn(true);
+            when(channel.getNextPublishSeqNo()).thenReturn(1L);
+            channels.add(channel);
+            return channel;
+        });
+        return amqpConnection;
+    }
+}
@@ -190,7 +190,7 @@ public class RMQMessageProducerTest {
         try (RMQMessageProducer producer = new RMQMessageProducer(session, destination)) {
             RMQMessage message = mock(RMQMessage.class);
 
-            when(message.toByteArray()).thenReturn("Test message".getBytes());
+            when(message.toByteArray(anyInt(), anyBoolean())).thenReturn("Test message".getBytes());
             when(message.getJMSCorrelationID()).thenReturn("TESTID");
 
             when(session.getChannel()).thenReturn(channel);
@@ -210,6 +210,49 @@ public class RMQMessageProducerTest {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    @DisplayName("RMQMessageProducer::send should set the properties of the current settings and of each message")
+    public void sendJMSMessagesWithPropertiesTemplate() throws JMSException, IOException {
+
+        try (RMQMessageProducer producer = new RMQMessageProducer(session, destination)) {
+            when(session.getChannel()).thenReturn(channel);
+            when(session.delayMessage(eq(destination), any(Map.class), any(Long.class))).thenReturn("targetExch");
+            when(destination.isAmqp()).thenReturn(false);
+            when(destination.getAmqpRoutingKey()).thenReturn("key");
+
+            RMQTextMessage first = new RMQTextMessage();
+            first.setJMSCorrelationID("first");
+            producer.send(first, DeliveryMode.PERSISTENT, 4, 1000L);
+            RMQTextMessage second = new RMQTextMessage();
+            producer.send(second, DeliveryMode.PERSISTENT, 4, 1000L);
+            producer.send(new RMQTextMessage(), DeliveryMode.NON_PERSISTENT, 7, 0L);
+
+            ArgumentCaptor<AMQP.BasicProperties> propCapture = ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+            verify(channel, times(3)).basicPublish(eq("targetExch"), eq("key"), propCapture.capture(), any(byte[].class));
+
+            AMQP.BasicProperties firstProperties = propCapture.getAllValues().get(0);
+            AMQP.BasicProperties secondProperties = propCapture.getAllValues().get(1);
+            AMQP.BasicProperties thirdProperties = propCapture.getAllValues().get(2);
+            assertEquals("application/octet-stream", firstProperties.getContentType());
+            assertEquals(2, firstProperties.getDeliveryMode());
+            assertEquals(4, firstProperties.getPriority());
+            assertEquals("1000", firstProperties.getExpiration());
+            assertEquals("first", firstProperties.getCorrelationId());
+            assertEquals(first.getJMSMessageID(), firstProperties.getHeaders().get("JMSMessageID"));
+
+            assertEquals(2, secondProperties.getDeliveryMode());
+            assertEquals("1000", secondProperties.getExpiration());
+            assertNull(secondProperties.getCorrelationId());
+            assertNotSame(firstProperties.getHeaders(), secondProperties.getHeaders());
+            assertEquals(second.getJMSMessageID(), secondProperties.getHeaders().get("JMSMessageID"));
+
+            assertEquals(1, thirdProperties.getDeliveryMode());
+            assertEquals(7, thirdProperties.getPriority());
+            assertNull(thirdProperties.getExpiration());
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     @DisplayName("RMQMessageProducer::send should ensure that an AMQP message with a direct reply to is handled correctly")
@@ -302,7 +345,7 @@ public class RMQMessageProducerTest {
         try (RMQMessageProducer producer = new RMQMessageProducer(session, destination)) {
             RMQMessage message = mock(RMQMessage.class);
 
-            when(message.toByteArray()).thenReturn("Test message".getBytes());
+            when(message.toByteArray(anyInt(), anyBoolean())).thenReturn("Test message".getBytes());
             when(message.getJMSCorrelationID()).thenReturn("TESTID");
             when(message.getJMSReplyTo()).thenReturn(new RMQDestination("amq.rabbitmq.reply-to", "", "amq.rabbitmq.reply-to", "amq.rabbitmq.reply-to"));
 
@@ -332,7 +375,7 @@ public class RMQMessageProducerTest {
         try (RMQMessageProducer producer = new RMQMessageProducer(session, destination)) {
             RMQMessage message = mock(RMQMessage.class);
 
-            when(message.toByteArray()).thenReturn("Test message".getBytes());
+            when(message.toByteArray(anyInt(), anyBoolean())).thenReturn("Test message".getBytes());
             when(message.getJMSCorrelationID()).thenReturn("TESTID");
             when(message.getJMSReplyTo()).thenReturn(new RMQDestination("amq.rabbitmq.reply-to", "", "amq.rabbitmq.reply-to-forwarded-id", "amq.rabbitmq.reply-to"));
 
@@ -362,7 +405,7 @@ public class RMQMessageProducerTest {
         try (RMQMessageProducer producer = new RMQMessageProducer(session, destination)) {
             RMQMessage message = mock(RMQMessage.class);
 
-            when(message.toByteArray()).thenReturn("Test message".getBytes());
+            when(message.toByteArray(anyInt(), anyBoolean())).thenReturn("Test message".getBytes());
             when(message.getJMSCorrelationID()).thenReturn("TESTID");
             when(message.getJMSReplyTo()).thenReturn(new RMQDestination("other-reply-to", "", "other-reply-to", "other-reply-to"));
 
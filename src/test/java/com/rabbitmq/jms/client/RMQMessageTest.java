@@ -8,7 +8,9 @@ package com.rabbitmq.jms.client;
 import com.rabbitmq.client.AMQP.BasicProperties;
 import com.rabbitmq.client.Envelope;
 import com.rabbitmq.client.GetResponse;
+import com.rabbitmq.client.impl.LongStringHelper;
 import com.rabbitmq.jms.admin.RMQDestination;
+import com.rabbitmq.jms.client.message.RMQBytesMessage;
 import com.rabbitmq.jms.client.message.RMQTextMessage;
 
 import static org.mockito.Mockito.mock;
@@ -18,15 +20,30 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import jakarta.jms.DeliveryMode;
 import jakarta.jms.JMSException;
+import jakarta.jms.MessageEOFException;
+import jakarta.jms.MessageNotReadableException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class RMQMessageTest {
 
@@ -206,4 +223,247 @@ class RMQMessageTest {
 
         assertNull(result.getJMSReplyTo());
     }
+
+    @Test
+    void bytesMessageBodyIsPublishedWithoutCopyToAmqpDestination() throws Exception {
+        byte[] body = new byte[] {1, 2, 3, 4};
+        RMQMessage received = new RMQBytesMessage();
+        received.readAmqpBody(body);
+        // a received (read-only) body is published as is
+        byte[] amqpBody = received.toAmqpByteArray();
+        assertArrayEquals(body, amqpBody);
+        assertSame(amqpBody, received.toAmqpByteArray());
+
+        RMQMessage written = bytesMessage(body);
+        assertArrayEquals(body, written.toAmqpByteArray());
+    }
+
+    @Test
+    void bytesMessageJmsFormatIsPropertiesThenBody() throws Exception {
+        byte[] body = new byte[8 * 1024];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = (byte) i;
+        }
+        RMQMessage empty = bytesMessage(new byte[0]);
+        RMQMessage message = bytesMessage(body);
+        message.setStringProperty("foo", "bar");
+        empty.setStringProperty("foo", "bar");
+        byte[] properties = empty.toByteArray();
+
+        byte[] encoded = message.toByteArray();
+        assertEquals(properties.length + body.length, encoded.length);
+        assertArrayEquals(body, Arrays.copyOfRange(encoded, properties.length, encoded.length));
+
+        RMQBytesMessage decoded = (RMQBytesMessage) RMQMessage.fromMessage(encoded, null);
+        assertEquals("bar", decoded.getStringProperty("foo"));
+        byte[] decodedBody = new byte[body.length];
+        assertEquals(body.length, decoded.readBytes(decodedBody));
+        assertArrayEquals(body, decodedBody);
+    }
+
+    @Test
+    void receivedBytesMessageIsAViewOverDeliveryBody() throws Exception {
+        byte[] body = new byte[] {0, 3, 'f', 'o', 'o', 42};
+        byte[] delivery = ((RMQMessage) bytesMessage(body)).toByteArray();
+        RMQBytesMessage received = (RMQBytesMessage) RMQMessage.fromMessage(delivery, null);
+
+        assertEquals(body.length, received.getBodyLength());
+        // the body is not copied out of the delivery
+        delivery[delivery.length - 1] = 43;
+        assertEquals("foo", received.readUTF());
+        assertEquals(43, received.readByte());
+        assertThrows(MessageEOFException.class, received::readByte);
+        received.reset();
+        assertEquals(0, received.readByte());
+        body[body.length - 1] = 43;
+        assertArrayEquals(body, received.getBody(byte[].class));
+        assertArrayEquals(body, ((RMQMessage) received).toAmqpByteArray());
+    }
+
+    @Test
+    void bytesMessageBodyCanBeReadAsByteBufferOrInputStream() throws Exception {
+        byte[] body = new byte[] {1, 2, 3, 4};
+        RMQBytesMessage written = bytesMessage(body);
+        assertThrows(MessageNotReadableException.class, written::getBodyAsByteBuffer);
+        assertThrows(MessageNotReadableException.class, written::getBodyAsInputStream);
+
+        RMQBytesMessage received = (RMQBytesMessage) RMQMessage.fromMessage(((RMQMessage) written).toByteArray(), null);
+        assertEquals(1, received.readByte());
+
+        ByteBuffer buffer = received.getBodyAsByteBuffer();
+        assertThat(buffer.isReadOnly()).isTrue();
+        assertEquals(0, buffer.position());
+        byte[] fromBuffer = new byte[buffer.remaining()];
+        buffer.get(fromBuffer);
+        assertArrayEquals(body, fromBuffer);
+
+        try (InputStream in = received.getBodyAsInputStream()) {
+            assertArrayEquals(body, in.readAllBytes());
+        }
+        // the read position of the message is not changed
+        assertEquals(2, received.readByte());
+    }
+
+    @Test
+    void textMessageAmqpBodyIsUtf8Text() throws Exception {
+        RMQTextMessage textMessage = new RMQTextMessage();
+        textMessage.setText("h\u00e9llo");
+        RMQMessage message = textMessage;
+        assertArrayEquals("h\u00e9llo".getBytes(StandardCharsets.UTF_8), message.toAmqpByteArray());
+        message.clearBody();
+        assertEquals(0, message.toAmqpByteArray().length);
+    }
+
+    @Test
+    void propertiesCanBeOnlyInHeaders() throws Exception {
+        RMQTextMessage sent = new RMQTextMessage();
+        sent.setText("hello");
+        ((RMQMessage) sent).generateInternalID();
+        sent.setJMSDeliveryMode(DeliveryMode.PERSISTENT);
+        sent.setJMSPriority(7);
+        sent.setJMSTimestamp(1000L);
+        sent.setJMSExpiration(2000L);
+        sent.setJMSCorrelationID("correlation");
+        sent.setJMSType("type");
+        sent.setJMSDestination(new RMQDestination("queue", true, false));
+        RMQDestination replyTo = new RMQDestination("reply", true, true);
+        sent.setJMSReplyTo(replyTo);
+        sent.setStringProperty("string", "string");
+        sent.setIntProperty("int", 42);
+        sent.setLongProperty("long", 1L);
+        sent.setBooleanProperty("boolean", true);
+        sent.setByteProperty("byte", (byte) 2);
+        sent.setStringProperty("JMSXGroupID", "group");
+
+        RMQMessage message = sent;
+        Map<String, Object> headers = message.toHeadersWithAllProperties();
+        byte[] body = message.toByteArray(512, true);
+        assertThat(body.length).isLessThan(message.toByteArray().length / 2);
+
+        // string header values are received as LongStrings
+        Map<String, Object> receivedHeaders = new HashMap<>();
+        headers.forEach((k, v) -> receivedHeaders.put(k, v instanceof String ? LongStringHelper.asLongString((String) v) : v));
+        receivedHeaders.put("x-delivery-count", 0);
+        BasicProperties props = mock(BasicProperties.class);
+        when(props.getHeaders()).thenReturn(receivedHeaders);
+        when(getResponse.getProps()).thenReturn(props);
+        when(getResponse.getBody()).thenReturn(body);
+        when(getResponse.getEnvelope()).thenReturn(new Envelope(1L, false, "", ""));
+
+        RMQTextMessage received = (RMQTextMessage) RMQMessage.convertMessage(session, new RMQDestination("queue", true, false), getResponse, consumer);
+        assertEquals("hello", received.getText());
+        assertEquals(sent.getJMSMessageID(), received.getJMSMessageID());
+        assertEquals(DeliveryMode.PERSISTENT, received.getJMSDeliveryMode());
+        assertEquals(7, received.getJMSPriority());
+        assertEquals(1000L, received.getJMSTimestamp());
+        assertEquals(2000L, received.getJMSExpiration());
+        assertEquals("correlation", received.getJMSCorrelationID());
+        assertEquals("type", received.getJMSType());
+        assertEquals(new RMQDestination("queue", true, false), received.getJMSDestination());
+        RMQDestination receivedReplyTo = (RMQDestination) received.getJMSReplyTo();
+        assertEquals(replyTo, receivedReplyTo);
+        assertThat(receivedReplyTo.isTemporary()).isTrue();
+        assertEquals(replyTo.getAmqpExchangeName(), receivedReplyTo.getAmqpExchangeName());
+        assertEquals("string", received.getObjectProperty("string"));
+        assertEquals(42, received.getObjectProperty("int"));
+        assertEquals(1L, received.getObjectProperty("long"));
+        assertEquals(true, received.getObjectProperty("boolean"));
+        assertEquals((byte) 2, received.getObjectProperty("byte"));
+        assertEquals("group", received.getStringProperty("JMSXGroupID"));
+        @SuppressWarnings("unchecked")
+        Enumeration<String> propertyNames = (Enumeration<String>) received.getPropertyNames();
+        assertThat(Collections.list(propertyNames))
+            .containsExactlyInAnyOrder("string", "int", "long", "boolean", "byte", "JMSXGroupID", "JMSXDeliveryCount");
+    }
+
+    @Test
+    void headersThatAreNotPropertiesAreSkipped() throws Exception {
+        RMQTextMessage sent = new RMQTextMessage();
+        sent.setText("hello");
+        ((RMQMessage) sent).generateInternalID();
+        sent.setJMSDeliveryMode(DeliveryMode.PERSISTENT);
+        sent.setJMSPriority(4);
+        sent.setStringProperty("string", "string");
+        Map<String, Object> headers = ((RMQMessage) sent).toHeadersWithAllProperties();
+        byte[] body = ((RMQMessage) sent).toByteArray(512, true);
+
+        // set by the client for delayed messages, or by other clients
+        headers.put("x-delay", 1000L);
+        headers.put("delayed-exchange", LongStringHelper.asLongString("exchange"));
+        headers.put("date", new Date(1000L));
+        headers.put("list", Arrays.asList(1, 2));
+        headers.put("decimal", BigDecimal.ONE);
+        headers.put("bytes", new byte[] {1, 2});
+        headers.put("table", Collections.singletonMap("name", LongStringHelper.asLongString("queue")));
+        Map<String, Object> notADestination = new HashMap<>();
+        notADestination.put("name", LongStringHelper.asLongString("queue"));
+        notADestination.put("amqp", false);
+        notADestination.put("is-queue", true);
+        notADestination.put("other", 1);
+        headers.put(RMQMessage.JMS_MESSAGE_REPLY_TO, notADestination);
+        BasicProperties props = mock(BasicProperties.class);
+        when(props.getHeaders()).thenReturn(headers);
+        when(getResponse.getProps()).thenReturn(props);
+        when(getResponse.getBody()).thenReturn(body);
+        when(getResponse.getEnvelope()).thenReturn(new Envelope(1L, false, "", ""));
+
+        RMQMessage received = RMQMessage.convertMessage(session, new RMQDestination("queue", true, false), getResponse, consumer);
+        assertEquals(1000L, received.getObjectProperty("date"));
+        assertNull(received.getJMSReplyTo());
+        @SuppressWarnings("unchecked")
+        Enumeration<String> propertyNames = (Enumeration<String>) received.getPropertyNames();
+        assertThat(Collections.list(propertyNames)).containsExactlyInAnyOrder("string", "date", "JMSXDeliveryCount");
+    }
+
+    @Test
+    void propertiesStayInBodyIfTheyCannotBeHeaderValues() throws Exception {
+        RMQTextMessage message = new RMQTextMessage();
+        message.setJMSDeliveryMode(DeliveryMode.PERSISTENT);
+        message.setJMSPriority(4);
+        message.setJMSReplyTo(new OtherProviderQueue());
+        assertNull(((RMQMessage) message).toHeadersWithAllProperties());
+    }
+
+    @Test
+    void expirationIsComputedFromPropertiesAndHeaders() throws Exception {
+        RMQTextMessage message = new RMQTextMessage();
+        message.setJMSDeliveryMode(DeliveryMode.PERSISTENT);
+        message.setJMSPriority(4);
+        message.setJMSTimestamp(1_000_000L);
+        Map<String, Object> headers = ((RMQMessage) message).toHeaders();
+        // sent with a time-to-live
+        assertEquals(1_060_000L, RMQMessage.expiration(new BasicProperties.Builder()
+            .headers(headers).expiration("60000").build()));
+        assertEquals(0L, RMQMessage.expiration(new BasicProperties.Builder().headers(headers).build()));
+
+        // properties in headers
+        message.setJMSExpiration(2_000_000L);
+        assertEquals(2_000_000L, RMQMessage.expiration(new BasicProperties.Builder()
+            .headers(((RMQMessage) message).toHeadersWithAllProperties()).expiration("60000").build()));
+
+        // AMQP messages
+        assertEquals(3_000_000L, RMQMessage.expiration(new BasicProperties.Builder()
+            .headers(Collections.singletonMap("JMSExpiration", LongStringHelper.asLongString("3000000"))).build()));
+        assertEquals(4_060_000L, RMQMessage.expiration(new BasicProperties.Builder()
+            .timestamp(new java.util.Date(4_000_000L)).expiration("60000").build()));
+        // the time the message was sent is unknown
+        assertEquals(0L, RMQMessage.expiration(new BasicProperties.Builder().expiration("60000").build()));
+        assertEquals(0L, RMQMessage.expiration(new BasicProperties.Builder()
+            .timestamp(new java.util.Date(4_000_000L)).expiration("not a number").build()));
+    }
+
+    private static class OtherProviderQueue implements jakarta.jms.Queue, java.io.Serializable {
+
+        @Override
+        public String getQueueName() {
+            return "queue";
+        }
+    }
+
+    private static RMQBytesMessage bytesMessage(byte[] body) throws JMSException {
+        RMQBytesMessage message = new RMQBytesMessage();
+        message.writeBytes(body);
+        ((RMQMessage) message).generateInternalID();
+        return message;
+    }
 }
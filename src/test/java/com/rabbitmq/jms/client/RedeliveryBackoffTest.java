@@ -0,0 +1,195 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import static com.rabbitmq.TestUtils.waitUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.rabbitmq.jms.admin.RMQConnectionFactory;
+import com.rabbitmq.jms.broker.InMemoryBroker;
+import com.rabbitmq.jms.client.metrics.SimpleJmsMetricsCollector;
+import jakarta.jms.Connection;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RedeliveryBackoffTest {
+
+    InMemoryBroker broker;
+    SimpleJmsMetricsCollector metrics;
+    RMQConnectionFactory connectionFactory;
+    Connection connection;
+
+    @BeforeEach
+    void init() {
+        this.broker = new InMemoryBroker();
+        this.metrics = new SimpleJmsMetricsCollector();
+        this.connectionFactory = this.broker.connectionFactory();
+        this.connectionFactory.setJmsMetricsCollector(this.metrics);
+        this.connectionFactory.setRequeueOnMessageListenerException(true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (this.connection != null) {
+            this.connection.close();
+        }
+    }
+
+    @Test
+    void delaysGrowExponentiallyUpToTheMaximum() {
+        RedeliveryPolicy policy = RedeliveryPolicy.exponentialBackoff(Duration.ofMillis(100), 2, Duration.ofSeconds(1));
+        assertThat(policy.delayNanos(1)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(policy.delayNanos(2)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(200));
+        assertThat(policy.delayNanos(4)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(800));
+        assertThat(policy.delayNanos(5)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+        assertThat(policy.delayNanos(1000)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+
+        assertThat(policy.isExhausted(1000)).isFalse();
+        assertThat(policy.withMaxDeliveries(3).isExhausted(2)).isFalse();
+        assertThat(policy.withMaxDeliveries(3).isExhausted(3)).isTrue();
+
+        assertThatThrownBy(() -> RedeliveryPolicy.exponentialBackoff(Duration.ofSeconds(1), 2, Duration.ofMillis(1)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RedeliveryPolicy.exponentialBackoff(Duration.ofSeconds(1), 0.5, Duration.ofSeconds(2)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> policy.withMaxPending(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void failedMessageIsHeldBeforeBeingRequeued() throws Exception {
+        this.connectionFactory.setRedeliveryPolicy(
+            RedeliveryPolicy.exponentialBackoff(Duration.ofMillis(300), 2, Duration.ofSeconds(1)));
+        this.connection = this.connectionFactory.createConnection();
+        this.connection.start();
+        Session session = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        Queue queue = session.createQueue("redelivery");
+        session.createProducer(queue).send(session.createTextMessage("poison"));
+
+        AtomicLong failedAt = new AtomicLong();
+        failOnce(queue, failedAt);
+
+        MessageConsumer consumer = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE).createConsumer(queue);
+        // held by the client, not back in the queue yet
+        assertThat(consumer.receive(100)).isNull();
+        Message message = consumer.receive(2000);
+        long heldNanos = System.nanoTime() - failedAt.get();
+
+        assertThat(message).isNotNull();
+        assertThat(message.getJMSRedelivered()).isTrue();
+        assertThat(heldNanos).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(300));
+        assertThat(this.metrics.getRedeliveryDelay().getCount()).isEqualTo(1);
+        assertThat(this.metrics.getDeadLetteredMessages()).isZero();
+    }
+
+    @Test
+    void messageIsDeadLetteredAfterMaxDeliveries() throws Exception {
+        this.connectionFactory.setRedeliveryPolicy(
+            RedeliveryPolicy.exponentialBackoff(Duration.ofMillis(50), 2, Duration.ofSeconds(1)).withMaxDeliveries(3));
+        this.connection = this.connectionFactory.createConnection();
+        this.connection.start();
+        Session session = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        Queue queue = session.createQueue("redelivery");
+        session.createProducer(queue).send(session.createTextMessage("poison"));
+
+        // the queue only flags redeliveries, the client counts them
+        for (int i = 0; i < 3; i++) {
+            failOnce(queue, new AtomicLong());
+        }
+
+        assertThat(waitUntil(() -> this.metrics.getDeadLetteredMessages() == 1)).isTrue();
+        MessageConsumer consumer = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE).createConsumer(queue);
+        assertThat(consumer.receive(300)).isNull();
+        assertThat(this.metrics.getRedeliveryDelay().getCount()).isEqualTo(2);
+        assertThat(this.metrics.getRedeliveryDelay().getMax()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void messagesAreRequeuedRightAwayWithoutPolicy() throws Exception {
+        this.connection = this.connectionFactory.createConnection();
+        this.connection.start();
+        Session session = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        Queue queue = session.createQueue("redelivery");
+        session.createProducer(queue).send(session.createTextMessage("poison"));
+
+        failOnce(queue, new AtomicLong());
+
+        MessageConsumer consumer = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE).createConsumer(queue);
+        assertThat(consumer.receive(1000)).isNotNull();
+        assertThat(this.metrics.getRedeliveryDelay().getCount()).isZero();
+    }
+
+    @Test
+    void acknowledgingLaterMessagesDoesNotAcknowledgeHeldMessage() throws Exception {
+        this.connectionFactory.setRedeliveryPolicy(
+            RedeliveryPolicy.exponentialBackoff(Duration.ofMillis(300), 2, Duration.ofSeconds(1)));
+        this.connection = this.connectionFactory.createConnection();
+        this.connection.start();
+        Session session = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        Queue poisonQueue = session.createQueue("redelivery");
+        Queue queue = session.createQueue("acknowledged");
+        session.createProducer(poisonQueue).send(session.createTextMessage("poison"));
+
+        Session clientAckSession = this.connection.createSession(false, Session.CLIENT_ACKNOWLEDGE);
+        CountDownLatch failed = new CountDownLatch(1);
+        clientAckSession.createConsumer(poisonQueue).setMessageListener(m -> {
+            failed.countDown();
+            throw new IllegalStateException("poison");
+        });
+        assertThat(failed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(waitUntil(() -> this.metrics.getRedeliveryDelay().getCount() == 1)).isTrue();
+
+        // a group acknowledgement after the held message
+        CountDownLatch acknowledged = new CountDownLatch(1);
+        clientAckSession.createConsumer(queue).setMessageListener(m -> {
+            try {
+                m.acknowledge();
+                acknowledged.countDown();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        session.createProducer(queue).send(session.createTextMessage("ok"));
+        assertThat(acknowledged.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(this.metrics.getAcknowledgedMessages()).isEqualTo(1);
+
+        MessageConsumer consumer = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE).createConsumer(poisonQueue);
+        Message message = consumer.receive(2000);
+        assertThat(message).isNotNull();
+        assertThat(message.getJMSRedelivered()).isTrue();
+    }
+
+    /**
+     * Delivers the next message of the queue to a listener that throws, the consumer
+     * is then cancelled by the client. The session stays open, closing it would requeue
+     * a held message.
+     */
+    private void failOnce(Queue queue, AtomicLong failedAt) throws Exception {
+        long settled = settled();
+        Session session = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        CountDownLatch failed = new CountDownLatch(1);
+        session.createConsumer(queue).setMessageListener(m -> {
+            failedAt.set(System.nanoTime());
+            failed.countDown();
+            throw new IllegalStateException("poison");
+        });
+        assertThat(failed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(waitUntil(() -> settled() > settled)).isTrue();
+    }
+
+    private long settled() {
+        return this.metrics.getNegativelyAcknowledgedMessages() + this.metrics.getRedeliveryDelay().getCount();
+    }
+}
@@ -0,0 +1,58 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.rabbitmq.client.LongString;
+import com.rabbitmq.client.impl.LongStringHelper;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+public class StringTableTest {
+
+    @Test
+    void everyKeyIsFound() {
+        for (HeaderKey key : HeaderKey.values()) {
+            // a copy of the name, not the constant
+            String name = new String(key.key().toCharArray());
+            assertThat(HeaderKey.lookup(name)).isSameAs(key);
+            byte[] bytes = ("__" + name + "__").getBytes(StandardCharsets.US_ASCII);
+            assertThat(HeaderKey.lookup(bytes, 2, name.length())).isSameAs(key);
+        }
+    }
+
+    @Test
+    void otherStringsAreNotFound() {
+        StringTable<String> table = StringTable.of("JMSMessageID", "JMSTimestamp", "rmq.jms.message.id");
+        assertThat(table.get("JMSMessageId")).isNull();
+        assertThat(table.get("")).isNull();
+        assertThat(table.get((String) null)).isNull();
+        assertThat(table.get("a much longer string than the keys".getBytes(StandardCharsets.UTF_8), 0, 34)).isNull();
+        byte[] prefix = "JMSMessageIDs".getBytes(StandardCharsets.US_ASCII);
+        assertThat(table.get(prefix, 0, prefix.length)).isNull();
+        assertThat(table.get(prefix, 0, prefix.length - 1)).isEqualTo("JMSMessageID");
+        byte[] utf8 = "JMSMéssageID".getBytes(StandardCharsets.UTF_8);
+        assertThat(table.get(utf8, 0, utf8.length)).isNull();
+    }
+
+    @Test
+    void keysMustBeAscii() {
+        assertThatThrownBy(() -> StringTable.of("été")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void commonLongStringValuesAreConstants() {
+        LongString persistent = LongStringHelper.asLongString("PERSISTENT");
+        assertThat(HeaderPropertyValues.stringValue(persistent)).isSameAs(HeaderPropertyValues.PERSISTENT);
+        assertThat(HeaderPropertyValues.fromHeaderValue(LongStringHelper.asLongString("TextMessage")))
+            .isSameAs(RMQMessage.TEXT_MESSAGE_HEADER_VALUE);
+        assertThat(HeaderPropertyValues.stringValue(LongStringHelper.asLongString("acme"))).isEqualTo("acme");
+        assertThat(HeaderPropertyValues.stringValue(42)).isEqualTo("42");
+        assertThat(HeaderPropertyValues.stringValue(null)).isNull();
+    }
+}
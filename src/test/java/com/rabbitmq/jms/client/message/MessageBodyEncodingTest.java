@@ -0,0 +1,239 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client.message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.rabbitmq.jms.util.RMQByteArrayInputStream;
+import com.rabbitmq.jms.util.RMQByteArrayOutputStream;
+import com.rabbitmq.jms.util.WhiteListObjectInputStream;
+import jakarta.jms.MessageEOFException;
+import jakarta.jms.MessageFormatException;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class MessageBodyEncodingTest {
+
+    @Test
+    void compactStreamMessageBodyIsReadBack() throws Exception {
+        RMQStreamMessage message = new RMQStreamMessage(WhiteListObjectInputStream.DEFAULT_TRUSTED_PACKAGES, true);
+        TestMessages.writeStreamMessage(message);
+
+        byte[] body = writeBody(message);
+        byte[] values = streamValues(body);
+        assertThat(MessageBodyEncoding.hasHeader(values, 0, values.length)).isTrue();
+        RMQStreamMessage received = new RMQStreamMessage();
+        readBody(received, body);
+        TestMessages.readStreamMessage(received);
+    }
+
+    @Test
+    void defaultStreamMessageBodyIsJavaSerialization() throws Exception {
+        RMQStreamMessage message = new RMQStreamMessage();
+        message.writeInt(42);
+        message.writeString("hello");
+        message.writeObject(null);
+
+        byte[] body = writeBody(message);
+        byte[] values = streamValues(body);
+        try (ObjectInputStream legacy = new ObjectInputStream(new ByteArrayInputStream(values))) {
+            assertEquals(MessageBodyEncoding.INT, legacy.readByte());
+            assertEquals(42, legacy.readInt());
+            assertEquals(MessageBodyEncoding.STRING, legacy.readByte());
+            assertEquals("hello", legacy.readUTF());
+            assertEquals(MessageBodyEncoding.NULL, legacy.readByte());
+        }
+
+        RMQStreamMessage received = new RMQStreamMessage(WhiteListObjectInputStream.DEFAULT_TRUSTED_PACKAGES, true);
+        readBody(received, body);
+        assertEquals(42, received.readInt());
+        assertEquals("hello", received.readString());
+        assertNull(received.readObject());
+        assertThrows(MessageEOFException.class, received::readObject);
+    }
+
+    @Test
+    void compactStreamMessageReadsCanBeRetriedAfterConversionFailure() throws Exception {
+        RMQStreamMessage message = new RMQStreamMessage(WhiteListObjectInputStream.DEFAULT_TRUSTED_PACKAGES, true);
+        message.writeString("abc");
+        message.writeLong(Long.MAX_VALUE);
+        message.writeString("12");
+        message.reset();
+
+        assertThrows(NumberFormatException.class, message::readInt);
+        assertEquals("abc", message.readString());
+        assertThrows(MessageFormatException.class, message::readInt);
+        assertEquals(Long.MAX_VALUE, message.readLong());
+        assertEquals(12, message.readShort());
+    }
+
+    @Test
+    void streamMessageReadsCanBeRetriedAfterConversionFailure() throws Exception {
+        RMQStreamMessage message = new RMQStreamMessage();
+        message.writeString("abc");
+        message.writeLong(Long.MAX_VALUE);
+        message.writeString("12");
+        message.reset();
+
+        assertThrows(NumberFormatException.class, message::readInt);
+        assertEquals("abc", message.readString());
+        assertThrows(MessageFormatException.class, message::readInt);
+        assertEquals(Long.MAX_VALUE, message.readLong());
+        assertEquals(12, message.readShort());
+    }
+
+    @Test
+    void defaultStreamMessageBodyIsReadBack() throws Exception {
+        RMQStreamMessage message = new RMQStreamMessage();
+        TestMessages.writeStreamMessage(message);
+
+        RMQStreamMessage received = new RMQStreamMessage();
+        readBody(received, writeBody(message));
+        TestMessages.readStreamMessage(received);
+        // a received body is sent again as is
+        assertArrayEquals(writeBody(message), writeBody(received));
+    }
+
+    @Test
+    void compactMapMessageBodyIsReadBack() throws Exception {
+        RMQMapMessage message = new RMQMapMessage(true);
+        TestMessages.writeMapMessage(message);
+
+        RMQMapMessage received = new RMQMapMessage();
+        readBody(received, writeBody(message));
+        TestMessages.readMapMessage(received);
+    }
+
+    @Test
+    void defaultMapMessageBodyIsReadByCompactMessage() throws Exception {
+        RMQMapMessage message = new RMQMapMessage();
+        TestMessages.writeMapMessage(message);
+
+        RMQMapMessage received = new RMQMapMessage(true);
+        readBody(received, writeBody(message));
+        TestMessages.readMapMessage(received);
+    }
+
+    @Test
+    void mapMessageAmqpBodyIsFieldTable() throws Exception {
+        RMQMapMessage message = new RMQMapMessage();
+        TestMessages.writeMapMessage(message);
+        message.setChar("char", 'c');
+        message.setObject("null", null);
+
+        RMQByteArrayOutputStream out = new RMQByteArrayOutputStream(256);
+        message.writeAmqpBody(out);
+        byte[] body = out.toByteArray();
+        assertEquals(body.length - 4, new DataInputStream(new ByteArrayInputStream(body)).readInt());
+
+        RMQMapMessage received = new RMQMapMessage();
+        received.readAmqpBody(body);
+        TestMessages.readMapMessage(received);
+        // field tables have no character type
+        assertEquals("c", received.getObject("char"));
+        assertThat(received.itemExists("null")).isTrue();
+        assertNull(received.getObject("null"));
+    }
+
+    @Test
+    void amqpTablesOfOtherClientsAreRead() throws Exception {
+        RMQByteArrayOutputStream out = new RMQByteArrayOutputStream(64);
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("key", "value");
+        Map<String, Object> table = new HashMap<>();
+        table.put("table", nested);
+        table.put("long", 1L);
+        MessageBodyEncoding.writeAmqpTable(out, table);
+        byte[] body = out.toByteArray();
+
+        Map<String, ?> read = MessageBodyEncoding.readAmqpTable(body, 0, body.length);
+        assertEquals(1L, read.get("long"));
+        assertEquals(nested, read.get("table"));
+    }
+
+    @Test
+    void nestedTablesAndArraysOfOtherClientsAreNotMapValues() throws Exception {
+        RMQByteArrayOutputStream out = new RMQByteArrayOutputStream(64);
+        Map<String, Object> table = new HashMap<>();
+        table.put("table", Collections.singletonMap("key", "value"));
+        table.put("array", Arrays.asList(1, 2));
+        table.put("long", 1L);
+        MessageBodyEncoding.writeAmqpTable(out, table);
+
+        RMQMapMessage received = new RMQMapMessage();
+        received.readAmqpBody(out.toByteArray());
+        assertEquals(1L, received.getObject("long"));
+        assertThat(Collections.list(received.getMapNames())).containsExactly("long");
+    }
+
+    @Test
+    void valuesOfUnsupportedTypesAreRejected() {
+        RMQByteArrayOutputStream out = new RMQByteArrayOutputStream(64);
+        assertThrows(IOException.class, () -> MessageBodyEncoding.writeValue(out, new Object()));
+    }
+
+    @Test
+    void bytesAreCopiedOnRead() throws Exception {
+        byte[] bytes = {1, 2, 3};
+        RMQStreamMessage message = new RMQStreamMessage(WhiteListObjectInputStream.DEFAULT_TRUSTED_PACKAGES, true);
+        message.writeBytes(bytes);
+        message.reset();
+        byte[] read = (byte[]) message.readObject();
+        assertArrayEquals(bytes, read);
+        read[0] = 42;
+        message.reset();
+        assertArrayEquals(bytes, (byte[]) message.readObject());
+    }
+
+    private static byte[] writeBody(RMQStreamMessage message) throws IOException {
+        RMQByteArrayOutputStream bout = new RMQByteArrayOutputStream(256);
+        ObjectOutputStream out = new ObjectOutputStream(bout);
+        message.writeBody(out, bout);
+        out.flush();
+        return bout.toByteArray();
+    }
+
+    private static byte[] writeBody(RMQMapMessage message) throws IOException {
+        RMQByteArrayOutputStream bout = new RMQByteArrayOutputStream(256);
+        ObjectOutputStream out = new ObjectOutputStream(bout);
+        message.writeBody(out, bout);
+        out.flush();
+        return bout.toByteArray();
+    }
+
+    private static void readBody(RMQStreamMessage message, byte[] body) throws Exception {
+        RMQByteArrayInputStream bin = new RMQByteArrayInputStream(body);
+        message.readBody(new ObjectInputStream(bin), bin);
+    }
+
+    private static void readBody(RMQMapMessage message, byte[] body) throws Exception {
+        RMQByteArrayInputStream bin = new RMQByteArrayInputStream(body);
+        message.readBody(new ObjectInputStream(bin), bin);
+    }
+
+    /**
+     * @return the values of a stream message body, as written after their length
+     */
+    private static byte[] streamValues(byte[] body) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(body))) {
+            byte[] values = new byte[in.readInt()];
+            in.readFully(values);
+            return values;
+        }
+    }
+}
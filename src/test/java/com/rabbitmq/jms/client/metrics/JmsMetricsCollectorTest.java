@@ -0,0 +1,210 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client.metrics;
+
+import static com.rabbitmq.TestUtils.waitUntil;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.rabbitmq.jms.admin.RMQConnectionFactory;
+import com.rabbitmq.jms.broker.InMemoryBroker;
+import jakarta.jms.CompletionListener;
+import jakarta.jms.Connection;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.QueueBrowser;
+import jakarta.jms.Session;
+import jakarta.jms.TextMessage;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class JmsMetricsCollectorTest {
+
+    InMemoryBroker broker;
+    SimpleJmsMetricsCollector metrics;
+    Connection connection;
+
+    @BeforeEach
+    void init() throws Exception {
+        this.broker = new InMemoryBroker();
+        this.metrics = new SimpleJmsMetricsCollector();
+        RMQConnectionFactory connectionFactory = this.broker.connectionFactory();
+        connectionFactory.setJmsMetricsCollector(this.metrics);
+        this.connection = connectionFactory.createConnection();
+        this.connection.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        this.connection.close();
+    }
+
+    @Test
+    void publishedAndConsumedMessagesAreCountedPerDestination() throws Exception {
+        Session session = this.connection.createSession(false, Session.CLIENT_ACKNOWLEDGE);
+        Queue queue = session.createQueue("metrics");
+        MessageProducer producer = session.createProducer(queue);
+        for (int i = 0; i < 3; i++) {
+            producer.send(session.createTextMessage("hello"));
+        }
+        session.createProducer(session.createQueue("other")).send(session.createTextMessage("hello"));
+
+        MessageConsumer consumer = session.createConsumer(queue);
+        Message last = null;
+        for (int i = 0; i < 3; i++) {
+            last = consumer.receive(1000);
+        }
+        last.acknowledge();
+
+        assertThat(this.metrics.getPublishedMessages()).isEqualTo(4);
+        assertThat(this.metrics.getPublishedMessagesByDestination()).containsEntry("metrics", 3L).containsEntry("other", 1L);
+        assertThat(this.metrics.getDestinationMetrics("metrics").getPublishedBytes()).isPositive();
+        assertThat(this.metrics.getConsumedMessagesByDestination()).isEqualTo(Collections.singletonMap("metrics", 3L));
+        assertThat(this.metrics.getConsumedBytes()).isEqualTo(this.metrics.getDestinationMetrics("metrics").getPublishedBytes());
+        // group acknowledgement, one AMQP ack for 3 messages
+        assertThat(this.metrics.getAcknowledgementBatchSize().getCount()).isEqualTo(1);
+        assertThat(this.metrics.getAcknowledgedMessages()).isEqualTo(3);
+    }
+
+    @Test
+    void messageListenerTimesAreRecorded() throws Exception {
+        Session session = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        Queue queue = session.createQueue("metrics");
+        CountDownLatch latch = new CountDownLatch(5);
+        session.createConsumer(queue).setMessageListener(message -> {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            latch.countDown();
+        });
+        Session producerSession = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        MessageProducer producer = producerSession.createProducer(queue);
+        for (int i = 0; i < 5; i++) {
+            producer.send(producerSession.createTextMessage("hello"));
+        }
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(waitUntil(() -> this.metrics.getOnMessageServiceTime().getCount() == 5)).isTrue();
+
+        assertThat(this.metrics.getConsumedMessages()).isEqualTo(5);
+        Histogram.Snapshot serviceTime = this.metrics.getOnMessageServiceTime();
+        assertThat(serviceTime.getMax()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+        assertThat(serviceTime.getP50()).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(10));
+        assertThat(this.metrics.getOnMessageQueueTime().getCount()).isEqualTo(5);
+        assertThat(waitUntil(() -> this.metrics.getAcknowledgedMessages() == 5)).isTrue();
+    }
+
+    @Test
+    void confirmRoundTripsAreRecorded() throws Exception {
+        Session session = this.connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        MessageProducer producer = session.createProducer(session.createQueue("metrics"));
+        CountDownLatch latch = new CountDownLatch(3);
+        CompletionListener listener = new CompletionListener() {
+            @Override
+            public void onCompletion(Message message) {
+                latch.countDown();
+            }
+
+            @Override
+            public void onException(Message message, Exception exception) {
+            }
+        };
+        for (int i = 0; i < 3; i++) {
+            producer.send(session.createTextMessage("hello"), listener);
+        }
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(this.metrics.getConfirmRoundTrip().getCount()).isEqualTo(3);
+        assertThat(this.metrics.getConfirmRoundTrip().getMax()).isPositive();
+        assertThat(this.metrics.getConfirmNacks()).isZero();
+    }
+
+    @Test
+    void recoveredMessagesAndSelectorEvaluationsAreCounted() throws Exception {
+        Session session = this.connection.createSession(false, Session.CLIENT_ACKNOWLEDGE);
+        Queue queue = session.createQueue("metrics");
+        MessageProducer producer = session.createProducer(queue);
+        for (int i = 0; i < 4; i++) {
+            TextMessage message = session.createTextMessage("hello");
+            message.setIntProperty("index", i);
+            producer.send(message);
+        }
+
+        QueueBrowser browser = session.createBrowser(queue, "index < 1");
+        @SuppressWarnings("unchecked")
+        Enumeration<Message> browsed = (Enumeration<Message>) browser.getEnumeration();
+        assertThat(Collections.list(browsed)).hasSize(1);
+        assertThat(this.metrics.getSelectorMatches()).isEqualTo(1);
+        assertThat(this.metrics.getSelectorMismatches()).isEqualTo(3);
+
+        MessageConsumer consumer = session.createConsumer(queue);
+        assertThat(consumer.receive(1000)).isNotNull();
+        assertThat(consumer.receive(1000)).isNotNull();
+        session.recover();
+        assertThat(this.metrics.getNegativelyAcknowledgedMessages()).isEqualTo(2);
+    }
+
+    @Test
+    void histogramPercentilesAreUpperBounds() {
+        Histogram histogram = new Histogram();
+        assertThat(histogram.getValueAtPercentile(99)).isZero();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        assertThat(histogram.getCount()).isEqualTo(100);
+        assertThat(histogram.getMean()).isEqualTo(50.5);
+        assertThat(histogram.getMax()).isEqualTo(100);
+        assertThat(histogram.getValueAtPercentile(50)).isBetween(50L, 100L);
+        assertThat(histogram.getValueAtPercentile(10)).isBetween(10L, 20L);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(100);
+        histogram.record(-1);
+        assertThat(histogram.getValueAtPercentile(0)).isZero();
+    }
+
+    @Test
+    void jmxCollectorExposesMetrics() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName;
+        try (JmxJmsMetricsCollector jmx = new JmxJmsMetricsCollector("test")) {
+            objectName = jmx.getObjectName();
+            jmx.published("orders", 10);
+            jmx.published("orders", 20);
+            jmx.onMessage("orders", 1_000, 2_000);
+
+            assertThat(server.isRegistered(jmx.getObjectName())).isTrue();
+            assertThat(server.getAttribute(jmx.getObjectName(), "PublishedMessages")).isEqualTo(2L);
+            assertThat(server.getAttribute(jmx.getObjectName(), "PublishedBytes")).isEqualTo(30L);
+            CompositeData serviceTime = (CompositeData) server.getAttribute(jmx.getObjectName(), "OnMessageServiceTime");
+            assertThat(serviceTime.get("count")).isEqualTo(1L);
+            assertThat(serviceTime.get("max")).isEqualTo(2_000L);
+            assertThat(server.getAttribute(jmx.getObjectName(), "PublishedMessagesByDestination")).isNotNull();
+        }
+        assertThat(server.isRegistered(objectName)).isFalse();
+    }
+
+    @Test
+    void jmxCollectorsMustHaveUniqueNames() throws Exception {
+        try (JmxJmsMetricsCollector jmx = new JmxJmsMetricsCollector("unique")) {
+            assertThatThrownBy(() -> new JmxJmsMetricsCollector("unique"))
+                .isInstanceOf(InstanceAlreadyExistsException.class);
+            // the registered collector is left as is
+            assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(jmx.getObjectName())).isTrue();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the {@link EntryExitManager} gate and region.
+ */
+public class TestEntryExitManager {
+
+    @Test
+    public void closedGateTimesOut() throws Exception {
+        EntryExitManager manager = new EntryExitManager();
+        assertTrue(manager.isClosed());
+        assertFalse(manager.enter(10, TimeUnit.MILLISECONDS));
+        assertTrue(manager.waitToClear(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void waitToClearWaitsForThreadsInRegion() throws Exception {
+        EntryExitManager manager = new EntryExitManager();
+        manager.openGate();
+        assertTrue(manager.enter(TimeTracker.ZERO));
+        manager.closeGate();
+        assertFalse(manager.waitToClear(10, TimeUnit.MILLISECONDS));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> cleared = executor.submit(() -> manager.waitToClear(10, TimeUnit.SECONDS));
+            Thread.sleep(50);
+            assertFalse(cleared.isDone());
+            manager.exit();
+            assertTrue(cleared.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void waitingThreadsEnterWhenGateOpens() throws Exception {
+        EntryExitManager manager = new EntryExitManager();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> entered = executor.submit(() -> manager.enter(10, TimeUnit.SECONDS));
+            Thread.sleep(50);
+            assertFalse(entered.isDone());
+            manager.openGate();
+            assertTrue(entered.get(10, TimeUnit.SECONDS));
+            manager.closeGate();
+            assertFalse(manager.waitToClear(10, TimeUnit.MILLISECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void abortRejectsWaitingThreads() throws Exception {
+        EntryExitManager manager = new EntryExitManager();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> entered = executor.submit(() -> manager.enter(10, TimeUnit.SECONDS));
+            Thread.sleep(50);
+            manager.abortWaiters();
+            Exception e = assertThrows(Exception.class, () -> entered.get(10, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof AbortedException);
+            assertThrows(AbortedException.class, () -> manager.enter(TimeTracker.ZERO));
+            assertTrue(manager.waitToClear(TimeTracker.ZERO));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Threads enter and exit the region while the gate is closed and opened: after
+     * the gate is closed and the region is clear, no thread must be in the region.
+     */
+    @Test
+    public void noThreadIsInRegionAfterItIsCleared() throws Exception {
+        EntryExitManager manager = new EntryExitManager();
+        manager.openGate();
+        AtomicInteger inRegion = new AtomicInteger();
+        AtomicBoolean running = new AtomicBoolean(true);
+        int threadCount = 4;
+        CountDownLatch started = new CountDownLatch(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        List<Future<Long>> entries = new ArrayList<>();
+        try {
+            for (int i = 0; i < threadCount; i++) {
+                entries.add(executor.submit(() -> {
+                    started.countDown();
+                    long count = 0;
+                    while (running.get()) {
+                        if (manager.enter(1, TimeUnit.MILLISECONDS)) {
+                            inRegion.incrementAndGet();
+                            count++;
+                            inRegion.decrementAndGet();
+                            manager.exit();
+                        }
+                    }
+                    return count;
+                }));
+            }
+            started.await(10, TimeUnit.SECONDS);
+            for (int i = 0; i < 200; i++) {
+                manager.closeGate();
+                assertTrue(manager.waitToClear(10, TimeUnit.SECONDS));
+                for (int j = 0; j < 10; j++) {
+                    assertEquals(0, inRegion.get());
+                }
+                manager.openGate();
+                Thread.yield();
+            }
+        } finally {
+            running.set(false);
+            manager.openGate();
+            executor.shutdown();
+        }
+        long total = 0;
+        for (Future<Long> entry : entries) {
+            total += entry.get(10, TimeUnit.SECONDS);
+        }
+        assertTrue(total > 0);
+        manager.closeGate();
+        assertTrue(manager.waitToClear(TimeTracker.ZERO));
+    }
+}
@@ -0,0 +1,173 @@
+/* Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries. */
+package com.rabbitmq.jms.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+public class TestTrustedClassCache {
+
+    ClassLoader loader = getClass().getClassLoader();
+
+    @Test
+    public void classesAreCachedPerTrustedPackagesAndClassLoaders() {
+        TrustedClassCache cache = new TrustedClassCache(10);
+        List<String> packages = Collections.singletonList("com.rabbitmq");
+        cache.put(Bean.class.getName(), loader, null, packages, Bean.class, cache.generation());
+
+        assertSame(Bean.class, cache.get(Bean.class.getName(), loader, null, packages, cache.generation()));
+        assertNull(cache.get(Bean.class.getName(), loader, null, Collections.singletonList("com.rabbitmq"), cache.generation()));
+        assertNull(cache.get(Bean.class.getName(), null, null, packages, cache.generation()));
+        assertNull(cache.get(Bean.class.getName(), new URLClassLoader(new URL[0], loader), null, packages, cache.generation()));
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        assertEquals(0.25, cache.getHitRate());
+    }
+
+    @Test
+    public void invalidationRemovesClasses() {
+        TrustedClassCache cache = new TrustedClassCache(10);
+        List<String> packages = Collections.singletonList("com.rabbitmq");
+        cache.put(Bean.class.getName(), loader, null, packages, Bean.class, cache.generation());
+        cache.invalidate();
+        assertEquals(0, cache.size());
+        assertNull(cache.get(Bean.class.getName(), loader, null, packages, cache.generation()));
+    }
+
+    @Test
+    public void classCheckedBeforeInvalidationIsNotAdded() {
+        TrustedClassCache cache = new TrustedClassCache(10);
+        List<String> packages = Collections.singletonList("com.rabbitmq");
+        // a lookup misses, the cache is invalidated while the class is loaded and checked
+        long generation = cache.generation();
+        assertNull(cache.get(Bean.class.getName(), loader, null, packages, generation));
+        cache.invalidate();
+        cache.put(Bean.class.getName(), loader, null, packages, Bean.class, generation);
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get(Bean.class.getName(), loader, null, packages, cache.generation()));
+    }
+
+    @Test
+    public void concurrentInvalidationsLeaveNoStaleClass() throws Exception {
+        TrustedClassCache cache = new TrustedClassCache(1000);
+        List<String> packages = Collections.singletonList("com.rabbitmq");
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread invalidator = new Thread(() -> {
+            while (running.get()) {
+                cache.invalidate();
+            }
+        });
+        invalidator.start();
+        try {
+            for (int i = 0; i < 100_000; i++) {
+                long generation = cache.generation();
+                if (cache.get("class" + (i % 100), loader, null, packages, generation) == null) {
+                    cache.put("class" + (i % 100), loader, null, packages, Bean.class, generation);
+                }
+            }
+        } finally {
+            running.set(false);
+            invalidator.join();
+        }
+        // no entry left from a generation before the last invalidation
+        long generation = cache.generation();
+        int found = 0;
+        for (int i = 0; i < 100; i++) {
+            if (cache.get("class" + i, loader, null, packages, generation) != null) {
+                found++;
+            }
+        }
+        assertEquals(found, cache.size());
+    }
+
+    @Test
+    public void cacheIsBounded() {
+        TrustedClassCache cache = new TrustedClassCache(8);
+        for (int i = 0; i < 100; i++) {
+            cache.put("class" + i, loader, null, Collections.emptyList(), Bean.class, cache.generation());
+            assertThat(cache.size()).isLessThanOrEqualTo(8);
+        }
+        assertThat(cache.getEvictions()).isGreaterThan(0);
+    }
+
+    @Test
+    public void disabledCacheKeepsNothing() {
+        TrustedClassCache cache = new TrustedClassCache(0);
+        cache.put(Bean.class.getName(), loader, null, Collections.emptyList(), Bean.class, cache.generation());
+        assertNull(cache.get(Bean.class.getName(), loader, null, Collections.emptyList(), cache.generation()));
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    public void objectStreamsUseSharedCache() throws Exception {
+        byte[] data = serialize(new Bean("abc"));
+        List<String> packages = Arrays.asList("io.doesnt-match", "com.rabbitmq.jms.util");
+        TrustedClassCache cache = TrustedClassCache.getInstance();
+
+        deserialize(data, packages);
+        long hits = cache.getHits();
+        assertEquals("abc", ((Bean) deserialize(data, packages)).value);
+        assertThat(cache.getHits()).isGreaterThan(hits);
+    }
+
+    @Test
+    public void cachedClassesAreCheckedAgainstOtherTrustedPackages() throws Exception {
+        byte[] data = serialize(new Bean("abc"));
+        deserialize(data, Collections.singletonList("com.rabbitmq.jms.util"));
+        assertThrows(ClassNotFoundException.class, () -> deserialize(data, Collections.singletonList("com.whatever")));
+    }
+
+    @Test
+    public void changingTrustedPackagesInvalidatesCache() throws Exception {
+        byte[] data = serialize(new Bean("abc"));
+        List<String> packages = new ArrayList<>(Collections.singletonList("com.rabbitmq.jms.util"));
+        deserialize(data, packages);
+
+        WhiteListObjectInputStream in = new WhiteListObjectInputStream(new ByteArrayInputStream(data), packages);
+        in.addTrustedPackage("com.example");
+        assertEquals(0, TrustedClassCache.getInstance().size());
+        assertEquals("abc", ((Bean) in.readObject()).value);
+    }
+
+    private static byte[] serialize(Serializable object) throws IOException {
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bout)) {
+            out.writeObject(object);
+        }
+        return bout.toByteArray();
+    }
+
+    private static Object deserialize(byte[] data, List<String> packages) throws IOException, ClassNotFoundException {
+        try (WhiteListObjectInputStream in = new WhiteListObjectInputStream(new ByteArrayInputStream(data), packages)) {
+            return in.readObject();
+        }
+    }
+
+    static class Bean implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        final String value;
+
+        Bean(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares JMH results in the CSV format with a baseline in the same format.
+ * <p>
+ * Scores and normalized allocation rates (from <code>-prof gc</code>) that are worse
+ * than the baseline by more than a threshold are reported as regressions, and the
+ * program then exits with status 1. Throughput scores are better when higher, other
+ * scores and allocation rates are better when lower. Differences of less than 1 unit
+ * (e.g. 1 ns/op or 1 B/op) are ignored.
+ * <p>
+ * Usage: <code>BenchmarkBaseline baseline.csv result.csv [threshold-percent]</code>.
+ * A result file becomes the baseline of later runs when it is copied, e.g. to
+ * <code>jmh-baseline.csv</code>.
+ */
+public class BenchmarkBaseline {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkBaseline baseline.csv result.csv [threshold-percent]");
+            System.exit(2);
+        }
+        Path baselineFile = Paths.get(args[0]);
+        if (!Files.exists(baselineFile)) {
+            System.err.println("No baseline " + baselineFile + ", copy a result file to create it");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, Score> baseline = read(baselineFile);
+        Map<String, Score> result = read(Paths.get(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : result.entrySet()) {
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            Score after = entry.getValue();
+            double worse = after.higherIsBetter ? before.value - after.value : after.value - before.value;
+            double change = before.value == 0 ? (worse > 0 ? Double.POSITIVE_INFINITY : 0) : 100 * worse / before.value;
+            boolean regression = worse >= 1 && change > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%s %s: %.3f -> %.3f %s (%+.1f%%)%n", regression ? "REGRESSION" : "ok        ",
+                entry.getKey(), before.value, after.value, after.unit, after.higherIsBetter ? -change : change);
+        }
+        System.out.printf("%d regression(s) over %.1f%%%n", regressions, threshold);
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    /**
+     * @return primary scores and normalized allocation rates, by benchmark, metric and parameters
+     */
+    static Map<String, Score> read(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        Map<String, Score> scores = new LinkedHashMap<>();
+        if (lines.isEmpty()) {
+            return scores;
+        }
+        List<String> header = split(lines.get(0));
+        int benchmarkIndex = header.indexOf("Benchmark");
+        int modeIndex = header.indexOf("Mode");
+        int scoreIndex = header.indexOf("Score");
+        int unitIndex = header.indexOf("Unit");
+        for (String line : lines.subList(1, lines.size())) {
+            List<String> fields = split(line);
+            if (fields.size() < header.size()) {
+                continue;
+            }
+            String benchmark = fields.get(benchmarkIndex);
+            boolean secondary = benchmark.indexOf(':') >= 0 || benchmark.indexOf('·') >= 0;
+            if (secondary && !benchmark.endsWith(ALLOCATION_METRIC)) {
+                continue;
+            }
+            StringBuilder key = new StringBuilder(benchmark);
+            for (int i = unitIndex + 1; i < header.size(); i++) {
+                if (!fields.get(i).isEmpty()) {
+                    key.append(' ').append(header.get(i).replace("Param: ", "")).append('=').append(fields.get(i));
+                }
+            }
+            boolean higherIsBetter = !secondary && "thrpt".equals(fields.get(modeIndex));
+            scores.put(key.toString(),
+                new Score(parse(fields.get(scoreIndex)), fields.get(unitIndex), higherIsBetter));
+        }
+        return scores;
+    }
+
+    /**
+     * Parses a score, written with the decimal separator of the locale of JMH.
+     */
+    private static double parse(String score) {
+        return Double.parseDouble(score.replace(',', '.'));
+    }
+
+    /**
+     * Splits a CSV line, with fields in optional double quotes.
+     */
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    static final class Score {
+
+        final double value;
+        final String unit;
+        final boolean higherIsBetter;
+
+        Score(double value, String unit, boolean higherIsBetter) {
+            this.value = value;
+            this.unit = unit;
+            this.higherIsBetter = higherIsBetter;
+        }
+    }
+}
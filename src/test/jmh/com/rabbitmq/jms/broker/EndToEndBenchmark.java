@@ -0,0 +1,221 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.broker;
+
+import jakarta.jms.BytesMessage;
+import jakarta.jms.CompletionListener;
+import jakarta.jms.Connection;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.HdrHistogram.Histogram;
+
+/**
+ * End-to-end throughput and latency of the JMS client, with the {@link InMemoryBroker}.
+ * <p>
+ * A producer sends messages to a queue and a consumer of the same connection receives them, with
+ * a message listener (<code>listener</code> mode), with {@link MessageConsumer#receive(long)}
+ * (<code>receive</code> mode), or with a message listener while the producer sends asynchronously
+ * with a {@link CompletionListener} (<code>async</code> mode).
+ * <p>
+ * Each message carries its send time, the benchmark reports the send and receive throughputs and
+ * the percentiles of the latency between the send and the reception of messages, and between the send
+ * and the completion of asynchronous sends.
+ * <p>
+ * Without a rate, the producer sends as fast as it can and the latencies mostly measure the backlog
+ * of the queue. With a rate (in messages per second), the latencies are measured from the time each
+ * message should have been sent, so that a stalled producer does not hide latency.
+ * <p>
+ * Usage: <code>EndToEndBenchmark [listener|receive|async|all] [messages] [size] [rate]</code>,
+ * or <code>./mvnw -Pjmh test-compile exec:exec@end-to-end -Dend-to-end.args="async 100000 1024 10000"</code>.
+ */
+public class EndToEndBenchmark {
+
+    private static final long HIGHEST_LATENCY = TimeUnit.MINUTES.toNanos(1);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "all";
+        int messages = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        int size = args.length > 2 ? Integer.parseInt(args[2]) : 1024;
+        int rate = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        List<String> modes = "all".equals(mode) ? Arrays.asList("listener", "receive", "async") : Collections.singletonList(mode);
+        for (String m : modes) {
+            // warm-up
+            run(m, Math.max(1, messages / 10), size, rate);
+            run(m, messages, size, rate).print(System.out);
+        }
+    }
+
+    static Result run(String mode, int messages, int size, int rate) throws Exception {
+        boolean async = "async".equals(mode);
+        if (!async && !"listener".equals(mode) && !"receive".equals(mode)) {
+            throw new IllegalArgumentException("Unknown mode '" + mode + "', use listener, receive, async or all");
+        }
+        Connection connection = new InMemoryBroker().connectionFactory().createConnection();
+        try {
+            connection.start();
+            Session producerSession = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            Session consumerSession = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            Queue queue = producerSession.createQueue("end-to-end");
+            MessageConsumer consumer = consumerSession.createConsumer(queue);
+            MessageProducer producer = producerSession.createProducer(queue);
+            producer.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
+
+            Result result = new Result(mode, messages, size);
+            CountDownLatch received = new CountDownLatch(messages);
+            CountDownLatch completed = new CountDownLatch(async ? messages : 0);
+            if ("receive".equals(mode)) {
+                Thread receiver = new Thread(() -> {
+                    try {
+                        for (int i = 0; i < messages; i++) {
+                            Message message = consumer.receive(TimeUnit.SECONDS.toMillis(10));
+                            if (message == null) {
+                                return;
+                            }
+                            result.received(message);
+                            received.countDown();
+                        }
+                    } catch (JMSException e) {
+                        e.printStackTrace();
+                    }
+                }, "end-to-end-receiver");
+                receiver.setDaemon(true);
+                receiver.start();
+            } else {
+                consumer.setMessageListener(message -> {
+                    result.received(message);
+                    received.countDown();
+                });
+            }
+
+            byte[] payload = new byte[Math.max(0, size - Long.BYTES)];
+            long interval = rate > 0 ? TimeUnit.SECONDS.toNanos(1) / rate : 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < messages; i++) {
+                long sendTime;
+                if (interval > 0) {
+                    sendTime = start + i * interval;
+                    while (System.nanoTime() < sendTime) {
+                        Thread.onSpinWait();
+                    }
+                } else {
+                    sendTime = System.nanoTime();
+                }
+                BytesMessage message = producerSession.createBytesMessage();
+                message.writeLong(sendTime);
+                message.writeBytes(payload);
+                if (async) {
+                    producer.send(message, new SendCompletion(result, sendTime, completed));
+                } else {
+                    producer.send(message);
+                }
+            }
+            result.sendNanos = System.nanoTime() - start;
+            if (!received.await(1, TimeUnit.MINUTES) || !completed.await(1, TimeUnit.MINUTES)) {
+                throw new IllegalStateException("Messages not received or sends not completed after 1 minute");
+            }
+            result.receiveNanos = System.nanoTime() - start;
+            return result;
+        } finally {
+            connection.close();
+        }
+    }
+
+    static final class Result {
+
+        final String mode;
+        final int messages;
+        final int size;
+        /** recorded by the consumer thread only */
+        final Histogram endToEnd = new Histogram(HIGHEST_LATENCY, 3);
+        /** recorded by the thread of the confirms of the producer channel only */
+        final Histogram completion = new Histogram(HIGHEST_LATENCY, 3);
+        final AtomicInteger failedSends = new AtomicInteger();
+        long sendNanos;
+        long receiveNanos;
+
+        Result(String mode, int messages, int size) {
+            this.mode = mode;
+            this.messages = messages;
+            this.size = size;
+        }
+
+        void received(Message message) {
+            try {
+                record(this.endToEnd, System.nanoTime() - ((BytesMessage) message).readLong());
+            } catch (JMSException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void print(PrintStream out) {
+            out.printf("%s: %d messages of %d bytes%n", this.mode, this.messages, this.size);
+            out.printf("  send throughput     %,12.0f msg/s%n", throughput(this.sendNanos));
+            out.printf("  receive throughput  %,12.0f msg/s%n", throughput(this.receiveNanos));
+            out.printf("  end-to-end latency  %s%n", percentiles(this.endToEnd));
+            if (this.completion.getTotalCount() > 0) {
+                out.printf("  completion latency  %s%n", percentiles(this.completion));
+            }
+            if (this.failedSends.get() > 0) {
+                out.printf("  failed sends        %d%n", this.failedSends.get());
+            }
+        }
+
+        private double throughput(long nanos) {
+            return this.messages * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+        }
+
+        private static String percentiles(Histogram histogram) {
+            StringBuilder builder = new StringBuilder();
+            for (double percentile : PERCENTILES) {
+                builder.append(String.format("p%s %.1f us, ", percentile % 1 == 0 ? String.valueOf((int) percentile)
+                    : String.valueOf(percentile), histogram.getValueAtPercentile(percentile) / 1000.0));
+            }
+            return builder.append(String.format("max %.1f us", histogram.getMaxValue() / 1000.0)).toString();
+        }
+    }
+
+    private static void record(Histogram histogram, long nanos) {
+        histogram.recordValue(Math.min(nanos, HIGHEST_LATENCY));
+    }
+
+    private static final class SendCompletion implements CompletionListener {
+
+        private final Result result;
+        private final long sendTime;
+        private final CountDownLatch completed;
+
+        private SendCompletion(Result result, long sendTime, CountDownLatch completed) {
+            this.result = result;
+            this.sendTime = sendTime;
+            this.completed = completed;
+        }
+
+        @Override
+        public void onCompletion(Message message) {
+            record(this.result.completion, System.nanoTime() - this.sendTime);
+            this.completed.countDown();
+        }
+
+        @Override
+        public void onException(Message message, Exception exception) {
+            this.result.failedSends.incrementAndGet();
+            this.completed.countDown();
+        }
+    }
+}
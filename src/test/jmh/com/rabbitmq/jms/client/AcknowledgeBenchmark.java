@@ -0,0 +1,75 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import com.rabbitmq.jms.client.message.RMQTextMessage;
+import jakarta.jms.Session;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Acknowledgement of a batch of received messages with {@link RMQSession#acknowledgeMessage(RMQMessage)}:
+ * the last message of the batch in client acknowledgement mode, each message in
+ * individual acknowledgement mode.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AcknowledgeBenchmark {
+
+    @Param({"client", "individual"})
+    String mode;
+
+    @Param({"1", "100"})
+    int batch;
+
+    RMQSession session;
+    RMQMessage[] messages;
+    boolean individual;
+    long deliveryTag = 0;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.individual = "individual".equals(this.mode);
+        RMQConnection connection = new RMQConnection(BenchmarkSupport.connectionParams(new ArrayList<>()));
+        this.session = (RMQSession) connection.createSession(false,
+            this.individual ? RMQSession.CLIENT_INDIVIDUAL_ACKNOWLEDGE : Session.CLIENT_ACKNOWLEDGE);
+        this.messages = new RMQMessage[this.batch];
+        for (int i = 0; i < this.batch; i++) {
+            this.messages[i] = new RMQTextMessage();
+        }
+    }
+
+    @Benchmark
+    public long acknowledge() throws Exception {
+        for (RMQMessage message : this.messages) {
+            message.setRabbitDeliveryTag(++this.deliveryTag);
+            this.session.unackedMessageReceived(this.deliveryTag);
+        }
+        if (this.individual) {
+            for (RMQMessage message : this.messages) {
+                this.session.acknowledgeMessage(message);
+            }
+        } else {
+            this.session.acknowledgeMessage(this.messages[this.batch - 1]);
+        }
+        return this.deliveryTag;
+    }
+}
@@ -0,0 +1,107 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import com.rabbitmq.jms.admin.RMQDestination;
+import com.rabbitmq.jms.client.message.RMQBytesMessage;
+import com.rabbitmq.jms.client.message.RMQMapMessage;
+import com.rabbitmq.jms.client.message.RMQObjectMessage;
+import com.rabbitmq.jms.client.message.RMQStreamMessage;
+import com.rabbitmq.jms.client.message.RMQTextMessage;
+import com.rabbitmq.jms.util.WhiteListObjectInputStream;
+import jakarta.jms.JMSException;
+import java.util.List;
+
+/**
+ * Messages and mocked AMQP connections for benchmarks.
+ * <p>
+ * Mocks are stub-only, so they do not record invocations during a benchmark.
+ */
+final class BenchmarkSupport {
+
+    static final RMQDestination DESTINATION = new RMQDestination("queue", true, false);
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * @param published where to add the messages published on the channels of the connection
+     */
+    static ConnectionParams connectionParams(List<GetResponse> published) throws Exception {
+        Connection amqpConnection = mock(Connection.class, withSettings().stubOnly());
+        when(amqpConnection.createChannel()).thenAnswer(invocation -> channel(published));
+        return new ConnectionParams().setRabbitConnection(amqpConnection);
+    }
+
+    static Channel channel(List<GetResponse> published) throws Exception {
+        Channel channel = mock(Channel.class, withSettings().stubOnly());
+        when(channel.isOpen()).thenReturn(true);
+        doAnswer(invocation -> {
+            published.add(new GetResponse(new Envelope(published.size() + 1, false, "", invocation.getArgument(1)),
+                invocation.getArgument(2), ((byte[]) invocation.getArgument(3)).clone(), 0));
+            return null;
+        }).when(channel).basicPublish(anyString(), anyString(), any(), any());
+        return channel;
+    }
+
+    /**
+     * Creates a message of the given type with a body of about the given size.
+     *
+     * @param type text, bytes, map, stream or object
+     * @param size the size of the body in bytes
+     * @param compactBody whether map and stream messages use the compact encoding
+     */
+    static RMQMessage message(String type, int size, boolean compactBody) throws JMSException {
+        switch (type) {
+            case "text":
+                RMQTextMessage text = new RMQTextMessage();
+                text.setText(text(size));
+                return text;
+            case "bytes":
+                RMQBytesMessage bytes = new RMQBytesMessage();
+                bytes.writeBytes(new byte[size]);
+                return bytes;
+            case "map":
+                RMQMapMessage map = new RMQMapMessage(compactBody);
+                // 8-byte values, with names of about 8 bytes
+                for (int i = 0; i < Math.max(1, size / 16); i++) {
+                    map.setLong("key" + i, i);
+                }
+                return map;
+            case "stream":
+                RMQStreamMessage stream = new RMQStreamMessage(WhiteListObjectInputStream.DEFAULT_TRUSTED_PACKAGES, compactBody);
+                for (int i = 0; i < Math.max(1, size / 8); i++) {
+                    stream.writeLong(i);
+                }
+                return stream;
+            case "object":
+                RMQObjectMessage object = new RMQObjectMessage();
+                object.setObject(text(size));
+                return object;
+            default:
+                throw new IllegalArgumentException("Unknown message type " + type);
+        }
+    }
+
+    static String text(int size) {
+        StringBuilder builder = new StringBuilder(size);
+        for (int i = 0; i < size; i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,128 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.impl.LongStringHelper;
+import com.rabbitmq.jms.admin.RMQDestination;
+import com.rabbitmq.jms.client.message.RMQTextMessage;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.Session;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Mapping of the JMS header fields and properties of property-heavy messages to AMQP
+ * headers, and back for received messages, whose string header values are long strings
+ * as the AMQP client decodes them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HeaderMappingBenchmark {
+
+    static final RMQDestination AMQP_DESTINATION = new RMQDestination("queue", "exchange", "key", "queue");
+
+    @Param({"4", "32"})
+    int properties;
+
+    RMQSession session;
+    RMQMessage message;
+    Envelope envelope = new Envelope(1, false, "exchange", "key");
+    AMQP.BasicProperties amqpProperties;
+    byte[] amqpBody;
+    AMQP.BasicProperties jmsProperties;
+    byte[] jmsBody;
+
+    @Setup
+    public void setUp() throws Exception {
+        RMQConnection connection = new RMQConnection(BenchmarkSupport.connectionParams(new ArrayList<>()));
+        this.session = (RMQSession) connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+
+        RMQTextMessage text = new RMQTextMessage();
+        text.setText("hello");
+        this.message = text;
+        this.message.setJMSDeliveryMode(DeliveryMode.PERSISTENT);
+        this.message.setJMSPriority(4);
+        this.message.setJMSTimestamp(System.currentTimeMillis());
+        this.message.setJMSCorrelationID("correlation");
+        this.message.setJMSType(RMQMessage.TEXT_MESSAGE_HEADER_VALUE);
+        this.message.setJMSDestination(BenchmarkSupport.DESTINATION);
+        this.message.generateInternalID();
+        for (int i = 0; i < this.properties; i++) {
+            if (i % 2 == 0) {
+                this.message.setStringProperty("property" + i, "value" + i);
+            } else {
+                this.message.setIntProperty("property" + i, i);
+            }
+        }
+
+        this.amqpProperties = new AMQP.BasicProperties.Builder()
+            .headers(received(this.message.toAmqpHeaders())).build();
+        this.amqpBody = this.message.toAmqpByteArray();
+        this.jmsProperties = new AMQP.BasicProperties.Builder()
+            .headers(received(this.message.toHeadersWithAllProperties())).build();
+        this.jmsBody = this.message.toByteArray(512, true);
+    }
+
+    /**
+     * @return the headers as the AMQP client decodes them, strings are long strings
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> received(Map<String, Object> headers) {
+        Map<String, Object> received = new HashMap<>();
+        for (Map.Entry<String, Object> header : headers.entrySet()) {
+            Object value = header.getValue();
+            if (value instanceof String) {
+                value = LongStringHelper.asLongString((String) value);
+            } else if (value instanceof Map) {
+                value = received((Map<String, Object>) value);
+            }
+            // a new string, as decoded from a frame
+            received.put(new String(header.getKey().toCharArray()), value);
+        }
+        return received;
+    }
+
+    @Benchmark
+    public Map<String, Object> toHeaders() throws Exception {
+        return this.message.toHeaders();
+    }
+
+    @Benchmark
+    public Map<String, Object> toHeadersWithAllProperties() throws Exception {
+        return this.message.toHeadersWithAllProperties();
+    }
+
+    @Benchmark
+    public RMQMessage fromAmqpHeaders() throws Exception {
+        return RMQMessage.convertMessage(this.session, AMQP_DESTINATION, this.envelope, this.amqpProperties,
+            this.amqpBody, ReceivingContextConsumer.NO_OP);
+    }
+
+    @Benchmark
+    public RMQMessage fromHeadersWithAllProperties() throws Exception {
+        return RMQMessage.convertMessage(this.session, BenchmarkSupport.DESTINATION, this.envelope, this.jmsProperties,
+            this.jmsBody, ReceivingContextConsumer.NO_OP);
+    }
+}
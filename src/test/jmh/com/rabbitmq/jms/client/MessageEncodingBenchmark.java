@@ -0,0 +1,74 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import com.rabbitmq.jms.util.WhiteListObjectInputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encoding of messages sent to JMS destinations, and decoding of their bodies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageEncodingBenchmark {
+
+    @Param({"text", "bytes", "map", "stream", "object"})
+    String messageType;
+
+    @Param({"16", "1024", "65536"})
+    int size;
+
+    @Param({"0", "8"})
+    int properties;
+
+    RMQMessage message;
+    byte[] encoded;
+    byte[] amqpEncoded;
+
+    @Setup
+    public void setUp() throws Exception {
+        this.message = BenchmarkSupport.message(this.messageType, this.size, false);
+        this.message.generateInternalID();
+        for (int i = 0; i < this.properties; i++) {
+            this.message.setStringProperty("property" + i, "value" + i);
+        }
+        this.encoded = this.message.toByteArray();
+        if (this.message.isAmqpWritable()) {
+            this.amqpEncoded = this.message.toAmqpByteArray();
+        }
+    }
+
+    @Benchmark
+    public byte[] toByteArray() throws Exception {
+        return this.message.toByteArray();
+    }
+
+    @Benchmark
+    public RMQMessage fromMessage() throws Exception {
+        return RMQMessage.fromMessage(this.encoded, WhiteListObjectInputStream.DEFAULT_TRUSTED_PACKAGES);
+    }
+
+    @Benchmark
+    public byte[] toAmqpByteArray() throws Exception {
+        // object and stream messages cannot be sent to AMQP destinations
+        return this.amqpEncoded == null ? null : this.message.toAmqpByteArray();
+    }
+}
@@ -0,0 +1,107 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import jakarta.jms.ObjectMessage;
+import jakarta.jms.Session;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encoding and decoding of {@link ObjectMessage}s with Java serialization
+ * and with a codec that does not use it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ObjectMessageCodecBenchmark {
+
+    @Param({"java", "utf8"})
+    String codec;
+
+    @Param({"16", "1024", "65536"})
+    int size;
+
+    RMQSession session;
+    ObjectMessage message;
+    GetResponse sent;
+    ObjectMessage received;
+
+    @Setup
+    public void setUp() throws Exception {
+        List<GetResponse> published = new ArrayList<>();
+        RMQConnection connection = new RMQConnection(BenchmarkSupport.connectionParams(published)
+            .setObjectMessageCodec("java".equals(this.codec) ? null : new Utf8Codec()));
+        this.session = (RMQSession) connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        this.message = this.session.createObjectMessage(BenchmarkSupport.text(this.size));
+        this.session.createProducer(BenchmarkSupport.DESTINATION).send(this.message);
+        this.sent = published.get(0);
+        this.received = receive();
+        this.received.getObject();
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return ((RMQMessage) this.message).toByteArray();
+    }
+
+    @Benchmark
+    public Serializable decode() throws Exception {
+        return receive().getObject();
+    }
+
+    @Benchmark
+    public Serializable getObjectAgain() throws Exception {
+        // the decoded object is cached
+        return this.received.getObject();
+    }
+
+    private ObjectMessage receive() throws Exception {
+        return (ObjectMessage) RMQMessage.convertMessage(this.session, BenchmarkSupport.DESTINATION,
+            new GetResponse(new Envelope(1, false, "", "queue"), this.sent.getProps(), this.sent.getBody(), 0),
+            ctx -> { });
+    }
+
+    /**
+     * Encodes strings as UTF-8.
+     */
+    static class Utf8Codec implements ObjectMessageCodec {
+
+        @Override
+        public String name() {
+            return "utf8";
+        }
+
+        @Override
+        public byte[] encode(Serializable object) {
+            return object.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Serializable decode(byte[] data, List<String> trustedPackages) {
+            return new String(data, StandardCharsets.UTF_8);
+        }
+    }
+}
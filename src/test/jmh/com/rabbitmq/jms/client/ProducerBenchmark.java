@@ -0,0 +1,90 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.jms.admin.RMQDestination;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+import java.lang.reflect.Array;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sending of a small text message by a producer, from the JMS message to the
+ * AMQP properties and body given to a channel that discards them.
+ * <p>
+ * The channel is a proxy rather than a mock, as a mock allocates more on each
+ * call than the send itself.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ProducerBenchmark {
+
+    @Param({"false", "true"})
+    boolean amqp;
+
+    @Param({"0", "60000"})
+    long timeToLive;
+
+    MessageProducer producer;
+    RMQMessage message;
+
+    @Setup
+    public void setUp() throws Exception {
+        Channel channel = discarding(Channel.class);
+        Connection amqpConnection = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> "createChannel".equals(method.getName()) ? channel : defaultValue(method.getReturnType()));
+        RMQConnection connection = new RMQConnection(new ConnectionParams().setRabbitConnection(amqpConnection));
+        Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+
+        RMQDestination destination = this.amqp
+            ? new RMQDestination("queue", "exchange", "key", "queue")
+            : new RMQDestination("queue", true, false);
+        destination.setDeclared(true);
+        this.producer = session.createProducer(destination);
+        this.producer.setDeliveryMode(DeliveryMode.PERSISTENT);
+        this.producer.setTimeToLive(this.timeToLive);
+        this.message = BenchmarkSupport.message("text", 64, false);
+        this.message.setStringProperty("tenant", "acme");
+    }
+
+    /**
+     * @return a proxy that does nothing, and is open
+     */
+    private static <T> T discarding(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+            (proxy, method, args) -> "isOpen".equals(method.getName()) ? Boolean.TRUE : defaultValue(method.getReturnType())));
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        return type.isPrimitive() && type != void.class ? Array.get(Array.newInstance(type, 1), 0) : null;
+    }
+
+    @Benchmark
+    public RMQMessage send() throws Exception {
+        this.producer.send(this.message);
+        return this.message;
+    }
+}
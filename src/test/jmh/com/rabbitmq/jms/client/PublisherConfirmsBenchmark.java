@@ -0,0 +1,96 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.ConfirmListener;
+import com.rabbitmq.jms.client.message.RMQTextMessage;
+import jakarta.jms.CompletionListener;
+import jakarta.jms.Message;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Correlation of publisher confirms with the {@link CompletionListener}s of
+ * a batch of published messages, confirmed one by one or all at once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PublisherConfirmsBenchmark {
+
+    @Param({"1", "100"})
+    int batch;
+
+    @Param({"false", "true"})
+    boolean multiple;
+
+    PublishingListener publishingListener;
+    ConfirmListener confirmListener;
+    Message message;
+    CompletionListener completionListener;
+    long sequenceNumber = 0;
+    long completed = 0;
+
+    @Setup
+    public void setUp() {
+        Channel channel = mock(Channel.class, withSettings().stubOnly());
+        AtomicReference<ConfirmListener> listener = new AtomicReference<>();
+        doAnswer(invocation -> {
+            listener.set(invocation.getArgument(0));
+            return null;
+        }).when(channel).addConfirmListener(any(ConfirmListener.class));
+        this.publishingListener = PublisherConfirmsUtils.configurePublisherConfirmsSupport(channel);
+        this.confirmListener = listener.get();
+        this.message = new RMQTextMessage();
+        this.completionListener = new CompletionListener() {
+
+            @Override
+            public void onCompletion(Message message) {
+                completed++;
+            }
+
+            @Override
+            public void onException(Message message, Exception exception) {
+            }
+        };
+    }
+
+    @Benchmark
+    public long publishAndConfirm() throws Exception {
+        long first = this.sequenceNumber + 1;
+        for (int i = 0; i < this.batch; i++) {
+            this.publishingListener.publish(this.message, this.completionListener, ++this.sequenceNumber);
+        }
+        if (this.multiple) {
+            this.confirmListener.handleAck(this.sequenceNumber, true);
+        } else {
+            for (long tag = first; tag <= this.sequenceNumber; tag++) {
+                this.confirmListener.handleAck(tag, false);
+            }
+        }
+        return this.completed;
+    }
+}
@@ -0,0 +1,103 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.client.message;
+
+import com.rabbitmq.jms.util.RMQByteArrayInputStream;
+import com.rabbitmq.jms.util.RMQByteArrayOutputStream;
+import com.rabbitmq.jms.util.WhiteListObjectInputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Bodies of {@link jakarta.jms.StreamMessage}s and {@link jakarta.jms.MapMessage}s,
+ * in the Java serialization format and in the compact encoding.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageBodyCodecBenchmark {
+
+    @Param({"stream", "map"})
+    String messageType;
+
+    @Param({"1", "16", "256"})
+    int entries;
+
+    @Param({"false", "true"})
+    boolean compact;
+
+    RMQStreamMessage streamMessage;
+    RMQMapMessage mapMessage;
+    byte[] body;
+
+    @Setup
+    public void setUp() throws Exception {
+        if ("stream".equals(this.messageType)) {
+            this.streamMessage = new RMQStreamMessage(WhiteListObjectInputStream.DEFAULT_TRUSTED_PACKAGES, this.compact);
+            for (int i = 0; i < this.entries; i++) {
+                this.streamMessage.writeLong(i);
+                this.streamMessage.writeString("value" + i);
+            }
+        } else {
+            this.mapMessage = new RMQMapMessage(this.compact);
+            for (int i = 0; i < this.entries; i++) {
+                this.mapMessage.setLong("long" + i, i);
+                this.mapMessage.setString("string" + i, "value" + i);
+            }
+        }
+        this.body = writeBody();
+    }
+
+    @Benchmark
+    public byte[] writeBody() throws Exception {
+        RMQByteArrayOutputStream bout = new RMQByteArrayOutputStream(256);
+        ObjectOutputStream out = new ObjectOutputStream(bout);
+        if (this.streamMessage != null) {
+            this.streamMessage.writeBody(out, bout);
+        } else {
+            this.mapMessage.writeBody(out, bout);
+        }
+        out.flush();
+        return bout.toByteArray();
+    }
+
+    @Benchmark
+    public void readBody(Blackhole blackhole) throws Exception {
+        RMQByteArrayInputStream bin = new RMQByteArrayInputStream(this.body);
+        ObjectInputStream in = new ObjectInputStream(bin);
+        if (this.streamMessage != null) {
+            RMQStreamMessage message = new RMQStreamMessage();
+            message.readBody(in, bin);
+            for (int i = 0; i < this.entries; i++) {
+                blackhole.consume(message.readLong());
+                blackhole.consume(message.readString());
+            }
+        } else {
+            RMQMapMessage message = new RMQMapMessage();
+            message.readBody(in, bin);
+            for (int i = 0; i < this.entries; i++) {
+                blackhole.consume(message.getLong("long" + i));
+                blackhole.consume(message.getString("string" + i));
+            }
+        }
+    }
+}
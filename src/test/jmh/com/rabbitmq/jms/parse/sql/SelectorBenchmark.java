@@ -0,0 +1,101 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.parse.sql;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tokenizing, parsing, compiling and evaluating message selectors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SelectorBenchmark {
+
+    private static final Map<String, String> SELECTORS = new HashMap<>();
+
+    static {
+        SELECTORS.put("simple", "JMSPriority > 4");
+        SELECTORS.put("compound", "JMSType = 'car' AND color = 'blue' AND weight > 2500");
+        SELECTORS.put("like", "name LIKE 'rab_it%' OR name LIKE '%mq'");
+        SELECTORS.put("in", "country IN ('UK', 'US', 'France', 'Germany') AND region IS NOT NULL");
+        SELECTORS.put("arithmetic", "(price * quantity) / 2 BETWEEN 100 AND 500.5");
+    }
+
+    @Param({"simple", "compound", "like", "in", "arithmetic"})
+    String selector;
+
+    String expression;
+    SqlEvaluator evaluator;
+    Map<String, Object> properties;
+
+    @Setup
+    public void setUp() {
+        this.expression = SELECTORS.get(this.selector);
+        this.evaluator = evaluator();
+        if (!this.evaluator.evaluatorOk()) {
+            throw new IllegalStateException(this.evaluator.getErrorMessage());
+        }
+        this.properties = new HashMap<>();
+        this.properties.put("JMSPriority", 5);
+        this.properties.put("JMSType", "car");
+        this.properties.put("color", "blue");
+        this.properties.put("weight", 3000);
+        this.properties.put("name", "rabbitmq");
+        this.properties.put("country", "France");
+        this.properties.put("region", "Brittany");
+        this.properties.put("price", 12.5);
+        this.properties.put("quantity", 20);
+    }
+
+    @Benchmark
+    public int tokenize() {
+        SqlTokenStream tokens = new SqlTokenStream(this.expression);
+        int count = 0;
+        while (tokens.moreTokens()) {
+            tokens.getNext();
+            count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public SqlEvaluator parse() {
+        return evaluator();
+    }
+
+    @Benchmark
+    public String compile() {
+        return new SqlCompiler(evaluator()).compile();
+    }
+
+    @Benchmark
+    public boolean evaluate() {
+        return this.evaluator.evaluate(this.properties);
+    }
+
+    private SqlEvaluator evaluator() {
+        return new SqlEvaluator(new SqlParser(new SqlTokenStream(this.expression)),
+            Collections.<String, SqlExpressionType>emptyMap());
+    }
+}
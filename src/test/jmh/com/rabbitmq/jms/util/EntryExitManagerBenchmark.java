@@ -0,0 +1,82 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.jms.util;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The receive gate of a session, {@link EntryExitManager}, shared by the threads
+ * that call <code>receive</code> on its consumers: entering and exiting the open gate,
+ * and the same while another thread stops and restarts the connection, closing the
+ * gate and waiting for the region to clear.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntryExitManagerBenchmark {
+
+    EntryExitManager manager;
+
+    @Setup
+    public void setUp() {
+        this.manager = new EntryExitManager();
+        this.manager.openGate();
+    }
+
+    @TearDown
+    public void tearDown() {
+        // releases receivers still waiting for the gate
+        this.manager.openGate();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean enterExit() throws Exception {
+        return receive();
+    }
+
+    @Benchmark
+    @Group("stopStart")
+    @GroupThreads(3)
+    public boolean receiveWhileStopping() throws Exception {
+        return receive();
+    }
+
+    @Benchmark
+    @Group("stopStart")
+    @GroupThreads(1)
+    public boolean stopStart() throws Exception {
+        this.manager.closeGate();
+        boolean cleared = this.manager.waitToClear(1, TimeUnit.SECONDS);
+        this.manager.openGate();
+        return cleared;
+    }
+
+    private boolean receive() throws Exception {
+        if (this.manager.enter(1, TimeUnit.SECONDS)) {
+            this.manager.exit();
+            return true;
+        }
+        return false;
+    }
+}
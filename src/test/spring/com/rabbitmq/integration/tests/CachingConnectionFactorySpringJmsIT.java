@@ -0,0 +1,66 @@
+// This Source Code Form is subject to the terms of the Mozilla Public
+// License, v. 2.0. If a copy of the MPL was not distributed with this
+// file, You can obtain one at https://mozilla.org/MPL/2.0/.
+//
+// Copyright (c) 2026 Broadcom. All Rights Reserved. The term "Broadcom" refers to Broadcom Inc. and/or its subsidiaries.
+package com.rabbitmq.integration.tests;
+
+import com.rabbitmq.jms.admin.RMQCachingConnectionFactory;
+import com.rabbitmq.jms.admin.RMQConnectionFactory;
+import com.rabbitmq.jms.admin.RMQDestination;
+import jakarta.jms.TextMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jms.core.JmsTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for {@link RMQCachingConnectionFactory} with Spring's {@link JmsTemplate}.
+ */
+public class CachingConnectionFactorySpringJmsIT {
+
+    private static final String QUEUE_NAME = "test.queue." + CachingConnectionFactorySpringJmsIT.class.getCanonicalName();
+    private static final int MESSAGE_COUNT = 100;
+
+    RMQCachingConnectionFactory connectionFactory;
+
+    @BeforeEach
+    public void init() {
+        connectionFactory = new RMQCachingConnectionFactory(new RMQConnectionFactory());
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        connectionFactory.close();
+        com.rabbitmq.client.ConnectionFactory cf = new com.rabbitmq.client.ConnectionFactory();
+        try (com.rabbitmq.client.Connection c = cf.newConnection()) {
+            c.createChannel().queueDelete(QUEUE_NAME);
+        }
+    }
+
+    @Test
+    public void jmsTemplateShouldReuseCachedSessionsAndProducers() throws Exception {
+        RMQDestination queue = new RMQDestination(QUEUE_NAME, true, false);
+        JmsTemplate template = new JmsTemplate(connectionFactory);
+        template.setReceiveTimeout(5000);
+
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            String text = "hello " + i;
+            template.send(queue, session -> session.createTextMessage(text));
+        }
+        for (int i = 0; i < MESSAGE_COUNT; i++) {
+            TextMessage message = (TextMessage) template.receive(queue);
+            assertThat(message).isNotNull();
+            assertThat(message.getText()).isEqualTo("hello " + i);
+        }
+
+        RMQCachingConnectionFactory.Statistics statistics = connectionFactory.getStatistics();
+        assertThat(statistics.getConnectionsCreated()).isEqualTo(1);
+        assertThat(statistics.getSessionsCreated()).isEqualTo(1);
+        assertThat(statistics.getSessionCacheHits()).isEqualTo(2 * MESSAGE_COUNT - 1);
+        assertThat(statistics.getProducersCreated()).isEqualTo(1);
+        assertThat(statistics.getProducerCacheHits()).isEqualTo(MESSAGE_COUNT - 1);
+    }
+}